@@ -0,0 +1,195 @@
+package ca.zhoozhoo.loaddev.api.config;
+
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import ca.zhoozhoo.loaddev.api.ratelimit.GradientConcurrencyLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import lombok.Data;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.SignalType;
+
+/// Spring Cloud Gateway filter factory that sheds load once a route's backend starts queueing.
+///
+/// Static rate limits protect against individual users; this filter protects loads-service
+/// and components-service from aggregate spikes. Each route owns a [GradientConcurrencyLimit]
+/// that measures the downstream round-trip time of every request and adapts the number of
+/// concurrent requests it lets through. Requests beyond the current limit are rejected
+/// immediately with `503 Service Unavailable` instead of piling up in the backend's
+/// connection pool and database queue.
+///
+/// **Usage in Gateway Routes:**
+/// ```yaml
+/// spring:
+///   cloud:
+///     gateway:
+///       routes:
+///         - id: loads-service
+///           uri: lb://loads-service
+///           filters:
+///             - TokenForwarding
+///             - name: AdaptiveConcurrencyLimit
+///               args:
+///                 initialLimit: 20
+///                 maxLimit: 200
+/// ```
+///
+/// Responses with a `5xx` status and transport errors back the limit off; cancelled requests
+/// release their permit without influencing it.
+///
+/// **Metrics** (tagged with `route`):
+///
+/// - `gateway.concurrency.limit` - current adaptive limit
+/// - `gateway.concurrency.inflight` - requests currently holding a permit
+/// - `gateway.concurrency.rejected` - requests shed with 503
+///
+/// @author Zhubin Salehi
+/// @see GradientConcurrencyLimit
+@Component
+@Log4j2
+public class AdaptiveConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyLimitGatewayFilterFactory.Config> {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ConcurrentMap<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimitGatewayFilterFactory(ObjectProvider<MeterRegistry> meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /// Creates a load shedding filter backed by a new adaptive limit for the configured route.
+    ///
+    /// Routes are rebuilt on refresh, so the new limit replaces the route's previous one and its
+    /// meters; the configuration may have changed. Routes without an id get a new configuration
+    /// on every refresh, so their limits are neither kept nor published as meters.
+    ///
+    /// @param config the route level limiter configuration
+    /// @return a GatewayFilter rejecting requests above the current limit
+    @Override
+    public GatewayFilter apply(Config config) {
+        var routeId = config.getRouteId() != null ? config.getRouteId() : "unnamed";
+        var limiter = createLimiter(config);
+        if (config.getRouteId() != null && limiters.put(routeId, limiter) != null) {
+            log.debug("Rebuilt concurrency limit of route {}", routeId);
+        }
+
+        return (exchange, chain) -> {
+            if (!limiter.limit().tryAcquire()) {
+                limiter.rejected().increment();
+                log.debug("Shedding request to {} at concurrency limit {}", routeId, limiter.limit().getLimit());
+
+                var response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                response.getHeaders().set(RETRY_AFTER, "1");
+                return response.setComplete();
+            }
+
+            var start = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        var status = exchange.getResponse().getStatusCode();
+                        if (signal == SignalType.CANCEL) {
+                            limiter.limit().onIgnored();
+                        } else if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                            limiter.limit().onDropped();
+                        } else {
+                            limiter.limit().onSuccess(System.nanoTime() - start);
+                        }
+                    });
+        };
+    }
+
+    /// Returns the current limiter state of a route, mainly for diagnostics and tests.
+    ///
+    /// @param routeId the route id
+    /// @return the route's concurrency limit, or null if the route has no limiter
+    GradientConcurrencyLimit getLimit(String routeId) {
+        var limiter = limiters.get(routeId);
+        return limiter != null ? limiter.limit() : null;
+    }
+
+    private RouteLimiter createLimiter(Config config) {
+        var limit = new GradientConcurrencyLimit(config.getInitialLimit(), config.getMinLimit(),
+                config.getMaxLimit(), config.getSmoothing(), config.getRttTolerance(), config.getBackoffRatio(),
+                config.getLongRttWindow());
+
+        var routeId = config.getRouteId();
+        if (routeId == null) {
+            // A composite without registries is a no-op registry
+            var rejected = Counter.builder("gateway.concurrency.rejected").register(new CompositeMeterRegistry());
+            return new RouteLimiter(limit, rejected);
+        }
+
+        var registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        // Meters of the route's previous limit would otherwise keep reporting it
+        registry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith("gateway.concurrency.")
+                        && routeId.equals(meter.getId().getTag("route")))
+                .toList()
+                .forEach(registry::remove);
+        Gauge.builder("gateway.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                .tag("route", routeId)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("gateway.concurrency.inflight", limit, GradientConcurrencyLimit::getInFlight)
+                .tag("route", routeId)
+                .description("Requests currently in flight")
+                .register(registry);
+        var rejected = Counter.builder("gateway.concurrency.rejected")
+                .tag("route", routeId)
+                .description("Requests shed because the concurrency limit was reached")
+                .register(registry);
+
+        return new RouteLimiter(limit, rejected);
+    }
+
+    /// Limit and rejection counter of a single route.
+    private record RouteLimiter(GradientConcurrencyLimit limit, Counter rejected) {
+    }
+
+    /// Configuration for the AdaptiveConcurrencyLimit filter.
+    ///
+    /// A mutable class rather than a record because the gateway injects the route id
+    /// through [HasRouteId], which is used to tag metrics.
+    @Data
+    public static class Config implements HasRouteId {
+
+        /// Concurrency limit before any samples are taken.
+        private int initialLimit = 20;
+
+        /// The limit never drops below this value.
+        private int minLimit = 5;
+
+        /// The limit never grows above this value.
+        private int maxLimit = 200;
+
+        /// Weight of each new limit estimate.
+        private double smoothing = 0.2;
+
+        /// Ratio by which sampled RTT may exceed the long-term RTT before the limit shrinks.
+        private double rttTolerance = 1.5;
+
+        /// Multiplier applied to the limit when a request fails.
+        private double backoffRatio = 0.9;
+
+        /// Number of samples averaged by the long-term RTT.
+        private int longRttWindow = 600;
+
+        private String routeId;
+    }
+}
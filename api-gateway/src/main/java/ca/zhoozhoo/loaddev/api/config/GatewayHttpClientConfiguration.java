@@ -0,0 +1,46 @@
+package ca.zhoozhoo.loaddev.api.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.netty.http.client.HttpClient;
+
+/// Configuration of the HTTP client used for gateway-to-service traffic.
+///
+/// Replaces Spring Cloud Gateway's default `routingFilter` with [PerRouteNettyRoutingFilter],
+/// which applies the per-route pool and protocol settings of [GatewayHttpClientProperties].
+/// The default filter is switched off in `application.yml` with
+/// `spring.cloud.gateway.server.webflux.global-filter.netty-routing.enabled=false`.
+///
+/// @author Zhubin Salehi
+/// @see GatewayHttpClientProperties
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(GatewayHttpClientProperties.class)
+public class GatewayHttpClientConfiguration {
+
+    /// Creates the routing filter that sends requests to downstream services.
+    ///
+    /// @param httpClient       the gateway's global HttpClient
+    /// @param headersFilters   the gateway's header filters
+    /// @param globalProperties the gateway's global HttpClient properties
+    /// @param routeProperties  the per-route pool settings
+    /// @param customizers      HttpClient customizers applied to every client
+    /// @return the per-route aware routing filter
+    @Bean
+    public NettyRoutingFilter routingFilter(HttpClient httpClient,
+            ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+            HttpClientProperties globalProperties,
+            GatewayHttpClientProperties routeProperties,
+            ObjectProvider<HttpClientCustomizer> customizers) {
+        return new PerRouteNettyRoutingFilter(httpClient, headersFilters, globalProperties, routeProperties,
+                customizers.orderedStream().toList());
+    }
+}
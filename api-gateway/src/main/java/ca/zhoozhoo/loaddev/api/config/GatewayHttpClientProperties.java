@@ -0,0 +1,74 @@
+package ca.zhoozhoo.loaddev.api.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import reactor.netty.http.HttpProtocol;
+
+/// Per-route HTTP client settings for gateway-to-service traffic.
+///
+/// Routes listed here get a dedicated Reactor Netty connection pool and protocol selection
+/// instead of sharing the gateway's global `HttpClient`. Routes that are not listed keep
+/// using the global client configured through `spring.cloud.gateway.server.webflux.httpclient.*`.
+///
+/// **Example:**
+/// ```yaml
+/// loaddev:
+///   gateway:
+///     http-client:
+///       routes:
+///         loads-service:
+///           max-connections: 200
+///           pending-acquire-max-count: 1000
+///           pending-acquire-timeout: 2s
+///           max-idle-time: 30s
+///           protocols: H2C
+/// ```
+///
+/// `H2C` alone selects HTTP/2 with prior knowledge, which multiplexes all requests to a
+/// service over a few connections and avoids the HTTP/1.1 upgrade round trip. Listing
+/// `HTTP11, H2C` negotiates via upgrade for backends that may not speak HTTP/2.
+///
+/// @param routes pool settings keyed by gateway route id
+///
+/// @author Zhubin Salehi
+/// @see PerRouteNettyRoutingFilter
+@ConfigurationProperties(prefix = "loaddev.gateway.http-client")
+public record GatewayHttpClientProperties(Map<String, Pool> routes) {
+
+    public GatewayHttpClientProperties {
+        routes = routes != null ? Map.copyOf(routes) : Map.of();
+    }
+
+    /// Connection pool and protocol settings of a single route.
+    ///
+    /// @param maxConnections         maximum open connections to the route's backend
+    /// @param pendingAcquireMaxCount maximum requests waiting for a connection
+    /// @param pendingAcquireTimeout  how long a request may wait for a connection
+    /// @param maxIdleTime            idle connections are closed after this time
+    /// @param maxLifeTime            connections are closed after this age
+    /// @param evictionInterval       how often idle and expired connections are evicted
+    /// @param protocols              HTTP protocols offered to the backend
+    public record Pool(
+            Integer maxConnections,
+            Integer pendingAcquireMaxCount,
+            Duration pendingAcquireTimeout,
+            Duration maxIdleTime,
+            Duration maxLifeTime,
+            Duration evictionInterval,
+            List<HttpProtocol> protocols) {
+
+        public Pool {
+            maxConnections = maxConnections != null ? maxConnections : 100;
+            pendingAcquireMaxCount = pendingAcquireMaxCount != null ? pendingAcquireMaxCount : 2 * maxConnections;
+            pendingAcquireTimeout = pendingAcquireTimeout != null ? pendingAcquireTimeout : Duration.ofSeconds(5);
+            maxIdleTime = maxIdleTime != null ? maxIdleTime : Duration.ofSeconds(30);
+            maxLifeTime = maxLifeTime != null ? maxLifeTime : Duration.ofMinutes(5);
+            evictionInterval = evictionInterval != null ? evictionInterval : Duration.ofSeconds(15);
+            protocols = protocols != null && !protocols.isEmpty() ? List.copyOf(protocols) : List.of(HttpProtocol.HTTP11);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ca.zhoozhoo.loaddev.api.config;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.log4j.Log4j2;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/// Netty routing filter that gives selected routes their own connection pool and HTTP protocol.
+///
+/// Spring Cloud Gateway routes every request through a single `HttpClient`. This subclass
+/// keeps that client for unlisted routes and lazily builds a dedicated client for each route
+/// configured in [GatewayHttpClientProperties], so that a slow service cannot exhaust the
+/// connections of the others and HTTP/2 can be enabled service by service.
+///
+/// Dedicated clients reuse the gateway's global connect timeout, compression setting and
+/// [HttpClientCustomizer] beans. Each pool is named `gateway-{routeId}` and registers the
+/// Reactor Netty `reactor.netty.connection.provider.*` metrics.
+///
+/// @author Zhubin Salehi
+/// @see GatewayHttpClientProperties
+@Log4j2
+public class PerRouteNettyRoutingFilter extends NettyRoutingFilter {
+
+    private final GatewayHttpClientProperties routeProperties;
+
+    private final HttpClientProperties globalProperties;
+
+    private final List<HttpClientCustomizer> customizers;
+
+    private final ConcurrentMap<String, HttpClient> routeClients = new ConcurrentHashMap<>();
+
+    public PerRouteNettyRoutingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+            HttpClientProperties globalProperties, GatewayHttpClientProperties routeProperties,
+            List<HttpClientCustomizer> customizers) {
+        super(httpClient, headersFilters, globalProperties);
+        this.globalProperties = globalProperties;
+        this.routeProperties = routeProperties;
+        this.customizers = List.copyOf(customizers);
+    }
+
+    /// Returns the route's dedicated client, or the global client if the route has no pool settings.
+    ///
+    /// @param route    the matched route
+    /// @param exchange the current exchange
+    /// @return the HttpClient to send the request with
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        var pool = routeProperties.routes().get(route.getId());
+        if (pool == null) {
+            return super.getHttpClient(route, exchange);
+        }
+
+        var client = routeClients.computeIfAbsent(route.getId(), id -> createHttpClient(id, pool));
+
+        var connectTimeout = route.getMetadata().get(CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            return client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+        }
+        return client;
+    }
+
+    /// Builds a client with its own named connection pool for the route.
+    ///
+    /// @param routeId the route id
+    /// @param pool    the route's pool settings
+    /// @return the route's HttpClient
+    HttpClient createHttpClient(String routeId, GatewayHttpClientProperties.Pool pool) {
+        log.info("Creating dedicated connection pool for route {}: maxConnections={}, protocols={}",
+                routeId, pool.maxConnections(), pool.protocols());
+
+        var provider = ConnectionProvider.builder("gateway-%s".formatted(routeId))
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictionInterval())
+                .metrics(true)
+                .build();
+
+        var client = HttpClient.create(provider)
+                .protocol(pool.protocols().toArray(HttpProtocol[]::new))
+                .compress(globalProperties.isCompression());
+
+        if (globalProperties.getConnectTimeout() != null) {
+            client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, globalProperties.getConnectTimeout());
+        }
+
+        for (var customizer : customizers) {
+            client = customizer.customize(client);
+        }
+
+        return client;
+    }
+}
@@ -0,0 +1,61 @@
+package ca.zhoozhoo.loaddev.api.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import ca.zhoozhoo.loaddev.api.ratelimit.InMemoryTokenBucketStore;
+import ca.zhoozhoo.loaddev.api.ratelimit.TokenBucketRateLimiter;
+import ca.zhoozhoo.loaddev.api.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/// Configuration for per-user, per-route rate limiting in the gateway.
+///
+/// Registers [TokenBucketRateLimiter] as the gateway's rate limiter. Being the only
+/// `RateLimiter` bean, it is also the default for `RequestRateLimiter` filters that do not
+/// name one explicitly. Buckets live in an [InMemoryTokenBucketStore] unless another
+/// [TokenBucketStore] bean is declared, e.g. one backed by a shared store for multi-replica
+/// deployments.
+///
+/// **Properties:**
+///
+/// - `loaddev.gateway.rate-limiter.idle-timeout` - how long idle buckets are retained (default 10m)
+/// - `loaddev.gateway.rate-limiter.maximum-buckets` - upper bound of in-memory buckets (default 100000)
+///
+/// @author Zhubin Salehi
+/// @see TokenBucketRateLimiter
+@Configuration(proxyBeanMethods = false)
+public class RateLimiterConfiguration {
+
+    /// Creates the default heap-resident token bucket store.
+    ///
+    /// @param idleTimeout    how long an unused bucket is retained
+    /// @param maximumBuckets maximum number of buckets kept in memory
+    /// @return a lock-free in-memory token bucket store
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenBucketStore tokenBucketStore(
+            @Value("${loaddev.gateway.rate-limiter.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${loaddev.gateway.rate-limiter.maximum-buckets:100000}") long maximumBuckets) {
+        return new InMemoryTokenBucketStore(idleTimeout, maximumBuckets);
+    }
+
+    /// Creates the token bucket rate limiter used by `RequestRateLimiter` route filters.
+    ///
+    /// @param tokenBucketStore     the bucket storage backend
+    /// @param configurationService the gateway service binding per-route arguments
+    /// @param meterRegistry        registry for the store failure counter
+    /// @return the gateway rate limiter
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(TokenBucketStore tokenBucketStore,
+            ConfigurationService configurationService, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TokenBucketRateLimiter(tokenBucketStore, new TokenBucketRateLimiter.Config(),
+                configurationService, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
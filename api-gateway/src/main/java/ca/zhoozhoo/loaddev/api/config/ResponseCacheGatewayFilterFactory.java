@@ -0,0 +1,468 @@
+package ca.zhoozhoo.loaddev.api.config;
+
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.AGE;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.SET_COOKIE;
+import static org.springframework.http.HttpHeaders.TRANSFER_ENCODING;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jspecify.annotations.NonNull;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Spring Cloud Gateway filter factory that caches idempotent `GET` responses per user.
+///
+/// Reference data such as projectiles, rifles and individual loads is read far more often
+/// than it is written. This filter short-circuits repeated reads by serving them from an
+/// in-memory Caffeine cache instead of routing them to the downstream service.
+///
+/// **Usage in Gateway Routes:**
+/// ```yaml
+/// spring:
+///   cloud:
+///     gateway:
+///       routes:
+///         - id: components-service
+///           uri: lb://components-service
+///           filters:
+///             - TokenForwarding
+///             - RequestRateLimiter
+///             - ResponseCache=1m,16MB
+/// ```
+///
+/// Place it after `RequestRateLimiter`, so that cache hits still count against the user's
+/// rate limit.
+///
+/// **Caching Rules:**
+///
+/// - Entries are keyed by JWT subject, path, query string and `Accept` header, so users
+/// never see each other's data. Anonymous requests are never cached.
+/// - Only `200 OK` responses without `Set-Cookie` and within `maxEntrySize` are stored,
+/// whether their length is known up front or they are chunked.
+/// - Downstream `Cache-Control: no-store`/`no-cache` prevents storage and `max-age` caps
+/// the configured time-to-live.
+/// - Downstream `ETag` values are kept, so a matching `If-None-Match` yields `304 Not Modified`.
+/// - Clients may bypass the lookup with `Cache-Control: no-cache` or `no-store`.
+/// - Any mutating request (`POST`, `PUT`, `PATCH`, `DELETE`) evicts all of the same user's
+/// entries of the route, because one mutation may change several resources, e.g. an inventory
+/// receipt changes the inventory, search results and exports. Responses the user requested
+/// before the eviction and that are still in flight are not stored.
+///
+/// Each route gets its own cache bounded by `size`, which is the per-route memory budget,
+/// rebuilt when routes are refreshed.
+/// Cache statistics are published as `cache.*` meters tagged with the route id.
+///
+/// @author Zhubin Salehi
+/// @see TokenForwardingGatewayFilterFactory
+@Component
+@Log4j2
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    /// Metric name prefix for the per-route response caches.
+    public static final String CACHE_NAME = "gatewayResponseCache";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Clock clock;
+
+    private final ConcurrentMap<String, Cache<CacheKey, CachedResponse>> caches = new ConcurrentHashMap<>();
+
+    private final Set<CachingResponseDecorator> fills = ConcurrentHashMap.newKeySet();
+
+    public ResponseCacheGatewayFilterFactory(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    ResponseCacheGatewayFilterFactory(ObjectProvider<MeterRegistry> meterRegistry, Clock clock) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive", "size");
+    }
+
+    /// Creates a caching filter with its own bounded cache for the configured route.
+    ///
+    /// Routes are rebuilt on refresh, so a new cache replaces the route's previous one; the
+    /// configuration may have changed, and entries cached under the old one are dropped.
+    ///
+    /// @param config the route level cache configuration
+    /// @return a GatewayFilter serving cached responses and evicting on mutations
+    @Override
+    public GatewayFilter apply(Config config) {
+        var cacheId = cacheId(config);
+        var cache = createCache(config);
+        var previous = caches.put(cacheId, cache);
+        if (previous != null) {
+            log.debug("Rebuilt response cache of route {}", cacheId);
+            previous.invalidateAll();
+        }
+
+        return (exchange, chain) -> {
+            var method = exchange.getRequest().getMethod();
+            if (!HttpMethod.GET.equals(method) && !isMutating(method)) {
+                return chain.filter(exchange);
+            }
+
+            return exchange.getPrincipal()
+                    .map(principal -> Optional.of(principal.getName()))
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(subject -> {
+                        if (subject.isEmpty()) {
+                            return chain.filter(exchange);
+                        }
+                        if (HttpMethod.GET.equals(method)) {
+                            return cachedGet(exchange, chain, cache, config, subject.get());
+                        }
+                        return chain.filter(exchange)
+                                .doFinally(_ -> invalidate(cache, subject.get()));
+                    });
+        };
+    }
+
+    /// Serves a `GET` request from the cache or forwards it and captures the response.
+    private Mono<Void> cachedGet(ServerWebExchange exchange, GatewayFilterChain chain,
+            Cache<CacheKey, CachedResponse> cache, Config config, String subject) {
+        var requestCacheControl = exchange.getRequest().getHeaders().getCacheControl();
+        if (containsDirective(requestCacheControl, "no-store")) {
+            return chain.filter(exchange);
+        }
+
+        var key = CacheKey.of(subject, exchange);
+        if (!containsDirective(requestCacheControl, "no-cache")) {
+            var cached = cache.getIfPresent(key);
+            if (cached != null) {
+                log.debug("Response cache hit for {}", key.path());
+                return writeCached(exchange, cached);
+            }
+        }
+
+        log.debug("Response cache miss for {}", key.path());
+        var decorated = new CachingResponseDecorator(exchange.getResponse(), cache, key, config);
+        fills.add(decorated);
+        return chain.filter(exchange.mutate().response(decorated).build())
+                .doFinally(_ -> fills.remove(decorated));
+    }
+
+    /// Writes a cached response, answering `If-None-Match` with `304 Not Modified`.
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        var response = exchange.getResponse();
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(AGE, Long.toString(
+                Math.max(0, Duration.between(cached.created(), clock.instant()).toSeconds())));
+
+        var ifNoneMatch = exchange.getRequest().getHeaders().getFirst(IF_NONE_MATCH);
+        if (cached.eTag() != null && ifNoneMatch != null
+                && (ifNoneMatch.equals("*") || ifNoneMatch.contains(cached.eTag()))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().remove(CONTENT_LENGTH);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(cached.status());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    /// Evicts the user's entries of the route, and keeps the user's responses in flight from
+    /// being stored, since they may have been read before the mutation.
+    private void invalidate(Cache<CacheKey, CachedResponse> cache, String subject) {
+        fills.stream()
+                .filter(fill -> fill.cache == cache && fill.key.subject().equals(subject))
+                .forEach(CachingResponseDecorator::discard);
+        cache.asMap().keySet().removeIf(k -> k.subject().equals(subject));
+        log.debug("Invalidated cached responses of {} after mutation", subject);
+    }
+
+    private static boolean isMutating(HttpMethod method) {
+        return HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)
+                || HttpMethod.PATCH.equals(method) || HttpMethod.DELETE.equals(method);
+    }
+
+    private static boolean containsDirective(String cacheControl, String directive) {
+        return cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains(directive);
+    }
+
+    /// Resolves the effective time-to-live from the downstream `Cache-Control` header.
+    ///
+    /// @param cacheControl the downstream Cache-Control header, may be null
+    /// @param configured the route's configured time-to-live
+    /// @return the time-to-live to use, or empty if the response must not be stored
+    static Optional<Duration> timeToLive(String cacheControl, Duration configured) {
+        if (cacheControl == null) {
+            return Optional.of(configured);
+        }
+
+        var ttl = configured;
+        for (var directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            var trimmed = directive.trim();
+            if (trimmed.equals("no-store") || trimmed.equals("no-cache")) {
+                return Optional.empty();
+            }
+            if (trimmed.startsWith("max-age=")) {
+                try {
+                    var maxAge = Duration.ofSeconds(Long.parseLong(trimmed.substring(8)));
+                    ttl = maxAge.compareTo(ttl) < 0 ? maxAge : ttl;
+                } catch (NumberFormatException e) {
+                    log.debug("Ignoring malformed max-age directive: {}", trimmed);
+                }
+            }
+        }
+
+        return ttl.isZero() || ttl.isNegative() ? Optional.empty() : Optional.of(ttl);
+    }
+
+    private String cacheId(Config config) {
+        return config.getRouteId() != null ? config.getRouteId() : "route-%d".formatted(System.identityHashCode(config));
+    }
+
+    private Cache<CacheKey, CachedResponse> createCache(Config config) {
+        Cache<CacheKey, CachedResponse> cache = Caffeine.newBuilder()
+                .maximumWeight(config.getSize().toBytes())
+                .weigher((CacheKey k, CachedResponse v) -> v.weight() + k.weight())
+                .expireAfter(new Expiry<CacheKey, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(CacheKey key, CachedResponse value, long currentTime) {
+                        return value.timeToLive().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(CacheKey key, CachedResponse value, long currentTime,
+                            long currentDuration) {
+                        return value.timeToLive().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(CacheKey key, CachedResponse value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        meterRegistry.ifAvailable(registry -> {
+            // Meters of the route's previous cache would otherwise keep reporting it
+            registry.getMeters().stream()
+                    .filter(meter -> CACHE_NAME.equals(meter.getId().getTag("cache"))
+                            && cacheId(config).equals(meter.getId().getTag("route")))
+                    .toList()
+                    .forEach(registry::remove);
+            CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME, Tags.of("route", cacheId(config)));
+        });
+
+        return cache;
+    }
+
+    /// Response decorator that writes a cacheable body through while keeping a copy of it, and
+    /// stores the copy once the body is complete.
+    ///
+    /// The copy stops, and nothing is stored, as soon as the body exceeds `maxEntrySize`, so
+    /// chunked responses of unknown length are cached when small enough and never held in
+    /// memory beyond that size.
+    private final class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final Cache<CacheKey, CachedResponse> cache;
+
+        private final CacheKey key;
+
+        private final Config config;
+
+        private volatile boolean discarded;
+
+        CachingResponseDecorator(ServerHttpResponse delegate, Cache<CacheKey, CachedResponse> cache,
+                CacheKey key, Config config) {
+            super(delegate);
+            this.cache = cache;
+            this.key = key;
+            this.config = config;
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            var ttl = cacheableTimeToLive();
+            if (ttl.isEmpty()) {
+                return super.writeWith(body);
+            }
+
+            var maxEntrySize = config.getMaxEntrySize().toBytes();
+            var copy = new ByteArrayOutputStream();
+            var exceeded = new AtomicBoolean();
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (exceeded.get()) {
+                            return;
+                        }
+                        if (copy.size() + buffer.readableByteCount() > maxEntrySize) {
+                            log.debug("Response for {} exceeds {}, not caching it", key.path(), config.getMaxEntrySize());
+                            exceeded.set(true);
+                            copy.reset();
+                            return;
+                        }
+                        var bytes = new byte[buffer.readableByteCount()];
+                        var readPosition = buffer.readPosition();
+                        buffer.read(bytes);
+                        buffer.readPosition(readPosition);
+                        copy.writeBytes(bytes);
+                    })
+                    .doOnComplete(() -> {
+                        if (exceeded.get() || discarded) {
+                            return;
+                        }
+                        var response = CachedResponse.of(getStatusCode(), getHeaders(), copy.toByteArray(),
+                                clock.instant(), ttl.get());
+                        cache.put(key, response);
+                        // An invalidation may have run between the check and the put
+                        if (discarded) {
+                            cache.asMap().remove(key, response);
+                        }
+                    }));
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeAndFlushWith(@NonNull Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            if (cacheableTimeToLive().isEmpty()) {
+                // Keeps flushing event streams as they are written
+                return super.writeAndFlushWith(body);
+            }
+            return writeWith(Flux.from(body).flatMapSequential(p -> p));
+        }
+
+        /// Keeps this response from being stored.
+        void discard() {
+            discarded = true;
+        }
+
+        /// Determines whether the current response may be stored and for how long.
+        private Optional<Duration> cacheableTimeToLive() {
+            var headers = getHeaders();
+            var status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || headers.containsHeader(SET_COOKIE)
+                    || MediaType.TEXT_EVENT_STREAM.isCompatibleWith(headers.getContentType())) {
+                return Optional.empty();
+            }
+
+            // Unknown lengths (chunked responses) are checked against maxEntrySize while copying
+            if (headers.getContentLength() > config.getMaxEntrySize().toBytes()) {
+                return Optional.empty();
+            }
+
+            return timeToLive(headers.getFirst(CACHE_CONTROL), config.getTimeToLive());
+        }
+    }
+
+    /// Cache key identifying a response for a single user.
+    ///
+    /// @param subject the authenticated principal name (JWT `sub`)
+    /// @param path the request path
+    /// @param query the raw query string, empty if none
+    /// @param accept the `Accept` header, empty if none
+    record CacheKey(String subject, String path, String query, String accept) {
+
+        static CacheKey of(String subject, ServerWebExchange exchange) {
+            var request = exchange.getRequest();
+            var query = request.getURI().getRawQuery();
+            var accept = request.getHeaders().getFirst(ACCEPT);
+            return new CacheKey(subject, request.getPath().value(),
+                    query != null ? query : "", accept != null ? accept : "");
+        }
+
+        int weight() {
+            return subject.length() + path.length() + query.length() + accept.length();
+        }
+    }
+
+    /// Immutable snapshot of a downstream response.
+    ///
+    /// @param status the response status
+    /// @param headers a read-only copy of the response headers
+    /// @param body the response body
+    /// @param eTag the downstream ETag, may be null
+    /// @param created when the response was stored
+    /// @param timeToLive how long the response stays fresh
+    record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String eTag,
+            Instant created, Duration timeToLive) {
+
+        static CachedResponse of(HttpStatusCode status, HttpHeaders headers, byte[] body, Instant created,
+                Duration timeToLive) {
+            var copy = new HttpHeaders();
+            headers.forEach((name, values) -> {
+                if (!name.equalsIgnoreCase(TRANSFER_ENCODING)) {
+                    copy.addAll(name, values);
+                }
+            });
+            return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(copy), body, headers.getETag(),
+                    created, timeToLive);
+        }
+
+        int weight() {
+            return body.length + headers.toString().length();
+        }
+    }
+
+    /// Configuration for the ResponseCache filter.
+    ///
+    /// A mutable class rather than a record because the gateway injects the route id
+    /// through [HasRouteId], which is used to tag cache metrics.
+    @Data
+    public static class Config implements HasRouteId {
+
+        /// Upper bound for how long a response stays cached.
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        /// Memory budget of the route's cache.
+        private DataSize size = DataSize.ofMegabytes(16);
+
+        /// Largest single response body that will be stored.
+        private DataSize maxEntrySize = DataSize.ofKilobytes(512);
+
+        private String routeId;
+    }
+}
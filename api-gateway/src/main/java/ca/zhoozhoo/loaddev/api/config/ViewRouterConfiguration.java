@@ -0,0 +1,90 @@
+package ca.zhoozhoo.loaddev.api.config;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+import java.net.URI;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import ca.zhoozhoo.loaddev.api.view.LoadViewHandler;
+import ca.zhoozhoo.loaddev.api.view.ViewProperties;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.log4j.Log4j2;
+import reactor.netty.http.client.HttpClient;
+
+/// Configuration of the gateway's aggregated view endpoints.
+///
+/// View endpoints are served by functional handlers in the gateway itself rather than proxied
+/// by a route. Their downstream calls share the gateway's global `HttpClient`, so pooling,
+/// timeouts and [org.springframework.cloud.gateway.config.HttpClientCustomizer]s apply to them
+/// as well, and are observed through the same [ObservationRegistry] as the Keycloak client.
+///
+/// **Endpoints:**
+///
+/// - `GET /api/v1/views/loads/{id}` - load, rifle and group statistics in one document
+///
+/// @author Zhubin Salehi
+/// @see LoadViewHandler
+/// @see ViewProperties
+@Configuration(proxyBeanMethods = false)
+@Log4j2
+@EnableConfigurationProperties(ViewProperties.class)
+public class ViewRouterConfiguration {
+
+    private static final String LOAD_BALANCED_SCHEME = "lb";
+
+    /// Creates the load view handler.
+    ///
+    /// @param properties          the view settings
+    /// @param httpClient          the gateway's global HttpClient
+    /// @param observationRegistry the registry used to observe downstream calls
+    /// @param loadBalancer        the load balancer filter for `lb://` service URIs
+    /// @return the load view handler
+    @Bean
+    public LoadViewHandler loadViewHandler(ViewProperties properties, HttpClient httpClient,
+            ObservationRegistry observationRegistry,
+            ObjectProvider<ReactorLoadBalancerExchangeFilterFunction> loadBalancer) {
+        var builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .observationRegistry(observationRegistry);
+
+        return new LoadViewHandler(
+                webClient(builder.clone(), properties.loadsServiceUri(), loadBalancer),
+                webClient(builder.clone(), properties.riflesServiceUri(), loadBalancer),
+                properties.timeout());
+    }
+
+    /// Routes the view endpoints to their handlers.
+    ///
+    /// @param loadViewHandler the load view handler
+    /// @return the view router function
+    @Bean
+    public RouterFunction<ServerResponse> viewRoutes(LoadViewHandler loadViewHandler) {
+        return route(GET("/api/v1/views/loads/{id}"), loadViewHandler::getLoadView);
+    }
+
+    /// Builds a client for a service URI, resolving `lb://` URIs through the load balancer.
+    private static WebClient webClient(WebClient.Builder builder, URI uri,
+            ObjectProvider<ReactorLoadBalancerExchangeFilterFunction> loadBalancer) {
+        if (!LOAD_BALANCED_SCHEME.equals(uri.getScheme())) {
+            return builder.baseUrl(uri.toString()).build();
+        }
+
+        var filter = loadBalancer.getIfAvailable();
+        if (filter != null) {
+            builder.filter(filter);
+        } else {
+            log.warn("No load balancer available, calling {} without service discovery", uri);
+        }
+        return builder.baseUrl("http://%s".formatted(uri.getHost())).build();
+    }
+}
@@ -0,0 +1,138 @@
+package ca.zhoozhoo.loaddev.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// Adaptive concurrency limit driven by the gradient between long-term and sampled round-trip times.
+///
+/// The limit follows the gradient algorithm popularized by Netflix's concurrency-limits library:
+///
+/// - A long-term RTT is tracked as an exponential moving average of all samples.
+/// - Each completed request contributes a sample RTT. While the sample stays within
+/// `rttTolerance` of the long-term RTT the gradient is `1.0` and the limit probes upward by
+/// a queue allowance of `sqrt(limit)`.
+/// - When samples grow slower than the long-term RTT (the backend is queueing), the gradient
+/// drops towards `0.5` and the limit shrinks proportionally.
+/// - Failed requests multiply the limit by `backoffRatio`, like an AIMD limiter.
+/// - Samples taken while fewer than half of the permits are in use are ignored, so an idle
+/// route does not inflate its limit.
+///
+/// Permits are acquired with a lock-free compare-and-set on the in-flight counter; only the
+/// cheap limit recalculation on completion is synchronized.
+///
+/// @author Zhubin Salehi
+public final class GradientConcurrencyLimit {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double smoothing;
+
+    private final double rttTolerance;
+
+    private final double backoffRatio;
+
+    private final double longRttFactor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double estimatedLimit;
+
+    private double longRtt;
+
+    /// Creates a limit with the given bounds and tuning parameters.
+    ///
+    /// @param initialLimit  the starting limit
+    /// @param minLimit      the lower bound of the limit
+    /// @param maxLimit      the upper bound of the limit
+    /// @param smoothing     weight of a new estimate, between 0 and 1
+    /// @param rttTolerance  how much slower than the long-term RTT a sample may be before shrinking
+    /// @param backoffRatio  multiplier applied to the limit when a request fails
+    /// @param longRttWindow number of samples averaged by the long-term RTT
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing,
+            double rttTolerance, double backoffRatio, int longRttWindow) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.backoffRatio = backoffRatio;
+        this.longRttFactor = 2.0 / (Math.max(1, longRttWindow) + 1);
+        this.estimatedLimit = clamp(initialLimit);
+    }
+
+    /// Attempts to take a permit without blocking.
+    ///
+    /// @return true if the request may proceed, false if it should be shed
+    public boolean tryAcquire() {
+        while (true) {
+            var current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /// Returns a permit for a request that completed normally and records its round-trip time.
+    ///
+    /// @param rttNanos the measured round-trip time in nanoseconds
+    public void onSuccess(long rttNanos) {
+        var inFlightAtCompletion = inFlight.getAndDecrement();
+        onSample(rttNanos, inFlightAtCompletion);
+    }
+
+    /// Returns a permit for a request that failed and backs the limit off.
+    public synchronized void onDropped() {
+        inFlight.decrementAndGet();
+        estimatedLimit = clamp(estimatedLimit * backoffRatio);
+    }
+
+    /// Returns a permit for a request that was cancelled, without adjusting the limit.
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    /// Folds an RTT sample into the long-term average and recalculates the limit.
+    ///
+    /// @param rttNanos        the sampled round-trip time
+    /// @param inFlightAtSample requests in flight when the sample completed
+    synchronized void onSample(long rttNanos, int inFlightAtSample) {
+        if (rttNanos <= 0) {
+            return;
+        }
+
+        longRtt = longRtt == 0 ? rttNanos : longRtt * (1 - longRttFactor) + rttNanos * longRttFactor;
+
+        // Under-utilized: the sample says nothing about how much more the backend can take
+        if (inFlightAtSample < estimatedLimit / 2) {
+            return;
+        }
+
+        var gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / rttNanos));
+        var newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = clamp(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    /// Returns the current concurrency limit.
+    ///
+    /// @return the limit rounded down to whole requests
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    /// Returns the number of requests currently holding a permit.
+    ///
+    /// @return the in-flight count
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
@@ -0,0 +1,85 @@
+package ca.zhoozhoo.loaddev.api.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import reactor.core.publisher.Mono;
+
+/// Lock-free, heap-resident [TokenBucketStore].
+///
+/// Each bucket is an immutable `(tokens, timestamp)` snapshot held in an [AtomicReference].
+/// A consumption attempt lazily refills the bucket from the elapsed time and publishes the
+/// new snapshot with a compare-and-set loop, so concurrent requests for the same user never
+/// block each other and no background refill task is needed.
+///
+/// Buckets are held in a Caffeine cache and dropped after a period of inactivity, which
+/// bounds memory to the set of recently active users.
+///
+/// @author Zhubin Salehi
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Cache<String, AtomicReference<Bucket>> buckets;
+
+    private final LongSupplier nanoTime;
+
+    /// Creates a store evicting buckets idle for longer than `idleTimeout`.
+    ///
+    /// @param idleTimeout how long an unused bucket is retained
+    /// @param maximumSize maximum number of buckets kept in memory
+    public InMemoryTokenBucketStore(Duration idleTimeout, long maximumSize) {
+        this(idleTimeout, maximumSize, System::nanoTime);
+    }
+
+    InMemoryTokenBucketStore(Duration idleTimeout, long maximumSize, LongSupplier nanoTime) {
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maximumSize)
+                .build();
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public Mono<ConsumptionProbe> tryConsume(String key, int replenishRate, int burstCapacity, int requestedTokens) {
+        return Mono.fromSupplier(() -> consume(key, replenishRate, burstCapacity, requestedTokens));
+    }
+
+    ConsumptionProbe consume(String key, int replenishRate, int burstCapacity, int requestedTokens) {
+        if (requestedTokens > burstCapacity) {
+            // The bucket never holds enough tokens, so the retry hint below would be a lie
+            throw new IllegalArgumentException("requestedTokens (%d) exceed burstCapacity (%d)"
+                    .formatted(requestedTokens, burstCapacity));
+        }
+        var bucket = buckets.get(key, _ -> new AtomicReference<>(new Bucket(burstCapacity, nanoTime.getAsLong())));
+
+        while (true) {
+            var current = bucket.get();
+            var now = nanoTime.getAsLong();
+            var elapsed = Math.max(0, now - current.timestamp());
+            var available = Math.min(burstCapacity,
+                    current.tokens() + (double) elapsed * replenishRate / NANOS_PER_SECOND);
+            var consumed = available >= requestedTokens;
+            var next = new Bucket(consumed ? available - requestedTokens : available, now);
+
+            if (bucket.compareAndSet(current, next)) {
+                var retryAfter = consumed
+                        ? Duration.ZERO
+                        : Duration.ofNanos((long) Math.ceil((requestedTokens - available) * NANOS_PER_SECOND / replenishRate));
+                return new ConsumptionProbe(consumed, (long) Math.floor(next.tokens()), retryAfter);
+            }
+        }
+    }
+
+    /// Immutable bucket snapshot.
+    ///
+    /// @param tokens    fractional tokens available at `timestamp`
+    /// @param timestamp [System#nanoTime()] of the last refill
+    private record Bucket(double tokens, long timestamp) {
+    }
+}
@@ -0,0 +1,189 @@
+package ca.zhoozhoo.loaddev.api.ratelimit;
+
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.cloud.gateway.event.FilterArgsEvent;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+
+/// Spring Cloud Gateway [org.springframework.cloud.gateway.filter.ratelimit.RateLimiter] using
+/// token buckets kept in a pluggable [TokenBucketStore].
+///
+/// Buckets are keyed by route id and the id produced by the route's key resolver, which is the
+/// JWT `sub` when the gateway's default `principalNameKeyResolver` is used. Every route has its
+/// own replenish rate and burst capacity, so a runaway script or an agent looping on a single
+/// tool is throttled without affecting other users or routes.
+///
+/// **Usage in Gateway Routes:**
+/// ```yaml
+/// spring:
+///   cloud:
+///     gateway:
+///       routes:
+///         - id: loads-service
+///           uri: lb://loads-service
+///           filters:
+///             - TokenForwarding
+///             - name: RequestRateLimiter
+///               args:
+///                 rate-limiter: "#{@tokenBucketRateLimiter}"
+///                 key-resolver: "#{@principalNameKeyResolver}"
+///                 token-bucket-rate-limiter.replenishRate: 10
+///                 token-bucket-rate-limiter.burstCapacity: 20
+/// ```
+///
+/// Rejected requests are answered by the `RequestRateLimiter` filter with `429 Too Many Requests`.
+/// The `X-RateLimit-*` headers mirror those of the built-in Redis rate limiter, and a
+/// `Retry-After` header tells the client how many seconds to wait.
+///
+/// A route whose `requestedTokens` exceed its burst capacity could never be served, so its
+/// configuration is rejected when the route's arguments are bound.
+///
+/// **Metrics:**
+///
+/// - `gateway.rate-limiter.store.failures{route}` - requests let through because the
+///   [TokenBucketStore] failed
+///
+/// @author Zhubin Salehi
+/// @see InMemoryTokenBucketStore
+@Log4j2
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    /// Property prefix for per-route arguments.
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private final TokenBucketStore store;
+
+    private final Config defaultConfig;
+
+    private final MeterRegistry meterRegistry;
+
+    /// Creates the rate limiter.
+    ///
+    /// @param store                the bucket storage backend
+    /// @param defaultConfig        the configuration of routes without their own
+    /// @param configurationService the gateway service binding per-route arguments
+    /// @param meterRegistry        registry for the store failure counter
+    /// @throws IllegalArgumentException if the default configuration requests more tokens than
+    ///                                  its burst capacity
+    public TokenBucketRateLimiter(TokenBucketStore store, Config defaultConfig,
+            ConfigurationService configurationService, MeterRegistry meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.store = store;
+        this.defaultConfig = validate("the default configuration", defaultConfig);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /// Binds the arguments of a route and rejects them if its requests could never be served.
+    ///
+    /// @param event the route's filter arguments
+    /// @throws IllegalArgumentException if the route requests more tokens than its burst capacity
+    @Override
+    public void onApplicationEvent(FilterArgsEvent event) {
+        super.onApplicationEvent(event);
+        var config = getConfig().get(event.getRouteId());
+        if (config != null) {
+            validate("route " + event.getRouteId(), config);
+        }
+    }
+
+    /// Takes tokens from the caller's bucket for the given route.
+    ///
+    /// Store failures fail open: the request is allowed so that a broken shared backend
+    /// degrades to no rate limiting instead of rejecting all traffic. Each failure is logged
+    /// and counted, so that running without rate limiting does not go unnoticed.
+    ///
+    /// @param routeId the id of the route being called
+    /// @param id      the key produced by the route's key resolver
+    /// @return a Mono emitting whether the request is allowed and the headers to add
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        var config = getConfig().getOrDefault(routeId, defaultConfig);
+        var replenishRate = config.effectiveReplenishRate();
+        var burstCapacity = config.effectiveBurstCapacity();
+        var requestedTokens = config.effectiveRequestedTokens();
+
+        return store.tryConsume("%s:%s".formatted(routeId, id), replenishRate, burstCapacity, requestedTokens)
+                .map(probe -> {
+                    var headers = new LinkedHashMap<String, String>();
+                    headers.put(REMAINING_HEADER, Long.toString(probe.remainingTokens()));
+                    headers.put(REPLENISH_RATE_HEADER, Integer.toString(replenishRate));
+                    headers.put(BURST_CAPACITY_HEADER, Integer.toString(burstCapacity));
+                    headers.put(REQUESTED_TOKENS_HEADER, Integer.toString(requestedTokens));
+
+                    if (!probe.consumed()) {
+                        // Retry-After is expressed in whole seconds, rounded up
+                        var seconds = Math.max(1, (probe.retryAfter().toMillis() + 999) / 1000);
+                        headers.put(RETRY_AFTER, Long.toString(seconds));
+                        log.debug("Rate limit exceeded for route {}", routeId);
+                    }
+
+                    return new Response(probe.consumed(), headers);
+                })
+                .onErrorResume(e -> {
+                    log.error("Token bucket store failed for route {}, allowing request without rate limiting",
+                            routeId, e);
+                    Counter.builder("gateway.rate-limiter.store.failures")
+                            .tag("route", routeId)
+                            .description("Requests allowed without rate limiting because the token bucket store failed")
+                            .register(meterRegistry)
+                            .increment();
+                    return Mono.just(new Response(true, Map.of()));
+                });
+    }
+
+    /// Rejects a configuration whose requests need more tokens than its bucket can hold.
+    static Config validate(String name, Config config) {
+        if (config.effectiveRequestedTokens() > config.effectiveBurstCapacity()) {
+            throw new IllegalArgumentException(
+                    "Rate limiter requestedTokens (%d) of %s exceed its burstCapacity (%d), so no request could be served"
+                            .formatted(config.effectiveRequestedTokens(), name, config.effectiveBurstCapacity()));
+        }
+        return config;
+    }
+
+    /// Per-route token bucket configuration.
+    ///
+    /// A mutable class because the gateway binds route arguments onto an instance it creates.
+    @Data
+    public static class Config {
+
+        /// Tokens added to the bucket per second.
+        private int replenishRate = 10;
+
+        /// Maximum tokens the bucket can hold, i.e. the allowed burst.
+        private int burstCapacity = 20;
+
+        /// Tokens consumed by each request.
+        private int requestedTokens = 1;
+
+        int effectiveReplenishRate() {
+            return Math.max(1, replenishRate);
+        }
+
+        int effectiveBurstCapacity() {
+            return Math.max(effectiveReplenishRate(), burstCapacity);
+        }
+
+        int effectiveRequestedTokens() {
+            return Math.max(1, requestedTokens);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ca.zhoozhoo.loaddev.api.ratelimit;
+
+import java.time.Duration;
+
+import reactor.core.publisher.Mono;
+
+/// Storage backend for token buckets used by [TokenBucketRateLimiter].
+///
+/// The default [InMemoryTokenBucketStore] keeps buckets on the gateway heap, which is
+/// sufficient for a single replica. Deployments running several gateway replicas can
+/// provide a shared implementation (for example one backed by a Redis-compatible store
+/// evaluating the same refill-and-take step atomically on the server) by declaring
+/// their own `TokenBucketStore` bean.
+///
+/// @author Zhubin Salehi
+/// @see InMemoryTokenBucketStore
+public interface TokenBucketStore {
+
+    /// Refills the bucket identified by `key` and attempts to take `requestedTokens` from it.
+    ///
+    /// @param key             the bucket key, unique per route and user
+    /// @param replenishRate   tokens added per second
+    /// @param burstCapacity   maximum number of tokens the bucket holds
+    /// @param requestedTokens tokens consumed by a single request, at most `burstCapacity`
+    /// @return a Mono emitting the outcome of the attempt, or an [IllegalArgumentException] if
+    ///         `requestedTokens` exceed `burstCapacity`
+    Mono<ConsumptionProbe> tryConsume(String key, int replenishRate, int burstCapacity, int requestedTokens);
+
+    /// Outcome of a consumption attempt.
+    ///
+    /// @param consumed        whether the requested tokens were taken
+    /// @param remainingTokens whole tokens left in the bucket after the attempt
+    /// @param retryAfter      time until enough tokens are available, zero when consumed
+    record ConsumptionProbe(boolean consumed, long remainingTokens, Duration retryAfter) {
+    }
+}
@@ -0,0 +1,186 @@
+package ca.zhoozhoo.loaddev.api.view;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpStatus.BAD_GATEWAY;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.JsonNode;
+
+/// Backend-for-frontend handler that assembles the load detail page in a single round trip.
+///
+/// The UI would otherwise call loads-service and rifles-service one after the other. This
+/// handler fetches the load and its group statistics in parallel, fetches the load's rifle
+/// as soon as the load arrives, and returns one merged [LoadView] document. The permission
+/// token obtained once by `PermissionTokenExchangeFilter` is reused for every downstream call.
+///
+/// **Partial failures:**
+///
+/// - The load is mandatory: a 401, 403 or 404 from loads-service is returned as is, a
+/// timeout as 504 and any other failure as 502.
+/// - The rifle and statistics are optional: when either fails or times out, its field is
+/// `null` and the reason is reported in `errors`, while the response stays 200.
+///
+/// Every downstream call is limited by [ViewProperties#timeout()].
+///
+/// @author Zhubin Salehi
+/// @see ViewProperties
+@Log4j2
+public class LoadViewHandler {
+
+    static final String PERMISSION_TOKEN_ATTRIBUTE = "permission_token";
+
+    private final WebClient loadsClient;
+
+    private final WebClient riflesClient;
+
+    private final Duration timeout;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public LoadViewHandler(WebClient loadsClient, WebClient riflesClient, Duration timeout) {
+        this.loadsClient = loadsClient;
+        this.riflesClient = riflesClient;
+        this.timeout = timeout;
+    }
+
+    /// Handles `GET /api/v1/views/loads/{id}`.
+    ///
+    /// @param request the server request
+    /// @return the merged load view, or the load's error status
+    public Mono<ServerResponse> getLoadView(ServerRequest request) {
+        long id;
+        try {
+            id = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException _) {
+            return ServerResponse.badRequest().build();
+        }
+
+        var authorization = authorization(request);
+
+        var statistics = optional("statistics", get(loadsClient, "/v1/loads/{id}/statistics", authorization, id));
+
+        var loadAndRifle = get(loadsClient, "/v1/loads/{id}", authorization, id)
+                .flatMap(load -> {
+                    var rifleId = load.path("rifleId");
+                    if (!rifleId.isIntegralNumber()) {
+                        return Mono.just(new LoadAndRifle(load, Leg.absent()));
+                    }
+                    return optional("rifle", get(riflesClient, "/v1/rifles/{id}", authorization, rifleId.asLong()))
+                            .map(rifle -> new LoadAndRifle(load, rifle));
+                });
+
+        return Mono.zip(loadAndRifle, statistics)
+                .flatMap(tuple -> ServerResponse.ok()
+                        .contentType(APPLICATION_JSON)
+                        .bodyValue(LoadView.of(tuple.getT1().load(), tuple.getT1().rifle(), tuple.getT2())))
+                .onErrorResume(e -> loadFailed(id, e))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.status(BAD_GATEWAY).build()));
+    }
+
+    /// Issues a GET to a downstream service, limited by the per-call timeout.
+    private Mono<JsonNode> get(WebClient client, String uri, String authorization, Object id) {
+        return client.get()
+                .uri(uri, id)
+                .accept(APPLICATION_JSON)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(AUTHORIZATION, authorization);
+                    }
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout);
+    }
+
+    /// Turns a failing or empty call into a [Leg] carrying the failure reason.
+    private static Mono<Leg> optional(String name, Mono<JsonNode> call) {
+        return call.map(Leg::of)
+                .defaultIfEmpty(Leg.absent())
+                .onErrorResume(e -> {
+                    log.warn("Load view leg '{}' failed: {}", name, e.toString());
+                    return Mono.just(Leg.failed(reason(e)));
+                });
+    }
+
+    /// Maps a failure of the mandatory load call to the response status.
+    private static Mono<ServerResponse> loadFailed(long id, Throwable e) {
+        if (e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            return ServerResponse.status(response.getStatusCode()).build();
+        }
+        log.error("Load view for load {} failed: {}", id, e.toString());
+        return ServerResponse.status(e instanceof TimeoutException ? GATEWAY_TIMEOUT : BAD_GATEWAY).build();
+    }
+
+    /// Describes a failure without leaking downstream response bodies.
+    static String reason(Throwable e) {
+        return switch (e) {
+            case TimeoutException _ -> "timeout";
+            case WebClientResponseException response -> "status %d".formatted(response.getStatusCode().value());
+            default -> "unavailable";
+        };
+    }
+
+    /// Uses the exchanged permission token if present, otherwise the caller's Authorization header.
+    private static String authorization(ServerRequest request) {
+        String token = request.exchange().getAttribute(PERMISSION_TOKEN_ATTRIBUTE);
+        if (token != null) {
+            return "Bearer %s".formatted(token);
+        }
+        return request.headers().firstHeader(AUTHORIZATION);
+    }
+
+    private record LoadAndRifle(JsonNode load, Leg rifle) {
+    }
+
+    /// Outcome of an optional downstream call.
+    ///
+    /// @param value the response body, or null
+    /// @param error the failure reason, or null
+    record Leg(JsonNode value, String error) {
+
+        static Leg of(JsonNode value) {
+            return new Leg(value, null);
+        }
+
+        static Leg absent() {
+            return new Leg(null, null);
+        }
+
+        static Leg failed(String error) {
+            return new Leg(null, error);
+        }
+    }
+
+    /// Merged document returned to the UI.
+    ///
+    /// @param load       the load
+    /// @param rifle      the load's rifle, or null if unavailable
+    /// @param statistics the load's group statistics, or null if unavailable
+    /// @param errors     failure reasons of the unavailable parts, keyed by field name
+    public record LoadView(JsonNode load, JsonNode rifle, JsonNode statistics, Map<String, String> errors) {
+
+        static LoadView of(JsonNode load, Leg rifle, Leg statistics) {
+            var errors = new HashMap<String, String>();
+            if (rifle.error() != null) {
+                errors.put("rifle", rifle.error());
+            }
+            if (statistics.error() != null) {
+                errors.put("statistics", statistics.error());
+            }
+            return new LoadView(load, rifle.value(), statistics.value(), Map.copyOf(errors));
+        }
+    }
+}
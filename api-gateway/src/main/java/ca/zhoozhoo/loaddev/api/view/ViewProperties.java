@@ -0,0 +1,37 @@
+package ca.zhoozhoo.loaddev.api.view;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/// Settings of the gateway's aggregated view endpoints.
+///
+/// Service URIs with the `lb` scheme are resolved through the Spring Cloud load balancer,
+/// any other scheme is called directly (e.g. Kubernetes service DNS names).
+///
+/// **Example:**
+/// ```yaml
+/// loaddev:
+///   gateway:
+///     views:
+///       loads-service-uri: http://loads-service.reloading.svc.cluster.local:8080
+///       rifles-service-uri: http://rifles-service.reloading.svc.cluster.local:8080
+///       timeout: 2s
+/// ```
+///
+/// @param loadsServiceUri  base URI of loads-service (default `lb://loads-service`)
+/// @param riflesServiceUri base URI of rifles-service (default `lb://rifles-service`)
+/// @param timeout          time limit applied to each downstream call (default 3s)
+///
+/// @author Zhubin Salehi
+/// @see LoadViewHandler
+@ConfigurationProperties(prefix = "loaddev.gateway.views")
+public record ViewProperties(URI loadsServiceUri, URI riflesServiceUri, Duration timeout) {
+
+    public ViewProperties {
+        loadsServiceUri = loadsServiceUri != null ? loadsServiceUri : URI.create("lb://loads-service");
+        riflesServiceUri = riflesServiceUri != null ? riflesServiceUri : URI.create("lb://rifles-service");
+        timeout = timeout != null ? timeout : Duration.ofSeconds(3);
+    }
+}
@@ -0,0 +1,156 @@
+package ca.zhoozhoo.loaddev.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Unit tests for [AdaptiveConcurrencyLimitGatewayFilterFactory].
+/// Runs the filter against a slowed stub backend to verify load shedding and metrics.
+///
+/// @author Zhubin Salehi
+class AdaptiveConcurrencyLimitGatewayFilterFactoryTest {
+
+    private SimpleMeterRegistry registry;
+
+    private AdaptiveConcurrencyLimitGatewayFilterFactory factory;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(registry);
+        factory = new AdaptiveConcurrencyLimitGatewayFilterFactory(provider);
+    }
+
+    @Test
+    @DisplayName("Should shed concurrent requests above the limit with 503")
+    void shouldShedRequestsAboveLimit() {
+        var filter = factory.apply(config("loads-service", 2, 2, 2));
+
+        var exchanges = IntStream.range(0, 5)
+                .mapToObj(_ -> (ServerWebExchange) MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/loads")))
+                .toList();
+
+        Flux.fromIterable(exchanges)
+                .flatMap(exchange -> filter.filter(exchange, slowBackend(Duration.ofMillis(200)))
+                        .thenReturn(exchange))
+                .blockLast(Duration.ofSeconds(5));
+
+        assertThat(statuses(exchanges))
+                .containsExactlyInAnyOrder(HttpStatus.OK, HttpStatus.OK, HttpStatus.SERVICE_UNAVAILABLE,
+                        HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(registry.get("gateway.concurrency.rejected").tag("route", "loads-service").counter().count())
+                .isEqualTo(3.0);
+        assertThat(factory.getLimit("loads-service").getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should lower the limit when the backend slows down")
+    void shouldLowerLimitWhenBackendSlowsDown() {
+        var filter = factory.apply(config("components-service", 8, 1, 50));
+
+        // Warm up the long-term RTT with a fast backend at full utilization
+        for (var round = 0; round < 5; round++) {
+            Flux.range(0, 8)
+                    .flatMap(_ -> filter.filter(exchange(), slowBackend(Duration.ofMillis(5))))
+                    .blockLast(Duration.ofSeconds(5));
+        }
+        var before = factory.getLimit("components-service").getLimit();
+
+        for (var round = 0; round < 5; round++) {
+            Flux.range(0, before)
+                    .flatMap(_ -> filter.filter(exchange(), slowBackend(Duration.ofMillis(100))))
+                    .blockLast(Duration.ofSeconds(5));
+        }
+
+        assertThat(factory.getLimit("components-service").getLimit()).isLessThan(before);
+        assertThat(registry.get("gateway.concurrency.limit").tag("route", "components-service").gauge().value())
+                .isEqualTo(factory.getLimit("components-service").getLimit());
+    }
+
+    @Test
+    @DisplayName("Should back off when the backend returns server errors")
+    void shouldBackOffOnServerErrors() {
+        var filter = factory.apply(config("rifles-service", 10, 1, 10));
+        GatewayFilterChain failing = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+            return exchange.getResponse().setComplete();
+        };
+
+        filter.filter(exchange(), failing).block(Duration.ofSeconds(1));
+
+        assertThat(factory.getLimit("rifles-service").getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the route's limit and meters when the route is refreshed")
+    void shouldRebuildLimitOnRouteRefresh() {
+        factory.apply(config("components-service", 20, 5, 200));
+
+        factory.apply(config("components-service", 8, 2, 50));
+
+        assertThat(factory.getLimit("components-service").getLimit()).isEqualTo(8);
+        assertThat(registry.get("gateway.concurrency.limit").tag("route", "components-service").gauges())
+                .singleElement()
+                .satisfies(gauge -> assertThat(gauge.value()).isEqualTo(8.0));
+    }
+
+    @Test
+    @DisplayName("Should neither keep nor publish limits of routes without an id")
+    void shouldNotKeepLimitsOfRoutesWithoutId() {
+        var filter = factory.apply(config(null, 1, 1, 1));
+
+        filter.filter(exchange(), slowBackend(Duration.ZERO)).block(Duration.ofSeconds(1));
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    private static AdaptiveConcurrencyLimitGatewayFilterFactory.Config config(String routeId, int initial, int min,
+            int max) {
+        var config = new AdaptiveConcurrencyLimitGatewayFilterFactory.Config();
+        config.setRouteId(routeId);
+        config.setInitialLimit(initial);
+        config.setMinLimit(min);
+        config.setMaxLimit(max);
+        return config;
+    }
+
+    private static ServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/projectiles"));
+    }
+
+    /// Stub backend answering 200 OK after the given delay.
+    private static GatewayFilterChain slowBackend(Duration delay) {
+        return exchange -> Mono.delay(delay)
+                .then(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.OK);
+                    return exchange.getResponse().setComplete();
+                }));
+    }
+
+    private static List<HttpStatusCode> statuses(List<ServerWebExchange> exchanges) {
+        return exchanges.stream().map(e -> e.getResponse().getStatusCode()).toList();
+    }
+}
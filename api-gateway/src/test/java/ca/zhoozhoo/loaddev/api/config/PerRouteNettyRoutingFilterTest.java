@@ -0,0 +1,83 @@
+package ca.zhoozhoo.loaddev.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+/// Unit tests for [PerRouteNettyRoutingFilter] and [GatewayHttpClientProperties].
+/// Tests per-route client selection and pool defaults.
+///
+/// @author Zhubin Salehi
+class PerRouteNettyRoutingFilterTest {
+
+    private HttpClient globalClient;
+
+    private PerRouteNettyRoutingFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        globalClient = HttpClient.create();
+        var pool = new GatewayHttpClientProperties.Pool(50, null, Duration.ofSeconds(2), null, null, null,
+                List.of(HttpProtocol.H2C));
+        filter = new PerRouteNettyRoutingFilter(globalClient, mock(ObjectProvider.class), new HttpClientProperties(),
+                new GatewayHttpClientProperties(Map.of("loads-service", pool)), List.of());
+    }
+
+    @Test
+    @DisplayName("Should use the global client for routes without pool settings")
+    void shouldUseGlobalClientForUnconfiguredRoutes() {
+        assertThat(filter.getHttpClient(route("rifles-service"), exchange())).isSameAs(globalClient);
+    }
+
+    @Test
+    @DisplayName("Should create and reuse a dedicated client for configured routes")
+    void shouldReuseDedicatedClientForConfiguredRoutes() {
+        var first = filter.getHttpClient(route("loads-service"), exchange());
+        var second = filter.getHttpClient(route("loads-service"), exchange());
+
+        assertThat(first).isNotSameAs(globalClient).isSameAs(second);
+        assertThat(first.configuration().protocols()).containsExactly(HttpProtocol.H2C);
+    }
+
+    @Test
+    @DisplayName("Should apply pool defaults")
+    void shouldApplyPoolDefaults() {
+        var pool = new GatewayHttpClientProperties.Pool(null, null, null, null, null, null, null);
+
+        assertThat(pool.maxConnections()).isEqualTo(100);
+        assertThat(pool.pendingAcquireMaxCount()).isEqualTo(200);
+        assertThat(pool.pendingAcquireTimeout()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(pool.maxIdleTime()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(pool.protocols()).containsExactly(HttpProtocol.HTTP11);
+        assertThat(new GatewayHttpClientProperties(null).routes()).isEmpty();
+    }
+
+    private static Route route(String id) {
+        return Route.async()
+                .id(id)
+                .uri("http://%s:8080".formatted(id))
+                .predicate(_ -> true)
+                .build();
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/loads"));
+    }
+}
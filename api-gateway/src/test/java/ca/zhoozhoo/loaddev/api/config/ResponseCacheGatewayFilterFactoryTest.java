@@ -0,0 +1,291 @@
+package ca.zhoozhoo.loaddev.api.config;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static reactor.test.StepVerifier.create;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Unit tests for [ResponseCacheGatewayFilterFactory].
+/// Tests per-user caching, downstream cache directives and invalidation on mutations.
+///
+/// @author Zhubin Salehi
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private ResponseCacheGatewayFilterFactory factory;
+
+    private ResponseCacheGatewayFilterFactory.Config config;
+
+    private GatewayFilter filter;
+
+    private AtomicInteger downstreamCalls;
+
+    private String cacheControl;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        factory = new ResponseCacheGatewayFilterFactory(mock(ObjectProvider.class));
+        config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setRouteId("test-route");
+        filter = factory.apply(config);
+        downstreamCalls = new AtomicInteger();
+        cacheControl = null;
+    }
+
+    @Test
+    @DisplayName("Should serve repeated GET from cache")
+    void shouldServeRepeatedGetFromCache() {
+        var first = exchange(MockServerHttpRequest.get("/api/v1/rifles/1"), "alice");
+        create(filter.filter(first, chain())).verifyComplete();
+
+        var second = exchange(MockServerHttpRequest.get("/api/v1/rifles/1"), "alice");
+        create(filter.filter(second, chain())).verifyComplete();
+
+        assertThat(downstreamCalls).hasValue(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(((MockServerHttpResponse) second.getResponse()).getBodyAsString().block())
+                .isEqualTo("{\"call\":1}");
+    }
+
+    @Test
+    @DisplayName("Should not share cached responses between users")
+    void shouldNotShareCachedResponsesBetweenUsers() {
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles"), "alice"), chain()))
+                .verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles"), "bob"), chain()))
+                .verifyComplete();
+
+        assertThat(downstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should key cache entries by query and Accept header")
+    void shouldKeyByQueryAndAccept() {
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/loads?page=0"), "alice"), chain()))
+                .verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/loads?page=1"), "alice"), chain()))
+                .verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/loads?page=1")
+                .accept(MediaType.APPLICATION_XML), "alice"), chain()))
+                .verifyComplete();
+
+        assertThat(downstreamCalls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should not cache anonymous requests")
+    void shouldNotCacheAnonymousRequests() {
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles"), null), chain()))
+                .verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles"), null), chain()))
+                .verifyComplete();
+
+        assertThat(downstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should honor downstream no-store directive")
+    void shouldHonorDownstreamNoStore() {
+        cacheControl = "no-store";
+
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles"), "alice"), chain()))
+                .verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles"), "alice"), chain()))
+                .verifyComplete();
+
+        assertThat(downstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should bypass lookup when client sends no-cache")
+    void shouldBypassLookupOnClientNoCache() {
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles"), "alice"), chain()))
+                .verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles")
+                .header(CACHE_CONTROL, "no-cache"), "alice"), chain()))
+                .verifyComplete();
+
+        assertThat(downstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should answer matching If-None-Match with 304 from cache")
+    void shouldAnswerIfNoneMatchWithNotModified() {
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles/1"), "alice"), chain()))
+                .verifyComplete();
+
+        var conditional = exchange(MockServerHttpRequest.get("/api/v1/rifles/1")
+                .header(IF_NONE_MATCH, "\"v1\""), "alice");
+        create(filter.filter(conditional, chain())).verifyComplete();
+
+        assertThat(downstreamCalls).hasValue(1);
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    @DisplayName("Should invalidate all of the same user's entries of the route on mutation")
+    void shouldInvalidateOnMutation() {
+        create(filter.filter(exchange(MockServerHttpRequest.get("/v1/components/inventory"), "alice"), chain()))
+                .verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/v1/components/search?q=h4350"), "alice"),
+                chain())).verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/v1/components/inventory"), "bob"), chain()))
+                .verifyComplete();
+
+        create(filter.filter(exchange(MockServerHttpRequest.post("/v1/components/inventory/receipts"), "alice"),
+                chain())).verifyComplete();
+
+        create(filter.filter(exchange(MockServerHttpRequest.get("/v1/components/inventory"), "alice"), chain()))
+                .verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/v1/components/search?q=h4350"), "alice"),
+                chain())).verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/v1/components/inventory"), "bob"), chain()))
+                .verifyComplete();
+
+        // 3 initial GETs + POST + alice's 2 re-fetches; bob's entry is still cached
+        assertThat(downstreamCalls).hasValue(6);
+    }
+
+    @Test
+    @DisplayName("Should not store a response in flight when the same user mutates")
+    void shouldNotStoreResponseReadBeforeMutation() {
+        // The PUT completes while the GET's response is still being produced downstream
+        GatewayFilterChain getDuringPut = exchange -> filter
+                .filter(exchange(MockServerHttpRequest.put("/v1/projectiles/5"), "alice"), chain())
+                .then(chain().filter(exchange));
+        create(filter.filter(exchange(MockServerHttpRequest.get("/v1/projectiles"), "alice"), getDuringPut))
+                .verifyComplete();
+
+        create(filter.filter(exchange(MockServerHttpRequest.get("/v1/projectiles"), "alice"), chain()))
+                .verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/v1/projectiles"), "alice"), chain()))
+                .verifyComplete();
+
+        // PUT + GET in flight, which is not stored, + the re-fetch, which is
+        assertThat(downstreamCalls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should cache chunked responses within the maximum entry size")
+    void shouldCacheChunkedResponses() {
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/projectiles"), "alice"),
+                chunkedChain("[{\"id\":1},", "{\"id\":2}]"))).verifyComplete();
+
+        var second = exchange(MockServerHttpRequest.get("/api/v1/projectiles"), "alice");
+        create(filter.filter(second, chunkedChain("[]"))).verifyComplete();
+
+        assertThat(downstreamCalls).hasValue(1);
+        assertThat(((MockServerHttpResponse) second.getResponse()).getBodyAsString().block())
+                .isEqualTo("[{\"id\":1},{\"id\":2}]");
+    }
+
+    @Test
+    @DisplayName("Should stream chunked responses beyond the maximum entry size without caching them")
+    void shouldNotCacheOversizedChunkedResponses() {
+        config.setMaxEntrySize(DataSize.ofBytes(16));
+        filter = factory.apply(config);
+
+        var first = exchange(MockServerHttpRequest.get("/api/v1/projectiles"), "alice");
+        create(filter.filter(first, chunkedChain("[{\"id\":1},", "{\"id\":2},", "{\"id\":3}]"))).verifyComplete();
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/projectiles"), "alice"),
+                chunkedChain("[]"))).verifyComplete();
+
+        assertThat(downstreamCalls).hasValue(2);
+        assertThat(((MockServerHttpResponse) first.getResponse()).getBodyAsString().block())
+                .isEqualTo("[{\"id\":1},{\"id\":2},{\"id\":3}]");
+    }
+
+    @Test
+    @DisplayName("Should rebuild the route's cache when the route is refreshed")
+    void shouldRebuildCacheOnRouteRefresh() {
+        create(filter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles/1"), "alice"), chain()))
+                .verifyComplete();
+
+        var refreshed = new ResponseCacheGatewayFilterFactory.Config();
+        refreshed.setRouteId("test-route");
+        refreshed.setMaxEntrySize(DataSize.ofBytes(4));
+        var refreshedFilter = factory.apply(refreshed);
+
+        create(refreshedFilter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles/1"), "alice"), chain()))
+                .verifyComplete();
+        create(refreshedFilter.filter(exchange(MockServerHttpRequest.get("/api/v1/rifles/1"), "alice"), chain()))
+                .verifyComplete();
+
+        // The old entry is gone and the new configuration does not store bodies above 4 bytes
+        assertThat(downstreamCalls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should cap time-to-live with downstream max-age")
+    void shouldCapTimeToLiveWithMaxAge() {
+        var configured = Duration.ofMinutes(1);
+
+        assertThat(ResponseCacheGatewayFilterFactory.timeToLive(null, configured)).contains(configured);
+        assertThat(ResponseCacheGatewayFilterFactory.timeToLive("private, max-age=10", configured))
+                .contains(Duration.ofSeconds(10));
+        assertThat(ResponseCacheGatewayFilterFactory.timeToLive("max-age=600", configured)).contains(configured);
+        assertThat(ResponseCacheGatewayFilterFactory.timeToLive("max-age=0", configured)).isEmpty();
+        assertThat(ResponseCacheGatewayFilterFactory.timeToLive("no-cache", configured)).isEmpty();
+    }
+
+    private ServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String subject) {
+        var exchange = MockServerWebExchange.from(request);
+        if (subject == null) {
+            return exchange;
+        }
+        Principal principal = () -> subject;
+        return exchange.mutate().principal(Mono.just(principal)).build();
+    }
+
+    /// Simulates a downstream service that streams a JSON body in chunks, without a length.
+    private GatewayFilterChain chunkedChain(String... chunks) {
+        return exchange -> {
+            downstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Flux.fromArray(chunks)
+                    .map(chunk -> response.bufferFactory().wrap(chunk.getBytes(UTF_8))));
+        };
+    }
+
+    /// Simulates a downstream service that returns a numbered JSON body with an ETag.
+    private GatewayFilterChain chain() {
+        return exchange -> {
+            var call = downstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            var body = "{\"call\":%d}".formatted(call).getBytes(UTF_8);
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(body.length);
+            response.getHeaders().setETag("\"v%d\"".formatted(call));
+            if (cacheControl != null) {
+                response.getHeaders().set(CACHE_CONTROL, cacheControl);
+            }
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+}
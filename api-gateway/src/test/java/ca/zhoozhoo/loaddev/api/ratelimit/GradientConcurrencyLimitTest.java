@@ -0,0 +1,99 @@
+package ca.zhoozhoo.loaddev.api.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/// Unit tests for [GradientConcurrencyLimit].
+/// Tests permit accounting and limit adaptation to round-trip time changes.
+///
+/// @author Zhubin Salehi
+class GradientConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("Should reject permits above the limit")
+    void shouldRejectAboveLimit() {
+        var limit = new GradientConcurrencyLimit(2, 1, 10, 0.2, 1.5, 0.9, 100);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+
+        limit.onIgnored();
+
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while latency is stable under load")
+    void shouldGrowWhileLatencyIsStable() {
+        var limit = new GradientConcurrencyLimit(10, 1, 100, 0.2, 1.5, 0.9, 100);
+
+        for (var i = 0; i < 50; i++) {
+            limit.onSample(FAST, limit.getLimit());
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises")
+    void shouldShrinkWhenLatencyRises() {
+        var limit = new GradientConcurrencyLimit(50, 1, 100, 0.2, 1.5, 0.9, 100);
+        for (var i = 0; i < 20; i++) {
+            limit.onSample(FAST, 50);
+        }
+        var before = limit.getLimit();
+
+        for (var i = 0; i < 10; i++) {
+            limit.onSample(SLOW, limit.getLimit());
+        }
+
+        assertThat(limit.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("Should ignore samples while under-utilized")
+    void shouldIgnoreSamplesWhileUnderUtilized() {
+        var limit = new GradientConcurrencyLimit(20, 1, 100, 0.2, 1.5, 0.9, 100);
+
+        for (var i = 0; i < 50; i++) {
+            limit.onSample(FAST, 1);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should back off on dropped requests but respect the minimum")
+    void shouldBackOffOnDrop() {
+        var limit = new GradientConcurrencyLimit(10, 5, 100, 0.2, 1.5, 0.5, 100);
+
+        limit.tryAcquire();
+        limit.onDropped();
+        assertThat(limit.getLimit()).isEqualTo(5);
+
+        limit.tryAcquire();
+        limit.onDropped();
+        assertThat(limit.getLimit()).isEqualTo(5);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid bounds")
+    void shouldRejectInvalidBounds() {
+        assertThatThrownBy(() -> new GradientConcurrencyLimit(10, 0, 100, 0.2, 1.5, 0.9, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GradientConcurrencyLimit(10, 50, 10, 0.2, 1.5, 0.9, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
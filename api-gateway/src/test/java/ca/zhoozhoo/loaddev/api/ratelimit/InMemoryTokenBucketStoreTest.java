@@ -0,0 +1,113 @@
+package ca.zhoozhoo.loaddev.api.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static reactor.test.StepVerifier.create;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/// Unit tests for [InMemoryTokenBucketStore].
+/// Tests bucket refill, rejection with retry hints and correctness under contention.
+///
+/// @author Zhubin Salehi
+class InMemoryTokenBucketStoreTest {
+
+    private AtomicLong nanoTime;
+
+    private InMemoryTokenBucketStore store;
+
+    @BeforeEach
+    void setUp() {
+        nanoTime = new AtomicLong();
+        store = new InMemoryTokenBucketStore(Duration.ofMinutes(10), 1000, nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("Should allow bursts up to capacity and then reject")
+    void shouldAllowBurstThenReject() {
+        for (var i = 0; i < 5; i++) {
+            assertThat(store.consume("route:alice", 1, 5, 1).consumed()).isTrue();
+        }
+
+        var rejected = store.consume("route:alice", 1, 5, 1);
+
+        assertThat(rejected.consumed()).isFalse();
+        assertThat(rejected.remainingTokens()).isZero();
+        assertThat(rejected.retryAfter()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should reject requests for more tokens than the burst capacity")
+    void shouldRejectRequestedTokensAboveBurstCapacity() {
+        assertThatThrownBy(() -> store.consume("route:alice", 1, 2, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        create(store.tryConsume("route:alice", 1, 2, 3))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should refill tokens based on elapsed time")
+    void shouldRefillTokens() {
+        for (var i = 0; i < 5; i++) {
+            store.consume("route:alice", 2, 5, 1);
+        }
+        assertThat(store.consume("route:alice", 2, 5, 1).consumed()).isFalse();
+
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        var probe = store.consume("route:alice", 2, 5, 1);
+        assertThat(probe.consumed()).isTrue();
+        assertThat(probe.remainingTokens()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not refill beyond burst capacity")
+    void shouldNotRefillBeyondCapacity() {
+        store.consume("route:alice", 10, 5, 1);
+        nanoTime.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertThat(store.consume("route:alice", 10, 5, 1).remainingTokens()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key")
+    void shouldKeepSeparateBucketsPerKey() {
+        store.consume("route:alice", 1, 1, 1);
+
+        assertThat(store.consume("route:alice", 1, 1, 1).consumed()).isFalse();
+        assertThat(store.consume("route:bob", 1, 1, 1).consumed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never hand out more tokens than capacity under contention")
+    void shouldBeCorrectUnderContention() {
+        var granted = new AtomicInteger();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, 1000).forEach(_ -> executor.submit(() -> {
+                if (store.consume("route:alice", 1, 100, 1).consumed()) {
+                    granted.incrementAndGet();
+                }
+            }));
+        }
+
+        assertThat(granted).hasValue(100);
+    }
+
+    @Test
+    @DisplayName("Should emit probe reactively")
+    void shouldEmitProbeReactively() {
+        create(store.tryConsume("route:alice", 1, 1, 1))
+                .assertNext(probe -> assertThat(probe.consumed()).isTrue())
+                .verifyComplete();
+    }
+}
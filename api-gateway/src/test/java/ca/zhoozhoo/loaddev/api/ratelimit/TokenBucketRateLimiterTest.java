@@ -0,0 +1,155 @@
+package ca.zhoozhoo.loaddev.api.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static reactor.test.StepVerifier.create;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+
+import ca.zhoozhoo.loaddev.api.ratelimit.TokenBucketStore.ConsumptionProbe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/// Unit tests for [TokenBucketRateLimiter].
+/// Uses an embedded stub [TokenBucketStore] in place of a shared backend.
+///
+/// @author Zhubin Salehi
+class TokenBucketRateLimiterTest {
+
+    private StubTokenBucketStore store;
+
+    private TokenBucketRateLimiter rateLimiter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        store = new StubTokenBucketStore();
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new TokenBucketRateLimiter(store, new TokenBucketRateLimiter.Config(),
+                mock(ConfigurationService.class), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should allow request and report remaining tokens")
+    void shouldAllowRequest() {
+        store.next = Mono.just(new ConsumptionProbe(true, 19, Duration.ZERO));
+
+        create(rateLimiter.isAllowed("loads-service", "alice"))
+                .assertNext(response -> {
+                    assertThat(response.isAllowed()).isTrue();
+                    assertThat(response.getHeaders())
+                            .containsEntry(TokenBucketRateLimiter.REMAINING_HEADER, "19")
+                            .containsEntry(TokenBucketRateLimiter.REPLENISH_RATE_HEADER, "10")
+                            .containsEntry(TokenBucketRateLimiter.BURST_CAPACITY_HEADER, "20")
+                            .doesNotContainKey(RETRY_AFTER);
+                })
+                .verifyComplete();
+
+        assertThat(store.keys).containsExactly("loads-service:alice");
+    }
+
+    @Test
+    @DisplayName("Should deny request with Retry-After rounded up to seconds")
+    void shouldDenyWithRetryAfter() {
+        store.next = Mono.just(new ConsumptionProbe(false, 0, Duration.ofMillis(1500)));
+
+        create(rateLimiter.isAllowed("loads-service", "alice"))
+                .assertNext(response -> {
+                    assertThat(response.isAllowed()).isFalse();
+                    assertThat(response.getHeaders()).containsEntry(RETRY_AFTER, "2");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should use per-route configuration")
+    void shouldUsePerRouteConfiguration() {
+        var config = new TokenBucketRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(3);
+        config.setRequestedTokens(2);
+        rateLimiter.getConfig().put("mcp-server", config);
+        store.next = Mono.just(new ConsumptionProbe(true, 1, Duration.ZERO));
+
+        create(rateLimiter.isAllowed("mcp-server", "alice"))
+                .assertNext(response -> assertThat(response.getHeaders())
+                        .containsEntry(TokenBucketRateLimiter.REPLENISH_RATE_HEADER, "1")
+                        .containsEntry(TokenBucketRateLimiter.BURST_CAPACITY_HEADER, "3")
+                        .containsEntry(TokenBucketRateLimiter.REQUESTED_TOKENS_HEADER, "2"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail open and count the failure when the store errors")
+    void shouldFailOpenOnStoreError() {
+        store.next = Mono.error(new IllegalStateException("backend down"));
+
+        create(rateLimiter.isAllowed("loads-service", "alice"))
+                .assertNext(response -> assertThat(response.isAllowed()).isTrue())
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("gateway.rate-limiter.store.failures").tag("route", "loads-service")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject configurations requesting more tokens than the burst capacity")
+    void shouldRejectRequestedTokensAboveBurstCapacity() {
+        var config = new TokenBucketRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(2);
+        config.setRequestedTokens(3);
+
+        assertThatThrownBy(() -> TokenBucketRateLimiter.validate("route mcp-server", config))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("mcp-server");
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(store, config, mock(ConfigurationService.class),
+                meterRegistry)).isInstanceOf(IllegalArgumentException.class);
+
+        config.setRequestedTokens(2);
+        assertThat(TokenBucketRateLimiter.validate("route mcp-server", config)).isSameAs(config);
+    }
+
+    @Test
+    @DisplayName("Should enforce limits end to end with the in-memory store")
+    void shouldEnforceLimitsWithInMemoryStore() {
+        var limiter = new TokenBucketRateLimiter(new InMemoryTokenBucketStore(Duration.ofMinutes(1), 100),
+                new TokenBucketRateLimiter.Config(), mock(ConfigurationService.class), new SimpleMeterRegistry());
+        var config = new TokenBucketRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(2);
+        limiter.getConfig().put("rifles-service", config);
+
+        create(limiter.isAllowed("rifles-service", "alice")).assertNext(r -> assertThat(r.isAllowed()).isTrue())
+                .verifyComplete();
+        create(limiter.isAllowed("rifles-service", "alice")).assertNext(r -> assertThat(r.isAllowed()).isTrue())
+                .verifyComplete();
+        create(limiter.isAllowed("rifles-service", "alice")).assertNext(r -> assertThat(r.isAllowed()).isFalse())
+                .verifyComplete();
+    }
+
+    /// Embedded stand-in for a shared bucket backend.
+    private static final class StubTokenBucketStore implements TokenBucketStore {
+
+        private final List<String> keys = new ArrayList<>();
+
+        private Mono<ConsumptionProbe> next = Mono.empty();
+
+        @Override
+        public Mono<ConsumptionProbe> tryConsume(String key, int replenishRate, int burstCapacity,
+                int requestedTokens) {
+            keys.add(key);
+            return next;
+        }
+    }
+}
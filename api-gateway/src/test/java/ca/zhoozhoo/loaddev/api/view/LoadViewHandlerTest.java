@@ -0,0 +1,186 @@
+package ca.zhoozhoo.loaddev.api.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Mono;
+
+/// Unit tests for [LoadViewHandler].
+/// Tests parallel fan-out, token propagation and partial-failure semantics.
+///
+/// @author Zhubin Salehi
+class LoadViewHandlerTest {
+
+    private static final String LOAD = """
+            {"id":1,"name":"6.5 CM Match","rifleId":7}""";
+
+    private static final String RIFLE = """
+            {"id":7,"name":"Tikka T3x"}""";
+
+    private static final String STATISTICS = """
+            [{"powderCharge":{"value":41.5,"unit":"gr"},"averageVelocity":2710}]""";
+
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+
+    private Map<String, Mono<ClientResponse>> responses;
+
+    @BeforeEach
+    void setUp() {
+        requests.clear();
+        responses = Map.of(
+                "/v1/loads/1", json(LOAD),
+                "/v1/loads/1/statistics", json(STATISTICS),
+                "/v1/rifles/7", json(RIFLE));
+    }
+
+    @Test
+    @DisplayName("Should merge load, rifle and statistics into one document")
+    void shouldMergeAllParts() {
+        client(Duration.ofSeconds(1)).get().uri("/api/v1/views/loads/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.load.name").isEqualTo("6.5 CM Match")
+                .jsonPath("$.rifle.name").isEqualTo("Tikka T3x")
+                .jsonPath("$.statistics[0].averageVelocity").isEqualTo(2710)
+                .jsonPath("$.errors").isEmpty();
+
+        assertThat(requests).extracting(r -> r.url().getPath())
+                .containsExactlyInAnyOrder("/v1/loads/1", "/v1/loads/1/statistics", "/v1/rifles/7");
+    }
+
+    @Test
+    @DisplayName("Should forward the exchanged permission token to every service")
+    void shouldForwardPermissionToken() {
+        client(Duration.ofSeconds(1)).get().uri("/api/v1/views/loads/1")
+                .header(AUTHORIZATION, "Bearer user-token")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(requests).hasSize(3)
+                .allSatisfy(r -> assertThat(r.headers().getFirst(AUTHORIZATION)).isEqualTo("Bearer permission-token"));
+    }
+
+    @Test
+    @DisplayName("Should return the load with a null rifle when the rifle call fails")
+    void shouldReportFailedRifle() {
+        responses = Map.of(
+                "/v1/loads/1", json(LOAD),
+                "/v1/loads/1/statistics", json(STATISTICS),
+                "/v1/rifles/7", Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+
+        client(Duration.ofSeconds(1)).get().uri("/api/v1/views/loads/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.load.id").isEqualTo(1)
+                .jsonPath("$.rifle").isEmpty()
+                .jsonPath("$.statistics[0].averageVelocity").isEqualTo(2710)
+                .jsonPath("$.errors.rifle").isEqualTo("status 503");
+    }
+
+    @Test
+    @DisplayName("Should return the load with null statistics when the statistics call times out")
+    void shouldReportTimedOutStatistics() {
+        responses = Map.of(
+                "/v1/loads/1", json(LOAD),
+                "/v1/loads/1/statistics", Mono.delay(Duration.ofSeconds(2)).then(json(STATISTICS)),
+                "/v1/rifles/7", json(RIFLE));
+
+        client(Duration.ofMillis(200)).get().uri("/api/v1/views/loads/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rifle.id").isEqualTo(7)
+                .jsonPath("$.statistics").isEmpty()
+                .jsonPath("$.errors.statistics").isEqualTo("timeout");
+    }
+
+    @Test
+    @DisplayName("Should pass through 404 when the load does not exist")
+    void shouldPassThroughLoadNotFound() {
+        responses = Map.of(
+                "/v1/loads/1", Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()),
+                "/v1/loads/1/statistics", json("[]"));
+
+        client(Duration.ofSeconds(1)).get().uri("/api/v1/views/loads/1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Should return 504 when the load call times out")
+    void shouldReturnGatewayTimeoutWhenLoadTimesOut() {
+        responses = Map.of(
+                "/v1/loads/1", Mono.delay(Duration.ofSeconds(2)).then(json(LOAD)),
+                "/v1/loads/1/statistics", json("[]"));
+
+        client(Duration.ofMillis(200)).get().uri("/api/v1/views/loads/1")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Should reject non-numeric load ids")
+    void shouldRejectInvalidId() {
+        client(Duration.ofSeconds(1)).get().uri("/api/v1/views/loads/abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should describe failures without response bodies")
+    void shouldDescribeFailures() {
+        assertThat(LoadViewHandler.reason(new TimeoutException())).isEqualTo("timeout");
+        assertThat(LoadViewHandler.reason(WebClientResponseException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway",
+                null, null, null, null))).isEqualTo("status 502");
+        assertThat(LoadViewHandler.reason(new IllegalStateException("boom"))).isEqualTo("unavailable");
+    }
+
+    private WebTestClient client(Duration timeout) {
+        var webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return responses.getOrDefault(request.url().getPath(),
+                            Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+                })
+                .build();
+        var handler = new LoadViewHandler(webClient, webClient, timeout);
+
+        return WebTestClient.bindToRouterFunction(route(GET("/api/v1/views/loads/{id}"), handler::getLoadView))
+                .webFilter((exchange, chain) -> {
+                    exchange.getAttributes().put(LoadViewHandler.PERMISSION_TOKEN_ATTRIBUTE, "permission-token");
+                    return chain.filter(exchange);
+                })
+                .build();
+    }
+
+    private static Mono<ClientResponse> json(String body) {
+        return Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
@@ -0,0 +1,209 @@
+package ca.zhoozhoo.loaddev.components.cache;
+
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingInt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.Component;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+
+/// Immutable snapshot of one user's components with an inverted index for search.
+///
+/// The index maps each term of a component's manufacturer and type (caliber for cases) to
+/// the components containing it, in a sorted map so that query terms also match as prefixes:
+/// "var" finds "Varget" and "hornady eld" finds "Hornady ELD-X". Terms are lowercased and split
+/// at anything but letters, digits and decimal points, so "BR-4" is indexed as "br" and "4".
+///
+/// A component matches when every query term matches one of its terms, and no term prefixed
+/// with `-` does. Matches are ranked by the number of query terms matching a whole term rather
+/// than a prefix, then by id. Unlike the database search there is no stemming, and quoted
+/// phrases and `or` are matched as plain terms.
+///
+/// @author Zhubin Salehi
+public final class ComponentCatalog {
+
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}.]+");
+
+    private final List<Projectile> projectiles;
+
+    private final List<Propellant> propellants;
+
+    private final List<Primer> primers;
+
+    private final List<Case> cases;
+
+    private final TreeMap<String, Set<Component>> index = new TreeMap<>();
+
+    private final Map<Component, Set<String>> terms = new HashMap<>();
+
+    /// Creates the catalog and indexes its components.
+    ///
+    /// @param projectiles the user's projectiles
+    /// @param propellants the user's propellants
+    /// @param primers     the user's primers
+    /// @param cases       the user's cases
+    public ComponentCatalog(Collection<Projectile> projectiles, Collection<Propellant> propellants,
+            Collection<Primer> primers, Collection<Case> cases) {
+        this.projectiles = sorted(projectiles);
+        this.propellants = sorted(propellants);
+        this.primers = sorted(primers);
+        this.cases = sorted(cases);
+
+        Stream.of(this.projectiles, this.propellants, this.primers, this.cases)
+                .flatMap(List::stream)
+                .forEach(this::add);
+    }
+
+    /// Returns a page of the user's components of one type, ordered by id.
+    ///
+    /// @param <T>      the component type
+    /// @param type     the component class
+    /// @param pageable the page
+    /// @return the components of the page
+    public <T extends Component> List<T> findAll(Class<T> type, Pageable pageable) {
+        return page(components(type), pageable);
+    }
+
+    /// Returns a component by its id.
+    ///
+    /// @param <T>  the component type
+    /// @param type the component class
+    /// @param id   the component id
+    /// @return the component, or empty if there is none with this id
+    public <T extends Component> Optional<T> findById(Class<T> type, long id) {
+        var components = components(type);
+        int low = 0;
+        int high = components.size() - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var component = components.get(middle);
+            var order = Long.compare(component.id(), id);
+            if (order == 0) {
+                return Optional.of(component);
+            }
+            if (order < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /// Returns a page of the user's components of one type matching a query, best first.
+    ///
+    /// @param <T>      the component type
+    /// @param type     the component class
+    /// @param query    the search query
+    /// @param pageable the page
+    /// @return the matching components of the page
+    public <T extends Component> List<T> search(Class<T> type, String query, Pageable pageable) {
+        var included = new ArrayList<String>();
+        var excluded = new ArrayList<String>();
+        for (var word : query.strip().split("\\s+")) {
+            var exclude = word.startsWith("-");
+            (exclude ? excluded : included).addAll(terms(exclude ? word.substring(1) : word));
+        }
+        if (included.isEmpty()) {
+            return List.of();
+        }
+
+        var prefixMatches = included.stream().map(this::prefixed).toList();
+        var matches = new HashMap<T, Integer>();
+        for (var component : components(type)) {
+            var componentTerms = terms.get(component);
+            if (excluded.stream().anyMatch(componentTerms::contains)
+                    || prefixMatches.stream().anyMatch(prefixed -> !prefixed.contains(component))) {
+                continue;
+            }
+            matches.put(component, (int) included.stream().filter(componentTerms::contains).count());
+        }
+
+        return page(matches.keySet().stream()
+                .sorted(comparingInt((T component) -> matches.get(component)).reversed()
+                        .thenComparing(Component::id))
+                .toList(), pageable);
+    }
+
+    /// Returns the number of components in the catalog.
+    public int size() {
+        return terms.size();
+    }
+
+    private void add(Component component) {
+        var componentTerms = new HashSet<>(terms(switch (component) {
+            case Projectile projectile -> projectile.manufacturer() + " " + projectile.type();
+            case Propellant propellant -> propellant.manufacturer() + " " + propellant.type();
+            case Primer primer -> primer.manufacturer() + " " + primer.type();
+            case Case cartridgeCase -> cartridgeCase.manufacturer() + " " + cartridgeCase.caliber();
+        }));
+        terms.put(component, Set.copyOf(componentTerms));
+        componentTerms.forEach(term -> index.computeIfAbsent(term, _ -> new HashSet<>()).add(component));
+    }
+
+    /// Returns the components with a term starting with the given prefix.
+    private Set<Component> prefixed(String prefix) {
+        var components = new HashSet<Component>();
+        index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().forEach(components::addAll);
+        return components;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Component> List<T> components(Class<T> type) {
+        if (type == Projectile.class) {
+            return (List<T>) projectiles;
+        }
+        if (type == Propellant.class) {
+            return (List<T>) propellants;
+        }
+        if (type == Primer.class) {
+            return (List<T>) primers;
+        }
+        if (type == Case.class) {
+            return (List<T>) cases;
+        }
+        throw new IllegalArgumentException("Unknown component type " + type);
+    }
+
+    /// Splits text into lowercase search terms.
+    static List<String> terms(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(TERM_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .map(term -> term.replaceAll("^\\.+|\\.+$", ""))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private static <T extends Component> List<T> sorted(Collection<T> components) {
+        return components.stream().sorted(comparing(Component::id)).toList();
+    }
+
+    private static <T> List<T> page(List<T> items, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return items;
+        }
+        var from = (int) Math.min(pageable.getOffset(), items.size());
+        var to = Math.min(from + pageable.getPageSize(), items.size());
+        return items.subList(from, to);
+    }
+}
@@ -0,0 +1,115 @@
+package ca.zhoozhoo.loaddev.components.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+
+/// Per-user, in-memory cache of [ComponentCatalog]s.
+///
+/// Enabled with `loaddev.components.catalog-cache.enabled=true`. A user's catalog is loaded
+/// from all four component tables on first use and then serves the list and search endpoints
+/// without querying Postgres. The component services invalidate it after every create, update
+/// and delete.
+///
+/// Invalidation is local to this instance, so with several replicas a catalog may miss writes
+/// made through another replica until it expires. Catalogs expire after
+/// `loaddev.components.catalog-cache.idle-timeout` (default 2m) without reads and at the latest
+/// `loaddev.components.catalog-cache.max-age` (default 10m) after loading, and at most
+/// `loaddev.components.catalog-cache.maximum-size` (default 10000) users are cached.
+///
+/// **Metrics:** `cache.*{cache=componentCatalogs}` - size, hits, misses and evictions
+///
+/// @author Zhubin Salehi
+@Component
+@ConditionalOnProperty(name = "loaddev.components.catalog-cache.enabled", havingValue = "true")
+@Log4j2
+public class ComponentCatalogCache {
+
+    static final String CACHE_NAME = "componentCatalogs";
+
+    private final AsyncCache<String, ComponentCatalog> cache;
+
+    private final ProjectileRepository projectileRepository;
+
+    private final PropellantRepository propellantRepository;
+
+    private final PrimerRepository primerRepository;
+
+    private final CaseRepository caseRepository;
+
+    /// Creates the cache.
+    ///
+    /// @param projectileRepository the repository for Projectile entities
+    /// @param propellantRepository the repository for Propellant entities
+    /// @param primerRepository     the repository for Primer entities
+    /// @param caseRepository       the repository for Case entities
+    /// @param meterRegistry        registry for the cache metrics
+    /// @param maximumSize          maximum number of cached users
+    /// @param idleTimeout          how long a catalog is kept without reads
+    /// @param maxAge               how long a catalog is kept after loading
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ComponentCatalogCache(ProjectileRepository projectileRepository,
+            PropellantRepository propellantRepository,
+            PrimerRepository primerRepository,
+            CaseRepository caseRepository,
+            MeterRegistry meterRegistry,
+            @Value("${loaddev.components.catalog-cache.maximum-size:10000}") long maximumSize,
+            @Value("${loaddev.components.catalog-cache.idle-timeout:2m}") Duration idleTimeout,
+            @Value("${loaddev.components.catalog-cache.max-age:10m}") Duration maxAge) {
+        this.projectileRepository = projectileRepository;
+        this.propellantRepository = propellantRepository;
+        this.primerRepository = primerRepository;
+        this.caseRepository = caseRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTimeout)
+                .expireAfterWrite(maxAge)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /// Returns the user's catalog, loading it if it is not cached.
+    ///
+    /// Concurrent calls for the same user share one load. A failed load is not cached.
+    ///
+    /// @param ownerId the ID of the user
+    /// @return a Mono containing the user's catalog
+    public Mono<ComponentCatalog> get(String ownerId) {
+        return Mono.fromFuture(() -> cache.get(ownerId, (id, _) -> load(id).toFuture()), true);
+    }
+
+    /// Discards the user's catalog, so the next read loads it again.
+    ///
+    /// @param ownerId the ID of the user
+    public void invalidate(String ownerId) {
+        cache.synchronous().invalidate(ownerId);
+    }
+
+    private Mono<ComponentCatalog> load(String ownerId) {
+        return Mono.zip(
+                projectileRepository.findAllByOwnerId(ownerId, Pageable.unpaged()).collectList(),
+                propellantRepository.findAllByOwnerId(ownerId, Pageable.unpaged()).collectList(),
+                primerRepository.findAllByOwnerId(ownerId, Pageable.unpaged()).collectList(),
+                caseRepository.findAllByOwnerId(ownerId, Pageable.unpaged()).collectList())
+                .map(components -> new ComponentCatalog(components.getT1(), components.getT2(),
+                        components.getT3(), components.getT4()))
+                .doOnNext(catalog -> log.debug("Loaded catalog of {} components", catalog.size()));
+    }
+}
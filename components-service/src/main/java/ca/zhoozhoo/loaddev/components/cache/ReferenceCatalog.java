@@ -0,0 +1,127 @@
+package ca.zhoozhoo.loaddev.components.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Pageable;
+
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.CatalogEntry;
+import ca.zhoozhoo.loaddev.components.model.Component;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+import lombok.extern.log4j.Log4j2;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/// Read-only catalog of common manufacturer components shared by all users.
+///
+/// Loaded once at startup from `loaddev.components.reference-catalog` (default
+/// `classpath:reference-catalog.ndjson`), one [CatalogEntry] per line with ids unique per type,
+/// and indexed in a [ComponentCatalog], so listing and searching it never query Postgres. The
+/// entries have no owner; a user adopts one to get an own copy, see
+/// [ca.zhoozhoo.loaddev.components.service.ReferenceCatalogService]. Startup fails if a line
+/// cannot be read.
+///
+/// @author Zhubin Salehi
+@org.springframework.stereotype.Component
+@Log4j2
+public class ReferenceCatalog {
+
+    private final ComponentCatalog catalog;
+
+    /// Loads the catalog.
+    ///
+    /// @param resource     the NDJSON file of the catalog
+    /// @param objectMapper reads the catalog entries
+    public ReferenceCatalog(
+            @Value("${loaddev.components.reference-catalog:classpath:reference-catalog.ndjson}") Resource resource,
+            ObjectMapper objectMapper) {
+        var projectiles = new ArrayList<Projectile>();
+        var propellants = new ArrayList<Propellant>();
+        var primers = new ArrayList<Primer>();
+        var cases = new ArrayList<Case>();
+
+        try (var reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), UTF_8))) {
+            var number = 0;
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                number++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                switch (read(objectMapper, resource, number, line)) {
+                    case Projectile projectile -> projectiles.add(projectile);
+                    case Propellant propellant -> propellants.add(propellant);
+                    case Primer primer -> primers.add(primer);
+                    case Case cartridgeCase -> cases.add(cartridgeCase);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read reference catalog " + resource, e);
+        }
+
+        this.catalog = new ComponentCatalog(projectiles, propellants, primers, cases);
+        log.info("Loaded {} reference components from {}", catalog.size(), resource);
+    }
+
+    /// Returns a page of the reference components of one type, ordered by id.
+    ///
+    /// @param <T>      the component type
+    /// @param type     the component class
+    /// @param pageable the page
+    /// @return the components of the page
+    public <T extends Component> List<T> findAll(Class<T> type, Pageable pageable) {
+        return catalog.findAll(type, pageable);
+    }
+
+    /// Returns a page of the reference components of one type matching a query, best first.
+    ///
+    /// @param <T>      the component type
+    /// @param type     the component class
+    /// @param query    the search query, see [ComponentCatalog]
+    /// @param pageable the page
+    /// @return the matching components of the page
+    public <T extends Component> List<T> search(Class<T> type, String query, Pageable pageable) {
+        return catalog.search(type, query, pageable);
+    }
+
+    /// Returns a reference component by its id.
+    ///
+    /// @param <T>  the component type
+    /// @param type the component class
+    /// @param id   the reference id
+    /// @return the component, or empty if there is none with this id
+    public <T extends Component> Optional<T> findById(Class<T> type, long id) {
+        return catalog.findById(type, id);
+    }
+
+    /// Returns the number of reference components.
+    public int size() {
+        return catalog.size();
+    }
+
+    private static Component read(ObjectMapper objectMapper, Resource resource, int number, String line) {
+        try {
+            var entry = objectMapper.readTree(line);
+            var type = entry.path("type");
+            var componentClass = type.isString() ? CatalogEntry.componentClass(type.stringValue()) : null;
+            var component = entry.get("component");
+            if (componentClass == null || component == null || component.path("id").isMissingNode()) {
+                throw new IllegalStateException("Invalid reference component at %s:%d".formatted(resource, number));
+            }
+            return objectMapper.treeToValue(component, componentClass);
+        } catch (JacksonException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid reference component at %s:%d".formatted(resource, number), e);
+        }
+    }
+}
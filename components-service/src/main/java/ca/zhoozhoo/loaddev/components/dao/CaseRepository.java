@@ -11,6 +11,9 @@ import reactor.core.publisher.Mono;
 
 /// Reactive repository for Case entities with multi-tenant filtering and PostgreSQL full-text search.
 ///
+/// Search queries accept web search syntax (`"quoted phrases"`, `or`, `-excluded`) and use the
+/// `components_search_config()` text search configuration of the `search_vector` triggers.
+///
 /// @author Zhubin Salehi
 public interface CaseRepository extends ReactiveCrudRepository<Case, Long> {
     
@@ -18,9 +21,20 @@ public interface CaseRepository extends ReactiveCrudRepository<Case, Long> {
 
     Mono<Case> findByIdAndOwnerId(Long id, String ownerId);
 
-    @Query("SELECT * FROM cases WHERE owner_id = :ownerId AND search_vector @@ plainto_tsquery('simple', :q) "
-            + "ORDER BY ts_rank(search_vector, plainto_tsquery('simple', :q)) DESC "
+    @Query("SELECT * FROM cases WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery(components_search_config(), :q) "
+            + "ORDER BY ts_rank(search_vector, websearch_to_tsquery(components_search_config(), :q)) DESC, id "
             + "LIMIT :limit OFFSET :offset")
     Flux<Case> searchByOwnerIdAndQuery(@Param("ownerId") String ownerId, @Param("q") String query,
             @Param("limit") int limit, @Param("offset") long offset);
+
+    /// Typeahead query matching manufacturer and caliber by trigram word similarity.
+    ///
+    /// Filters on the expression of `idx_cases_text_trgm`, so the index is used. Run through
+    /// [TrigramSimilarity#suggest(Flux)] to apply the configured minimum similarity.
+    @Query("SELECT * FROM cases WHERE owner_id = :ownerId "
+            + "AND :q <% (coalesce(manufacturer,'') || ' ' || coalesce(caliber,'')) "
+            + "ORDER BY word_similarity(:q, coalesce(manufacturer,'') || ' ' || coalesce(caliber,'')) DESC, id "
+            + "LIMIT :limit")
+    Flux<Case> suggestByOwnerIdAndQuery(@Param("ownerId") String ownerId, @Param("q") String query,
+            @Param("limit") int limit);
 }
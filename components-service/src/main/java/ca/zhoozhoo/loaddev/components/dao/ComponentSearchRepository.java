@@ -0,0 +1,216 @@
+package ca.zhoozhoo.loaddev.components.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Full-text search across all component tables in one query.
+///
+/// The `search_vector` matches of the four tables are combined with `UNION ALL` and ordered by
+/// `ts_rank`, then by type and id so that ties have a stable order. Pages continue after the
+/// last [Match] of the previous page (keyset pagination), so inserts and deletes between
+/// requests neither skip nor repeat results the way `OFFSET` would. Only the type, id and rank
+/// of each match are returned; the components are loaded by id through their repositories.
+///
+/// On request, the same statement also returns the `ts_headline` of each match of the page and
+/// the number of matches per manufacturer, caliber and primer size. The matches are computed
+/// once in a CTE; the page is taken from it, and the facets are counted over all of it with
+/// `GROUPING SETS`, so a search page with facets is still one round trip. Headlines are only
+/// computed for the matches of the page.
+///
+/// @author Zhubin Salehi
+@Repository
+public class ComponentSearchRepository {
+
+    private static final String MATCHES = """
+            SELECT 'projectile' AS type, id, ts_rank(search_vector, websearch_to_tsquery(components_search_config(), :q)) AS rank
+              FROM projectiles WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery(components_search_config(), :q)
+            UNION ALL
+            SELECT 'propellant', id, ts_rank(search_vector, websearch_to_tsquery(components_search_config(), :q))
+              FROM propellants WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery(components_search_config(), :q)
+            UNION ALL
+            SELECT 'primer', id, ts_rank(search_vector, websearch_to_tsquery(components_search_config(), :q))
+              FROM primers WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery(components_search_config(), :q)
+            UNION ALL
+            SELECT 'case', id, ts_rank(search_vector, websearch_to_tsquery(components_search_config(), :q))
+              FROM cases WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery(components_search_config(), :q)
+            """;
+
+    private static final String FIRST_PAGE = "SELECT type, id, rank FROM (" + MATCHES + ") matches "
+            + "ORDER BY rank DESC, type, id LIMIT :limit";
+
+    private static final String NEXT_PAGE = "SELECT type, id, rank FROM (" + MATCHES + ") matches "
+            + "WHERE rank < :rank OR (rank = :rank AND (type, id) > (:type, :id)) "
+            + "ORDER BY rank DESC, type, id LIMIT :limit";
+
+    private static final String FACETED_MATCHES = """
+            SELECT 'projectile' AS type, id, ts_rank(search_vector, websearch_to_tsquery(components_search_config(), :q)) AS rank,
+                   coalesce(manufacturer,'') || ' ' || coalesce(type,'') AS text,
+                   manufacturer, NULL::varchar AS caliber, NULL::varchar AS primer_size
+              FROM projectiles WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery(components_search_config(), :q)
+            UNION ALL
+            SELECT 'propellant', id, ts_rank(search_vector, websearch_to_tsquery(components_search_config(), :q)),
+                   coalesce(manufacturer,'') || ' ' || coalesce(type,''), manufacturer, NULL, NULL
+              FROM propellants WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery(components_search_config(), :q)
+            UNION ALL
+            SELECT 'primer', id, ts_rank(search_vector, websearch_to_tsquery(components_search_config(), :q)),
+                   coalesce(manufacturer,'') || ' ' || coalesce(type,''), manufacturer, NULL, size
+              FROM primers WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery(components_search_config(), :q)
+            UNION ALL
+            SELECT 'case', id, ts_rank(search_vector, websearch_to_tsquery(components_search_config(), :q)),
+                   coalesce(manufacturer,'') || ' ' || coalesce(caliber,''), manufacturer, caliber, primer_size
+              FROM cases WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery(components_search_config(), :q)
+            """;
+
+    private static final String FACETED_PAGE = """
+            WITH matches AS (%s),
+            page AS (
+                SELECT type, id, rank, text FROM matches %s ORDER BY rank DESC, type, id LIMIT :limit
+            )
+            SELECT 'hit' AS kind, type, id, rank, %s AS headline,
+                   NULL::text AS facet, NULL::varchar AS value, NULL::bigint AS count
+              FROM page
+            %s
+            ORDER BY kind DESC, rank DESC, type, id, facet, count DESC, value
+            """;
+
+    private static final String KEYSET = "WHERE rank < :rank OR (rank = :rank AND (type, id) > (:type, :id))";
+
+    private static final String HEADLINE = "ts_headline(components_search_config(), text, websearch_to_tsquery(components_search_config(), :q))";
+
+    private static final String FACETS = """
+            UNION ALL
+            SELECT 'facet', NULL, NULL, NULL, NULL, facet, value, count FROM (
+                SELECT CASE WHEN GROUPING(manufacturer) = 0 THEN 'manufacturer'
+                            WHEN GROUPING(caliber) = 0 THEN 'caliber'
+                            ELSE 'primerSize' END AS facet,
+                       coalesce(manufacturer, caliber, primer_size) AS value,
+                       count(*) AS count
+                  FROM matches
+                 GROUP BY GROUPING SETS ((manufacturer), (caliber), (primer_size))
+            ) facets WHERE value IS NOT NULL
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ComponentSearchRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /// Returns the best matches of a query across all component types.
+    ///
+    /// @param ownerId the owner of the components
+    /// @param query   the query in web search syntax
+    /// @param after   the last match of the previous page, or null for the first page
+    /// @param limit   the maximum number of matches
+    /// @return the matches, best first
+    public Flux<Match> searchByOwnerIdAndQuery(String ownerId, String query, Match after, int limit) {
+        var spec = databaseClient.sql(after == null ? FIRST_PAGE : NEXT_PAGE)
+                .bind("ownerId", ownerId)
+                .bind("q", query)
+                .bind("limit", limit);
+        if (after != null) {
+            spec = spec.bind("rank", after.rank())
+                    .bind("type", after.type())
+                    .bind("id", after.id());
+        }
+        return spec.map(row -> new Match(
+                        row.get("type", String.class),
+                        row.get("id", Long.class),
+                        row.get("rank", Float.class)))
+                .all();
+    }
+
+    /// Returns the best matches of a query across all component types, with their headlines or
+    /// the facets of all matches, in one statement.
+    ///
+    /// @param ownerId   the owner of the components
+    /// @param query     the query in web search syntax
+    /// @param after     the last match of the previous page, or null for the first page
+    /// @param limit     the maximum number of matches
+    /// @param highlight whether to compute the headline of each match
+    /// @param facets    whether to count all matches by manufacturer, caliber and primer size
+    /// @return the matches, best first, and the facet counts, by facet then most frequent first
+    public Mono<SearchResult> searchByOwnerIdAndQuery(String ownerId, String query, Match after, int limit,
+            boolean highlight, boolean facets) {
+        var sql = FACETED_PAGE.formatted(FACETED_MATCHES, after == null ? "" : KEYSET,
+                highlight ? HEADLINE : "NULL::text", facets ? FACETS : "");
+        var spec = databaseClient.sql(sql)
+                .bind("ownerId", ownerId)
+                .bind("q", query)
+                .bind("limit", limit);
+        if (after != null) {
+            spec = spec.bind("rank", after.rank())
+                    .bind("type", after.type())
+                    .bind("id", after.id());
+        }
+        return spec.map(row -> "hit".equals(row.get("kind", String.class))
+                        ? new Match(
+                                row.get("type", String.class),
+                                row.get("id", Long.class),
+                                row.get("rank", Float.class),
+                                row.get("headline", String.class))
+                        : new FacetCount(
+                                row.get("facet", String.class),
+                                row.get("value", String.class),
+                                row.get("count", Long.class)))
+                .all()
+                .collectList()
+                .map(SearchResult::of);
+    }
+
+    /// A search match, identifying a component by type and id.
+    ///
+    /// @param type     the component type, see [ca.zhoozhoo.loaddev.components.model.ComponentSearchHit#typeOf]
+    /// @param id       the component id
+    /// @param rank     the `ts_rank` of the component
+    /// @param headline the component's text with the matching terms highlighted, or null if not requested
+    public record Match(String type, long id, float rank, String headline) {
+
+        /// Creates a match without headline.
+        public Match(String type, long id, float rank) {
+            this(type, id, rank, null);
+        }
+    }
+
+    /// The number of matches sharing a value of a facet.
+    ///
+    /// @param facet `manufacturer`, `caliber` or `primerSize`
+    /// @param value the value of the facet
+    /// @param count the number of matches with this value
+    public record FacetCount(String facet, String value, long count) {
+    }
+
+    /// The matches of a page and the facet counts of all matches.
+    ///
+    /// @param matches the matches, best first
+    /// @param facets  the facet counts, empty if not requested
+    public record SearchResult(List<Match> matches, List<FacetCount> facets) {
+
+        /// Compact constructor that creates defensive copies of mutable collections.
+        public SearchResult {
+            matches = List.copyOf(matches);
+            facets = List.copyOf(facets);
+        }
+
+        private static SearchResult of(List<Record> rows) {
+            var matches = new ArrayList<Match>();
+            var facets = new ArrayList<FacetCount>();
+            for (var row : rows) {
+                switch (row) {
+                    case Match match -> matches.add(match);
+                    case FacetCount facet -> facets.add(facet);
+                    default -> throw new IllegalStateException("Unexpected row " + row);
+                }
+            }
+            return new SearchResult(matches, facets);
+        }
+    }
+}
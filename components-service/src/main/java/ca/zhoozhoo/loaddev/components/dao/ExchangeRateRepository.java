@@ -0,0 +1,22 @@
+package ca.zhoozhoo.loaddev.components.dao;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+
+import ca.zhoozhoo.loaddev.components.model.ExchangeRate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Reactive repository for the exchange rates of users' rate tables.
+///
+/// @author Zhubin Salehi
+public interface ExchangeRateRepository extends R2dbcRepository<ExchangeRate, Long> {
+
+    Flux<ExchangeRate> findAllByOwnerIdOrderByBaseCurrencyAscTermCurrencyAsc(String ownerId);
+
+    @Modifying
+    @Query("DELETE FROM exchange_rates WHERE owner_id = :ownerId")
+    Mono<Long> deleteAllByOwnerId(@Param("ownerId") String ownerId);
+}
@@ -0,0 +1,194 @@
+package ca.zhoozhoo.loaddev.components.dao;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Ledger of users' component stock.
+///
+/// Every change of stock appends a row to `inventory_events` and applies its delta to the
+/// component's `inventory_stock` snapshot in the same statement: the snapshot is updated with
+/// `UPDATE ... RETURNING` (or an upsert for receipts), and the event is inserted from the
+/// returned row. Concurrent changes of the same component are serialized by the row lock of the
+/// update rather than read, modified and written back, so none is lost, and a consumption that
+/// would take the stock below zero matches no row and appends no event. Reading the stock of a
+/// component is a primary key lookup of its snapshot, however long its ledger.
+///
+/// Quantities are decimals in the base unit of the component type, see
+/// [ca.zhoozhoo.loaddev.components.service.InventoryService].
+///
+/// @author Zhubin Salehi
+@Repository
+public class InventoryRepository {
+
+    private static final String NEXT_EVENT_ID = "nextval(pg_get_serial_sequence('inventory_events', 'id'))";
+
+    private static final String APPEND_EVENT = """
+            , event AS (
+                INSERT INTO inventory_events (id, owner_id, component_type, component_id, delta, reason, reference)
+                SELECT last_event_id, owner_id, component_type, component_id, :delta, :reason, :reference FROM stock
+            )
+            SELECT component_type, component_id, on_hand, last_event_id FROM stock
+            """;
+
+    private static final String RECEIVE = """
+            WITH stock AS (
+                INSERT INTO inventory_stock AS s (owner_id, component_type, component_id, on_hand, last_event_id)
+                VALUES (:ownerId, :type, :componentId, :delta, %s)
+                ON CONFLICT (owner_id, component_type, component_id)
+                DO UPDATE SET on_hand = s.on_hand + excluded.on_hand, last_event_id = excluded.last_event_id
+                RETURNING owner_id, component_type, component_id, on_hand, last_event_id
+            )
+            """.formatted(NEXT_EVENT_ID) + APPEND_EVENT;
+
+    private static final String CONSUME = """
+            WITH stock AS (
+                UPDATE inventory_stock
+                   SET on_hand = on_hand + :delta, last_event_id = %s
+                 WHERE owner_id = :ownerId AND component_type = :type AND component_id = :componentId
+                   AND on_hand + :delta >= 0
+                RETURNING owner_id, component_type, component_id, on_hand, last_event_id
+            )
+            """.formatted(NEXT_EVENT_ID) + APPEND_EVENT;
+
+    private final DatabaseClient databaseClient;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public InventoryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /// Adds stock of a component, creating its snapshot on the first receipt.
+    ///
+    /// @param ownerId     the owner of the component
+    /// @param type        the component type
+    /// @param componentId the component id
+    /// @param quantity    the quantity received, positive
+    /// @param reference   the reference recorded with the event, or null
+    /// @return the stock after the receipt
+    public Mono<Stock> receive(String ownerId, String type, long componentId, BigDecimal quantity,
+            String reference) {
+        return change(RECEIVE, ownerId, type, componentId, quantity, "RECEIVED", reference);
+    }
+
+    /// Removes stock of a component, unless there is not enough of it.
+    ///
+    /// @param ownerId     the owner of the component
+    /// @param type        the component type
+    /// @param componentId the component id
+    /// @param quantity    the quantity consumed, positive
+    /// @param reference   the reference recorded with the event, or null
+    /// @return the stock after the consumption, or empty if the stock on hand is less than the
+    ///         quantity and nothing was changed
+    public Mono<Stock> consume(String ownerId, String type, long componentId, BigDecimal quantity,
+            String reference) {
+        return change(CONSUME, ownerId, type, componentId, quantity.negate(), "CONSUMED", reference);
+    }
+
+    /// Returns the stock of a component.
+    ///
+    /// @param ownerId     the owner of the component
+    /// @param type        the component type
+    /// @param componentId the component id
+    /// @return the stock, or empty if none was ever received
+    public Mono<Stock> findStock(String ownerId, String type, long componentId) {
+        return databaseClient.sql("""
+                SELECT component_type, component_id, on_hand, last_event_id FROM inventory_stock
+                 WHERE owner_id = :ownerId AND component_type = :type AND component_id = :componentId
+                """)
+                .bind("ownerId", ownerId)
+                .bind("type", type)
+                .bind("componentId", componentId)
+                .map(InventoryRepository::stock)
+                .one();
+    }
+
+    /// Returns the stock of all components of an owner.
+    ///
+    /// @param ownerId the owner of the components
+    /// @return the stock, ordered by type and component id
+    public Flux<Stock> findAllStock(String ownerId) {
+        return databaseClient.sql("""
+                SELECT component_type, component_id, on_hand, last_event_id FROM inventory_stock
+                 WHERE owner_id = :ownerId ORDER BY component_type, component_id
+                """)
+                .bind("ownerId", ownerId)
+                .map(InventoryRepository::stock)
+                .all();
+    }
+
+    /// Returns the ledger of a component.
+    ///
+    /// @param ownerId     the owner of the component
+    /// @param type        the component type
+    /// @param componentId the component id
+    /// @return the events, oldest first
+    public Flux<Event> findEvents(String ownerId, String type, long componentId) {
+        return databaseClient.sql("""
+                SELECT id, component_type, component_id, delta, reason, reference, recorded_at FROM inventory_events
+                 WHERE owner_id = :ownerId AND component_type = :type AND component_id = :componentId ORDER BY id
+                """)
+                .bind("ownerId", ownerId)
+                .bind("type", type)
+                .bind("componentId", componentId)
+                .map(row -> new Event(
+                        row.get("id", Long.class),
+                        row.get("component_type", String.class),
+                        row.get("component_id", Long.class),
+                        row.get("delta", BigDecimal.class),
+                        row.get("reason", String.class),
+                        row.get("reference", String.class),
+                        row.get("recorded_at", OffsetDateTime.class)))
+                .all();
+    }
+
+    private Mono<Stock> change(String sql, String ownerId, String type, long componentId, BigDecimal delta,
+            String reason, String reference) {
+        GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("ownerId", ownerId)
+                .bind("type", type)
+                .bind("componentId", componentId)
+                .bind("delta", delta)
+                .bind("reason", reason);
+        spec = reference != null ? spec.bind("reference", reference) : spec.bindNull("reference", String.class);
+        return spec.map(InventoryRepository::stock).one();
+    }
+
+    private static Stock stock(Readable row) {
+        return new Stock(
+                row.get("component_type", String.class),
+                row.get("component_id", Long.class),
+                row.get("on_hand", BigDecimal.class),
+                row.get("last_event_id", Long.class));
+    }
+
+    /// Snapshot row of the stock of a component.
+    ///
+    /// @param type        the component type
+    /// @param componentId the component id
+    /// @param onHand      the stock on hand
+    /// @param lastEventId the id of the last event included in the stock
+    public record Stock(String type, long componentId, BigDecimal onHand, long lastEventId) {
+    }
+
+    /// Event row of the ledger of a component.
+    ///
+    /// @param id          the event id
+    /// @param type        the component type
+    /// @param componentId the component id
+    /// @param delta       the change of stock
+    /// @param reason      `RECEIVED` or `CONSUMED`
+    /// @param reference   the reference of the change, or null
+    /// @param recordedAt  when the event was recorded
+    public record Event(long id, String type, long componentId, BigDecimal delta, String reason, String reference,
+            OffsetDateTime recordedAt) {
+    }
+}
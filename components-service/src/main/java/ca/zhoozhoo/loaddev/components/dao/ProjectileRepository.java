@@ -11,6 +11,9 @@ import reactor.core.publisher.Mono;
 
 /// Reactive repository for Projectile entities with multi-tenant filtering and PostgreSQL full-text search.
 ///
+/// Search queries accept web search syntax (`"quoted phrases"`, `or`, `-excluded`) and use the
+/// `components_search_config()` text search configuration of the `search_vector` triggers.
+///
 /// @author Zhubin Salehi
 public interface ProjectileRepository extends R2dbcRepository<Projectile, Long> {
 
@@ -18,9 +21,20 @@ public interface ProjectileRepository extends R2dbcRepository<Projectile, Long>
 
     Mono<Projectile> findByIdAndOwnerId(Long id, String ownerId);
 
-    @Query("SELECT * FROM projectiles WHERE owner_id = :ownerId AND search_vector @@ plainto_tsquery('english', :q) "
-        + "ORDER BY ts_rank(search_vector, plainto_tsquery('english', :q)) DESC "
+    @Query("SELECT * FROM projectiles WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery(components_search_config(), :q) "
+        + "ORDER BY ts_rank(search_vector, websearch_to_tsquery(components_search_config(), :q)) DESC, id "
         + "LIMIT :limit OFFSET :offset")
     Flux<Projectile> searchByOwnerIdAndQuery(@Param("ownerId") String ownerId, @Param("q") String query,
             @Param("limit") int limit, @Param("offset") long offset);
+
+    /// Typeahead query matching manufacturer and type by trigram word similarity.
+    ///
+    /// Filters on the expression of `idx_projectiles_text_trgm`, so the index is used. Run through
+    /// [TrigramSimilarity#suggest(Flux)] to apply the configured minimum similarity.
+    @Query("SELECT * FROM projectiles WHERE owner_id = :ownerId "
+            + "AND :q <% (coalesce(manufacturer,'') || ' ' || coalesce(type,'')) "
+            + "ORDER BY word_similarity(:q, coalesce(manufacturer,'') || ' ' || coalesce(type,'')) DESC, id "
+            + "LIMIT :limit")
+    Flux<Projectile> suggestByOwnerIdAndQuery(@Param("ownerId") String ownerId, @Param("q") String query,
+            @Param("limit") int limit);
 }
@@ -0,0 +1,106 @@
+package ca.zhoozhoo.loaddev.components.dao;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import reactor.core.publisher.Mono;
+
+/// Links between reference catalog components and the users' copies of them.
+///
+/// A user has a row here only for the reference components they adopted, never for the ones
+/// they merely list or search, see [ca.zhoozhoo.loaddev.components.cache.ReferenceCatalog].
+///
+/// @author Zhubin Salehi
+@Repository
+public class ReferenceAdoptionRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ReferenceAdoptionRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /// Returns the id of the owner's copy of a reference component.
+    ///
+    /// @param ownerId     the owner of the copy
+    /// @param type        the component type
+    /// @param referenceId the reference component id
+    /// @return the id of the copy, or empty if the owner never adopted the reference component
+    public Mono<Long> findComponentId(String ownerId, String type, long referenceId) {
+        return databaseClient.sql("""
+                SELECT component_id FROM reference_adoptions
+                 WHERE owner_id = :ownerId AND component_type = :type AND reference_id = :referenceId
+                """)
+                .bind("ownerId", ownerId)
+                .bind("type", type)
+                .bind("referenceId", referenceId)
+                .map(row -> row.get("component_id", Long.class))
+                .one();
+    }
+
+    /// Locks the link of a reference component to the owner's copy until the end of the
+    /// current transaction, so that concurrent adoptions of it wait for this one.
+    ///
+    /// @param ownerId     the owner of the copy
+    /// @param type        the component type
+    /// @param referenceId the reference component id
+    /// @return the id of the copy, or empty if the owner never adopted the reference component
+    public Mono<Long> lockComponentId(String ownerId, String type, long referenceId) {
+        return databaseClient.sql("""
+                SELECT component_id FROM reference_adoptions
+                 WHERE owner_id = :ownerId AND component_type = :type AND reference_id = :referenceId
+                   FOR UPDATE
+                """)
+                .bind("ownerId", ownerId)
+                .bind("type", type)
+                .bind("referenceId", referenceId)
+                .map(row -> row.get("component_id", Long.class))
+                .one();
+    }
+
+    /// Links a reference component to the owner's copy of it, unless it is already linked to
+    /// another copy.
+    ///
+    /// @param ownerId     the owner of the copy
+    /// @param type        the component type
+    /// @param referenceId the reference component id
+    /// @param componentId the id of the copy
+    /// @return true if the link was saved, false if the reference component was already linked
+    public Mono<Boolean> saveIfAbsent(String ownerId, String type, long referenceId, long componentId) {
+        return databaseClient.sql("""
+                INSERT INTO reference_adoptions (owner_id, component_type, reference_id, component_id)
+                VALUES (:ownerId, :type, :referenceId, :componentId)
+                ON CONFLICT (owner_id, component_type, reference_id) DO NOTHING
+                RETURNING component_id
+                """)
+                .bind("ownerId", ownerId)
+                .bind("type", type)
+                .bind("referenceId", referenceId)
+                .bind("componentId", componentId)
+                .map(row -> row.get("component_id", Long.class))
+                .one()
+                .hasElement();
+    }
+
+    /// Links a reference component to another copy of the owner, e.g. after the previous copy
+    /// was deleted.
+    ///
+    /// @param ownerId     the owner of the copy
+    /// @param type        the component type
+    /// @param referenceId the reference component id
+    /// @param componentId the id of the new copy
+    /// @return a Mono that completes when the link is updated
+    public Mono<Void> replace(String ownerId, String type, long referenceId, long componentId) {
+        return databaseClient.sql("""
+                UPDATE reference_adoptions SET component_id = :componentId
+                 WHERE owner_id = :ownerId AND component_type = :type AND reference_id = :referenceId
+                """)
+                .bind("ownerId", ownerId)
+                .bind("type", type)
+                .bind("referenceId", referenceId)
+                .bind("componentId", componentId)
+                .then();
+    }
+}
@@ -0,0 +1,67 @@
+package ca.zhoozhoo.loaddev.components.dao;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import reactor.core.publisher.Flux;
+
+/// Runs the `suggestByOwnerIdAndQuery` typeahead queries with the configured minimum similarity.
+///
+/// The queries filter with the pg_trgm `<%` operator, so they are served by the
+/// `idx_*_text_trgm` GIN indexes. The operator compares against the
+/// `pg_trgm.word_similarity_threshold` setting (0.6 by default, too strict for typos such as
+/// "Hornday"), which cannot be passed as a query parameter. Each query therefore runs in a
+/// transaction that first sets the threshold with `set_config(..., true)`, scoping it to that
+/// transaction on the pooled connection.
+///
+/// The threshold is `loaddev.components.suggest.min-similarity` (default 0.4).
+///
+/// @author Zhubin Salehi
+@Component
+public class TrigramSimilarity {
+
+    /// Maximum number of suggestions returned by one query.
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private final DatabaseClient databaseClient;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final String minSimilarity;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public TrigramSimilarity(DatabaseClient databaseClient, ReactiveTransactionManager transactionManager,
+            @Value("${loaddev.components.suggest.min-similarity:0.4}") double minSimilarity) {
+        if (minSimilarity <= 0 || minSimilarity > 1) {
+            throw new IllegalArgumentException("loaddev.components.suggest.min-similarity must be in (0, 1]");
+        }
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.minSimilarity = Double.toString(minSimilarity);
+    }
+
+    /// Runs a typeahead query with the minimum word similarity applied to `<%`.
+    ///
+    /// @param <T>   the component type
+    /// @param query the repository query, not yet subscribed
+    /// @return the query results
+    public <T> Flux<T> suggest(Flux<T> query) {
+        return transactionalOperator.transactional(
+                databaseClient.sql("SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)")
+                        .bind("threshold", minSimilarity)
+                        .then()
+                        .thenMany(query));
+    }
+
+    /// Returns the number of suggestions to fetch for a requested limit.
+    ///
+    /// @param limit the requested number of suggestions
+    /// @return the limit, between 1 and [#MAX_SUGGESTIONS]
+    public static int limit(int limit) {
+        return Math.clamp(limit, 1, MAX_SUGGESTIONS);
+    }
+}
@@ -0,0 +1,41 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import java.util.Map;
+
+/// One line of an exported or imported component catalog.
+///
+/// Catalogs are streamed as NDJSON, one entry per line, e.g.
+/// `{"type":"primer","component":{"manufacturer":"CCI","type":"BR-2",...}}`. The component id
+/// is exported but ignored on import, where new components are created.
+///
+/// @param type      the component type: `projectile`, `propellant`, `primer` or `case`
+/// @param component the component
+/// @author Zhubin Salehi
+public record CatalogEntry(
+
+        String type,
+
+        Component component) {
+
+    private static final Map<String, Class<? extends Component>> TYPES = Map.of(
+            "projectile", Projectile.class,
+            "propellant", Propellant.class,
+            "primer", Primer.class,
+            "case", Case.class);
+
+    /// Creates an entry typed after the component's class.
+    ///
+    /// @param component the component
+    /// @return the catalog entry
+    public static CatalogEntry of(Component component) {
+        return new CatalogEntry(ComponentSearchHit.typeOf(component), component);
+    }
+
+    /// Returns the component class of a type name.
+    ///
+    /// @param type `projectile`, `propellant`, `primer` or `case`
+    /// @return the component class, or null if the type is unknown
+    public static Class<? extends Component> componentClass(String type) {
+        return TYPES.get(type);
+    }
+}
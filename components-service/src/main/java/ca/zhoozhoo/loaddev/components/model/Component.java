@@ -5,6 +5,10 @@ import javax.money.MonetaryAmount;
 public sealed interface Component
         permits Projectile, Propellant, Primer, Case {
 
+    Long id();
+
+    String ownerId();
+
     String manufacturer();
 
     MonetaryAmount cost();
@@ -0,0 +1,14 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+/// The number of search matches sharing a value of a facet, see [ComponentSearchPage].
+///
+/// @param value the value of the facet, e.g. a manufacturer
+/// @param count the number of matches with this value
+///
+/// @author Zhubin Salehi
+public record ComponentFacetCount(
+
+        String value,
+
+        long count) {
+}
@@ -0,0 +1,58 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/// One result of the cross-component search, see [ComponentSearchPage].
+///
+/// @param type      the component type: `projectile`, `propellant`, `primer` or `case`
+/// @param rank      the full-text search rank (`ts_rank`) of the component
+/// @param component the matching component
+/// @param highlight the component's text with the matching terms in `<b>` tags (`ts_headline`),
+///                  or null if not requested
+///
+/// @author Zhubin Salehi
+public record ComponentSearchHit(
+
+        String type,
+
+        float rank,
+
+        Component component,
+
+        @JsonInclude(NON_NULL)
+        String highlight) {
+
+    /// Creates a hit typed after the component's class.
+    ///
+    /// @param rank      the full-text search rank
+    /// @param component the matching component
+    /// @return the search hit
+    public static ComponentSearchHit of(float rank, Component component) {
+        return of(rank, component, null);
+    }
+
+    /// Creates a highlighted hit typed after the component's class.
+    ///
+    /// @param rank      the full-text search rank
+    /// @param component the matching component
+    /// @param highlight the component's text with the matching terms highlighted, or null
+    /// @return the search hit
+    public static ComponentSearchHit of(float rank, Component component, String highlight) {
+        return new ComponentSearchHit(typeOf(component), rank, component, highlight);
+    }
+
+    /// Returns the type name of a component.
+    ///
+    /// @param component the component
+    /// @return `projectile`, `propellant`, `primer` or `case`
+    public static String typeOf(Component component) {
+        return switch (component) {
+            case Projectile _ -> "projectile";
+            case Propellant _ -> "propellant";
+            case Primer _ -> "primer";
+            case Case _ -> "case";
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/// A page of cross-component search results, best matches first.
+///
+/// @param items      the search hits of this page
+/// @param nextCursor the cursor of the next page, or null on the last page
+/// @param facets     the number of all matches, not only those of this page, per value of
+///                   `manufacturer`, `caliber` and `primerSize`, most frequent first, or null if
+///                   not requested
+///
+/// @author Zhubin Salehi
+public record ComponentSearchPage(
+
+        List<ComponentSearchHit> items,
+
+        String nextCursor,
+
+        @JsonInclude(NON_NULL)
+        Map<String, List<ComponentFacetCount>> facets) {
+
+    /// Compact constructor that creates defensive copies of mutable collections.
+    public ComponentSearchPage {
+        items = items != null ? List.copyOf(items) : List.of();
+        if (facets != null) {
+            var copy = new LinkedHashMap<String, List<ComponentFacetCount>>();
+            facets.forEach((facet, counts) -> copy.put(facet, List.copyOf(counts)));
+            facets = unmodifiableMap(copy);
+        }
+    }
+
+    /// Creates a page without facets.
+    ///
+    /// @param items      the search hits of this page
+    /// @param nextCursor the cursor of the next page, or null on the last page
+    public ComponentSearchPage(List<ComponentSearchHit> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+}
@@ -0,0 +1,46 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+/// Exchange rate of a user's rate table, converting one unit of the base currency into the
+/// term currency.
+///
+/// Rates are entered by the user rather than fetched from a rate provider, so pricing works
+/// offline and uses the rates the user actually paid. Multi-tenant by ownerId.
+///
+/// @author Zhubin Salehi
+@Table(name = "exchange_rates")
+public record ExchangeRate(
+
+        @Id Long id,
+
+        @JsonIgnore
+        @Column("owner_id") String ownerId,
+
+        @NotNull(message = "Base currency is required")
+        @Pattern(regexp = "[A-Z]{3}", message = "Base currency must be an ISO 4217 code")
+        @Column("base_currency") String baseCurrency,
+
+        @NotNull(message = "Term currency is required")
+        @Pattern(regexp = "[A-Z]{3}", message = "Term currency must be an ISO 4217 code")
+        @Column("term_currency") String termCurrency,
+
+        @NotNull(message = "Rate is required")
+        @Positive(message = "Rate must be positive")
+        @Column("rate") BigDecimal rate) {
+
+    /// Creates a copy of this rate for a new owner, with id set to null.
+    public ExchangeRate withOwner(String ownerId) {
+        return new ExchangeRate(null, ownerId, baseCurrency, termCurrency, rate);
+    }
+}
@@ -0,0 +1,33 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import java.util.List;
+
+/// Progress of a catalog import, reported after each batch of lines.
+///
+/// @param lines    the number of lines read so far
+/// @param imported the number of components created so far
+/// @param rejected the number of lines rejected so far
+/// @param errors   the lines of this batch that were rejected
+/// @author Zhubin Salehi
+public record ImportProgress(
+
+        long lines,
+
+        long imported,
+
+        long rejected,
+
+        List<Error> errors) {
+
+    /// Compact constructor that creates defensive copies of mutable collections.
+    public ImportProgress {
+        errors = errors != null ? List.copyOf(errors) : List.of();
+    }
+
+    /// A rejected line.
+    ///
+    /// @param line    the line number, starting at 1
+    /// @param message why the line was rejected
+    public record Error(long line, String message) {
+    }
+}
@@ -0,0 +1,24 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/// Rounds of a load fired, consuming their projectiles, powder and primers.
+///
+/// Cases are reloaded rather than consumed, so their stock is left unchanged. The load's
+/// reference is recorded with the consumption events.
+///
+/// @param load   the load fired
+/// @param rounds the number of rounds fired
+/// @author Zhubin Salehi
+public record InventoryConsumption(
+
+        @NotNull(message = "Load is required")
+        @Valid
+        LoadRecipe load,
+
+        @NotNull(message = "Rounds is required")
+        @Positive(message = "Rounds must be positive")
+        Integer rounds) {
+}
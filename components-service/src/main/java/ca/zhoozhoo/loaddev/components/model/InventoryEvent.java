@@ -0,0 +1,42 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import java.time.OffsetDateTime;
+
+import javax.measure.Quantity;
+
+import ca.zhoozhoo.loaddev.common.jackson.QuantityDeserializer;
+import ca.zhoozhoo.loaddev.common.jackson.QuantitySerializer;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/// Entry of a user's inventory ledger.
+///
+/// Events are only ever appended; the [StockLevel] of a component is the sum of its events.
+///
+/// @param id          the event id, increasing in the order events were recorded
+/// @param type        the component type: `projectile`, `propellant`, `primer` or `case`
+/// @param componentId the component id
+/// @param delta       the change of stock, negative for consumption, in grains for propellants
+///                    and in pieces otherwise
+/// @param reason      `RECEIVED` or `CONSUMED`
+/// @param reference   caller's reference of the change (e.g., the group fired), or null
+/// @param recordedAt  when the event was recorded
+/// @author Zhubin Salehi
+public record InventoryEvent(
+
+        long id,
+
+        String type,
+
+        long componentId,
+
+        @JsonSerialize(using = QuantitySerializer.class)
+        @JsonDeserialize(using = QuantityDeserializer.class)
+        Quantity<?> delta,
+
+        String reason,
+
+        String reference,
+
+        OffsetDateTime recordedAt) {
+}
@@ -0,0 +1,38 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import javax.measure.Quantity;
+
+import ca.zhoozhoo.loaddev.common.jackson.QuantityDeserializer;
+import ca.zhoozhoo.loaddev.common.jackson.QuantitySerializer;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/// Stock of a component added to a user's inventory.
+///
+/// @param type        the component type: `projectile`, `propellant`, `primer` or `case`
+/// @param componentId the component id
+/// @param quantity    the quantity received, a mass for propellants and a count otherwise
+/// @param reference   caller's reference of the receipt (e.g., an order number), or null
+/// @author Zhubin Salehi
+public record InventoryReceipt(
+
+        @NotNull(message = "Type is required")
+        @Pattern(regexp = "projectile|propellant|primer|case", message = "Type must be projectile, propellant, primer or case")
+        String type,
+
+        @NotNull(message = "Component id is required")
+        Long componentId,
+
+        @JsonSerialize(using = QuantitySerializer.class)
+        @JsonDeserialize(using = QuantityDeserializer.class)
+        @NotNull(message = "Quantity is required")
+        @Positive(message = "Quantity must be positive")
+        Quantity<?> quantity,
+
+        @Size(max = 255, message = "Reference must be at most 255 characters")
+        String reference) {
+}
@@ -0,0 +1,49 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Mass;
+
+import ca.zhoozhoo.loaddev.common.jackson.QuantityDeserializer;
+import ca.zhoozhoo.loaddev.common.jackson.QuantitySerializer;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/// Components and powder charge of a load to be priced.
+///
+/// Loads refer to their components by manufacturer and type, so callers resolve them to the
+/// ids of the user's components before pricing.
+///
+/// @param reference    caller's identifier of the load (e.g., the load id), echoed in the result
+/// @param projectileId id of the projectile
+/// @param propellantId id of the propellant
+/// @param powderCharge powder charge per round, in any mass unit
+/// @param primerId     id of the primer
+/// @param caseId       id of the case, or null to leave brass out of the cost
+/// @param caseFirings  number of firings the case cost is spread over, 1 if null
+/// @author Zhubin Salehi
+public record LoadRecipe(
+
+        String reference,
+
+        @NotNull(message = "Projectile id is required")
+        Long projectileId,
+
+        @NotNull(message = "Propellant id is required")
+        Long propellantId,
+
+        @JsonSerialize(using = QuantitySerializer.class)
+        @JsonDeserialize(using = QuantityDeserializer.class)
+        @NotNull(message = "Powder charge is required")
+        @Positive(message = "Powder charge must be positive")
+        Quantity<Mass> powderCharge,
+
+        @NotNull(message = "Primer id is required")
+        Long primerId,
+
+        Long caseId,
+
+        @Positive(message = "Case firings must be positive")
+        Integer caseFirings) {
+}
@@ -0,0 +1,21 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import javax.money.MonetaryAmount;
+
+import ca.zhoozhoo.loaddev.common.jackson.MonetaryAmountDeserializer;
+import ca.zhoozhoo.loaddev.common.jackson.MonetaryAmountSerializer;
+import jakarta.validation.constraints.PositiveOrZero;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/// User's values replacing those of a reference component when adopting it.
+///
+/// @param cost the price the user paid, or null to keep the reference price
+/// @author Zhubin Salehi
+public record ReferenceOverride(
+
+        @JsonSerialize(using = MonetaryAmountSerializer.class)
+        @JsonDeserialize(using = MonetaryAmountDeserializer.class)
+        @PositiveOrZero(message = "Cost must be non-negative")
+        MonetaryAmount cost) {
+}
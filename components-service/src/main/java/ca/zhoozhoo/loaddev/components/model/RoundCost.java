@@ -0,0 +1,50 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import javax.money.MonetaryAmount;
+
+import ca.zhoozhoo.loaddev.common.jackson.MonetaryAmountDeserializer;
+import ca.zhoozhoo.loaddev.common.jackson.MonetaryAmountSerializer;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/// Cost of one round of a load, broken down by component.
+///
+/// Component costs and the cost per round are rounded to 4 decimal places, the cost per 100
+/// rounds to 2; all are computed from the unrounded component costs.
+///
+/// @param reference     the caller's identifier of the load
+/// @param projectile    cost of the projectile
+/// @param propellant    cost of the powder charge
+/// @param primer        cost of the primer
+/// @param cartridgeCase cost of the case per firing, or null if no case was given
+/// @param perRound      total cost per round
+/// @param per100        total cost per 100 rounds
+/// @author Zhubin Salehi
+public record RoundCost(
+
+        String reference,
+
+        @JsonSerialize(using = MonetaryAmountSerializer.class)
+        @JsonDeserialize(using = MonetaryAmountDeserializer.class)
+        MonetaryAmount projectile,
+
+        @JsonSerialize(using = MonetaryAmountSerializer.class)
+        @JsonDeserialize(using = MonetaryAmountDeserializer.class)
+        MonetaryAmount propellant,
+
+        @JsonSerialize(using = MonetaryAmountSerializer.class)
+        @JsonDeserialize(using = MonetaryAmountDeserializer.class)
+        MonetaryAmount primer,
+
+        @JsonSerialize(using = MonetaryAmountSerializer.class)
+        @JsonDeserialize(using = MonetaryAmountDeserializer.class)
+        MonetaryAmount cartridgeCase,
+
+        @JsonSerialize(using = MonetaryAmountSerializer.class)
+        @JsonDeserialize(using = MonetaryAmountDeserializer.class)
+        MonetaryAmount perRound,
+
+        @JsonSerialize(using = MonetaryAmountSerializer.class)
+        @JsonDeserialize(using = MonetaryAmountDeserializer.class)
+        MonetaryAmount per100) {
+}
@@ -0,0 +1,28 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/// Batch of loads to price in one currency.
+///
+/// @param currency ISO 4217 code of the currency to price the loads in
+/// @param loads    the loads to price, at most [#MAX_LOADS]
+/// @author Zhubin Salehi
+public record RoundCostRequest(
+
+        @NotNull(message = "Currency is required")
+        @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code")
+        String currency,
+
+        @NotEmpty(message = "At least one load is required")
+        @Size(max = RoundCostRequest.MAX_LOADS, message = "At most " + RoundCostRequest.MAX_LOADS + " loads can be priced at once")
+        List<@Valid LoadRecipe> loads) {
+
+    /// Maximum number of loads priced in one request.
+    public static final int MAX_LOADS = 500;
+}
@@ -0,0 +1,16 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+/// Number of rounds of a load that can be built from the stock on hand.
+///
+/// @param reference the load's reference
+/// @param rounds    the number of rounds
+/// @param limitedBy the component type running out first: `projectile`, `propellant` or `primer`
+/// @author Zhubin Salehi
+public record RoundsRemaining(
+
+        String reference,
+
+        long rounds,
+
+        String limitedBy) {
+}
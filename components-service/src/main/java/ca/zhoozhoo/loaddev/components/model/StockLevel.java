@@ -0,0 +1,28 @@
+package ca.zhoozhoo.loaddev.components.model;
+
+import javax.measure.Quantity;
+
+import ca.zhoozhoo.loaddev.common.jackson.QuantityDeserializer;
+import ca.zhoozhoo.loaddev.common.jackson.QuantitySerializer;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/// Stock on hand of one of a user's components, as of an inventory event.
+///
+/// @param type        the component type: `projectile`, `propellant`, `primer` or `case`
+/// @param componentId the component id
+/// @param onHand      the stock on hand, in grains for propellants and in pieces otherwise
+/// @param lastEventId the id of the last [InventoryEvent] included in the stock
+/// @author Zhubin Salehi
+public record StockLevel(
+
+        String type,
+
+        long componentId,
+
+        @JsonSerialize(using = QuantitySerializer.class)
+        @JsonDeserialize(using = QuantityDeserializer.class)
+        Quantity<?> onHand,
+
+        long lastEventId) {
+}
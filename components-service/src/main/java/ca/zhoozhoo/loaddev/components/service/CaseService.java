@@ -1,9 +1,13 @@
 package ca.zhoozhoo.loaddev.components.service;
 
+import java.util.Optional;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import ca.zhoozhoo.loaddev.components.cache.ComponentCatalogCache;
 import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.TrigramSimilarity;
 import ca.zhoozhoo.loaddev.components.model.Case;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -20,11 +24,20 @@ public class CaseService {
 
     private final CaseRepository caseRepository;
 
+    private final TrigramSimilarity trigramSimilarity;
+
+    private final Optional<ComponentCatalogCache> catalogCache;
+
     /// Constructs a new CaseService with required repository.
     ///
     /// @param caseRepository the repository for Case entities
-    public CaseService(CaseRepository caseRepository) {
+    /// @param trigramSimilarity runs typeahead queries with the minimum similarity
+    /// @param catalogCache serves lists and searches from memory when enabled
+    public CaseService(CaseRepository caseRepository, TrigramSimilarity trigramSimilarity,
+            Optional<ComponentCatalogCache> catalogCache) {
         this.caseRepository = caseRepository;
+        this.trigramSimilarity = trigramSimilarity;
+        this.catalogCache = catalogCache;
     }
 
     /// Retrieves all cases for a specific user with pagination.
@@ -33,7 +46,9 @@ public class CaseService {
     /// @param pageable pagination parameters
     /// @return a Flux of Case entities
     public Flux<Case> getAllCases(String userId, Pageable pageable) {
-        return caseRepository.findAllByOwnerId(userId, pageable);
+        return catalogCache
+                .map(cache -> cache.get(userId).flatMapIterable(catalog -> catalog.findAll(Case.class, pageable)))
+                .orElseGet(() -> caseRepository.findAllByOwnerId(userId, pageable));
     }
 
     /// Searches for cases belonging to a user based on a query string with pagination.
@@ -43,7 +58,23 @@ public class CaseService {
     /// @param pageable pagination parameters
     /// @return a Flux of matching Case entities
     public Flux<Case> searchCases(String userId, String query, Pageable pageable) {
-        return caseRepository.searchByOwnerIdAndQuery(userId, query, pageable.getPageSize(), pageable.getOffset());
+        return catalogCache
+                .map(cache -> cache.get(userId)
+                        .flatMapIterable(catalog -> catalog.search(Case.class, query, pageable)))
+                .orElseGet(() -> caseRepository.searchByOwnerIdAndQuery(userId, query, pageable.getPageSize(),
+                        pageable.getOffset()));
+    }
+
+    /// Suggests cases belonging to a user whose manufacturer and caliber resemble a partial or
+    /// misspelled query, most similar first.
+    ///
+    /// @param userId the ID of the user
+    /// @param query  the partial query, e.g. what the user has typed so far
+    /// @param limit  the maximum number of suggestions, capped at [TrigramSimilarity#MAX_SUGGESTIONS]
+    /// @return a Flux of similar Case entities
+    public Flux<Case> suggestCases(String userId, String query, int limit) {
+        return trigramSimilarity.suggest(
+                caseRepository.suggestByOwnerIdAndQuery(userId, query, TrigramSimilarity.limit(limit)));
     }
 
     /// Retrieves a specific case by ID and user ID.
@@ -60,7 +91,7 @@ public class CaseService {
     /// @param caseItem the Case entity to create
     /// @return a Mono containing the created Case
     public Mono<Case> createCase(Case caseItem) {
-        return caseRepository.save(caseItem);
+        return caseRepository.save(caseItem).doOnSuccess(_ -> invalidateCatalog(caseItem.ownerId()));
     }
 
     /// Updates an existing case.
@@ -68,7 +99,7 @@ public class CaseService {
     /// @param caseItem the Case entity to update
     /// @return a Mono containing the updated Case
     public Mono<Case> updateCase(Case caseItem) {
-        return caseRepository.save(caseItem);
+        return caseRepository.save(caseItem).doOnSuccess(_ -> invalidateCatalog(caseItem.ownerId()));
     }
 
     /// Deletes a case.
@@ -76,6 +107,10 @@ public class CaseService {
     /// @param caseItem the Case entity to delete
     /// @return a Mono<Void> that completes when deletion is finished
     public Mono<Void> deleteCase(Case caseItem) {
-        return caseRepository.delete(caseItem);
+        return caseRepository.delete(caseItem).doOnSuccess(_ -> invalidateCatalog(caseItem.ownerId()));
+    }
+
+    private void invalidateCatalog(String ownerId) {
+        catalogCache.ifPresent(cache -> cache.invalidate(ownerId));
     }
 }
@@ -0,0 +1,168 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.ComponentSearchRepository;
+import ca.zhoozhoo.loaddev.components.dao.ComponentSearchRepository.FacetCount;
+import ca.zhoozhoo.loaddev.components.dao.ComponentSearchRepository.Match;
+import ca.zhoozhoo.loaddev.components.dao.ComponentSearchRepository.SearchResult;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.Component;
+import ca.zhoozhoo.loaddev.components.model.ComponentFacetCount;
+import ca.zhoozhoo.loaddev.components.model.ComponentSearchHit;
+import ca.zhoozhoo.loaddev.components.model.ComponentSearchPage;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Service searching all component types at once.
+///
+/// Matches are ranked across types by [ComponentSearchRepository], then the components of a
+/// page are loaded concurrently from their repositories. Pages are addressed by an opaque
+/// cursor holding the last match of the previous page. Highlights and facets, when requested,
+/// come from the same query as the matches.
+///
+/// @author Zhubin Salehi
+@Service
+public class ComponentSearchService {
+
+    /// Maximum number of results per page.
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /// Facets counted when requested, in the order of [ComponentSearchPage#facets()].
+    public static final List<String> FACETS = List.of("manufacturer", "caliber", "primerSize");
+
+    private final ComponentSearchRepository componentSearchRepository;
+
+    private final ProjectileRepository projectileRepository;
+
+    private final PropellantRepository propellantRepository;
+
+    private final PrimerRepository primerRepository;
+
+    private final CaseRepository caseRepository;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ComponentSearchService(ComponentSearchRepository componentSearchRepository,
+            ProjectileRepository projectileRepository, PropellantRepository propellantRepository,
+            PrimerRepository primerRepository, CaseRepository caseRepository) {
+        this.componentSearchRepository = componentSearchRepository;
+        this.projectileRepository = projectileRepository;
+        this.propellantRepository = propellantRepository;
+        this.primerRepository = primerRepository;
+        this.caseRepository = caseRepository;
+    }
+
+    /// Searches all components belonging to a user.
+    ///
+    /// @param userId the ID of the user
+    /// @param query  the search query in web search syntax
+    /// @param cursor the cursor of the page, or null for the first page
+    /// @param size   the page size, capped at [#MAX_PAGE_SIZE]
+    /// @return a Mono containing the page of results
+    /// @throws ServerWebInputException if the cursor is invalid
+    public Mono<ComponentSearchPage> searchComponents(String userId, String query, String cursor, int size) {
+        return searchComponents(userId, query, cursor, size, false, false);
+    }
+
+    /// Searches all components belonging to a user, with highlights and facets on request.
+    ///
+    /// @param userId    the ID of the user
+    /// @param query     the search query in web search syntax
+    /// @param cursor    the cursor of the page, or null for the first page
+    /// @param size      the page size, capped at [#MAX_PAGE_SIZE]
+    /// @param highlight whether to highlight the matching terms of each hit
+    /// @param facets    whether to count all matches by [#FACETS]
+    /// @return a Mono containing the page of results
+    /// @throws ServerWebInputException if the cursor is invalid
+    public Mono<ComponentSearchPage> searchComponents(String userId, String query, String cursor, int size,
+            boolean highlight, boolean facets) {
+        var after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+        var pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        var results = highlight || facets
+                ? componentSearchRepository.searchByOwnerIdAndQuery(userId, query, after, pageSize + 1, highlight,
+                        facets)
+                : componentSearchRepository.searchByOwnerIdAndQuery(userId, query, after, pageSize + 1)
+                        .collectList()
+                        .map(matches -> new SearchResult(matches, List.of()));
+
+        return results
+                .flatMap(result -> {
+                    var matches = result.matches();
+                    var page = matches.size() > pageSize ? matches.subList(0, pageSize) : matches;
+                    var nextCursor = matches.size() > pageSize ? encodeCursor(page.getLast()) : null;
+
+                    return findComponents(page)
+                            .collectMap(component -> new Key(ComponentSearchHit.typeOf(component), component.id()))
+                            .map(components -> new ComponentSearchPage(page.stream()
+                                    // Skips components deleted since the matches were ranked
+                                    .filter(match -> components.containsKey(new Key(match.type(), match.id())))
+                                    .map(match -> ComponentSearchHit.of(match.rank(),
+                                            components.get(new Key(match.type(), match.id())), match.headline()))
+                                    .toList(), nextCursor, facets ? facets(result.facets()) : null));
+                });
+    }
+
+    /// Groups facet counts by facet, keeping their order within each facet.
+    private static Map<String, List<ComponentFacetCount>> facets(List<FacetCount> counts) {
+        var facets = new LinkedHashMap<String, List<ComponentFacetCount>>();
+        FACETS.forEach(facet -> facets.put(facet, counts.stream()
+                .filter(count -> count.facet().equals(facet))
+                .map(count -> new ComponentFacetCount(count.value(), count.count()))
+                .toList()));
+        return facets;
+    }
+
+    /// Loads the matched components, one query per component type.
+    private Flux<Component> findComponents(List<Match> matches) {
+        var idsByType = matches.stream()
+                .collect(groupingBy(Match::type, mapping(Match::id, toList())));
+
+        return Flux.fromIterable(idsByType.entrySet())
+                .<Component>flatMap(entry -> switch (entry.getKey()) {
+                    case "projectile" -> projectileRepository.findAllById(entry.getValue());
+                    case "propellant" -> propellantRepository.findAllById(entry.getValue());
+                    case "primer" -> primerRepository.findAllById(entry.getValue());
+                    case "case" -> caseRepository.findAllById(entry.getValue());
+                    default -> Flux.error(new IllegalStateException("Unknown component type " + entry.getKey()));
+                });
+    }
+
+    /// Encodes the last match of a page as the cursor of the next page.
+    static String encodeCursor(Match match) {
+        var cursor = "%s:%d:%s".formatted(match.type(), match.id(), Float.toString(match.rank()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(UTF_8));
+    }
+
+    /// Decodes a cursor created by [#encodeCursor(Match)].
+    static Match decodeCursor(String cursor) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(cursor), UTF_8).split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected type:id:rank");
+            }
+            return new Match(parts[0], Long.parseLong(parts[1]), Float.parseFloat(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new ServerWebInputException("Invalid cursor", null, e);
+        }
+    }
+
+    /// Identifies a component across types.
+    private record Key(String type, Long id) {
+    }
+}
@@ -0,0 +1,216 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import ca.zhoozhoo.loaddev.components.cache.ComponentCatalogCache;
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.ComponentImportRepository;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.CatalogEntry;
+import ca.zhoozhoo.loaddev.components.model.Component;
+import ca.zhoozhoo.loaddev.components.model.ImportProgress;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/// Service exporting and importing a user's whole component catalog.
+///
+/// Exports stream the components of each type from the database as they are read, without
+/// collecting them first. Imports read [CatalogEntry] lines as they arrive and insert them in
+/// batches of [#BATCH_SIZE], one transaction per batch; the next lines are only requested once a
+/// batch is written, so a large import neither buffers in memory nor outruns the database.
+/// Each line is parsed on its own, so lines that are not valid JSON, cannot be read as a
+/// component or fail validation are rejected and reported without stopping the import. Blank
+/// lines are skipped but counted, so reported line numbers match the uploaded file.
+///
+/// @author Zhubin Salehi
+@Service
+public class ComponentTransferService {
+
+    /// Number of lines inserted per batch.
+    public static final int BATCH_SIZE = 500;
+
+    private final ProjectileRepository projectileRepository;
+
+    private final PropellantRepository propellantRepository;
+
+    private final PrimerRepository primerRepository;
+
+    private final CaseRepository caseRepository;
+
+    private final ComponentImportRepository componentImportRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final Optional<ComponentCatalogCache> catalogCache;
+
+    /// Creates the service.
+    ///
+    /// @param projectileRepository      the repository for Projectile entities
+    /// @param propellantRepository      the repository for Propellant entities
+    /// @param primerRepository          the repository for Primer entities
+    /// @param caseRepository            the repository for Case entities
+    /// @param componentImportRepository inserts imported batches
+    /// @param transactionManager        runs each imported batch in one transaction
+    /// @param objectMapper              reads imported components
+    /// @param validator                 validates imported components
+    /// @param catalogCache              discarded after an import when enabled
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ComponentTransferService(ProjectileRepository projectileRepository,
+            PropellantRepository propellantRepository, PrimerRepository primerRepository,
+            CaseRepository caseRepository, ComponentImportRepository componentImportRepository,
+            ReactiveTransactionManager transactionManager, ObjectMapper objectMapper, Validator validator,
+            Optional<ComponentCatalogCache> catalogCache) {
+        this.projectileRepository = projectileRepository;
+        this.propellantRepository = propellantRepository;
+        this.primerRepository = primerRepository;
+        this.caseRepository = caseRepository;
+        this.componentImportRepository = componentImportRepository;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.catalogCache = catalogCache;
+    }
+
+    /// Exports all components of a user.
+    ///
+    /// @param userId the ID of the user
+    /// @return a Flux of the user's projectiles, propellants, primers and cases, in this order
+    public Flux<CatalogEntry> exportComponents(String userId) {
+        return Flux.concat(
+                        projectileRepository.findAllByOwnerId(userId, Pageable.unpaged()),
+                        propellantRepository.findAllByOwnerId(userId, Pageable.unpaged()),
+                        primerRepository.findAllByOwnerId(userId, Pageable.unpaged()),
+                        caseRepository.findAllByOwnerId(userId, Pageable.unpaged()))
+                .map(CatalogEntry::of);
+    }
+
+    /// Imports components for a user.
+    ///
+    /// @param userId the ID of the user
+    /// @param lines  the lines of the import, each holding one catalog entry as a JSON object
+    /// @return a Flux of the progress after each batch
+    public Flux<ImportProgress> importComponents(String userId, Flux<String> lines) {
+        var lineNumber = new AtomicLong();
+        var imported = new AtomicLong();
+        var rejected = new AtomicLong();
+
+        return lines
+                .map(line -> new RawLine(lineNumber.incrementAndGet(), line))
+                .filter(line -> !line.text().isBlank())
+                .map(line -> read(line.number(), line.text(), userId))
+                .buffer(BATCH_SIZE)
+                .concatMap(batch -> {
+                    var errors = batch.stream().map(Line::error).filter(Objects::nonNull).toList();
+                    return insert(batch).map(count -> new ImportProgress(batch.getLast().number(),
+                            imported.addAndGet(count), rejected.addAndGet(errors.size()), errors));
+                }, 1)
+                .doFinally(_ -> catalogCache.ifPresent(cache -> cache.invalidate(userId)));
+    }
+
+    /// Inserts the components of a batch, grouped by type, in one transaction.
+    private Mono<Long> insert(List<Line> batch) {
+        var byType = batch.stream()
+                .filter(line -> line.component() != null)
+                .collect(groupingBy(line -> line.component().getClass(), LinkedHashMap::new,
+                        mapping(Line::component, toList())));
+        if (byType.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return transactionalOperator.transactional(Flux.fromIterable(byType.entrySet())
+                        .concatMap(components -> insertAll(components.getKey(), components.getValue())))
+                .reduce(0L, Long::sum);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Component> Mono<Long> insertAll(Class<T> type, List<Component> components) {
+        return componentImportRepository.insertAll(type, (List<T>) components);
+    }
+
+    /// Reads and validates a catalog entry, returning either the user's new component or why the
+    /// line was rejected.
+    private Line read(long number, String text, String userId) {
+        JsonNode line;
+        try {
+            line = objectMapper.readTree(text);
+        } catch (JacksonException e) {
+            return Line.rejected(number, "Malformed JSON: " + e.getOriginalMessage());
+        }
+
+        var typeNode = line.path("type");
+        var type = typeNode.isString() ? typeNode.stringValue() : null;
+        var componentClass = type != null ? CatalogEntry.componentClass(type) : null;
+        if (componentClass == null) {
+            return Line.rejected(number, "Unknown component type " + type);
+        }
+        if (!line.path("component").isObject()) {
+            return Line.rejected(number, "Missing component");
+        }
+
+        Component component;
+        try {
+            component = withOwner(objectMapper.treeToValue(line.get("component"), componentClass), userId);
+        } catch (JacksonException | IllegalArgumentException e) {
+            return Line.rejected(number, "Invalid %s: %s".formatted(type, e.getMessage()));
+        }
+
+        var violations = validator.validate(component);
+        if (!violations.isEmpty()) {
+            return Line.rejected(number, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(joining(", ")));
+        }
+        return new Line(number, component, null);
+    }
+
+    private static Component withOwner(Component component, String userId) {
+        return switch (component) {
+            case Projectile projectile -> projectile.withOwner(userId);
+            case Propellant propellant -> propellant.withOwner(userId);
+            case Primer primer -> primer.withOwner(userId);
+            case Case cartridgeCase -> cartridgeCase.withOwner(userId);
+        };
+    }
+
+    /// A line of an import as uploaded.
+    private record RawLine(long number, String text) {
+    }
+
+    /// A line read from an import, holding either a component or an error.
+    private record Line(long number, Component component, ImportProgress.Error error) {
+
+        static Line rejected(long number, String message) {
+            return new Line(number, null, new ImportProgress.Error(number, message));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ca.zhoozhoo.loaddev.components.dao.ExchangeRateRepository;
+import ca.zhoozhoo.loaddev.components.model.ExchangeRate;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Service managing users' exchange rate tables.
+///
+/// The [ExchangeRateTable] of a user is cached for `loaddev.components.exchange-rates.cache-ttl`
+/// (default 10m) and discarded when the user replaces their rates, so pricing a batch of
+/// loads does not query the rates again for every request.
+///
+/// @author Zhubin Salehi
+@Service
+public class ExchangeRateService {
+
+    private final ExchangeRateRepository exchangeRateRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final AsyncCache<String, ExchangeRateTable> tables;
+
+    /// Creates the service.
+    ///
+    /// @param exchangeRateRepository the repository for ExchangeRate entities
+    /// @param transactionManager     runs replacements of a rate table in one transaction
+    /// @param cacheTtl               how long a user's rate table is cached
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ExchangeRateService(ExchangeRateRepository exchangeRateRepository,
+            ReactiveTransactionManager transactionManager,
+            @Value("${loaddev.components.exchange-rates.cache-ttl:10m}") Duration cacheTtl) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.tables = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(cacheTtl)
+                .buildAsync();
+    }
+
+    /// Retrieves the exchange rates of a user.
+    ///
+    /// @param userId the ID of the user
+    /// @return a Flux of the user's rates, ordered by base and term currency
+    public Flux<ExchangeRate> getExchangeRates(String userId) {
+        return exchangeRateRepository.findAllByOwnerIdOrderByBaseCurrencyAscTermCurrencyAsc(userId);
+    }
+
+    /// Replaces all exchange rates of a user.
+    ///
+    /// @param userId the ID of the user
+    /// @param rates  the new rates
+    /// @return a Flux of the saved rates
+    public Flux<ExchangeRate> replaceExchangeRates(String userId, List<ExchangeRate> rates) {
+        return transactionalOperator.transactional(exchangeRateRepository.deleteAllByOwnerId(userId)
+                .thenMany(exchangeRateRepository.saveAll(rates.stream().map(rate -> rate.withOwner(userId)).toList())))
+                .doOnComplete(() -> tables.synchronous().invalidate(userId));
+    }
+
+    /// Returns the exchange rate table of a user, loading it if it is not cached.
+    ///
+    /// @param userId the ID of the user
+    /// @return a Mono containing the user's rate table
+    public Mono<ExchangeRateTable> getExchangeRateTable(String userId) {
+        return Mono.fromFuture(() -> tables.get(userId, (id, _) -> getExchangeRates(id)
+                .collectList()
+                .map(ExchangeRateTable::new)
+                .toFuture()), true);
+    }
+}
@@ -0,0 +1,60 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static java.math.MathContext.DECIMAL64;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.Money;
+import org.springframework.web.server.ServerWebInputException;
+
+import ca.zhoozhoo.loaddev.components.model.ExchangeRate;
+
+/// Immutable lookup of a user's exchange rates converting JSR-354 amounts between currencies.
+///
+/// A rate from base to term currency also converts from term to base currency at its inverse,
+/// unless the user entered that direction too. Amounts already in the target currency are
+/// returned unchanged.
+///
+/// @author Zhubin Salehi
+public final class ExchangeRateTable {
+
+    private final Map<String, BigDecimal> rates = new HashMap<>();
+
+    /// Creates the table.
+    ///
+    /// @param exchangeRates the user's exchange rates
+    public ExchangeRateTable(List<ExchangeRate> exchangeRates) {
+        exchangeRates.forEach(rate -> rates.putIfAbsent(key(rate.termCurrency(), rate.baseCurrency()),
+                BigDecimal.ONE.divide(rate.rate(), DECIMAL64)));
+        exchangeRates.forEach(rate -> rates.put(key(rate.baseCurrency(), rate.termCurrency()), rate.rate()));
+    }
+
+    /// Converts an amount to a currency.
+    ///
+    /// @param amount   the amount to convert
+    /// @param currency the target currency
+    /// @return the amount in the target currency
+    /// @throws ServerWebInputException if there is no rate between the currencies
+    public MonetaryAmount convert(MonetaryAmount amount, CurrencyUnit currency) {
+        if (amount.getCurrency().equals(currency)) {
+            return amount;
+        }
+
+        var rate = rates.get(key(amount.getCurrency().getCurrencyCode(), currency.getCurrencyCode()));
+        if (rate == null) {
+            throw new ServerWebInputException("No exchange rate from %s to %s"
+                    .formatted(amount.getCurrency().getCurrencyCode(), currency.getCurrencyCode()));
+        }
+        return Money.of(amount.getNumber().numberValue(BigDecimal.class).multiply(rate, DECIMAL64), currency);
+    }
+
+    private static String key(String baseCurrency, String termCurrency) {
+        return baseCurrency + "/" + termCurrency;
+    }
+}
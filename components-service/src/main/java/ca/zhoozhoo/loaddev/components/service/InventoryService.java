@@ -0,0 +1,249 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static java.math.RoundingMode.DOWN;
+import static java.math.RoundingMode.HALF_UP;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static systems.uom.ucum.UCUM.GRAIN;
+import static tech.units.indriya.AbstractUnit.ONE;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import javax.measure.IncommensurableException;
+import javax.measure.Quantity;
+import javax.measure.UnconvertibleException;
+import javax.measure.Unit;
+import javax.measure.quantity.Mass;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.InventoryRepository;
+import ca.zhoozhoo.loaddev.components.dao.InventoryRepository.Event;
+import ca.zhoozhoo.loaddev.components.dao.InventoryRepository.Stock;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.Component;
+import ca.zhoozhoo.loaddev.components.model.InventoryConsumption;
+import ca.zhoozhoo.loaddev.components.model.InventoryEvent;
+import ca.zhoozhoo.loaddev.components.model.InventoryReceipt;
+import ca.zhoozhoo.loaddev.components.model.LoadRecipe;
+import ca.zhoozhoo.loaddev.components.model.RoundsRemaining;
+import ca.zhoozhoo.loaddev.components.model.StockLevel;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.units.indriya.quantity.Quantities;
+
+/// Service tracking the stock on hand of users' components.
+///
+/// Stock is kept in the base unit of each component type: grains (JSR-385) for propellants and
+/// pieces for projectiles, primers and cases. Receipts and consumptions are recorded in the
+/// [InventoryRepository] ledger, whose per-component snapshot makes reading stock, and so the
+/// rounds remaining of a load, independent of the length of the ledger.
+///
+/// @author Zhubin Salehi
+@Service
+public class InventoryService {
+
+    private static final Set<String> TYPES = Set.of("projectile", "propellant", "primer", "case");
+
+    private static final int SCALE = 4;
+
+    private final InventoryRepository inventoryRepository;
+
+    private final ProjectileRepository projectileRepository;
+
+    private final PropellantRepository propellantRepository;
+
+    private final PrimerRepository primerRepository;
+
+    private final CaseRepository caseRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    /// Creates the service.
+    ///
+    /// @param inventoryRepository  the ledger of users' stock
+    /// @param projectileRepository the repository for Projectile entities
+    /// @param propellantRepository the repository for Propellant entities
+    /// @param primerRepository     the repository for Primer entities
+    /// @param caseRepository       the repository for Case entities
+    /// @param transactionManager   runs the consumption of all components of a load in one transaction
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public InventoryService(InventoryRepository inventoryRepository, ProjectileRepository projectileRepository,
+            PropellantRepository propellantRepository, PrimerRepository primerRepository,
+            CaseRepository caseRepository, ReactiveTransactionManager transactionManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.projectileRepository = projectileRepository;
+        this.propellantRepository = propellantRepository;
+        this.primerRepository = primerRepository;
+        this.caseRepository = caseRepository;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+    }
+
+    /// Retrieves the stock of all components of a user.
+    ///
+    /// @param userId the ID of the user
+    /// @return a Flux of the stock levels, ordered by type and component id
+    public Flux<StockLevel> getStockLevels(String userId) {
+        return inventoryRepository.findAllStock(userId).map(InventoryService::stockLevel);
+    }
+
+    /// Retrieves the ledger of a user's component.
+    ///
+    /// @param userId      the ID of the user
+    /// @param type        the component type
+    /// @param componentId the component id
+    /// @return a Flux of the events, oldest first
+    /// @throws ServerWebInputException if the type is unknown
+    public Flux<InventoryEvent> getEvents(String userId, String type, long componentId) {
+        return inventoryRepository.findEvents(userId, type(type), componentId).map(InventoryService::inventoryEvent);
+    }
+
+    /// Adds stock of one of a user's components.
+    ///
+    /// @param userId  the ID of the user
+    /// @param receipt the component and quantity received
+    /// @return a Mono containing the stock after the receipt
+    /// @throws ServerWebInputException if the component is not one of the user's or the quantity
+    ///         is not in a unit of its type
+    public Mono<StockLevel> receive(String userId, InventoryReceipt receipt) {
+        var type = type(receipt.type());
+        var quantity = baseQuantity(type, receipt.quantity());
+
+        return findComponent(userId, type, receipt.componentId())
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException(
+                        "Unknown %s %d".formatted(type, receipt.componentId()))))
+                .then(inventoryRepository.receive(userId, type, receipt.componentId(), quantity,
+                        receipt.reference()))
+                .map(InventoryService::stockLevel);
+    }
+
+    /// Consumes the projectiles, powder and primers of rounds fired, all or none.
+    ///
+    /// @param userId      the ID of the user
+    /// @param consumption the load and the number of rounds fired
+    /// @return a Mono containing the projectile, propellant and primer stock after the
+    ///         consumption, emitted once the transaction is committed
+    /// @throws ResponseStatusException with status 409 if the stock of a component is less than
+    ///         the rounds need, in which case no stock is changed
+    public Mono<List<StockLevel>> consume(String userId, InventoryConsumption consumption) {
+        var load = consumption.load();
+        var rounds = BigDecimal.valueOf(consumption.rounds());
+        var powder = grains(load.powderCharge()).multiply(rounds).setScale(SCALE, HALF_UP);
+
+        return transactionalOperator.transactional(Flux.concat(
+                consume(userId, "projectile", load.projectileId(), rounds, load.reference()),
+                consume(userId, "propellant", load.propellantId(), powder, load.reference()),
+                consume(userId, "primer", load.primerId(), rounds, load.reference())).collectList());
+    }
+
+    /// Computes how many rounds of a load can be built from a user's stock.
+    ///
+    /// Reads the stock snapshots of the load's projectile, propellant and primer only, so the cost
+    /// does not grow with the ledger. Cases are reloaded, so they do not limit the rounds.
+    ///
+    /// @param userId the ID of the user
+    /// @param load   the load
+    /// @return a Mono containing the rounds remaining and the component limiting them
+    public Mono<RoundsRemaining> getRoundsRemaining(String userId, LoadRecipe load) {
+        var charge = grains(load.powderCharge());
+
+        return Mono.zip(
+                        onHand(userId, "projectile", load.projectileId()),
+                        onHand(userId, "propellant", load.propellantId()),
+                        onHand(userId, "primer", load.primerId()))
+                .map(stock -> {
+                    var rounds = new RoundsRemaining(load.reference(), rounds(stock.getT1()), "projectile");
+                    var propellant = stock.getT2().divide(charge, 0, DOWN).longValueExact();
+                    if (propellant < rounds.rounds()) {
+                        rounds = new RoundsRemaining(load.reference(), propellant, "propellant");
+                    }
+                    var primer = rounds(stock.getT3());
+                    if (primer < rounds.rounds()) {
+                        rounds = new RoundsRemaining(load.reference(), primer, "primer");
+                    }
+                    return rounds;
+                });
+    }
+
+    private Mono<StockLevel> consume(String userId, String type, long componentId, BigDecimal quantity,
+            String reference) {
+        return inventoryRepository.consume(userId, type, componentId, quantity, reference)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(CONFLICT,
+                        "Insufficient stock of %s %d".formatted(type, componentId))))
+                .map(InventoryService::stockLevel);
+    }
+
+    private Mono<BigDecimal> onHand(String userId, String type, long componentId) {
+        return inventoryRepository.findStock(userId, type, componentId)
+                .map(Stock::onHand)
+                .defaultIfEmpty(BigDecimal.ZERO);
+    }
+
+    private Mono<? extends Component> findComponent(String userId, String type, long componentId) {
+        return switch (type) {
+            case "projectile" -> projectileRepository.findByIdAndOwnerId(componentId, userId);
+            case "propellant" -> propellantRepository.findByIdAndOwnerId(componentId, userId);
+            case "primer" -> primerRepository.findByIdAndOwnerId(componentId, userId);
+            default -> caseRepository.findByIdAndOwnerId(componentId, userId);
+        };
+    }
+
+    private static StockLevel stockLevel(Stock stock) {
+        return new StockLevel(stock.type(), stock.componentId(),
+                Quantities.getQuantity(stock.onHand(), unitOf(stock.type())), stock.lastEventId());
+    }
+
+    private static InventoryEvent inventoryEvent(Event event) {
+        return new InventoryEvent(event.id(), event.type(), event.componentId(),
+                Quantities.getQuantity(event.delta(), unitOf(event.type())), event.reason(), event.reference(),
+                event.recordedAt());
+    }
+
+    private static String type(String type) {
+        if (!TYPES.contains(type)) {
+            throw new ServerWebInputException("Unknown component type " + type);
+        }
+        return type;
+    }
+
+    private static Unit<?> unitOf(String type) {
+        return "propellant".equals(type) ? GRAIN : ONE;
+    }
+
+    /// Converts a quantity to the base unit of a component type, rejecting fractional pieces.
+    private static BigDecimal baseQuantity(String type, Quantity<?> quantity) {
+        BigDecimal value;
+        try {
+            value = decimal(quantity.getUnit().getConverterToAny(unitOf(type)).convert(quantity.getValue()));
+        } catch (IncommensurableException | UnconvertibleException _) {
+            throw new ServerWebInputException("The quantity of a %s must be %s"
+                    .formatted(type, "propellant".equals(type) ? "a mass" : "a count"));
+        }
+        if (unitOf(type) == ONE && value.stripTrailingZeros().scale() > 0) {
+            throw new ServerWebInputException("The quantity of a %s must be a whole number".formatted(type));
+        }
+        return value.setScale(SCALE, HALF_UP);
+    }
+
+    private static long rounds(BigDecimal pieces) {
+        return pieces.setScale(0, DOWN).longValueExact();
+    }
+
+    private static BigDecimal grains(Quantity<Mass> mass) {
+        return decimal(mass.to(GRAIN).getValue());
+    }
+
+    /// Converts quantity values, which may be rational or floating point numbers, to decimals.
+    private static BigDecimal decimal(Number number) {
+        return number instanceof BigDecimal decimal ? decimal : BigDecimal.valueOf(number.doubleValue());
+    }
+}
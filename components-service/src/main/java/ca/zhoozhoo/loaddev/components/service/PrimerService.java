@@ -1,9 +1,13 @@
 package ca.zhoozhoo.loaddev.components.service;
 
+import java.util.Optional;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import ca.zhoozhoo.loaddev.components.cache.ComponentCatalogCache;
 import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.TrigramSimilarity;
 import ca.zhoozhoo.loaddev.components.model.Primer;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -20,11 +24,20 @@ public class PrimerService {
 
     private final PrimerRepository primerRepository;
 
+    private final TrigramSimilarity trigramSimilarity;
+
+    private final Optional<ComponentCatalogCache> catalogCache;
+
     /// Constructs a new PrimerService with required repository.
     ///
     /// @param primerRepository the repository for Primer entities
-    public PrimerService(PrimerRepository primerRepository) {
+    /// @param trigramSimilarity runs typeahead queries with the minimum similarity
+    /// @param catalogCache serves lists and searches from memory when enabled
+    public PrimerService(PrimerRepository primerRepository, TrigramSimilarity trigramSimilarity,
+            Optional<ComponentCatalogCache> catalogCache) {
         this.primerRepository = primerRepository;
+        this.trigramSimilarity = trigramSimilarity;
+        this.catalogCache = catalogCache;
     }
 
     /// Retrieves all primers for a specific user with pagination.
@@ -33,7 +46,9 @@ public class PrimerService {
     /// @param pageable pagination parameters
     /// @return a Flux of Primer entities
     public Flux<Primer> getAllPrimers(String userId, Pageable pageable) {
-        return primerRepository.findAllByOwnerId(userId, pageable);
+        return catalogCache
+                .map(cache -> cache.get(userId).flatMapIterable(catalog -> catalog.findAll(Primer.class, pageable)))
+                .orElseGet(() -> primerRepository.findAllByOwnerId(userId, pageable));
     }
 
     /// Searches for primers belonging to a user based on a query string with pagination.
@@ -43,7 +58,23 @@ public class PrimerService {
     /// @param pageable pagination parameters
     /// @return a Flux of matching Primer entities
     public Flux<Primer> searchPrimers(String userId, String query, Pageable pageable) {
-        return primerRepository.searchByOwnerIdAndQuery(userId, query, pageable.getPageSize(), pageable.getOffset());
+        return catalogCache
+                .map(cache -> cache.get(userId)
+                        .flatMapIterable(catalog -> catalog.search(Primer.class, query, pageable)))
+                .orElseGet(() -> primerRepository.searchByOwnerIdAndQuery(userId, query, pageable.getPageSize(),
+                        pageable.getOffset()));
+    }
+
+    /// Suggests primers belonging to a user whose manufacturer and type resemble a partial or
+    /// misspelled query, most similar first.
+    ///
+    /// @param userId the ID of the user
+    /// @param query  the partial query, e.g. what the user has typed so far
+    /// @param limit  the maximum number of suggestions, capped at [TrigramSimilarity#MAX_SUGGESTIONS]
+    /// @return a Flux of similar Primer entities
+    public Flux<Primer> suggestPrimers(String userId, String query, int limit) {
+        return trigramSimilarity.suggest(
+                primerRepository.suggestByOwnerIdAndQuery(userId, query, TrigramSimilarity.limit(limit)));
     }
 
     /// Retrieves a specific primer by ID and user ID.
@@ -60,7 +91,7 @@ public class PrimerService {
     /// @param primer the Primer entity to create
     /// @return a Mono containing the created Primer
     public Mono<Primer> createPrimer(Primer primer) {
-        return primerRepository.save(primer);
+        return primerRepository.save(primer).doOnSuccess(_ -> invalidateCatalog(primer.ownerId()));
     }
 
     /// Updates an existing primer.
@@ -68,7 +99,7 @@ public class PrimerService {
     /// @param primer the Primer entity to update
     /// @return a Mono containing the updated Primer
     public Mono<Primer> updatePrimer(Primer primer) {
-        return primerRepository.save(primer);
+        return primerRepository.save(primer).doOnSuccess(_ -> invalidateCatalog(primer.ownerId()));
     }
 
     /// Deletes a primer.
@@ -76,6 +107,10 @@ public class PrimerService {
     /// @param primer the Primer entity to delete
     /// @return a Mono<Void> that completes when deletion is finished
     public Mono<Void> deletePrimer(Primer primer) {
-        return primerRepository.delete(primer);
+        return primerRepository.delete(primer).doOnSuccess(_ -> invalidateCatalog(primer.ownerId()));
+    }
+
+    private void invalidateCatalog(String ownerId) {
+        catalogCache.ifPresent(cache -> cache.invalidate(ownerId));
     }
 }
@@ -1,9 +1,13 @@
 package ca.zhoozhoo.loaddev.components.service;
 
+import java.util.Optional;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import ca.zhoozhoo.loaddev.components.cache.ComponentCatalogCache;
 import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.TrigramSimilarity;
 import ca.zhoozhoo.loaddev.components.model.Projectile;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -20,11 +24,20 @@ public class ProjectileService {
 
     private final ProjectileRepository projectileRepository;
 
+    private final TrigramSimilarity trigramSimilarity;
+
+    private final Optional<ComponentCatalogCache> catalogCache;
+
     /// Constructs a new ProjectileService with required repository.
     ///
     /// @param projectileRepository the repository for Projectile entities
-    public ProjectileService(ProjectileRepository projectileRepository) {
+    /// @param trigramSimilarity runs typeahead queries with the minimum similarity
+    /// @param catalogCache serves lists and searches from memory when enabled
+    public ProjectileService(ProjectileRepository projectileRepository, TrigramSimilarity trigramSimilarity,
+            Optional<ComponentCatalogCache> catalogCache) {
         this.projectileRepository = projectileRepository;
+        this.trigramSimilarity = trigramSimilarity;
+        this.catalogCache = catalogCache;
     }
 
     /// Retrieves all projectiles for a specific user with pagination.
@@ -33,7 +46,9 @@ public class ProjectileService {
     /// @param pageable pagination parameters
     /// @return a Flux of Projectile entities
     public Flux<Projectile> getAllProjectiles(String userId, Pageable pageable) {
-        return projectileRepository.findAllByOwnerId(userId, pageable);
+        return catalogCache
+                .map(cache -> cache.get(userId).flatMapIterable(catalog -> catalog.findAll(Projectile.class, pageable)))
+                .orElseGet(() -> projectileRepository.findAllByOwnerId(userId, pageable));
     }
 
     /// Searches for projectiles belonging to a user based on a query string with pagination.
@@ -43,7 +58,23 @@ public class ProjectileService {
     /// @param pageable pagination parameters
     /// @return a Flux of matching Projectile entities
     public Flux<Projectile> searchProjectiles(String userId, String query, Pageable pageable) {
-        return projectileRepository.searchByOwnerIdAndQuery(userId, query, pageable.getPageSize(), pageable.getOffset());
+        return catalogCache
+                .map(cache -> cache.get(userId)
+                        .flatMapIterable(catalog -> catalog.search(Projectile.class, query, pageable)))
+                .orElseGet(() -> projectileRepository.searchByOwnerIdAndQuery(userId, query, pageable.getPageSize(),
+                        pageable.getOffset()));
+    }
+
+    /// Suggests projectiles belonging to a user whose manufacturer and type resemble a partial or
+    /// misspelled query, most similar first.
+    ///
+    /// @param userId the ID of the user
+    /// @param query  the partial query, e.g. what the user has typed so far
+    /// @param limit  the maximum number of suggestions, capped at [TrigramSimilarity#MAX_SUGGESTIONS]
+    /// @return a Flux of similar Projectile entities
+    public Flux<Projectile> suggestProjectiles(String userId, String query, int limit) {
+        return trigramSimilarity.suggest(
+                projectileRepository.suggestByOwnerIdAndQuery(userId, query, TrigramSimilarity.limit(limit)));
     }
 
     /// Retrieves a specific projectile by ID and user ID.
@@ -60,7 +91,7 @@ public class ProjectileService {
     /// @param projectile the Projectile entity to create
     /// @return a Mono containing the created Projectile
     public Mono<Projectile> createProjectile(Projectile projectile) {
-        return projectileRepository.save(projectile);
+        return projectileRepository.save(projectile).doOnSuccess(_ -> invalidateCatalog(projectile.ownerId()));
     }
 
     /// Updates an existing projectile.
@@ -68,7 +99,7 @@ public class ProjectileService {
     /// @param projectile the Projectile entity to update
     /// @return a Mono containing the updated Projectile
     public Mono<Projectile> updateProjectile(Projectile projectile) {
-        return projectileRepository.save(projectile);
+        return projectileRepository.save(projectile).doOnSuccess(_ -> invalidateCatalog(projectile.ownerId()));
     }
 
     /// Deletes a projectile.
@@ -76,6 +107,10 @@ public class ProjectileService {
     /// @param projectile the Projectile entity to delete
     /// @return a Mono<Void> that completes when deletion is finished
     public Mono<Void> deleteProjectile(Projectile projectile) {
-        return projectileRepository.delete(projectile);
+        return projectileRepository.delete(projectile).doOnSuccess(_ -> invalidateCatalog(projectile.ownerId()));
+    }
+
+    private void invalidateCatalog(String ownerId) {
+        catalogCache.ifPresent(cache -> cache.invalidate(ownerId));
     }
 }
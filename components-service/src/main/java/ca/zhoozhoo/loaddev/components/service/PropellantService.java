@@ -1,9 +1,13 @@
 package ca.zhoozhoo.loaddev.components.service;
 
+import java.util.Optional;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import ca.zhoozhoo.loaddev.components.cache.ComponentCatalogCache;
 import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.dao.TrigramSimilarity;
 import ca.zhoozhoo.loaddev.components.model.Propellant;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -20,11 +24,20 @@ public class PropellantService {
 
     private final PropellantRepository propellantRepository;
 
+    private final TrigramSimilarity trigramSimilarity;
+
+    private final Optional<ComponentCatalogCache> catalogCache;
+
     /// Constructs a new PropellantService with required repository.
     ///
     /// @param propellantRepository the repository for Propellant entities
-    public PropellantService(PropellantRepository propellantRepository) {
+    /// @param trigramSimilarity runs typeahead queries with the minimum similarity
+    /// @param catalogCache serves lists and searches from memory when enabled
+    public PropellantService(PropellantRepository propellantRepository, TrigramSimilarity trigramSimilarity,
+            Optional<ComponentCatalogCache> catalogCache) {
         this.propellantRepository = propellantRepository;
+        this.trigramSimilarity = trigramSimilarity;
+        this.catalogCache = catalogCache;
     }
 
     /// Retrieves all propellants for a specific user with pagination.
@@ -33,7 +46,9 @@ public class PropellantService {
     /// @param pageable pagination parameters
     /// @return a Flux of Propellant entities
     public Flux<Propellant> getAllPropellants(String userId, Pageable pageable) {
-        return propellantRepository.findAllByOwnerId(userId, pageable);
+        return catalogCache
+                .map(cache -> cache.get(userId).flatMapIterable(catalog -> catalog.findAll(Propellant.class, pageable)))
+                .orElseGet(() -> propellantRepository.findAllByOwnerId(userId, pageable));
     }
 
     /// Searches for propellants belonging to a user based on a query string with pagination.
@@ -43,7 +58,23 @@ public class PropellantService {
     /// @param pageable pagination parameters
     /// @return a Flux of matching Propellant entities
     public Flux<Propellant> searchPropellants(String userId, String query, Pageable pageable) {
-        return propellantRepository.searchByOwnerIdAndQuery(userId, query, pageable.getPageSize(), pageable.getOffset());
+        return catalogCache
+                .map(cache -> cache.get(userId)
+                        .flatMapIterable(catalog -> catalog.search(Propellant.class, query, pageable)))
+                .orElseGet(() -> propellantRepository.searchByOwnerIdAndQuery(userId, query, pageable.getPageSize(),
+                        pageable.getOffset()));
+    }
+
+    /// Suggests propellants belonging to a user whose manufacturer and type resemble a partial or
+    /// misspelled query, most similar first.
+    ///
+    /// @param userId the ID of the user
+    /// @param query  the partial query, e.g. what the user has typed so far
+    /// @param limit  the maximum number of suggestions, capped at [TrigramSimilarity#MAX_SUGGESTIONS]
+    /// @return a Flux of similar Propellant entities
+    public Flux<Propellant> suggestPropellants(String userId, String query, int limit) {
+        return trigramSimilarity.suggest(
+                propellantRepository.suggestByOwnerIdAndQuery(userId, query, TrigramSimilarity.limit(limit)));
     }
 
     /// Retrieves a specific propellant by ID and user ID.
@@ -60,7 +91,7 @@ public class PropellantService {
     /// @param propellant the Propellant entity to create
     /// @return a Mono containing the created Propellant
     public Mono<Propellant> createPropellant(Propellant propellant) {
-        return propellantRepository.save(propellant);
+        return propellantRepository.save(propellant).doOnSuccess(_ -> invalidateCatalog(propellant.ownerId()));
     }
 
     /// Updates an existing propellant.
@@ -68,7 +99,7 @@ public class PropellantService {
     /// @param propellant the Propellant entity to update
     /// @return a Mono containing the updated Propellant
     public Mono<Propellant> updatePropellant(Propellant propellant) {
-        return propellantRepository.save(propellant);
+        return propellantRepository.save(propellant).doOnSuccess(_ -> invalidateCatalog(propellant.ownerId()));
     }
 
     /// Deletes a propellant.
@@ -76,6 +107,10 @@ public class PropellantService {
     /// @param propellant the Propellant entity to delete
     /// @return a Mono<Void> that completes when deletion is finished
     public Mono<Void> deletePropellant(Propellant propellant) {
-        return propellantRepository.delete(propellant);
+        return propellantRepository.delete(propellant).doOnSuccess(_ -> invalidateCatalog(propellant.ownerId()));
+    }
+
+    private void invalidateCatalog(String ownerId) {
+        catalogCache.ifPresent(cache -> cache.invalidate(ownerId));
     }
 }
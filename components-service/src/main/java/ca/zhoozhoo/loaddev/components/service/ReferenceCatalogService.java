@@ -0,0 +1,196 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import java.util.Optional;
+
+import javax.money.MonetaryAmount;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ServerWebInputException;
+
+import ca.zhoozhoo.loaddev.components.cache.ComponentCatalogCache;
+import ca.zhoozhoo.loaddev.components.cache.ReferenceCatalog;
+import ca.zhoozhoo.loaddev.components.dao.ReferenceAdoptionRepository;
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.CatalogEntry;
+import ca.zhoozhoo.loaddev.components.model.Component;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+import ca.zhoozhoo.loaddev.components.model.ReferenceOverride;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Service for the shared catalog of common manufacturer components.
+///
+/// Reference components are listed and searched from the in-memory [ReferenceCatalog], the
+/// same for every user, so browsing them stores nothing per user. Adopting one copies it into
+/// the user's own components, with the user's overrides, and records the link in
+/// [ReferenceAdoptionRepository]: the user's copy is then edited, stocked and searched like any
+/// other of their components, and adopting the same reference component again returns it
+/// instead of creating another.
+///
+/// Concurrent adoptions of the same reference component by one user may each create a copy,
+/// but only the first links it: the others find the link taken, roll back their copy and
+/// return the linked one. The link is only moved to a new copy when the linked copy was
+/// deleted, with the link row locked so that concurrent adoptions wait for the new one. The
+/// user's catalog cache is discarded once the adoption's transaction has completed, so that
+/// it is not refilled without the new copy before the commit.
+///
+/// @author Zhubin Salehi
+@Service
+public class ReferenceCatalogService {
+
+    private final ReferenceCatalog referenceCatalog;
+
+    private final ReferenceAdoptionRepository adoptionRepository;
+
+    private final ProjectileService projectileService;
+
+    private final PropellantService propellantService;
+
+    private final PrimerService primerService;
+
+    private final CaseService caseService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final Optional<ComponentCatalogCache> catalogCache;
+
+    /// Creates the service.
+    ///
+    /// @param referenceCatalog   the reference components
+    /// @param adoptionRepository the links between reference components and users' copies
+    /// @param projectileService  creates adopted projectiles
+    /// @param propellantService  creates adopted propellants
+    /// @param primerService      creates adopted primers
+    /// @param caseService        creates adopted cases
+    /// @param transactionManager creates a copy and its link in one transaction
+    /// @param catalogCache       discarded after an adoption when enabled
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ReferenceCatalogService(ReferenceCatalog referenceCatalog,
+            ReferenceAdoptionRepository adoptionRepository, ProjectileService projectileService,
+            PropellantService propellantService, PrimerService primerService, CaseService caseService,
+            ReactiveTransactionManager transactionManager, Optional<ComponentCatalogCache> catalogCache) {
+        this.referenceCatalog = referenceCatalog;
+        this.adoptionRepository = adoptionRepository;
+        this.projectileService = projectileService;
+        this.propellantService = propellantService;
+        this.primerService = primerService;
+        this.caseService = caseService;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.catalogCache = catalogCache;
+    }
+
+    /// Retrieves a page of reference components of one type.
+    ///
+    /// @param type     the component type
+    /// @param query    a search query, or null to list all components ordered by id
+    /// @param pageable the page
+    /// @return a Flux of the components, best matches first when searching
+    /// @throws ServerWebInputException if the type is unknown
+    public Flux<Component> getReferenceComponents(String type, String query, Pageable pageable) {
+        var componentClass = componentClass(type);
+        return Flux.fromIterable(query == null || query.isBlank()
+                ? referenceCatalog.findAll(componentClass, pageable)
+                : referenceCatalog.search(componentClass, query, pageable));
+    }
+
+    /// Retrieves a reference component.
+    ///
+    /// @param type the component type
+    /// @param id   the reference id
+    /// @return a Mono containing the component, or empty if there is none with this id
+    /// @throws ServerWebInputException if the type is unknown
+    public Mono<Component> getReferenceComponent(String type, long id) {
+        return Mono.justOrEmpty(referenceCatalog.findById(componentClass(type), id));
+    }
+
+    /// Copies a reference component into a user's components, unless the user already has a
+    /// copy of it.
+    ///
+    /// @param userId   the ID of the user
+    /// @param type     the component type
+    /// @param id       the reference id
+    /// @param override the user's values replacing the reference ones, or null
+    /// @return a Mono containing the user's copy, or empty if there is no reference component
+    ///         with this id
+    /// @throws ServerWebInputException if the type is unknown
+    public Mono<CatalogEntry> adopt(String userId, String type, long id, ReferenceOverride override) {
+        var reference = referenceCatalog.findById(componentClass(type), id);
+        if (reference.isEmpty()) {
+            return Mono.empty();
+        }
+
+        var cost = override != null ? override.cost() : null;
+        return adoptionRepository.findComponentId(userId, type, id)
+                .flatMap(componentId -> findCopy(userId, type, componentId))
+                .switchIfEmpty(Mono.defer(() -> transactionalOperator.execute(transaction ->
+                                create(copy(reference.get(), userId, cost))
+                                        .flatMap(adopted -> link(transaction, userId, type, id, adopted)))
+                        .singleOrEmpty()
+                        .doFinally(_ -> catalogCache.ifPresent(cache -> cache.invalidate(userId)))))
+                .map(CatalogEntry::of);
+    }
+
+    /// Links a new copy to its reference component and returns it, unless the reference
+    /// component is linked to another copy that still exists: the new copy is then rolled back
+    /// and the linked one returned.
+    private Mono<Component> link(ReactiveTransaction transaction, String userId, String type, long id,
+            Component adopted) {
+        return adoptionRepository.saveIfAbsent(userId, type, id, adopted.id())
+                .flatMap(saved -> saved ? Mono.just(adopted)
+                        : adoptionRepository.lockComponentId(userId, type, id)
+                                .flatMap(componentId -> findCopy(userId, type, componentId))
+                                .doOnNext(_ -> transaction.setRollbackOnly())
+                                .switchIfEmpty(Mono.defer(() -> adoptionRepository
+                                        .replace(userId, type, id, adopted.id())
+                                        .thenReturn(adopted))));
+    }
+
+    /// Returns the user's copy, or empty if the user deleted it since adopting.
+    private Mono<Component> findCopy(String userId, String type, long componentId) {
+        Mono<? extends Component> copy = switch (type) {
+            case "projectile" -> projectileService.getProjectileById(componentId, userId);
+            case "propellant" -> propellantService.getPropellantById(componentId, userId);
+            case "primer" -> primerService.getPrimerById(componentId, userId);
+            default -> caseService.getCaseById(componentId, userId);
+        };
+        return copy.cast(Component.class);
+    }
+
+    private Mono<Component> create(Component component) {
+        Mono<? extends Component> created = switch (component) {
+            case Projectile projectile -> projectileService.createProjectile(projectile);
+            case Propellant propellant -> propellantService.createPropellant(propellant);
+            case Primer primer -> primerService.createPrimer(primer);
+            case Case cartridgeCase -> caseService.createCase(cartridgeCase);
+        };
+        return created.cast(Component.class);
+    }
+
+    private static Component copy(Component reference, String userId, MonetaryAmount cost) {
+        return switch (reference) {
+            case Projectile p -> new Projectile(null, userId, p.manufacturer(), p.weight(), p.type(),
+                    cost != null ? cost : p.cost(), p.quantityPerBox());
+            case Propellant p -> new Propellant(null, userId, p.manufacturer(), p.type(),
+                    cost != null ? cost : p.cost(), p.weightPerContainer());
+            case Primer p -> new Primer(null, userId, p.manufacturer(), p.type(), p.primerSize(),
+                    cost != null ? cost : p.cost(), p.quantityPerBox());
+            case Case c -> new Case(null, userId, c.manufacturer(), c.caliber(), c.primerSize(),
+                    cost != null ? cost : c.cost(), c.quantityPerBox());
+        };
+    }
+
+    private static Class<? extends Component> componentClass(String type) {
+        var componentClass = CatalogEntry.componentClass(type);
+        if (componentClass == null) {
+            throw new ServerWebInputException("Unknown component type " + type);
+        }
+        return componentClass;
+    }
+}
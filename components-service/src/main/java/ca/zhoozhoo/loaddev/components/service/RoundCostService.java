@@ -0,0 +1,175 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static java.math.MathContext.DECIMAL64;
+import static java.math.RoundingMode.HALF_UP;
+import static systems.uom.ucum.UCUM.GRAIN;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Mass;
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.UnknownCurrencyException;
+
+import org.javamoney.moneta.Money;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.Component;
+import ca.zhoozhoo.loaddev.components.model.LoadRecipe;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.RoundCost;
+import ca.zhoozhoo.loaddev.components.model.RoundCostRequest;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Service computing the cost per round of loads from the prices of their components.
+///
+/// The cost of a projectile, primer or case is its box cost divided by the box quantity. The
+/// cost of a powder charge is the container cost divided by the container weight converted to
+/// grains (JSR-385), times the charge in grains. Component costs are converted to the requested
+/// currency with the user's [ExchangeRateTable] (JSR-354).
+///
+/// A batch loads each referenced component once and converts its unit cost once, however many
+/// loads share it.
+///
+/// @author Zhubin Salehi
+@Service
+public class RoundCostService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final ProjectileRepository projectileRepository;
+
+    private final PropellantRepository propellantRepository;
+
+    private final PrimerRepository primerRepository;
+
+    private final CaseRepository caseRepository;
+
+    private final ExchangeRateService exchangeRateService;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public RoundCostService(ProjectileRepository projectileRepository, PropellantRepository propellantRepository,
+            PrimerRepository primerRepository, CaseRepository caseRepository,
+            ExchangeRateService exchangeRateService) {
+        this.projectileRepository = projectileRepository;
+        this.propellantRepository = propellantRepository;
+        this.primerRepository = primerRepository;
+        this.caseRepository = caseRepository;
+        this.exchangeRateService = exchangeRateService;
+    }
+
+    /// Prices a batch of loads built from a user's components.
+    ///
+    /// @param userId  the ID of the user
+    /// @param request the currency and the loads to price
+    /// @return a Flux of the costs, in the order of the loads
+    /// @throws ServerWebInputException if the currency is unknown, a component is not one of the
+    ///         user's or has no cost, or there is no exchange rate for a component's currency
+    public Flux<RoundCost> priceLoads(String userId, RoundCostRequest request) {
+        var currency = currency(request.currency());
+        var loads = request.loads();
+
+        return exchangeRateService.getExchangeRateTable(userId)
+                .flatMap(rates -> Mono.zip(
+                        unitCosts("projectile", projectileRepository, ids(loads, LoadRecipe::projectileId), userId,
+                                Projectile::quantityPerBox, rates, currency),
+                        unitCosts("propellant", propellantRepository, ids(loads, LoadRecipe::propellantId), userId,
+                                propellant -> grains(propellant.weightPerContainer()), rates, currency),
+                        unitCosts("primer", primerRepository, ids(loads, LoadRecipe::primerId), userId,
+                                primer -> primer.quantityPerBox().getValue(), rates, currency),
+                        unitCosts("case", caseRepository, ids(loads, LoadRecipe::caseId), userId,
+                                cartridgeCase -> cartridgeCase.quantityPerBox().getValue(), rates, currency)))
+                .flatMapIterable(costs -> loads.stream()
+                        .map(load -> price(load, costs.getT1(), costs.getT2(), costs.getT3(), costs.getT4(), currency))
+                        .toList());
+    }
+
+    private static RoundCost price(LoadRecipe load, Map<Long, BigDecimal> projectiles,
+            Map<Long, BigDecimal> propellants, Map<Long, BigDecimal> primers, Map<Long, BigDecimal> cases,
+            CurrencyUnit currency) {
+        var projectile = projectiles.get(load.projectileId());
+        var propellant = propellants.get(load.propellantId()).multiply(grains(load.powderCharge()), DECIMAL64);
+        var primer = primers.get(load.primerId());
+        var cartridgeCase = load.caseId() != null
+                ? cases.get(load.caseId()).divide(BigDecimal.valueOf(Objects.requireNonNullElse(load.caseFirings(), 1)),
+                        DECIMAL64)
+                : null;
+
+        var perRound = projectile.add(propellant).add(primer);
+        if (cartridgeCase != null) {
+            perRound = perRound.add(cartridgeCase);
+        }
+
+        return new RoundCost(load.reference(),
+                money(projectile, 4, currency),
+                money(propellant, 4, currency),
+                money(primer, 4, currency),
+                cartridgeCase != null ? money(cartridgeCase, 4, currency) : null,
+                money(perRound, 4, currency),
+                money(perRound.multiply(HUNDRED), 2, currency));
+    }
+
+    /// Loads the user's components with the given ids and computes their cost per unit (round or
+    /// grain) in the currency.
+    private static <T extends Component> Mono<Map<Long, BigDecimal>> unitCosts(String type,
+            R2dbcRepository<T, Long> repository, List<Long> ids, String userId, Function<T, Number> units,
+            ExchangeRateTable rates, CurrencyUnit currency) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return repository.findAllById(ids)
+                .filter(component -> userId.equals(component.ownerId()))
+                .collectMap(Component::id, component -> {
+                    if (component.cost() == null) {
+                        throw new ServerWebInputException("The %s %d has no cost".formatted(type, component.id()));
+                    }
+                    return rates.convert(component.cost(), currency).getNumber().numberValue(BigDecimal.class)
+                            .divide(decimal(units.apply(component)), DECIMAL64);
+                })
+                .doOnNext(costs -> ids.stream()
+                        .filter(id -> !costs.containsKey(id))
+                        .findFirst()
+                        .ifPresent(id -> {
+                            throw new ServerWebInputException("Unknown %s %d".formatted(type, id));
+                        }));
+    }
+
+    private static List<Long> ids(List<LoadRecipe> loads, Function<LoadRecipe, Long> id) {
+        return loads.stream().map(id).filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static BigDecimal grains(Quantity<Mass> mass) {
+        return decimal(mass.to(GRAIN).getValue());
+    }
+
+    /// Converts quantity values, which may be rational or floating point numbers, to decimals.
+    private static BigDecimal decimal(Number number) {
+        return number instanceof BigDecimal decimal ? decimal : BigDecimal.valueOf(number.doubleValue());
+    }
+
+    private static MonetaryAmount money(BigDecimal amount, int scale, CurrencyUnit currency) {
+        return Money.of(amount.setScale(scale, HALF_UP), currency);
+    }
+
+    private static CurrencyUnit currency(String currencyCode) {
+        try {
+            return Monetary.getCurrency(currencyCode);
+        } catch (UnknownCurrencyException _) {
+            throw new ServerWebInputException("Unknown currency " + currencyCode);
+        }
+    }
+}
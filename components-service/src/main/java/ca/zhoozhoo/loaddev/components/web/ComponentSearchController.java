@@ -0,0 +1,73 @@
+package ca.zhoozhoo.loaddev.components.web;
+
+import static io.swagger.v3.oas.annotations.enums.SecuritySchemeType.OAUTH2;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import ca.zhoozhoo.loaddev.components.model.ComponentSearchPage;
+import ca.zhoozhoo.loaddev.components.service.ComponentSearchService;
+import ca.zhoozhoo.loaddev.security.CurrentUser;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.OAuthFlow;
+import io.swagger.v3.oas.annotations.security.OAuthFlows;
+import io.swagger.v3.oas.annotations.security.OAuthScope;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+
+/// REST controller searching all component types at once.
+///
+/// OAuth2-secured full-text search with cursor pagination, highlights, facets and multi-tenant
+/// isolation.
+///
+/// @author Zhubin Salehi
+@Tag(name = "Components", description = "Operations across all components belonging to the authenticated user")
+@SecurityScheme(name = "Oauth2Security", type = OAUTH2, flows = @OAuthFlows(authorizationCode = @OAuthFlow(authorizationUrl = "${springdoc.oauth2.authorization-url}", tokenUrl = "${springdoc.oauth2.token-url}", scopes = {
+        @OAuthScope(name = "components:view", description = "View access"),
+        @OAuthScope(name = "components:edit", description = "Edit access"),
+        @OAuthScope(name = "components:delete", description = "Delete access")
+})))
+@RestController
+@RequestMapping(path = "/components", version = "1")
+@Log4j2
+@PreAuthorize("hasRole('RELOADER')")
+public class ComponentSearchController {
+
+    private final ComponentSearchService componentSearchService;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ComponentSearchController(ComponentSearchService componentSearchService) {
+        this.componentSearchService = componentSearchService;
+    }
+
+    @Operation(summary = "Full-text search projectiles, propellants, primers and cases", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results, best matches first", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ComponentSearchPage.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content) })
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('components:view')")
+    public Mono<ComponentSearchPage> searchComponents(
+            @Parameter(hidden = true) @CurrentUser String userId,
+            @Parameter(description = "Full text search query, supporting \"quoted phrases\", or and -excluded terms") @RequestParam("q") String query,
+            @Parameter(description = "Cursor of the page, from nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (at most 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Whether to highlight the matching terms of each result") @RequestParam(defaultValue = "false") boolean highlight,
+            @Parameter(description = "Whether to count all matches by manufacturer, caliber and primer size") @RequestParam(defaultValue = "false") boolean facets) {
+        return componentSearchService.searchComponents(userId, query, cursor, size, highlight, facets)
+                .doOnNext(page -> log.debug("Found {} components for '{}'", page.items().size(), query));
+    }
+}
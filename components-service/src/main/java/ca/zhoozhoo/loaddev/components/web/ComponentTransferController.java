@@ -0,0 +1,79 @@
+package ca.zhoozhoo.loaddev.components.web;
+
+import static io.swagger.v3.oas.annotations.enums.SecuritySchemeType.OAUTH2;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import ca.zhoozhoo.loaddev.components.model.CatalogEntry;
+import ca.zhoozhoo.loaddev.components.model.ImportProgress;
+import ca.zhoozhoo.loaddev.components.service.ComponentTransferService;
+import ca.zhoozhoo.loaddev.security.CurrentUser;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.OAuthFlow;
+import io.swagger.v3.oas.annotations.security.OAuthFlows;
+import io.swagger.v3.oas.annotations.security.OAuthScope;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+
+/// REST controller exporting and importing the user's whole component catalog.
+///
+/// OAuth2-secured bulk transfer of components as NDJSON streams, one [CatalogEntry] per line,
+/// e.g. to migrate a user or seed a catalog from manufacturer data.
+///
+/// @author Zhubin Salehi
+@Tag(name = "Components", description = "Operations across all components belonging to the authenticated user")
+@SecurityScheme(name = "Oauth2Security", type = OAUTH2, flows = @OAuthFlows(authorizationCode = @OAuthFlow(authorizationUrl = "${springdoc.oauth2.authorization-url}", tokenUrl = "${springdoc.oauth2.token-url}", scopes = {
+        @OAuthScope(name = "components:view", description = "View access"),
+        @OAuthScope(name = "components:edit", description = "Edit access"),
+        @OAuthScope(name = "components:delete", description = "Delete access")
+})))
+@RestController
+@RequestMapping(path = "/components", version = "1")
+@Log4j2
+@PreAuthorize("hasRole('RELOADER')")
+public class ComponentTransferController {
+
+    private final ComponentTransferService componentTransferService;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ComponentTransferController(ComponentTransferService componentTransferService) {
+        this.componentTransferService = componentTransferService;
+    }
+
+    @Operation(summary = "Export all projectiles, propellants, primers and cases", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponse(responseCode = "200", description = "Catalog entries, one per line", content = {
+            @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = CatalogEntry.class)) })
+    @GetMapping(path = "/export", produces = APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('components:view')")
+    public Flux<CatalogEntry> exportComponents(@Parameter(hidden = true) @CurrentUser String userId) {
+        return componentTransferService.exportComponents(userId);
+    }
+
+    @Operation(summary = "Import projectiles, propellants, primers and cases", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:edit") })
+    @ApiResponse(responseCode = "200", description = "Progress after each batch of "
+            + ComponentTransferService.BATCH_SIZE + " lines, with the lines rejected", content = {
+                    @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ImportProgress.class)) })
+    @PostMapping(path = "/import", consumes = APPLICATION_NDJSON_VALUE, produces = APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('components:edit')")
+    public Flux<ImportProgress> importComponents(@Parameter(hidden = true) @CurrentUser String userId,
+            @RequestBody Flux<String> lines) {
+        return componentTransferService.importComponents(userId, lines)
+                .doOnNext(progress -> log.debug("Imported {} of {} lines", progress.imported(), progress.lines()));
+    }
+}
@@ -0,0 +1,136 @@
+package ca.zhoozhoo.loaddev.components.web;
+
+import static io.swagger.v3.oas.annotations.enums.SecuritySchemeType.OAUTH2;
+import static org.springframework.http.HttpStatus.CREATED;
+
+import java.util.List;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import ca.zhoozhoo.loaddev.components.model.InventoryConsumption;
+import ca.zhoozhoo.loaddev.components.model.InventoryEvent;
+import ca.zhoozhoo.loaddev.components.model.InventoryReceipt;
+import ca.zhoozhoo.loaddev.components.model.LoadRecipe;
+import ca.zhoozhoo.loaddev.components.model.RoundsRemaining;
+import ca.zhoozhoo.loaddev.components.model.StockLevel;
+import ca.zhoozhoo.loaddev.components.service.InventoryService;
+import ca.zhoozhoo.loaddev.security.CurrentUser;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.OAuthFlow;
+import io.swagger.v3.oas.annotations.security.OAuthFlows;
+import io.swagger.v3.oas.annotations.security.OAuthScope;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// REST controller for the stock on hand of the user's components.
+///
+/// OAuth2-secured receipts and consumption of stock, the ledger of each component and the
+/// rounds of a load that can be built from the stock.
+///
+/// @author Zhubin Salehi
+@Tag(name = "Inventory", description = "Stock on hand of components belonging to the authenticated user")
+@SecurityScheme(name = "Oauth2Security", type = OAUTH2, flows = @OAuthFlows(authorizationCode = @OAuthFlow(authorizationUrl = "${springdoc.oauth2.authorization-url}", tokenUrl = "${springdoc.oauth2.token-url}", scopes = {
+        @OAuthScope(name = "components:view", description = "View access"),
+        @OAuthScope(name = "components:edit", description = "Edit access"),
+        @OAuthScope(name = "components:delete", description = "Delete access")
+})))
+@RestController
+@RequestMapping(path = "/components/inventory", version = "1")
+@Log4j2
+@PreAuthorize("hasRole('RELOADER')")
+public class InventoryController {
+
+    private final InventoryService inventoryService;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public InventoryController(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    @Operation(summary = "Get the stock of all components", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponse(responseCode = "200", description = "Stock levels, in grains for propellants and in pieces otherwise", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = StockLevel.class))) })
+    @GetMapping
+    @PreAuthorize("hasAuthority('components:view')")
+    public Flux<StockLevel> getStockLevels(@Parameter(hidden = true) @CurrentUser String userId) {
+        return inventoryService.getStockLevels(userId);
+    }
+
+    @Operation(summary = "Get the ledger of a component", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Inventory events, oldest first", content = {
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = InventoryEvent.class))) }),
+            @ApiResponse(responseCode = "400", description = "Unknown component type", content = @Content) })
+    @GetMapping("/{type}/{componentId}/events")
+    @PreAuthorize("hasAuthority('components:view')")
+    public Flux<InventoryEvent> getEvents(@Parameter(hidden = true) @CurrentUser String userId,
+            @Parameter(description = "projectile, propellant, primer or case") @PathVariable String type,
+            @Parameter(description = "Id of the component") @PathVariable Long componentId) {
+        return inventoryService.getEvents(userId, type, componentId);
+    }
+
+    @Operation(summary = "Add stock of a component", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:edit") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Stock after the receipt", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = StockLevel.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid receipt or unknown component", content = @Content) })
+    @PostMapping("/receipts")
+    @ResponseStatus(CREATED)
+    @PreAuthorize("hasAuthority('components:edit')")
+    public Mono<StockLevel> receive(@Parameter(hidden = true) @CurrentUser String userId,
+            @Valid @RequestBody InventoryReceipt receipt) {
+        return inventoryService.receive(userId, receipt)
+                .doOnSuccess(stock -> log.debug("Received {} {}", stock.type(), stock.componentId()));
+    }
+
+    @Operation(summary = "Consume the components of rounds fired", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:edit") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Projectile, propellant and primer stock after the consumption", content = {
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = StockLevel.class))) }),
+            @ApiResponse(responseCode = "400", description = "Invalid consumption", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Insufficient stock, nothing consumed", content = @Content) })
+    @PostMapping("/consumptions")
+    @ResponseStatus(CREATED)
+    @PreAuthorize("hasAuthority('components:edit')")
+    public Mono<List<StockLevel>> consume(@Parameter(hidden = true) @CurrentUser String userId,
+            @Valid @RequestBody InventoryConsumption consumption) {
+        return inventoryService.consume(userId, consumption)
+                .doOnNext(_ -> log.debug("Consumed {} rounds", consumption.rounds()));
+    }
+
+    @Operation(summary = "Get the rounds of a load that can be built from the stock", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rounds remaining", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = RoundsRemaining.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid load", content = @Content) })
+    @PostMapping("/rounds-remaining")
+    @PreAuthorize("hasAuthority('components:view')")
+    public Mono<RoundsRemaining> getRoundsRemaining(@Parameter(hidden = true) @CurrentUser String userId,
+            @Valid @RequestBody LoadRecipe load) {
+        return inventoryService.getRoundsRemaining(userId, load);
+    }
+}
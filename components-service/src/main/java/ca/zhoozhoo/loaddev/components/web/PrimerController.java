@@ -90,12 +90,25 @@ public class PrimerController {
     @PreAuthorize("hasAuthority('components:view')")
     public Flux<Primer> searchPrimers(
             @Parameter(hidden = true) @CurrentUser String userId,
-            @Parameter(description = "Full text search query") @RequestParam("query") String query,
+            @Parameter(description = "Full text search query, supporting \"quoted phrases\", or and -excluded terms") @RequestParam("query") String query,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         return primerService.searchPrimers(userId, query, PageRequest.of(page, size));
     }
 
+    @Operation(summary = "Suggest primers for a partial or misspelled query", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponse(responseCode = "200", description = "Suggestions, most similar first", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Primer.class))) })
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAuthority('components:view')")
+    public Flux<Primer> suggestPrimers(
+            @Parameter(hidden = true) @CurrentUser String userId,
+            @Parameter(description = "Partial query, e.g. what the user has typed so far") @RequestParam("q") String query,
+            @Parameter(description = "Maximum number of suggestions (at most 50)") @RequestParam(defaultValue = "10") int limit) {
+        return primerService.suggestPrimers(userId, query, limit);
+    }
+
     @Operation(summary = "Get a primer by its id", security = {
             @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
     @ApiResponses(value = {
@@ -90,12 +90,25 @@ public class PropellantController {
     @PreAuthorize("hasAuthority('components:view')")
     public Flux<Propellant> searchPropellants(
             @Parameter(hidden = true) @CurrentUser String userId,
-            @Parameter(description = "Full text search query") @RequestParam("query") String query,
+            @Parameter(description = "Full text search query, supporting \"quoted phrases\", or and -excluded terms") @RequestParam("query") String query,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         return propellantService.searchPropellants(userId, query, PageRequest.of(page, size));
     }
 
+    @Operation(summary = "Suggest propellants for a partial or misspelled query", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponse(responseCode = "200", description = "Suggestions, most similar first", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Propellant.class))) })
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAuthority('components:view')")
+    public Flux<Propellant> suggestPropellants(
+            @Parameter(hidden = true) @CurrentUser String userId,
+            @Parameter(description = "Partial query, e.g. what the user has typed so far") @RequestParam("q") String query,
+            @Parameter(description = "Maximum number of suggestions (at most 50)") @RequestParam(defaultValue = "10") int limit) {
+        return propellantService.suggestPropellants(userId, query, limit);
+    }
+
     @Operation(summary = "Get a propellant by its id", security = {
             @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
     @ApiResponses(value = {
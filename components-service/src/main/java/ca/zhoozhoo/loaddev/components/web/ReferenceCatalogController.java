@@ -0,0 +1,120 @@
+package ca.zhoozhoo.loaddev.components.web;
+
+import static io.swagger.v3.oas.annotations.enums.SecuritySchemeType.OAUTH2;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.ResponseEntity.notFound;
+import static org.springframework.http.ResponseEntity.ok;
+import static org.springframework.http.ResponseEntity.status;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import ca.zhoozhoo.loaddev.components.model.CatalogEntry;
+import ca.zhoozhoo.loaddev.components.model.Component;
+import ca.zhoozhoo.loaddev.components.model.ReferenceOverride;
+import ca.zhoozhoo.loaddev.components.service.ReferenceCatalogService;
+import ca.zhoozhoo.loaddev.security.CurrentUser;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.OAuthFlow;
+import io.swagger.v3.oas.annotations.security.OAuthFlows;
+import io.swagger.v3.oas.annotations.security.OAuthScope;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// REST controller for the shared catalog of common manufacturer components.
+///
+/// OAuth2-secured listing and search of reference components, the same for all users, and
+/// their adoption into the user's own components.
+///
+/// @author Zhubin Salehi
+@Tag(name = "Reference catalog", description = "Common manufacturer components shared by all users")
+@SecurityScheme(name = "Oauth2Security", type = OAUTH2, flows = @OAuthFlows(authorizationCode = @OAuthFlow(authorizationUrl = "${springdoc.oauth2.authorization-url}", tokenUrl = "${springdoc.oauth2.token-url}", scopes = {
+        @OAuthScope(name = "components:view", description = "View access"),
+        @OAuthScope(name = "components:edit", description = "Edit access"),
+        @OAuthScope(name = "components:delete", description = "Delete access")
+})))
+@RestController
+@RequestMapping(path = "/components/reference", version = "1")
+@Log4j2
+@PreAuthorize("hasRole('RELOADER')")
+public class ReferenceCatalogController {
+
+    private final ReferenceCatalogService referenceCatalogService;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ReferenceCatalogController(ReferenceCatalogService referenceCatalogService) {
+        this.referenceCatalogService = referenceCatalogService;
+    }
+
+    @Operation(summary = "List or search reference components of a type", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reference components, ordered by id or best matches first", content = {
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Component.class))) }),
+            @ApiResponse(responseCode = "400", description = "Unknown component type", content = @Content) })
+    @GetMapping("/{type}")
+    @PreAuthorize("hasAuthority('components:view')")
+    public Flux<Component> getReferenceComponents(
+            @Parameter(description = "projectile, propellant, primer or case") @PathVariable String type,
+            @Parameter(description = "Search query matching manufacturer and type (caliber for cases) terms as prefixes, and -excluded terms") @RequestParam(name = "q", required = false) String query,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return referenceCatalogService.getReferenceComponents(type, query, PageRequest.of(page, size));
+    }
+
+    @Operation(summary = "Get a reference component by its id", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reference component found", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = Component.class)) }),
+            @ApiResponse(responseCode = "400", description = "Unknown component type", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Reference component not found", content = @Content) })
+    @GetMapping("/{type}/{id}")
+    @PreAuthorize("hasAuthority('components:view')")
+    public Mono<ResponseEntity<Component>> getReferenceComponent(
+            @Parameter(description = "projectile, propellant, primer or case") @PathVariable String type,
+            @Parameter(description = "Id of the reference component") @PathVariable Long id) {
+        return referenceCatalogService.getReferenceComponent(type, id)
+                .map(component -> ok(component))
+                .defaultIfEmpty(notFound().build());
+    }
+
+    @Operation(summary = "Copy a reference component into the user's components", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:edit") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "The user's copy, created now or by an earlier adoption", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = CatalogEntry.class)) }),
+            @ApiResponse(responseCode = "400", description = "Unknown component type or invalid override", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Reference component not found", content = @Content) })
+    @PostMapping("/{type}/{id}/adopt")
+    @PreAuthorize("hasAuthority('components:edit')")
+    public Mono<ResponseEntity<CatalogEntry>> adopt(@Parameter(hidden = true) @CurrentUser String userId,
+            @Parameter(description = "projectile, propellant, primer or case") @PathVariable String type,
+            @Parameter(description = "Id of the reference component") @PathVariable Long id,
+            @Valid @RequestBody(required = false) ReferenceOverride override) {
+        return referenceCatalogService.adopt(userId, type, id, override)
+                .doOnNext(entry -> log.debug("Adopted reference {} {} as {}", type, id, entry.component().id()))
+                .map(entry -> status(CREATED).body(entry))
+                .defaultIfEmpty(notFound().build());
+    }
+}
@@ -0,0 +1,105 @@
+package ca.zhoozhoo.loaddev.components.web;
+
+import static io.swagger.v3.oas.annotations.enums.SecuritySchemeType.OAUTH2;
+
+import java.util.List;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import ca.zhoozhoo.loaddev.components.model.ExchangeRate;
+import ca.zhoozhoo.loaddev.components.model.RoundCost;
+import ca.zhoozhoo.loaddev.components.model.RoundCostRequest;
+import ca.zhoozhoo.loaddev.components.service.ExchangeRateService;
+import ca.zhoozhoo.loaddev.components.service.RoundCostService;
+import ca.zhoozhoo.loaddev.security.CurrentUser;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.OAuthFlow;
+import io.swagger.v3.oas.annotations.security.OAuthFlows;
+import io.swagger.v3.oas.annotations.security.OAuthScope;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+
+/// REST controller pricing loads from the user's components.
+///
+/// OAuth2-secured cost per round calculation and management of the user's exchange rate table.
+///
+/// @author Zhubin Salehi
+@Tag(name = "Costs", description = "Cost per round of loads built from components belonging to the authenticated user")
+@SecurityScheme(name = "Oauth2Security", type = OAUTH2, flows = @OAuthFlows(authorizationCode = @OAuthFlow(authorizationUrl = "${springdoc.oauth2.authorization-url}", tokenUrl = "${springdoc.oauth2.token-url}", scopes = {
+        @OAuthScope(name = "components:view", description = "View access"),
+        @OAuthScope(name = "components:edit", description = "Edit access"),
+        @OAuthScope(name = "components:delete", description = "Delete access")
+})))
+@RestController
+@RequestMapping(path = "/components", version = "1")
+@Log4j2
+@PreAuthorize("hasRole('RELOADER')")
+public class RoundCostController {
+
+    private final RoundCostService roundCostService;
+
+    private final ExchangeRateService exchangeRateService;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public RoundCostController(RoundCostService roundCostService, ExchangeRateService exchangeRateService) {
+        this.roundCostService = roundCostService;
+        this.exchangeRateService = exchangeRateService;
+    }
+
+    @Operation(summary = "Price loads per round and per 100 rounds", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Costs, in the order of the loads", content = {
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = RoundCost.class))) }),
+            @ApiResponse(responseCode = "400", description = "Invalid request, unknown component or missing exchange rate", content = @Content) })
+    @PostMapping("/cost")
+    @PreAuthorize("hasAuthority('components:view')")
+    public Flux<RoundCost> priceLoads(
+            @Parameter(hidden = true) @CurrentUser String userId,
+            @Valid @RequestBody RoundCostRequest request) {
+        return roundCostService.priceLoads(userId, request)
+                .doOnComplete(() -> log.debug("Priced {} loads in {}", request.loads().size(), request.currency()));
+    }
+
+    @Operation(summary = "Get the exchange rates used to price loads", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:view") })
+    @ApiResponse(responseCode = "200", description = "Exchange rates", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ExchangeRate.class))) })
+    @GetMapping("/exchange-rates")
+    @PreAuthorize("hasAuthority('components:view')")
+    public Flux<ExchangeRate> getExchangeRates(@Parameter(hidden = true) @CurrentUser String userId) {
+        return exchangeRateService.getExchangeRates(userId);
+    }
+
+    @Operation(summary = "Replace the exchange rates used to price loads", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "components:edit") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exchange rates replaced", content = {
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ExchangeRate.class))) }),
+            @ApiResponse(responseCode = "409", description = "Duplicate currency pair", content = @Content) })
+    @PutMapping("/exchange-rates")
+    @PreAuthorize("hasAuthority('components:edit')")
+    public Flux<ExchangeRate> replaceExchangeRates(
+            @Parameter(hidden = true) @CurrentUser String userId,
+            @RequestBody List<@Valid ExchangeRate> rates) {
+        return exchangeRateService.replaceExchangeRates(userId, rates)
+                .doOnComplete(() -> log.debug("Replaced exchange rates with {} rates", rates.size()));
+    }
+}
@@ -1,5 +1,12 @@
 CREATE EXTENSION IF NOT EXISTS pg_trgm;
 
+-- Text search configuration of the search_vector triggers and the repository search queries.
+-- Both must use the same configuration, or stemmed lexemes stop matching. After changing it,
+-- rebuild the vectors of existing rows, e.g. with UPDATE projectiles SET search_vector = NULL
+CREATE OR REPLACE FUNCTION components_search_config() RETURNS regconfig AS '
+  SELECT ''english''::regconfig
+' LANGUAGE sql IMMUTABLE;
+
 CREATE TABLE IF NOT EXISTS projectiles (
     id BIGSERIAL PRIMARY KEY,
     owner_id VARCHAR(255) NOT NULL,
@@ -19,9 +26,9 @@ COMMENT ON COLUMN projectiles.cost IS 'Stores MonetaryAmount as JSONB with amoun
 CREATE OR REPLACE FUNCTION projectiles_update_search_vector() RETURNS trigger AS '
 BEGIN
   NEW.search_vector :=
-  setweight(to_tsvector(''english'', coalesce(NEW.manufacturer,'''')), ''A'') ||
-  setweight(to_tsvector(''english'', coalesce(NEW.type,'''')), ''B'') ||
-  setweight(to_tsvector(''english'', coalesce((NEW.weight->>''value'')::text,'''')), ''C'');
+  setweight(to_tsvector(components_search_config(), coalesce(NEW.manufacturer,'''')), ''A'') ||
+  setweight(to_tsvector(components_search_config(), coalesce(NEW.type,'''')), ''B'') ||
+  setweight(to_tsvector(components_search_config(), coalesce((NEW.weight->>''value'')::text,'''')), ''C'');
   RETURN NEW;
 END
 ' LANGUAGE plpgsql;
@@ -51,7 +58,7 @@ COMMENT ON COLUMN propellants.cost IS 'Stores MonetaryAmount as JSONB with amoun
 
 CREATE OR REPLACE FUNCTION propellants_update_search_vector() RETURNS trigger AS '
 BEGIN
-  NEW.search_vector := to_tsvector(''english'', coalesce(NEW.manufacturer,'''') || '' '' || coalesce(NEW.type,''''));
+  NEW.search_vector := to_tsvector(components_search_config(), coalesce(NEW.manufacturer,'''') || '' '' || coalesce(NEW.type,''''));
   RETURN NEW;
 END
 ' LANGUAGE plpgsql;
@@ -82,7 +89,7 @@ COMMENT ON COLUMN primers.quantity_per_box IS 'Stores Quantity<Dimensionless> as
 
 CREATE OR REPLACE FUNCTION primers_update_search_vector() RETURNS trigger AS '
 BEGIN
-  NEW.search_vector := to_tsvector(''english'', coalesce(NEW.manufacturer,'''') || '' '' || coalesce(NEW.type,''''));
+  NEW.search_vector := to_tsvector(components_search_config(), coalesce(NEW.manufacturer,'''') || '' '' || coalesce(NEW.type,''''));
   RETURN NEW;
 END
 ' LANGUAGE plpgsql;
@@ -113,7 +120,7 @@ COMMENT ON COLUMN cases.quantity_per_box IS 'Stores Quantity<Dimensionless> as J
 
 CREATE OR REPLACE FUNCTION cases_update_search_vector() RETURNS trigger AS '
 BEGIN
-  NEW.search_vector := to_tsvector(''english'', coalesce(NEW.manufacturer,'''') || '' '' || coalesce(NEW.caliber,''''));
+  NEW.search_vector := to_tsvector(components_search_config(), coalesce(NEW.manufacturer,'''') || '' '' || coalesce(NEW.caliber,''''));
   RETURN NEW;
 END
 ' LANGUAGE plpgsql;
@@ -125,3 +132,50 @@ FOR EACH ROW EXECUTE FUNCTION cases_update_search_vector();
 
 CREATE INDEX IF NOT EXISTS idx_cases_search_vector ON cases USING GIN (search_vector);
 CREATE INDEX IF NOT EXISTS idx_cases_text_trgm ON cases USING GIN ((coalesce(manufacturer,'') || ' ' || coalesce(caliber,'')) gin_trgm_ops);
+
+CREATE TABLE IF NOT EXISTS exchange_rates (
+    id BIGSERIAL PRIMARY KEY,
+    owner_id VARCHAR(255) NOT NULL,
+    base_currency CHAR(3) NOT NULL,
+    term_currency CHAR(3) NOT NULL,
+    rate NUMERIC(19, 8) NOT NULL CHECK (rate > 0),
+    UNIQUE (owner_id, base_currency, term_currency)
+);
+
+COMMENT ON TABLE exchange_rates IS 'Per-user JSR-354 exchange rates used to price loads in one currency. Example: base USD, term CAD, rate 1.37 converts 1 USD to 1.37 CAD';
+
+CREATE TABLE IF NOT EXISTS inventory_events (
+    id BIGSERIAL PRIMARY KEY,
+    owner_id VARCHAR(255) NOT NULL,
+    component_type VARCHAR(20) NOT NULL CHECK (component_type IN ('projectile', 'propellant', 'primer', 'case')),
+    component_id BIGINT NOT NULL,
+    delta NUMERIC(19, 4) NOT NULL CHECK (delta <> 0),
+    reason VARCHAR(20) NOT NULL CHECK (reason IN ('RECEIVED', 'CONSUMED')),
+    reference VARCHAR(255),
+    recorded_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+COMMENT ON TABLE inventory_events IS 'Append-only ledger of stock changes. Deltas are in grains for propellants and in pieces for other components';
+
+CREATE INDEX IF NOT EXISTS idx_inventory_events_component ON inventory_events (owner_id, component_type, component_id, id);
+
+CREATE TABLE IF NOT EXISTS inventory_stock (
+    owner_id VARCHAR(255) NOT NULL,
+    component_type VARCHAR(20) NOT NULL,
+    component_id BIGINT NOT NULL,
+    on_hand NUMERIC(19, 4) NOT NULL CHECK (on_hand >= 0),
+    last_event_id BIGINT NOT NULL,
+    PRIMARY KEY (owner_id, component_type, component_id)
+);
+
+COMMENT ON TABLE inventory_stock IS 'Snapshot of the stock on hand of each component, updated in the same statement as each inventory_events row. last_event_id is the last event included';
+
+CREATE TABLE IF NOT EXISTS reference_adoptions (
+    owner_id VARCHAR(255) NOT NULL,
+    component_type VARCHAR(20) NOT NULL CHECK (component_type IN ('projectile', 'propellant', 'primer', 'case')),
+    reference_id BIGINT NOT NULL,
+    component_id BIGINT NOT NULL,
+    PRIMARY KEY (owner_id, component_type, reference_id)
+);
+
+COMMENT ON TABLE reference_adoptions IS 'Links each reference catalog component a user adopted to the user''s own copy of it. Reference components themselves are bundled with the service, not stored';
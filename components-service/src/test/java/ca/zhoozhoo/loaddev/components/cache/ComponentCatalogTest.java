@@ -0,0 +1,100 @@
+package ca.zhoozhoo.loaddev.components.cache;
+
+import static ca.zhoozhoo.loaddev.components.model.PrimerSize.LARGE_RIFLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.Component;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+
+/// Unit tests for [ComponentCatalog].
+/// Tests listing, lookup by id, term and prefix matching, exclusions, ranking and paging.
+///
+/// @author Zhubin Salehi
+class ComponentCatalogTest {
+
+    private final Projectile eldMatch = new Projectile(3L, "user1", "Hornady", null, "ELD Match", null, null);
+
+    private final Projectile eldX = new Projectile(1L, "user1", "Hornady", null, "ELD-X", null, null);
+
+    private final Projectile matchKing = new Projectile(2L, "user1", "Sierra", null, "MatchKing", null, null);
+
+    private final Propellant varget = new Propellant(4L, "user1", "Hodgdon", "Varget", null, null);
+
+    private final Primer br4 = new Primer(5L, "user1", "CCI", "BR-4", LARGE_RIFLE, null, null);
+
+    private final Case creedmoor = new Case(6L, "user1", "Lapua", "6.5 Creedmoor", LARGE_RIFLE, null, null);
+
+    private final ComponentCatalog catalog = new ComponentCatalog(List.of(eldMatch, eldX, matchKing),
+            List.of(varget), List.of(br4), List.of(creedmoor));
+
+    @Test
+    void findAllReturnsComponentsOfTypeOrderedById() {
+        assertThat(catalog.findAll(Projectile.class, Pageable.unpaged())).containsExactly(eldX, matchKing, eldMatch);
+        assertThat(catalog.findAll(Propellant.class, Pageable.unpaged())).containsExactly(varget);
+        assertThat(catalog.size()).isEqualTo(6);
+    }
+
+    @Test
+    void findAllReturnsRequestedPage() {
+        assertThat(catalog.findAll(Projectile.class, PageRequest.of(1, 2))).containsExactly(eldMatch);
+        assertThat(catalog.findAll(Projectile.class, PageRequest.of(2, 2))).isEmpty();
+    }
+
+    @Test
+    void findByIdReturnsComponentOfType() {
+        assertThat(catalog.findById(Projectile.class, 2L)).contains(matchKing);
+        assertThat(catalog.findById(Projectile.class, 3L)).contains(eldMatch);
+        assertThat(catalog.findById(Projectile.class, 4L)).isEmpty();
+        assertThat(catalog.findById(Propellant.class, 4L)).contains(varget);
+    }
+
+    @Test
+    void searchMatchesAllTermsAsPrefixes() {
+        assertThat(catalog.search(Projectile.class, "hornady eld", Pageable.unpaged())).containsExactly(eldX, eldMatch);
+        assertThat(catalog.search(Propellant.class, "VAR", Pageable.unpaged())).containsExactly(varget);
+        assertThat(catalog.search(Projectile.class, "hornady sierra", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void searchRanksWholeTermMatchesFirst() {
+        assertThat(catalog.search(Projectile.class, "match", Pageable.unpaged())).containsExactly(eldMatch, matchKing);
+    }
+
+    @Test
+    void searchExcludesNegatedTerms() {
+        assertThat(catalog.search(Projectile.class, "hornady -x", Pageable.unpaged())).containsExactly(eldMatch);
+    }
+
+    @Test
+    void searchSplitsTermsAtPunctuationButNotDecimalPoints() {
+        assertThat(catalog.search(Primer.class, "br-4", Pageable.unpaged())).containsExactly(br4);
+        assertThat(catalog.search(Case.class, "6.5", Pageable.unpaged())).containsExactly(creedmoor);
+        assertThat(catalog.search(Case.class, "5", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void searchWithoutTermsReturnsNothing() {
+        assertThat(catalog.search(Projectile.class, " -eld ", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void searchReturnsRequestedPage() {
+        assertThat(catalog.search(Projectile.class, "match", PageRequest.of(1, 1))).containsExactly(matchKing);
+    }
+
+    @Test
+    void rejectsUnknownComponentType() {
+        assertThatThrownBy(() -> catalog.findAll(Component.class, Pageable.unpaged()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -165,4 +165,24 @@ class CaseRepositoryTest {
                 .expectNextCount(0)
                 .verifyComplete();
     }
+
+    @Test
+    void suggestByOwnerIdAndQuery() {
+        var ownerId = randomUUID().toString();
+        caseRepository.saveAll(just(createTestCase(ownerId))).blockLast();
+
+        create(caseRepository.suggestByOwnerIdAndQuery(ownerId, "Lapu", 10))
+                .expectNextMatches(c -> c.manufacturer().equals("Lapua"))
+                .verifyComplete();
+    }
+
+    @Test
+    void suggestByOwnerIdAndQueryNegative() {
+        var ownerId = randomUUID().toString();
+        caseRepository.saveAll(just(createTestCase(ownerId))).blockLast();
+
+        create(caseRepository.suggestByOwnerIdAndQuery(ownerId, "Norma", 10))
+                .expectNextCount(0)
+                .verifyComplete();
+    }
 }
@@ -0,0 +1,182 @@
+package ca.zhoozhoo.loaddev.components.dao;
+
+import static ca.zhoozhoo.loaddev.components.model.PrimerSize.LARGE_RIFLE;
+import static java.util.UUID.randomUUID;
+import static javax.money.Monetary.getCurrency;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.javamoney.moneta.Money.of;
+import static systems.uom.ucum.UCUM.GRAIN;
+import static systems.uom.ucum.UCUM.POUND;
+import static tech.units.indriya.AbstractUnit.ONE;
+import static tech.units.indriya.quantity.Quantities.getQuantity;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+
+import ca.zhoozhoo.loaddev.components.config.TestSecurityConfig;
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+import io.r2dbc.spi.Result;
+import reactor.core.publisher.Flux;
+
+/// Integration tests for the full-text search queries of all component repositories.
+///
+/// For each component table, verifies that the repository search returns the same rows as
+/// evaluating the query against a freshly built `to_tsvector` (so triggers and queries share
+/// one text search configuration), that web search syntax and stemming work, and that the
+/// query is served by the table's `search_vector` GIN index.
+///
+/// @author Zhubin Salehi
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class ComponentSearchIndexTest {
+
+    @Autowired
+    private ProjectileRepository projectileRepository;
+
+    @Autowired
+    private PropellantRepository propellantRepository;
+
+    @Autowired
+    private PrimerRepository primerRepository;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private String ownerId;
+
+    @BeforeEach
+    void setup() {
+        ownerId = randomUUID().toString();
+
+        projectileRepository.saveAll(Flux.just(
+                projectile("Hornady", "ELD Match"),
+                projectile("Hornady", "A-Tip Match"),
+                projectile("Sierra", "MatchKing"),
+                projectile("Berger", "Hybrid Target"))).blockLast();
+        propellantRepository.saveAll(Flux.just(
+                propellant("Hodgdon", "H4350"),
+                propellant("Hodgdon", "Varget"),
+                propellant("Alliant", "Reloder 16"),
+                propellant("IMR", "4350"))).blockLast();
+        primerRepository.saveAll(Flux.just(
+                primer("CCI", "BR-4"),
+                primer("CCI", "450 Magnum"),
+                primer("Federal", "Gold Medal Match"),
+                primer("Winchester", "Large Rifle"))).blockLast();
+        caseRepository.saveAll(Flux.just(
+                cartridgeCase("Lapua", "6.5 Creedmoor"),
+                cartridgeCase("Lapua", "308 Winchester"),
+                cartridgeCase("Peterson", "6.5 Creedmoor"),
+                cartridgeCase("Starline", "6mm Creedmoor"))).blockLast();
+    }
+
+    static Stream<Arguments> searches() {
+        return Stream.of(
+                Arguments.of("projectiles", "hornady matches", 2),
+                Arguments.of("projectiles", "\"eld match\"", 1),
+                Arguments.of("projectiles", "hornady or berger", 3),
+                Arguments.of("propellants", "hodgdon", 2),
+                Arguments.of("propellants", "hodgdon -varget", 1),
+                Arguments.of("propellants", "\"reloder 16\"", 1),
+                Arguments.of("primers", "cci -magnum", 1),
+                Arguments.of("primers", "\"gold medal\"", 1),
+                Arguments.of("primers", "federal or winchester", 2),
+                Arguments.of("cases", "creedmoor", 3),
+                Arguments.of("cases", "\"6.5 creedmoor\"", 2),
+                Arguments.of("cases", "lapua -winchester", 1));
+    }
+
+    @ParameterizedTest(name = "{0}: {1}")
+    @MethodSource("searches")
+    void searchMatchesUnindexedEvaluation(String table, String query, int expected) {
+        var found = search(table, query).collectList().block();
+        var unindexed = databaseClient.sql("SELECT id FROM " + table + " WHERE owner_id = :ownerId "
+                + "AND to_tsvector(components_search_config(), " + text(table) + ") "
+                + "@@ websearch_to_tsquery(components_search_config(), :q)")
+                .bind("ownerId", ownerId)
+                .bind("q", query)
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .block();
+
+        assertThat(found).hasSize(expected).containsExactlyInAnyOrderElementsOf(unindexed);
+    }
+
+    /// GIN indexes only support bitmap scans; with sequential and plain index scans disabled,
+    /// a plan without the `search_vector` index would have to scan the table anyway.
+    @ParameterizedTest(name = "{0}: {1}")
+    @MethodSource("searches")
+    void searchUsesIndex(String table, String query, int expected) {
+        var plan = databaseClient.inConnectionMany(connection -> Flux
+                .from(connection.createStatement("SET enable_seqscan = off; SET enable_indexscan = off").execute())
+                .flatMap(Result::getRowsUpdated)
+                .thenMany(Flux.from(connection.createStatement("EXPLAIN SELECT * FROM " + table
+                        + " WHERE owner_id = $1 AND search_vector @@ websearch_to_tsquery(components_search_config(), $2)")
+                        .bind("$1", ownerId)
+                        .bind("$2", query)
+                        .execute()))
+                .flatMap(result -> result.map((row, metadata) -> row.get(0, String.class)))
+                .concatWith(Flux.from(connection.createStatement("RESET enable_seqscan; RESET enable_indexscan").execute())
+                        .flatMap(Result::getRowsUpdated)
+                        .thenMany(Flux.empty())))
+                .collectList()
+                .block();
+
+        assertThat(String.join("\n", plan)).contains("idx_" + table + "_search_vector");
+    }
+
+    private Flux<Long> search(String table, String query) {
+        return switch (table) {
+            case "projectiles" -> projectileRepository.searchByOwnerIdAndQuery(ownerId, query, 20, 0L).map(Projectile::id);
+            case "propellants" -> propellantRepository.searchByOwnerIdAndQuery(ownerId, query, 20, 0L).map(Propellant::id);
+            case "primers" -> primerRepository.searchByOwnerIdAndQuery(ownerId, query, 20, 0L).map(Primer::id);
+            case "cases" -> caseRepository.searchByOwnerIdAndQuery(ownerId, query, 20, 0L).map(Case::id);
+            default -> throw new IllegalArgumentException(table);
+        };
+    }
+
+    /// Returns the text each table's trigger indexes.
+    private static String text(String table) {
+        return switch (table) {
+            case "projectiles" -> "manufacturer || ' ' || type || ' ' || coalesce(weight->>'value', '')";
+            case "cases" -> "manufacturer || ' ' || caliber";
+            default -> "manufacturer || ' ' || type";
+        };
+    }
+
+    private Projectile projectile(String manufacturer, String type) {
+        return new Projectile(null, ownerId, manufacturer, getQuantity(140, GRAIN), type,
+                of(52.99, getCurrency("CAD")), 100);
+    }
+
+    private Propellant propellant(String manufacturer, String type) {
+        return new Propellant(null, ownerId, manufacturer, type, of(45.99, getCurrency("CAD")), getQuantity(1, POUND));
+    }
+
+    private Primer primer(String manufacturer, String type) {
+        return new Primer(null, ownerId, manufacturer, type, LARGE_RIFLE, of(89.99, getCurrency("CAD")),
+                getQuantity(1000, ONE));
+    }
+
+    private Case cartridgeCase(String manufacturer, String caliber) {
+        return new Case(null, ownerId, manufacturer, caliber, LARGE_RIFLE, of(89.99, getCurrency("CAD")),
+                getQuantity(100, ONE));
+    }
+}
@@ -166,4 +166,24 @@ class PrimerRepositoryTest {
                 .expectNextCount(0)
                 .verifyComplete();
     }
+
+    @Test
+    void suggestByOwnerIdAndQuery() {
+        var ownerId = randomUUID().toString();
+        primerRepository.saveAll(just(createTestPrimer(ownerId))).blockLast();
+
+        create(primerRepository.suggestByOwnerIdAndQuery(ownerId, "CCI", 10))
+                .expectNextMatches(c -> c.manufacturer().equals("CCI"))
+                .verifyComplete();
+    }
+
+    @Test
+    void suggestByOwnerIdAndQueryNegative() {
+        var ownerId = randomUUID().toString();
+        primerRepository.saveAll(just(createTestPrimer(ownerId))).blockLast();
+
+        create(primerRepository.suggestByOwnerIdAndQuery(ownerId, "Federal", 10))
+                .expectNextCount(0)
+                .verifyComplete();
+    }
 }
@@ -187,6 +187,26 @@ class ProjectileRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    void suggestByOwnerIdAndQuery() {
+        var ownerId = randomUUID().toString();
+        projectileRepository.saveAll(just(createTestProjectile(ownerId))).blockLast();
+
+        create(projectileRepository.suggestByOwnerIdAndQuery(ownerId, "Horn", 10))
+                .expectNextMatches(c -> c.manufacturer().equals("Hornady"))
+                .verifyComplete();
+    }
+
+    @Test
+    void suggestByOwnerIdAndQueryNegative() {
+        var ownerId = randomUUID().toString();
+        projectileRepository.saveAll(just(createTestProjectile(ownerId))).blockLast();
+
+        create(projectileRepository.suggestByOwnerIdAndQuery(ownerId, "Sierra", 10))
+                .expectNextCount(0)
+                .verifyComplete();
+    }
+
     @Test
     void persistQuantityWithDifferentUnits() {
         var userId = randomUUID().toString();
@@ -171,6 +171,26 @@ class PropellantRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    void suggestByOwnerIdAndQuery() {
+        var ownerId = randomUUID().toString();
+        propellantRepository.saveAll(just(createTestPropellant(ownerId))).blockLast();
+
+        create(propellantRepository.suggestByOwnerIdAndQuery(ownerId, "Hodg", 10))
+                .expectNextMatches(c -> c.manufacturer().equals("Hodgdon"))
+                .verifyComplete();
+    }
+
+    @Test
+    void suggestByOwnerIdAndQueryNegative() {
+        var ownerId = randomUUID().toString();
+        propellantRepository.saveAll(just(createTestPropellant(ownerId))).blockLast();
+
+        create(propellantRepository.suggestByOwnerIdAndQuery(ownerId, "Sierra", 10))
+                .expectNextCount(0)
+                .verifyComplete();
+    }
+
     @Test
     void persistQuantityWithDifferentUnits() {
         var userId = randomUUID().toString();
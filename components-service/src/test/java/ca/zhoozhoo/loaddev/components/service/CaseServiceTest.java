@@ -8,6 +8,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +19,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.TrigramSimilarity;
 import ca.zhoozhoo.loaddev.components.model.Case;
 import ca.zhoozhoo.loaddev.components.model.PrimerSize;
 import reactor.core.publisher.Flux;
@@ -29,11 +32,14 @@ class CaseServiceTest {
     @Mock
     private CaseRepository caseRepository;
 
+    @Mock
+    private TrigramSimilarity trigramSimilarity;
+
     private CaseService caseService;
 
     @BeforeEach
     void setUp() {
-        caseService = new CaseService(caseRepository);
+        caseService = new CaseService(caseRepository, trigramSimilarity, Optional.empty());
     }
 
     @Test
@@ -60,6 +66,19 @@ class CaseServiceTest {
         verify(caseRepository).searchByOwnerIdAndQuery(eq("user1"), eq("query"), anyInt(), anyLong());
     }
 
+    @Test
+    void suggestCases_ShouldCapLimitAndApplySimilarity() {
+        Case caseItem = new Case(1L, "user1", "Brand", "Caliber", PrimerSize.LARGE_RIFLE, null, null);
+        when(caseRepository.suggestByOwnerIdAndQuery(anyString(), anyString(), anyInt())).thenReturn(Flux.just(caseItem));
+        when(trigramSimilarity.suggest(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(caseService.suggestCases("user1", "quer", 500))
+                .expectNext(caseItem)
+                .verifyComplete();
+
+        verify(caseRepository).suggestByOwnerIdAndQuery("user1", "quer", TrigramSimilarity.MAX_SUGGESTIONS);
+    }
+
     @Test
     void getCaseById_ShouldReturnCase() {
         Case caseItem = new Case(1L, "user1", "Brand", "Caliber", PrimerSize.LARGE_RIFLE, null, null);
@@ -0,0 +1,131 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static ca.zhoozhoo.loaddev.components.model.PrimerSize.LARGE_RIFLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ServerWebInputException;
+
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.ComponentSearchRepository;
+import ca.zhoozhoo.loaddev.components.dao.ComponentSearchRepository.FacetCount;
+import ca.zhoozhoo.loaddev.components.dao.ComponentSearchRepository.Match;
+import ca.zhoozhoo.loaddev.components.dao.ComponentSearchRepository.SearchResult;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.ComponentFacetCount;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ComponentSearchServiceTest {
+
+    @Mock
+    private ComponentSearchRepository componentSearchRepository;
+
+    @Mock
+    private ProjectileRepository projectileRepository;
+
+    @Mock
+    private PropellantRepository propellantRepository;
+
+    @Mock
+    private PrimerRepository primerRepository;
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    private ComponentSearchService componentSearchService;
+
+    @BeforeEach
+    void setUp() {
+        componentSearchService = new ComponentSearchService(componentSearchRepository, projectileRepository,
+                propellantRepository, primerRepository, caseRepository);
+    }
+
+    @Test
+    void searchComponents_ShouldMergeTypesInRankOrder() {
+        var projectile = new Projectile(7L, "user1", "Hornady", null, "ELD-X", null, 100);
+        var cartridgeCase = new Case(3L, "user1", "Hornady", "6.5 Creedmoor", LARGE_RIFLE, null, null);
+        when(componentSearchRepository.searchByOwnerIdAndQuery(eq("user1"), eq("hornady"), isNull(), eq(3)))
+                .thenReturn(Flux.just(new Match("projectile", 7L, 0.6f), new Match("case", 3L, 0.06f),
+                        new Match("case", 4L, 0.06f)));
+        when(projectileRepository.findAllById(List.of(7L))).thenReturn(Flux.just(projectile));
+        when(caseRepository.findAllById(List.of(3L))).thenReturn(Flux.just(cartridgeCase));
+
+        StepVerifier.create(componentSearchService.searchComponents("user1", "hornady", null, 2))
+                .assertNext(page -> {
+                    assertThat(page.items()).extracting(hit -> hit.type()).containsExactly("projectile", "case");
+                    assertThat(page.items()).extracting(hit -> hit.component()).containsExactly(projectile, cartridgeCase);
+                    assertThat(ComponentSearchService.decodeCursor(page.nextCursor()))
+                            .isEqualTo(new Match("case", 3L, 0.06f));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void searchComponents_ShouldSkipDeletedComponents() {
+        when(componentSearchRepository.searchByOwnerIdAndQuery(eq("user1"), eq("hornady"), any(), eq(21)))
+                .thenReturn(Flux.just(new Match("projectile", 7L, 0.6f)));
+        when(projectileRepository.findAllById(List.of(7L))).thenReturn(Flux.empty());
+
+        StepVerifier.create(componentSearchService.searchComponents("user1", "hornady", null, 20))
+                .assertNext(page -> {
+                    assertThat(page.items()).isEmpty();
+                    assertThat(page.nextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void searchComponents_ShouldAddHighlightsAndGroupFacets() {
+        var projectile = new Projectile(7L, "user1", "Hornady", null, "ELD-X", null, 100);
+        when(componentSearchRepository.searchByOwnerIdAndQuery("user1", "hornady", null, 21, true, true))
+                .thenReturn(Mono.just(new SearchResult(
+                        List.of(new Match("projectile", 7L, 0.6f, "<b>Hornady</b> ELD-X")),
+                        List.of(new FacetCount("caliber", "6.5 Creedmoor", 1),
+                                new FacetCount("manufacturer", "Hornady", 2),
+                                new FacetCount("primerSize", "LARGE_RIFLE", 1)))));
+        when(projectileRepository.findAllById(List.of(7L))).thenReturn(Flux.just(projectile));
+
+        StepVerifier.create(componentSearchService.searchComponents("user1", "hornady", null, 20, true, true))
+                .assertNext(page -> {
+                    assertThat(page.items()).singleElement()
+                            .satisfies(hit -> assertThat(hit.highlight()).isEqualTo("<b>Hornady</b> ELD-X"));
+                    assertThat(page.facets()).containsExactly(
+                            entry("manufacturer", List.of(new ComponentFacetCount("Hornady", 2))),
+                            entry("caliber", List.of(new ComponentFacetCount("6.5 Creedmoor", 1))),
+                            entry("primerSize", List.of(new ComponentFacetCount("LARGE_RIFLE", 1))));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void cursor_ShouldRoundTrip() {
+        var match = new Match("propellant", 42L, 0.0607927f);
+
+        assertThat(ComponentSearchService.decodeCursor(ComponentSearchService.encodeCursor(match))).isEqualTo(match);
+    }
+
+    @Test
+    void cursor_ShouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> ComponentSearchService.decodeCursor("not-a-cursor"))
+                .isInstanceOf(ServerWebInputException.class);
+    }
+}
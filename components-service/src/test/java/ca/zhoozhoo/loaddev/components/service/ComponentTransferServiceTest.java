@@ -0,0 +1,161 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static ca.zhoozhoo.loaddev.components.model.PrimerSize.LARGE_RIFLE;
+import static javax.money.Monetary.getCurrency;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.javamoney.moneta.Money.of;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.units.indriya.AbstractUnit.ONE;
+import static tech.units.indriya.quantity.Quantities.getQuantity;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.ComponentImportRepository;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.CatalogEntry;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ComponentTransferServiceTest {
+
+    @Mock
+    private ProjectileRepository projectileRepository;
+
+    @Mock
+    private PropellantRepository propellantRepository;
+
+    @Mock
+    private PrimerRepository primerRepository;
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    @Mock
+    private ComponentImportRepository componentImportRepository;
+
+    @Mock
+    private ReactiveTransactionManager transactionManager;
+
+    @Mock
+    private Validator validator;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private ComponentTransferService componentTransferService;
+
+    private final Primer primer = new Primer(3L, "user1", "CCI", "BR-2", LARGE_RIFLE, of(90, getCurrency("CAD")),
+            getQuantity(1000, ONE));
+
+    private final Case cartridgeCase = new Case(4L, "user1", "Lapua", "6.5 Creedmoor", LARGE_RIFLE,
+            of(100, getCurrency("USD")), getQuantity(100, ONE));
+
+    @BeforeEach
+    void setUp() {
+        componentTransferService = new ComponentTransferService(projectileRepository, propellantRepository,
+                primerRepository, caseRepository, componentImportRepository, transactionManager, jsonMapper,
+                validator, Optional.empty());
+    }
+
+    @Test
+    void exportComponents_ShouldStreamAllTypesInOrder() {
+        when(projectileRepository.findAllByOwnerId("user1", Pageable.unpaged())).thenReturn(Flux.empty());
+        when(propellantRepository.findAllByOwnerId("user1", Pageable.unpaged())).thenReturn(Flux.empty());
+        when(primerRepository.findAllByOwnerId("user1", Pageable.unpaged())).thenReturn(Flux.just(primer));
+        when(caseRepository.findAllByOwnerId("user1", Pageable.unpaged())).thenReturn(Flux.just(cartridgeCase));
+
+        StepVerifier.create(componentTransferService.exportComponents("user1"))
+                .expectNext(new CatalogEntry("primer", primer))
+                .expectNext(new CatalogEntry("case", cartridgeCase))
+                .verifyComplete();
+    }
+
+    @Test
+    void importComponents_ShouldInsertBatchesAndReportRejectedLines() {
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(mock(ReactiveTransaction.class)));
+        when(transactionManager.commit(any())).thenReturn(Mono.empty());
+        when(componentImportRepository.insertAll(eq(Primer.class), anyList()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(1).size()));
+
+        var lines = IntStream.rangeClosed(1, ComponentTransferService.BATCH_SIZE + 1)
+                .mapToObj(i -> i == 2 ? "{\"type\":\"scope\",\"component\":{}}"
+                        : jsonMapper.writeValueAsString(CatalogEntry.of(primer)))
+                .toList();
+
+        StepVerifier.create(componentTransferService.importComponents("importer", Flux.fromIterable(lines)))
+                .assertNext(progress -> {
+                    assertThat(progress.lines()).isEqualTo(ComponentTransferService.BATCH_SIZE);
+                    assertThat(progress.imported()).isEqualTo(ComponentTransferService.BATCH_SIZE - 1);
+                    assertThat(progress.rejected()).isEqualTo(1);
+                    assertThat(progress.errors()).singleElement()
+                            .satisfies(error -> assertThat(error.line()).isEqualTo(2));
+                })
+                .assertNext(progress -> {
+                    assertThat(progress.lines()).isEqualTo(ComponentTransferService.BATCH_SIZE + 1);
+                    assertThat(progress.imported()).isEqualTo(ComponentTransferService.BATCH_SIZE);
+                    assertThat(progress.errors()).isEmpty();
+                })
+                .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Primer>> batches = ArgumentCaptor.forClass(List.class);
+        verify(componentImportRepository, times(2)).insertAll(eq(Primer.class), batches.capture());
+        assertThat(batches.getAllValues().getFirst())
+                .allSatisfy(imported -> {
+                    assertThat(imported.id()).isNull();
+                    assertThat(imported.ownerId()).isEqualTo("importer");
+                });
+    }
+
+    @Test
+    void importComponents_ShouldRejectMalformedLineAndKeepImportingTheBatch() {
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(mock(ReactiveTransaction.class)));
+        when(transactionManager.commit(any())).thenReturn(Mono.empty());
+        when(componentImportRepository.insertAll(eq(Primer.class), anyList()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(1).size()));
+
+        var entry = jsonMapper.writeValueAsString(CatalogEntry.of(primer));
+        var lines = Flux.just(entry, "{\"type\":\"primer\",\"component\":{", "", entry);
+
+        StepVerifier.create(componentTransferService.importComponents("importer", lines))
+                .assertNext(progress -> {
+                    assertThat(progress.lines()).isEqualTo(4);
+                    assertThat(progress.imported()).isEqualTo(2);
+                    assertThat(progress.rejected()).isEqualTo(1);
+                    assertThat(progress.errors()).singleElement().satisfies(error -> {
+                        assertThat(error.line()).isEqualTo(2);
+                        assertThat(error.message()).startsWith("Malformed JSON");
+                    });
+                })
+                .verifyComplete();
+    }
+}
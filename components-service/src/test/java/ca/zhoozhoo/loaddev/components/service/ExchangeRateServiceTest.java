@@ -0,0 +1,82 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static java.time.Duration.ofMinutes;
+import static javax.money.Monetary.getCurrency;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.javamoney.moneta.Money.of;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+
+import ca.zhoozhoo.loaddev.components.dao.ExchangeRateRepository;
+import ca.zhoozhoo.loaddev.components.model.ExchangeRate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateServiceTest {
+
+    @Mock
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Mock
+    private ReactiveTransactionManager transactionManager;
+
+    private ExchangeRateService exchangeRateService;
+
+    private final ExchangeRate usdToCad = new ExchangeRate(1L, "user1", "USD", "CAD", new BigDecimal("1.40"));
+
+    @BeforeEach
+    void setUp() {
+        exchangeRateService = new ExchangeRateService(exchangeRateRepository, transactionManager, ofMinutes(10));
+    }
+
+    @Test
+    void getExchangeRateTable_ShouldLoadRatesOnce() {
+        when(exchangeRateRepository.findAllByOwnerIdOrderByBaseCurrencyAscTermCurrencyAsc("user1"))
+                .thenReturn(Flux.just(usdToCad));
+
+        StepVerifier.create(exchangeRateService.getExchangeRateTable("user1")
+                .then(exchangeRateService.getExchangeRateTable("user1")))
+                .assertNext(table -> assertThat(table.convert(of(10, getCurrency("USD")), getCurrency("CAD"))
+                        .getNumber().numberValue(BigDecimal.class)).isEqualByComparingTo("14"))
+                .verifyComplete();
+
+        verify(exchangeRateRepository).findAllByOwnerIdOrderByBaseCurrencyAscTermCurrencyAsc("user1");
+    }
+
+    @Test
+    void replaceExchangeRates_ShouldSaveRatesForUserAndReloadTable() {
+        when(exchangeRateRepository.findAllByOwnerIdOrderByBaseCurrencyAscTermCurrencyAsc("user1"))
+                .thenReturn(Flux.just(usdToCad));
+        when(exchangeRateRepository.deleteAllByOwnerId("user1")).thenReturn(Mono.just(1L));
+        when(exchangeRateRepository.saveAll(anyList())).thenReturn(Flux.just(usdToCad));
+        when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(mock(ReactiveTransaction.class)));
+        when(transactionManager.commit(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(exchangeRateService.getExchangeRateTable("user1")
+                .thenMany(exchangeRateService.replaceExchangeRates("user1",
+                        List.of(new ExchangeRate(null, null, "USD", "CAD", new BigDecimal("1.40")))))
+                .then(exchangeRateService.getExchangeRateTable("user1")))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(exchangeRateRepository).saveAll(List.of(usdToCad.withOwner("user1")));
+        verify(exchangeRateRepository, times(2)).findAllByOwnerIdOrderByBaseCurrencyAscTermCurrencyAsc("user1");
+    }
+}
@@ -0,0 +1,215 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static ca.zhoozhoo.loaddev.components.model.PrimerSize.LARGE_RIFLE;
+import static javax.money.Monetary.getCurrency;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.javamoney.moneta.Money.of;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static systems.uom.ucum.UCUM.GRAIN;
+import static systems.uom.ucum.UCUM.POUND;
+import static tech.units.indriya.AbstractUnit.ONE;
+import static tech.units.indriya.quantity.Quantities.getQuantity;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.InventoryRepository;
+import ca.zhoozhoo.loaddev.components.dao.InventoryRepository.Stock;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.InventoryConsumption;
+import ca.zhoozhoo.loaddev.components.model.InventoryReceipt;
+import ca.zhoozhoo.loaddev.components.model.LoadRecipe;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+import ca.zhoozhoo.loaddev.components.model.StockLevel;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private ProjectileRepository projectileRepository;
+
+    @Mock
+    private PropellantRepository propellantRepository;
+
+    @Mock
+    private PrimerRepository primerRepository;
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    @Mock
+    private ReactiveTransactionManager transactionManager;
+
+    private InventoryService inventoryService;
+
+    private final LoadRecipe load = new LoadRecipe("load-1", 1L, 2L, getQuantity(42, GRAIN), 3L, null, null);
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new InventoryService(inventoryRepository, projectileRepository, propellantRepository,
+                primerRepository, caseRepository, transactionManager);
+    }
+
+    @Test
+    void receive_ShouldConvertPropellantToGrains() {
+        when(propellantRepository.findByIdAndOwnerId(2L, "user1")).thenReturn(Mono.just(new Propellant(2L, "user1",
+                "Hodgdon", "H4350", of(70, getCurrency("CAD")), getQuantity(1, POUND))));
+        when(inventoryRepository.receive("user1", "propellant", 2L, new BigDecimal("7000.0000"), "order-1"))
+                .thenReturn(Mono.just(new Stock("propellant", 2L, new BigDecimal("7000.0000"), 10L)));
+
+        StepVerifier.create(inventoryService.receive("user1",
+                new InventoryReceipt("propellant", 2L, getQuantity(1, POUND), "order-1")))
+                .assertNext(stock -> {
+                    assertThat(stock.onHand().getUnit()).isEqualTo(GRAIN);
+                    assertThat(stock.lastEventId()).isEqualTo(10L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void receive_ShouldRejectMassOfPrimers() {
+        StepVerifier.create(Mono.defer(() -> inventoryService.receive("user1",
+                new InventoryReceipt("primer", 3L, getQuantity(1, POUND), null))))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(ServerWebInputException.class)
+                        .hasMessageContaining("The quantity of a primer must be a count"))
+                .verify();
+    }
+
+    @Test
+    void receive_ShouldRejectComponentsOfOtherUsers() {
+        when(primerRepository.findByIdAndOwnerId(3L, "user1")).thenReturn(Mono.empty());
+        when(inventoryRepository.receive(anyString(), anyString(), anyLong(), any(), any()))
+                .thenReturn(Mono.just(new Stock("primer", 3L, BigDecimal.TEN, 1L)));
+
+        StepVerifier.create(inventoryService.receive("user1",
+                new InventoryReceipt("primer", 3L, getQuantity(100, ONE), null)))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(ServerWebInputException.class)
+                        .hasMessageContaining("Unknown primer 3"))
+                .verify();
+    }
+
+    @Test
+    void consume_ShouldEmitStockOnceCommitted() {
+        var transaction = mock(ReactiveTransaction.class);
+        when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(transaction));
+        when(transactionManager.commit(transaction)).thenReturn(Mono.empty());
+        when(inventoryRepository.consume("user1", "projectile", 1L, BigDecimal.TEN, "load-1"))
+                .thenReturn(Mono.just(new Stock("projectile", 1L, new BigDecimal("90"), 11L)));
+        when(inventoryRepository.consume("user1", "propellant", 2L, new BigDecimal("420.0000"), "load-1"))
+                .thenReturn(Mono.just(new Stock("propellant", 2L, new BigDecimal("6580.0000"), 12L)));
+        when(inventoryRepository.consume("user1", "primer", 3L, BigDecimal.TEN, "load-1"))
+                .thenReturn(Mono.just(new Stock("primer", 3L, new BigDecimal("990"), 13L)));
+
+        StepVerifier.create(inventoryService.consume("user1", new InventoryConsumption(load, 10)))
+                .assertNext(stock -> assertThat(stock).extracting(StockLevel::type)
+                        .containsExactly("projectile", "propellant", "primer"))
+                .verifyComplete();
+
+        verify(transactionManager).commit(transaction);
+    }
+
+    @Test
+    void consume_ShouldFailWhenStockIsInsufficient() {
+        var transaction = mock(ReactiveTransaction.class);
+        when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(transaction));
+        when(transactionManager.rollback(transaction)).thenReturn(Mono.empty());
+        when(inventoryRepository.consume("user1", "projectile", 1L, BigDecimal.TEN, "load-1"))
+                .thenReturn(Mono.just(new Stock("projectile", 1L, new BigDecimal("90"), 11L)));
+        when(inventoryRepository.consume("user1", "propellant", 2L, new BigDecimal("420.0000"), "load-1"))
+                .thenReturn(Mono.empty());
+        when(inventoryRepository.consume("user1", "primer", 3L, BigDecimal.TEN, "load-1"))
+                .thenReturn(Mono.just(new Stock("primer", 3L, new BigDecimal("90"), 12L)));
+
+        StepVerifier.create(inventoryService.consume("user1", new InventoryConsumption(load, 10)))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(ResponseStatusException.class)
+                        .hasMessageContaining("Insufficient stock of propellant 2")
+                        .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                                .isEqualTo(HttpStatus.CONFLICT)))
+                .verify();
+
+        verify(transactionManager).rollback(transaction);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void getRoundsRemaining_ShouldReturnComponentRunningOutFirst() {
+        when(inventoryRepository.findStock("user1", "projectile", 1L))
+                .thenReturn(Mono.just(new Stock("projectile", 1L, new BigDecimal("500"), 1L)));
+        when(inventoryRepository.findStock("user1", "propellant", 2L))
+                .thenReturn(Mono.just(new Stock("propellant", 2L, new BigDecimal("7000"), 2L)));
+        when(inventoryRepository.findStock("user1", "primer", 3L))
+                .thenReturn(Mono.just(new Stock("primer", 3L, new BigDecimal("1000"), 3L)));
+
+        StepVerifier.create(inventoryService.getRoundsRemaining("user1", load))
+                .assertNext(remaining -> {
+                    assertThat(remaining.reference()).isEqualTo("load-1");
+                    assertThat(remaining.rounds()).isEqualTo(166L);
+                    assertThat(remaining.limitedBy()).isEqualTo("propellant");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getRoundsRemaining_ShouldBeZeroWithoutStock() {
+        when(inventoryRepository.findStock("user1", "projectile", 1L))
+                .thenReturn(Mono.just(new Stock("projectile", 1L, new BigDecimal("500"), 1L)));
+        when(inventoryRepository.findStock("user1", "propellant", 2L))
+                .thenReturn(Mono.just(new Stock("propellant", 2L, new BigDecimal("7000"), 2L)));
+        when(inventoryRepository.findStock("user1", "primer", 3L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(inventoryService.getRoundsRemaining("user1", load))
+                .assertNext(remaining -> {
+                    assertThat(remaining.rounds()).isZero();
+                    assertThat(remaining.limitedBy()).isEqualTo("primer");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getEvents_ShouldRejectUnknownType() {
+        StepVerifier.create(Mono.defer(() -> inventoryService.getEvents("user1", "scope", 1L).next()))
+                .expectError(ServerWebInputException.class)
+                .verify();
+    }
+
+    @Test
+    void receive_ShouldAcceptPrimersInPieces() {
+        when(primerRepository.findByIdAndOwnerId(3L, "user1")).thenReturn(Mono.just(new Primer(3L, "user1", "CCI",
+                "BR-2", LARGE_RIFLE, of(90, getCurrency("CAD")), getQuantity(1000, ONE))));
+        when(inventoryRepository.receive("user1", "primer", 3L, new BigDecimal("1000.0000"), null))
+                .thenReturn(Mono.just(new Stock("primer", 3L, new BigDecimal("1000.0000"), 4L)));
+
+        StepVerifier.create(inventoryService.receive("user1",
+                new InventoryReceipt("primer", 3L, getQuantity(1000, ONE), null)))
+                .assertNext(stock -> assertThat(stock.onHand().getUnit()).isEqualTo(ONE))
+                .verifyComplete();
+    }
+}
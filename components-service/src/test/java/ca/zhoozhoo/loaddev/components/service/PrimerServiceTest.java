@@ -8,6 +8,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +19,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.TrigramSimilarity;
 import ca.zhoozhoo.loaddev.components.model.Primer;
 import ca.zhoozhoo.loaddev.components.model.PrimerSize;
 import reactor.core.publisher.Flux;
@@ -29,11 +32,14 @@ class PrimerServiceTest {
     @Mock
     private PrimerRepository primerRepository;
 
+    @Mock
+    private TrigramSimilarity trigramSimilarity;
+
     private PrimerService primerService;
 
     @BeforeEach
     void setUp() {
-        primerService = new PrimerService(primerRepository);
+        primerService = new PrimerService(primerRepository, trigramSimilarity, Optional.empty());
     }
 
     @Test
@@ -60,6 +66,19 @@ class PrimerServiceTest {
         verify(primerRepository).searchByOwnerIdAndQuery(eq("user1"), eq("query"), anyInt(), anyLong());
     }
 
+    @Test
+    void suggestPrimers_ShouldCapLimitAndApplySimilarity() {
+        Primer primer = new Primer(1L, "user1", "Brand", "Model", PrimerSize.LARGE_RIFLE, null, null);
+        when(primerRepository.suggestByOwnerIdAndQuery(anyString(), anyString(), anyInt())).thenReturn(Flux.just(primer));
+        when(trigramSimilarity.suggest(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(primerService.suggestPrimers("user1", "quer", 500))
+                .expectNext(primer)
+                .verifyComplete();
+
+        verify(primerRepository).suggestByOwnerIdAndQuery("user1", "quer", TrigramSimilarity.MAX_SUGGESTIONS);
+    }
+
     @Test
     void getPrimerById_ShouldReturnPrimer() {
         Primer primer = new Primer(1L, "user1", "Brand", "Model", PrimerSize.LARGE_RIFLE, null, null);
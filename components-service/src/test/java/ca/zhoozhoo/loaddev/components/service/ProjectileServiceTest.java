@@ -8,6 +8,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +19,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.TrigramSimilarity;
 import ca.zhoozhoo.loaddev.components.model.Projectile;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -28,11 +31,14 @@ class ProjectileServiceTest {
     @Mock
     private ProjectileRepository projectileRepository;
 
+    @Mock
+    private TrigramSimilarity trigramSimilarity;
+
     private ProjectileService projectileService;
 
     @BeforeEach
     void setUp() {
-        projectileService = new ProjectileService(projectileRepository);
+        projectileService = new ProjectileService(projectileRepository, trigramSimilarity, Optional.empty());
     }
 
     @Test
@@ -59,6 +65,19 @@ class ProjectileServiceTest {
         verify(projectileRepository).searchByOwnerIdAndQuery(eq("user1"), eq("query"), anyInt(), anyLong());
     }
 
+    @Test
+    void suggestProjectiles_ShouldCapLimitAndApplySimilarity() {
+        Projectile projectile = new Projectile(1L, "user1", "Brand", null, "Model", null, 100);
+        when(projectileRepository.suggestByOwnerIdAndQuery(anyString(), anyString(), anyInt())).thenReturn(Flux.just(projectile));
+        when(trigramSimilarity.suggest(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(projectileService.suggestProjectiles("user1", "quer", 500))
+                .expectNext(projectile)
+                .verifyComplete();
+
+        verify(projectileRepository).suggestByOwnerIdAndQuery("user1", "quer", TrigramSimilarity.MAX_SUGGESTIONS);
+    }
+
     @Test
     void getProjectileById_ShouldReturnProjectile() {
         Projectile projectile = new Projectile(1L, "user1", "Brand", null, "Model", null, 100);
@@ -5,9 +5,13 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,7 +20,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import ca.zhoozhoo.loaddev.components.cache.ComponentCatalog;
+import ca.zhoozhoo.loaddev.components.cache.ComponentCatalogCache;
 import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.dao.TrigramSimilarity;
 import ca.zhoozhoo.loaddev.components.model.Propellant;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -28,11 +35,17 @@ class PropellantServiceTest {
     @Mock
     private PropellantRepository propellantRepository;
 
+    @Mock
+    private TrigramSimilarity trigramSimilarity;
+
+    @Mock
+    private ComponentCatalogCache catalogCache;
+
     private PropellantService propellantService;
 
     @BeforeEach
     void setUp() {
-        propellantService = new PropellantService(propellantRepository);
+        propellantService = new PropellantService(propellantRepository, trigramSimilarity, Optional.empty());
     }
 
     @Test
@@ -59,6 +72,19 @@ class PropellantServiceTest {
         verify(propellantRepository).searchByOwnerIdAndQuery(eq("user1"), eq("query"), anyInt(), anyLong());
     }
 
+    @Test
+    void suggestPropellants_ShouldCapLimitAndApplySimilarity() {
+        Propellant propellant = new Propellant(1L, "user1", "Brand", "Model", null, null);
+        when(propellantRepository.suggestByOwnerIdAndQuery(anyString(), anyString(), anyInt())).thenReturn(Flux.just(propellant));
+        when(trigramSimilarity.suggest(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(propellantService.suggestPropellants("user1", "quer", 500))
+                .expectNext(propellant)
+                .verifyComplete();
+
+        verify(propellantRepository).suggestByOwnerIdAndQuery("user1", "quer", TrigramSimilarity.MAX_SUGGESTIONS);
+    }
+
     @Test
     void getPropellantById_ShouldReturnPropellant() {
         Propellant propellant = new Propellant(1L, "user1", "Brand", "Model", null, null);
@@ -105,4 +131,44 @@ class PropellantServiceTest {
 
         verify(propellantRepository).delete(propellant);
     }
+
+    @Test
+    void searchPropellants_ShouldUseCatalogWhenCacheEnabled() {
+        Propellant varget = new Propellant(1L, "user1", "Hodgdon", "Varget", null, null);
+        Propellant h4350 = new Propellant(2L, "user1", "Hodgdon", "H4350", null, null);
+        when(catalogCache.get("user1")).thenReturn(Mono.just(
+                new ComponentCatalog(List.of(), List.of(varget, h4350), List.of(), List.of())));
+        var cachedService = new PropellantService(propellantRepository, trigramSimilarity, Optional.of(catalogCache));
+
+        StepVerifier.create(cachedService.searchPropellants("user1", "hodgdon var", PageRequest.of(0, 20)))
+                .expectNext(varget)
+                .verifyComplete();
+
+        verify(propellantRepository, never()).searchByOwnerIdAndQuery(anyString(), anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void updatePropellant_ShouldInvalidateCatalogWhenCacheEnabled() {
+        Propellant propellant = new Propellant(1L, "user1", "Brand", "Model", null, null);
+        when(propellantRepository.save(any(Propellant.class))).thenReturn(Mono.just(propellant));
+        var cachedService = new PropellantService(propellantRepository, trigramSimilarity, Optional.of(catalogCache));
+
+        StepVerifier.create(cachedService.updatePropellant(propellant))
+                .expectNext(propellant)
+                .verifyComplete();
+
+        verify(catalogCache).invalidate("user1");
+    }
+
+    @Test
+    void deletePropellant_ShouldNotInvalidateCatalogWhenDeleteFails() {
+        Propellant propellant = new Propellant(1L, "user1", "Brand", "Model", null, null);
+        when(propellantRepository.delete(any(Propellant.class))).thenReturn(Mono.error(new IllegalStateException("boom")));
+        var cachedService = new PropellantService(propellantRepository, trigramSimilarity, Optional.of(catalogCache));
+
+        StepVerifier.create(cachedService.deletePropellant(propellant))
+                .verifyErrorMessage("boom");
+
+        verify(catalogCache, never()).invalidate(anyString());
+    }
 }
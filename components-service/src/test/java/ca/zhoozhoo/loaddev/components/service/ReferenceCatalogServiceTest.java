@@ -0,0 +1,196 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.money.Monetary.getCurrency;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.javamoney.moneta.Money.of;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.web.server.ServerWebInputException;
+
+import ca.zhoozhoo.loaddev.components.cache.ComponentCatalogCache;
+import ca.zhoozhoo.loaddev.components.cache.ReferenceCatalog;
+import ca.zhoozhoo.loaddev.components.dao.ReferenceAdoptionRepository;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+import ca.zhoozhoo.loaddev.components.model.ReferenceOverride;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceCatalogServiceTest {
+
+    private static final String CATALOG = """
+            {"type":"projectile","component":{"id":2,"manufacturer":"Sierra","weight":{"value":142,"unit":"[gr]"},"type":"MatchKing","cost":{"amount":48.99,"currency":"USD"},"quantityPerBox":100}}
+            {"type":"projectile","component":{"id":1,"manufacturer":"Hornady","weight":{"value":140,"unit":"[gr]"},"type":"ELD Match","cost":{"amount":52.99,"currency":"USD"},"quantityPerBox":100}}
+
+            {"type":"propellant","component":{"id":1,"manufacturer":"Hodgdon","type":"H4350","cost":{"amount":49.99,"currency":"USD"},"weightPerContainer":{"value":1,"unit":"[lb_av]"}}}
+            """;
+
+    @Mock
+    private ReferenceAdoptionRepository adoptionRepository;
+
+    @Mock
+    private ProjectileService projectileService;
+
+    @Mock
+    private PropellantService propellantService;
+
+    @Mock
+    private PrimerService primerService;
+
+    @Mock
+    private CaseService caseService;
+
+    @Mock
+    private ReactiveTransactionManager transactionManager;
+
+    @Mock
+    private ComponentCatalogCache catalogCache;
+
+    private ReferenceCatalogService referenceCatalogService;
+
+    @BeforeEach
+    void setUp() {
+        var referenceCatalog = new ReferenceCatalog(new ByteArrayResource(CATALOG.getBytes(UTF_8)),
+                JsonMapper.builder().build());
+        referenceCatalogService = new ReferenceCatalogService(referenceCatalog, adoptionRepository,
+                projectileService, propellantService, primerService, caseService, transactionManager,
+                Optional.of(catalogCache));
+    }
+
+    @Test
+    void getReferenceComponents_ShouldListOrSearchFromMemory() {
+        StepVerifier.create(referenceCatalogService.getReferenceComponents("projectile", null, Pageable.unpaged()))
+                .assertNext(component -> assertThat(component.id()).isEqualTo(1L))
+                .assertNext(component -> assertThat(component.id()).isEqualTo(2L))
+                .verifyComplete();
+
+        StepVerifier.create(referenceCatalogService.getReferenceComponents("projectile", "sierra", Pageable.unpaged()))
+                .assertNext(component -> assertThat(((Projectile) component).type()).isEqualTo("MatchKing"))
+                .verifyComplete();
+    }
+
+    @Test
+    void getReferenceComponents_ShouldRejectUnknownType() {
+        assertThatThrownBy(() -> referenceCatalogService.getReferenceComponents("scope", null, Pageable.unpaged()))
+                .isInstanceOf(ServerWebInputException.class);
+    }
+
+    @Test
+    void getReferenceComponent_ShouldReturnEmptyForUnknownId() {
+        StepVerifier.create(referenceCatalogService.getReferenceComponent("propellant", 2L))
+                .verifyComplete();
+    }
+
+    @Test
+    void adopt_ShouldCopyReferenceWithOverriddenCost() {
+        when(adoptionRepository.findComponentId("user1", "propellant", 1L)).thenReturn(Mono.empty());
+        when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(mock(ReactiveTransaction.class)));
+        when(transactionManager.commit(any())).thenReturn(Mono.empty());
+        when(propellantService.createPropellant(any())).thenAnswer(invocation -> Mono.just(
+                invocation.<Propellant>getArgument(0).withIdAndOwner(7L, "user1")));
+        when(adoptionRepository.saveIfAbsent("user1", "propellant", 1L, 7L)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(referenceCatalogService.adopt("user1", "propellant", 1L,
+                new ReferenceOverride(of(64.99, getCurrency("CAD")))))
+                .assertNext(entry -> {
+                    assertThat(entry.type()).isEqualTo("propellant");
+                    var propellant = (Propellant) entry.component();
+                    assertThat(propellant.id()).isEqualTo(7L);
+                    assertThat(propellant.ownerId()).isEqualTo("user1");
+                    assertThat(propellant.type()).isEqualTo("H4350");
+                    assertThat(propellant.cost()).isEqualTo(of(64.99, getCurrency("CAD")));
+                })
+                .verifyComplete();
+
+        // The catalog must not be refilled without the copy before it is committed
+        var order = inOrder(transactionManager, catalogCache);
+        order.verify(transactionManager).commit(any());
+        order.verify(catalogCache).invalidate("user1");
+    }
+
+    @Test
+    void adopt_ShouldReturnExistingCopy() {
+        var copy = new Projectile(9L, "user1", "Hornady", null, "ELD Match", of(60, getCurrency("CAD")), 100);
+        when(adoptionRepository.findComponentId("user1", "projectile", 1L)).thenReturn(Mono.just(9L));
+        when(projectileService.getProjectileById(9L, "user1")).thenReturn(Mono.just(copy));
+
+        StepVerifier.create(referenceCatalogService.adopt("user1", "projectile", 1L, null))
+                .assertNext(entry -> assertThat(entry.component()).isEqualTo(copy))
+                .verifyComplete();
+
+        verify(projectileService, never()).createProjectile(any());
+        verify(adoptionRepository, never()).saveIfAbsent(anyString(), anyString(), anyLong(), anyLong());
+        verify(catalogCache, never()).invalidate(anyString());
+    }
+
+    @Test
+    void adopt_ShouldRollBackCopyWhenConcurrentlyAdopted() {
+        var transaction = mock(ReactiveTransaction.class);
+        var linked = new Projectile(9L, "user1", "Hornady", null, "ELD Match", of(52.99, getCurrency("USD")), 100);
+        when(adoptionRepository.findComponentId("user1", "projectile", 1L)).thenReturn(Mono.empty());
+        when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(transaction));
+        when(transactionManager.commit(any())).thenReturn(Mono.empty());
+        when(projectileService.createProjectile(any())).thenAnswer(invocation -> Mono.just(
+                invocation.<Projectile>getArgument(0).withIdAndOwner(10L, "user1")));
+        when(adoptionRepository.saveIfAbsent("user1", "projectile", 1L, 10L)).thenReturn(Mono.just(false));
+        when(adoptionRepository.lockComponentId("user1", "projectile", 1L)).thenReturn(Mono.just(9L));
+        when(projectileService.getProjectileById(9L, "user1")).thenReturn(Mono.just(linked));
+
+        StepVerifier.create(referenceCatalogService.adopt("user1", "projectile", 1L, null))
+                .assertNext(entry -> assertThat(entry.component()).isEqualTo(linked))
+                .verifyComplete();
+
+        verify(transaction).setRollbackOnly();
+        verify(adoptionRepository, never()).replace(anyString(), anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void adopt_ShouldReplaceLinkToDeletedCopy() {
+        var transaction = mock(ReactiveTransaction.class);
+        when(adoptionRepository.findComponentId("user1", "projectile", 1L)).thenReturn(Mono.just(9L));
+        when(projectileService.getProjectileById(9L, "user1")).thenReturn(Mono.empty());
+        when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(transaction));
+        when(transactionManager.commit(any())).thenReturn(Mono.empty());
+        when(projectileService.createProjectile(any())).thenAnswer(invocation -> Mono.just(
+                invocation.<Projectile>getArgument(0).withIdAndOwner(10L, "user1")));
+        when(adoptionRepository.saveIfAbsent("user1", "projectile", 1L, 10L)).thenReturn(Mono.just(false));
+        when(adoptionRepository.lockComponentId("user1", "projectile", 1L)).thenReturn(Mono.just(9L));
+        when(adoptionRepository.replace("user1", "projectile", 1L, 10L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(referenceCatalogService.adopt("user1", "projectile", 1L, null))
+                .assertNext(entry -> assertThat(entry.component().id()).isEqualTo(10L))
+                .verifyComplete();
+
+        verify(transaction, never()).setRollbackOnly();
+    }
+
+    @Test
+    void adopt_ShouldReturnEmptyForUnknownReference() {
+        StepVerifier.create(referenceCatalogService.adopt("user1", "projectile", 3L, null))
+                .verifyComplete();
+
+        verify(adoptionRepository, never()).findComponentId(anyString(), anyString(), anyLong());
+    }
+}
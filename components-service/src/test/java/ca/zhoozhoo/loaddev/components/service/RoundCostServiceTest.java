@@ -0,0 +1,170 @@
+package ca.zhoozhoo.loaddev.components.service;
+
+import static ca.zhoozhoo.loaddev.components.model.PrimerSize.LARGE_RIFLE;
+import static javax.money.Monetary.getCurrency;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.javamoney.moneta.Money.of;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static systems.uom.ucum.UCUM.GRAIN;
+import static systems.uom.ucum.UCUM.POUND;
+import static tech.units.indriya.AbstractUnit.ONE;
+import static tech.units.indriya.quantity.Quantities.getQuantity;
+import static tech.units.indriya.unit.Units.GRAM;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import javax.money.MonetaryAmount;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ServerWebInputException;
+
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.ExchangeRate;
+import ca.zhoozhoo.loaddev.components.model.LoadRecipe;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+import ca.zhoozhoo.loaddev.components.model.RoundCostRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class RoundCostServiceTest {
+
+    @Mock
+    private ProjectileRepository projectileRepository;
+
+    @Mock
+    private PropellantRepository propellantRepository;
+
+    @Mock
+    private PrimerRepository primerRepository;
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    private RoundCostService roundCostService;
+
+    private final Projectile projectile = new Projectile(1L, "user1", "Hornady", getQuantity(140, GRAIN), "ELD Match",
+            of(52.99, getCurrency("CAD")), 100);
+
+    private final Propellant propellant = new Propellant(2L, "user1", "Hodgdon", "H4350", of(70, getCurrency("CAD")),
+            getQuantity(1, POUND));
+
+    private final Primer primer = new Primer(3L, "user1", "CCI", "BR-2", LARGE_RIFLE, of(90, getCurrency("CAD")),
+            getQuantity(1000, ONE));
+
+    private final Case cartridgeCase = new Case(4L, "user1", "Lapua", "6.5 Creedmoor", LARGE_RIFLE,
+            of(100, getCurrency("USD")), getQuantity(100, ONE));
+
+    @BeforeEach
+    void setUp() {
+        roundCostService = new RoundCostService(projectileRepository, propellantRepository, primerRepository,
+                caseRepository, exchangeRateService);
+        when(exchangeRateService.getExchangeRateTable("user1")).thenReturn(Mono.just(new ExchangeRateTable(
+                List.of(new ExchangeRate(1L, "user1", "USD", "CAD", new BigDecimal("1.40"))))));
+    }
+
+    @Test
+    void priceLoads_ShouldConvertUnitsAndCurrencies() {
+        when(projectileRepository.findAllById(anyIterable())).thenReturn(Flux.just(projectile));
+        when(propellantRepository.findAllById(anyIterable())).thenReturn(Flux.just(propellant));
+        when(primerRepository.findAllById(anyIterable())).thenReturn(Flux.just(primer));
+        when(caseRepository.findAllById(anyIterable())).thenReturn(Flux.just(cartridgeCase));
+
+        var request = new RoundCostRequest("CAD", List.of(
+                new LoadRecipe("load-1", 1L, 2L, getQuantity(42, GRAIN), 3L, 4L, 5),
+                new LoadRecipe("load-2", 1L, 2L, getQuantity(2.7216, GRAM), 3L, null, null)));
+
+        StepVerifier.create(roundCostService.priceLoads("user1", request))
+                .assertNext(cost -> {
+                    assertThat(cost.reference()).isEqualTo("load-1");
+                    assertAmount(cost.projectile(), "0.5299", "CAD");
+                    assertAmount(cost.propellant(), "0.42", "CAD");
+                    assertAmount(cost.primer(), "0.09", "CAD");
+                    assertAmount(cost.cartridgeCase(), "0.28", "CAD");
+                    assertAmount(cost.perRound(), "1.3199", "CAD");
+                    assertAmount(cost.per100(), "131.99", "CAD");
+                })
+                .assertNext(cost -> {
+                    assertThat(cost.reference()).isEqualTo("load-2");
+                    assertAmount(cost.propellant(), "0.42", "CAD");
+                    assertThat(cost.cartridgeCase()).isNull();
+                    assertAmount(cost.per100(), "103.99", "CAD");
+                })
+                .verifyComplete();
+
+        verify(projectileRepository).findAllById(List.of(1L));
+    }
+
+    @Test
+    void priceLoads_ShouldUseInverseExchangeRate() {
+        when(projectileRepository.findAllById(anyIterable())).thenReturn(Flux.just(projectile));
+        when(propellantRepository.findAllById(anyIterable())).thenReturn(Flux.just(propellant));
+        when(primerRepository.findAllById(anyIterable())).thenReturn(Flux.just(primer));
+
+        var request = new RoundCostRequest("USD", List.of(
+                new LoadRecipe(null, 1L, 2L, getQuantity(42, GRAIN), 3L, null, null)));
+
+        StepVerifier.create(roundCostService.priceLoads("user1", request))
+                .assertNext(cost -> {
+                    assertAmount(cost.projectile(), "0.3785", "USD");
+                    assertAmount(cost.perRound(), "0.7428", "USD");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void priceLoads_ShouldRejectComponentsOfOtherUsers() {
+        when(projectileRepository.findAllById(anyIterable())).thenReturn(Flux.just(
+                new Projectile(1L, "user2", "Hornady", getQuantity(140, GRAIN), "ELD Match",
+                        of(52.99, getCurrency("CAD")), 100)));
+        when(propellantRepository.findAllById(anyIterable())).thenReturn(Flux.just(propellant));
+        when(primerRepository.findAllById(anyIterable())).thenReturn(Flux.just(primer));
+
+        var request = new RoundCostRequest("CAD", List.of(
+                new LoadRecipe(null, 1L, 2L, getQuantity(42, GRAIN), 3L, null, null)));
+
+        StepVerifier.create(roundCostService.priceLoads("user1", request))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(ServerWebInputException.class)
+                        .hasMessageContaining("Unknown projectile 1"))
+                .verify();
+    }
+
+    @Test
+    void priceLoads_ShouldRejectMissingExchangeRate() {
+        when(projectileRepository.findAllById(anyIterable())).thenReturn(Flux.just(projectile));
+        when(propellantRepository.findAllById(anyIterable())).thenReturn(Flux.just(propellant));
+        when(primerRepository.findAllById(anyIterable())).thenReturn(Flux.just(primer));
+
+        var request = new RoundCostRequest("EUR", List.of(
+                new LoadRecipe(null, 1L, 2L, getQuantity(42, GRAIN), 3L, null, null)));
+
+        StepVerifier.create(roundCostService.priceLoads("user1", request))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(ServerWebInputException.class)
+                        .hasMessageContaining("No exchange rate from CAD to EUR"))
+                .verify();
+    }
+
+    private static void assertAmount(MonetaryAmount amount, String expected, String currency) {
+        assertThat(amount.getCurrency().getCurrencyCode()).isEqualTo(currency);
+        assertThat(amount.getNumber().numberValue(BigDecimal.class)).isEqualByComparingTo(expected);
+    }
+}
@@ -82,6 +82,26 @@ public class CaseControllerTest {
                 });
     }
 
+    @Test
+    void suggestCases() {
+        var userId = randomUUID().toString();
+
+        var savedCase = caseRepository.save(createTestCase(userId)).block();
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"),
+                        new SimpleGrantedAuthority("components:view")))
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/cases/suggest").queryParam("q", "Lapau").build())
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBodyList(Case.class)
+                .value(list -> assertThat(list).containsExactly(savedCase));
+    }
+
     @Test
     void getCaseById() {
         var userId = randomUUID().toString();
@@ -0,0 +1,188 @@
+package ca.zhoozhoo.loaddev.components.web;
+
+import static ca.zhoozhoo.loaddev.components.model.PrimerSize.LARGE_RIFLE;
+import static java.util.UUID.randomUUID;
+import static javax.money.Monetary.getCurrency;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
+import static org.javamoney.moneta.Money.of;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
+import static tech.units.indriya.AbstractUnit.ONE;
+import static tech.units.indriya.quantity.Quantities.getQuantity;
+import static tech.units.indriya.unit.Units.GRAM;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import ca.zhoozhoo.loaddev.components.config.TestSecurityConfig;
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+
+@SpringBootTest(properties = "spring.autoconfigure.exclude=ca.zhoozhoo.loaddev.security.SecurityAutoConfiguration")
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+@Import(TestSecurityConfig.class)
+public class ComponentSearchControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ProjectileRepository projectileRepository;
+
+    @Autowired
+    private PrimerRepository primerRepository;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    private String userId;
+
+    private Projectile projectile;
+
+    private Case cartridgeCase;
+
+    @BeforeEach
+    void setUp() {
+        userId = randomUUID().toString();
+
+        projectile = projectileRepository.save(new Projectile(null, userId, "Hornady", getQuantity(178.0, GRAM),
+                "ELD-X", of(52.99, getCurrency("CAD")), 100)).block();
+        cartridgeCase = caseRepository.save(new Case(null, userId, "Hornady", "6.5 Creedmoor", LARGE_RIFLE,
+                of(89.99, getCurrency("CAD")), getQuantity(100, ONE))).block();
+        primerRepository.save(new Primer(null, userId, "CCI", "BR-4", LARGE_RIFLE,
+                of(89.99, getCurrency("CAD")), getQuantity(1000, ONE))).block();
+    }
+
+    @Test
+    void searchComponents() {
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"),
+                        new SimpleGrantedAuthority("components:view")))
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/components/search").queryParam("q", "hornady").build())
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                // The weighted manufacturer of projectiles ranks above the unweighted case text
+                .jsonPath("$.items[0].type").isEqualTo("projectile")
+                .jsonPath("$.items[0].component.id").isEqualTo(projectile.id())
+                .jsonPath("$.items[0].component.type").isEqualTo("ELD-X")
+                .jsonPath("$.items[1].type").isEqualTo("case")
+                .jsonPath("$.items[1].component.id").isEqualTo(cartridgeCase.id())
+                .jsonPath("$.items[1].component.caliber").isEqualTo("6.5 Creedmoor")
+                .jsonPath("$.nextCursor").isEmpty()
+                .jsonPath("$.items[0].highlight").doesNotExist()
+                .jsonPath("$.facets").doesNotExist();
+    }
+
+    @Test
+    void searchComponentsWithCursor() {
+        var firstPage = search("hornady", null, 1);
+        assertThat(firstPage.get("nextCursor")).isNotNull();
+
+        var secondPage = search("hornady", (String) firstPage.get("nextCursor"), 1);
+        assertThat(secondPage.get("nextCursor")).isNull();
+
+        assertThat(type(firstPage)).isEqualTo("projectile");
+        assertThat(type(secondPage)).isEqualTo("case");
+    }
+
+    @Test
+    void searchComponentsWithHighlightsAndFacets() {
+        var page = webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"),
+                        new SimpleGrantedAuthority("components:view")))
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/components/search")
+                        .queryParam("q", "hornady")
+                        .queryParam("size", 1)
+                        .queryParam("highlight", true)
+                        .queryParam("facets", true)
+                        .build())
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(type(page)).isEqualTo("projectile");
+        assertThat(page).extractingByKey("items").asInstanceOf(LIST).singleElement()
+                .extracting(item -> (String) ((Map<?, ?>) item).get("highlight"))
+                .asString().contains("<b>Hornady</b>");
+        assertThat(page.get("nextCursor")).isNotNull();
+
+        // Facets count all matches, not only those of the page
+        assertThat(page.get("facets")).isEqualTo(Map.of(
+                "manufacturer", List.of(Map.of("value", "Hornady", "count", 2)),
+                "caliber", List.of(Map.of("value", "6.5 Creedmoor", "count", 1)),
+                "primerSize", List.of(Map.of("value", "LARGE_RIFLE", "count", 1))));
+    }
+
+    @Test
+    void searchComponentsInvalidCursor() {
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"),
+                        new SimpleGrantedAuthority("components:view")))
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/components/search")
+                        .queryParam("q", "hornady")
+                        .queryParam("cursor", "not-a-cursor")
+                        .build())
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private Map<String, Object> search(String query, String cursor, int size) {
+        return webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"),
+                        new SimpleGrantedAuthority("components:view")))
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/components/search")
+                        .queryParam("q", query)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .queryParam("size", size)
+                        .build())
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String type(Map<String, Object> page) {
+        var items = (List<Map<String, Object>>) page.get("items");
+        assertThat(items).hasSize(1);
+        return (String) items.getFirst().get("type");
+    }
+}
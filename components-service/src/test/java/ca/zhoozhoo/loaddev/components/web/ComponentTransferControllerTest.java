@@ -0,0 +1,178 @@
+package ca.zhoozhoo.loaddev.components.web;
+
+import static ca.zhoozhoo.loaddev.components.model.PrimerSize.LARGE_RIFLE;
+import static java.util.UUID.randomUUID;
+import static javax.money.Monetary.getCurrency;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.javamoney.moneta.Money.of;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
+import static systems.uom.ucum.UCUM.POUND;
+import static tech.units.indriya.AbstractUnit.ONE;
+import static tech.units.indriya.quantity.Quantities.getQuantity;
+import static tech.units.indriya.unit.Units.GRAM;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import ca.zhoozhoo.loaddev.components.config.TestSecurityConfig;
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+
+@SpringBootTest(properties = "spring.autoconfigure.exclude=ca.zhoozhoo.loaddev.security.SecurityAutoConfiguration")
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+@Import(TestSecurityConfig.class)
+public class ComponentTransferControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ProjectileRepository projectileRepository;
+
+    @Autowired
+    private PropellantRepository propellantRepository;
+
+    @Autowired
+    private PrimerRepository primerRepository;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = randomUUID().toString();
+
+        projectileRepository.save(new Projectile(null, userId, "Hornady", getQuantity(178.0, GRAM), "ELD-X",
+                of(52.99, getCurrency("CAD")), 100)).block();
+        propellantRepository.save(new Propellant(null, userId, "Hodgdon", "H4350",
+                of(70, getCurrency("CAD")), getQuantity(1, POUND))).block();
+        primerRepository.save(new Primer(null, userId, "CCI", "BR-4", LARGE_RIFLE,
+                of(89.99, getCurrency("CAD")), getQuantity(1000, ONE))).block();
+        caseRepository.save(new Case(null, userId, "Lapua", "6.5 Creedmoor", LARGE_RIFLE,
+                of(129.99, getCurrency("CAD")), getQuantity(100, ONE))).block();
+    }
+
+    @Test
+    void exportComponents() {
+        var lines = export(userId);
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).contains("\"type\":\"projectile\"", "\"manufacturer\":\"Hornady\"");
+        assertThat(lines.get(1)).contains("\"type\":\"propellant\"", "\"manufacturer\":\"Hodgdon\"");
+        assertThat(lines.get(2)).contains("\"type\":\"primer\"");
+        assertThat(lines.get(3)).contains("\"type\":\"case\"", "\"caliber\":\"6.5 Creedmoor\"");
+        assertThat(lines).noneMatch(line -> line.contains(userId));
+    }
+
+    @Test
+    void importExportedComponents() {
+        var importer = randomUUID().toString();
+        var body = String.join("\n", export(userId)) + "\n"
+                + "{\"type\":\"scope\",\"component\":{}}\n"
+                + "{\"type\":\"primer\",\"component\":{\"type\":\"BR-2\",\"primerSize\":\"LARGE_RIFLE\","
+                + "\"cost\":{\"amount\":89.99,\"currency\":\"CAD\"},\"quantityPerBox\":{\"value\":1000,\"unit\":\"1\"}}}\n";
+
+        client(importer, "components:edit")
+                .post()
+                .uri("/v1/components/import")
+                .header("Authorization", "Bearer " + importer)
+                .contentType(APPLICATION_NDJSON)
+                .accept(APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.lines").isEqualTo(6)
+                .jsonPath("$.imported").isEqualTo(4)
+                .jsonPath("$.rejected").isEqualTo(2)
+                .jsonPath("$.errors[0].line").isEqualTo(5)
+                .jsonPath("$.errors[0].message").isEqualTo("Unknown component type scope")
+                .jsonPath("$.errors[1].line").isEqualTo(6)
+                .jsonPath("$.errors[1].message").isEqualTo("Manufacturer is required");
+
+        var imported = export(importer);
+        assertThat(imported).hasSize(4);
+        assertThat(imported.get(3)).contains("\"caliber\":\"6.5 Creedmoor\"");
+
+        // The search vectors of imported components are computed as for components saved one by one
+        client(importer, "components:view")
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/components/search").queryParam("q", "lapua").build())
+                .header("Authorization", "Bearer " + importer)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].type").isEqualTo("case");
+    }
+
+    @Test
+    void importComponentsWithMalformedLine() {
+        var importer = randomUUID().toString();
+        var exported = export(userId);
+        var body = exported.get(0) + "\n"
+                + "{\"type\":\"propellant\",\"component\":{\"manufacturer\":\n"
+                + exported.get(2) + "\n"
+                + exported.get(3) + "\n";
+
+        client(importer, "components:edit")
+                .post()
+                .uri("/v1/components/import")
+                .header("Authorization", "Bearer " + importer)
+                .contentType(APPLICATION_NDJSON)
+                .accept(APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.lines").isEqualTo(4)
+                .jsonPath("$.imported").isEqualTo(3)
+                .jsonPath("$.rejected").isEqualTo(1)
+                .jsonPath("$.errors[0].line").isEqualTo(2)
+                .jsonPath("$.errors[0].message").value(message -> assertThat((String) message)
+                        .startsWith("Malformed JSON"));
+
+        assertThat(export(importer)).hasSize(3);
+    }
+
+    private List<String> export(String owner) {
+        return client(owner, "components:view")
+                .get()
+                .uri("/v1/components/export")
+                .header("Authorization", "Bearer " + owner)
+                .accept(APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody()
+                .filter(line -> !line.isBlank())
+                .collectList()
+                .block();
+    }
+
+    private WebTestClient client(String owner, String authority) {
+        return webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", owner))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority(authority)));
+    }
+}
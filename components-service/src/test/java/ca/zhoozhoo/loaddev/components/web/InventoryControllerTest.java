@@ -0,0 +1,210 @@
+package ca.zhoozhoo.loaddev.components.web;
+
+import static ca.zhoozhoo.loaddev.components.model.PrimerSize.LARGE_RIFLE;
+import static java.util.UUID.randomUUID;
+import static javax.money.Monetary.getCurrency;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.javamoney.moneta.Money.of;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
+import static systems.uom.ucum.UCUM.GRAIN;
+import static systems.uom.ucum.UCUM.POUND;
+import static tech.units.indriya.AbstractUnit.ONE;
+import static tech.units.indriya.quantity.Quantities.getQuantity;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.measure.Quantity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import ca.zhoozhoo.loaddev.components.config.TestSecurityConfig;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.InventoryConsumption;
+import ca.zhoozhoo.loaddev.components.model.InventoryReceipt;
+import ca.zhoozhoo.loaddev.components.model.LoadRecipe;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+
+@SpringBootTest(properties = "spring.autoconfigure.exclude=ca.zhoozhoo.loaddev.security.SecurityAutoConfiguration")
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+@Import(TestSecurityConfig.class)
+public class InventoryControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ProjectileRepository projectileRepository;
+
+    @Autowired
+    private PropellantRepository propellantRepository;
+
+    @Autowired
+    private PrimerRepository primerRepository;
+
+    private String userId;
+
+    private LoadRecipe load;
+
+    @BeforeEach
+    void setUp() {
+        userId = randomUUID().toString();
+
+        var projectile = projectileRepository.save(new Projectile(null, userId, "Hornady", getQuantity(140, GRAIN),
+                "ELD Match", of(52.99, getCurrency("CAD")), 100)).block();
+        var propellant = propellantRepository.save(new Propellant(null, userId, "Hodgdon", "H4350",
+                of(70, getCurrency("CAD")), getQuantity(1, POUND))).block();
+        var primer = primerRepository.save(new Primer(null, userId, "CCI", "BR-2", LARGE_RIFLE,
+                of(90, getCurrency("CAD")), getQuantity(1000, ONE))).block();
+
+        load = new LoadRecipe("group-1", projectile.id(), propellant.id(), getQuantity(42, GRAIN), primer.id(),
+                null, null);
+    }
+
+    @Test
+    void consumeAndGetRoundsRemaining() {
+        receive("projectile", load.projectileId(), getQuantity(100, ONE)).expectStatus().isCreated();
+        receive("propellant", load.propellantId(), getQuantity(1, POUND)).expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.onHand.value").isEqualTo(7000);
+        receive("primer", load.primerId(), getQuantity(1000, ONE)).expectStatus().isCreated();
+
+        consume(10)
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].type").isEqualTo("projectile")
+                .jsonPath("$[0].onHand.value").isEqualTo(90)
+                .jsonPath("$[1].onHand.value").isEqualTo(6580);
+
+        roundsRemaining()
+                .expectBody()
+                .jsonPath("$.reference").isEqualTo("group-1")
+                .jsonPath("$.rounds").isEqualTo(90)
+                .jsonPath("$.limitedBy").isEqualTo("projectile");
+
+        client("components:view")
+                .get()
+                .uri("/v1/components/inventory/projectile/{id}/events", load.projectileId())
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].reason").isEqualTo("RECEIVED")
+                .jsonPath("$[1].reason").isEqualTo("CONSUMED")
+                .jsonPath("$[1].delta.value").isEqualTo(-10)
+                .jsonPath("$[1].reference").isEqualTo("group-1");
+    }
+
+    @Test
+    void consumeInsufficientStockChangesNothing() {
+        receive("projectile", load.projectileId(), getQuantity(100, ONE)).expectStatus().isCreated();
+        receive("propellant", load.propellantId(), getQuantity(1, POUND)).expectStatus().isCreated();
+        receive("primer", load.primerId(), getQuantity(5, ONE)).expectStatus().isCreated();
+
+        consume(10).expectStatus().isEqualTo(409);
+
+        client("components:view")
+                .get()
+                .uri("/v1/components/inventory")
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].type").isEqualTo("primer")
+                .jsonPath("$[0].onHand.value").isEqualTo(5)
+                .jsonPath("$[1].type").isEqualTo("projectile")
+                .jsonPath("$[1].onHand.value").isEqualTo(100);
+    }
+
+    @Test
+    void concurrentConsumptionsNeverOversell() throws Exception {
+        receive("projectile", load.projectileId(), getQuantity(100, ONE)).expectStatus().isCreated();
+        receive("propellant", load.propellantId(), getQuantity(1, POUND)).expectStatus().isCreated();
+        receive("primer", load.primerId(), getQuantity(1000, ONE)).expectStatus().isCreated();
+
+        var statuses = new ArrayList<Integer>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var results = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> consume(10).returnResult(Void.class).getStatus().value()));
+            }
+            for (var result : results) {
+                statuses.add(result.get());
+            }
+        }
+
+        assertThat(statuses).filteredOn(status -> status == 201).hasSize(10);
+        assertThat(statuses).filteredOn(status -> status == 409).hasSize(10);
+
+        roundsRemaining()
+                .expectBody()
+                .jsonPath("$.rounds").isEqualTo(0)
+                .jsonPath("$.limitedBy").isEqualTo("projectile");
+    }
+
+    @Test
+    void receiveUnknownComponent() {
+        receive("primer", 999_999L, getQuantity(100, ONE)).expectStatus().isBadRequest();
+    }
+
+    @Test
+    void receiveFractionalPieces() {
+        receive("primer", load.primerId(), getQuantity(1.5, ONE)).expectStatus().isBadRequest();
+    }
+
+    private WebTestClient.ResponseSpec receive(String type, Long componentId, Quantity<?> quantity) {
+        return client("components:edit")
+                .post()
+                .uri("/v1/components/inventory/receipts")
+                .header("Authorization", "Bearer " + userId)
+                .contentType(APPLICATION_JSON)
+                .bodyValue(new InventoryReceipt(type, componentId, quantity, "order-1"))
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec consume(int rounds) {
+        return client("components:edit")
+                .post()
+                .uri("/v1/components/inventory/consumptions")
+                .header("Authorization", "Bearer " + userId)
+                .contentType(APPLICATION_JSON)
+                .bodyValue(new InventoryConsumption(load, rounds))
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec roundsRemaining() {
+        return client("components:view")
+                .post()
+                .uri("/v1/components/inventory/rounds-remaining")
+                .header("Authorization", "Bearer " + userId)
+                .contentType(APPLICATION_JSON)
+                .bodyValue(load)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private WebTestClient client(String authority) {
+        return webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority(authority)));
+    }
+}
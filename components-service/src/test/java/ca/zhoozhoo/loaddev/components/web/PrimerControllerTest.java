@@ -82,6 +82,26 @@ public class PrimerControllerTest {
                 });
     }
 
+    @Test
+    void suggestPrimers() {
+        var userId = randomUUID().toString();
+
+        var savedPrimer = primerRepository.save(createTestPrimer(userId)).block();
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"),
+                        new SimpleGrantedAuthority("components:view")))
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/primers/suggest").queryParam("q", "CCI BR4").build())
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBodyList(Primer.class)
+                .value(list -> assertThat(list).containsExactly(savedPrimer));
+    }
+
     @Test
     void getPrimerById() {
         var userId = randomUUID().toString();
@@ -82,6 +82,26 @@ public class ProjectileControllerTest {
                 });
     }
 
+    @Test
+    void suggestProjectiles() {
+        var userId = randomUUID().toString();
+
+        var savedProjectile = projectileRepository.save(createTestProjectile(userId)).block();
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"),
+                        new SimpleGrantedAuthority("components:view")))
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/projectiles/suggest").queryParam("q", "Hornday").build())
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBodyList(Projectile.class)
+                .value(list -> assertThat(list).containsExactly(savedProjectile));
+    }
+
     @Test
     void getProjectileById() {
         var userId = randomUUID().toString();
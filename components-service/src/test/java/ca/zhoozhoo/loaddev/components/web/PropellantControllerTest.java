@@ -82,6 +82,26 @@ public class PropellantControllerTest {
                 });
     }
 
+    @Test
+    void suggestPropellants() {
+        var userId = randomUUID().toString();
+
+        var savedPropellant = propellantRepository.save(createTestPropellant(userId)).block();
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"),
+                        new SimpleGrantedAuthority("components:view")))
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/propellants/suggest").queryParam("q", "Hogdon").build())
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBodyList(Propellant.class)
+                .value(list -> assertThat(list).containsExactly(savedPropellant));
+    }
+
     @Test
     void getPropellantById() {
         var userId = randomUUID().toString();
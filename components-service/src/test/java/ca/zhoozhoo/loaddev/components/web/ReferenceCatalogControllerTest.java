@@ -0,0 +1,119 @@
+package ca.zhoozhoo.loaddev.components.web;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import ca.zhoozhoo.loaddev.components.config.TestSecurityConfig;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import tools.jackson.databind.JsonNode;
+
+@SpringBootTest(properties = "spring.autoconfigure.exclude=ca.zhoozhoo.loaddev.security.SecurityAutoConfiguration")
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+@Import(TestSecurityConfig.class)
+public class ReferenceCatalogControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ProjectileRepository projectileRepository;
+
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = randomUUID().toString();
+    }
+
+    @Test
+    void searchReferenceComponents() {
+        client("components:view")
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/components/reference/projectile").queryParam("q", "eld-x").build())
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(3)
+                .jsonPath("$[0].manufacturer").isEqualTo("Hornady");
+    }
+
+    @Test
+    void getReferenceComponent() {
+        client("components:view")
+                .get()
+                .uri("/v1/components/reference/primer/2")
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.manufacturer").isEqualTo("CCI")
+                .jsonPath("$.type").isEqualTo("BR-4");
+
+        client("components:view")
+                .get()
+                .uri("/v1/components/reference/primer/999")
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        client("components:view")
+                .get()
+                .uri("/v1/components/reference/scope")
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void adoptReferenceComponentOnce() {
+        var adopted = adopt("{\"cost\":{\"amount\":72.50,\"currency\":\"CAD\"}}");
+        assertThat(adopted.path("type").stringValue()).isEqualTo("projectile");
+        assertThat(adopted.path("component").path("manufacturer").stringValue()).isEqualTo("Hornady");
+        assertThat(adopted.path("component").path("cost").path("currency").stringValue()).isEqualTo("CAD");
+
+        var id = adopted.path("component").path("id").asLong();
+        assertThat(adopt(null).path("component").path("id").asLong()).isEqualTo(id);
+        assertThat(projectileRepository.findAllByOwnerId(userId, Pageable.unpaged())
+                .collectList().block()).singleElement()
+                .satisfies(projectile -> assertThat(projectile.id()).isEqualTo(id));
+    }
+
+    private JsonNode adopt(String override) {
+        var request = client("components:edit")
+                .post()
+                .uri("/v1/components/reference/projectile/1/adopt")
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON);
+        return (override != null ? request.contentType(APPLICATION_JSON).bodyValue(override) : request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JsonNode.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private WebTestClient client(String authority) {
+        return webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority(authority)));
+    }
+}
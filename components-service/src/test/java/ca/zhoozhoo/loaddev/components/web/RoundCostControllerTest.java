@@ -0,0 +1,188 @@
+package ca.zhoozhoo.loaddev.components.web;
+
+import static ca.zhoozhoo.loaddev.components.model.PrimerSize.LARGE_RIFLE;
+import static java.util.UUID.randomUUID;
+import static javax.money.Monetary.getCurrency;
+import static org.javamoney.moneta.Money.of;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
+import static systems.uom.ucum.UCUM.GRAIN;
+import static systems.uom.ucum.UCUM.POUND;
+import static tech.units.indriya.AbstractUnit.ONE;
+import static tech.units.indriya.quantity.Quantities.getQuantity;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import ca.zhoozhoo.loaddev.components.config.TestSecurityConfig;
+import ca.zhoozhoo.loaddev.components.dao.CaseRepository;
+import ca.zhoozhoo.loaddev.components.dao.PrimerRepository;
+import ca.zhoozhoo.loaddev.components.dao.ProjectileRepository;
+import ca.zhoozhoo.loaddev.components.dao.PropellantRepository;
+import ca.zhoozhoo.loaddev.components.model.Case;
+import ca.zhoozhoo.loaddev.components.model.ExchangeRate;
+import ca.zhoozhoo.loaddev.components.model.LoadRecipe;
+import ca.zhoozhoo.loaddev.components.model.Primer;
+import ca.zhoozhoo.loaddev.components.model.Projectile;
+import ca.zhoozhoo.loaddev.components.model.Propellant;
+import ca.zhoozhoo.loaddev.components.model.RoundCostRequest;
+
+@SpringBootTest(properties = "spring.autoconfigure.exclude=ca.zhoozhoo.loaddev.security.SecurityAutoConfiguration")
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+@Import(TestSecurityConfig.class)
+public class RoundCostControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ProjectileRepository projectileRepository;
+
+    @Autowired
+    private PropellantRepository propellantRepository;
+
+    @Autowired
+    private PrimerRepository primerRepository;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    private String userId;
+
+    private Projectile projectile;
+
+    private Propellant propellant;
+
+    private Primer primer;
+
+    private Case cartridgeCase;
+
+    @BeforeEach
+    void setUp() {
+        userId = randomUUID().toString();
+
+        projectile = projectileRepository.save(new Projectile(null, userId, "Hornady", getQuantity(140, GRAIN),
+                "ELD Match", of(52.99, getCurrency("CAD")), 100)).block();
+        propellant = propellantRepository.save(new Propellant(null, userId, "Hodgdon", "H4350",
+                of(70, getCurrency("CAD")), getQuantity(1, POUND))).block();
+        primer = primerRepository.save(new Primer(null, userId, "CCI", "BR-2", LARGE_RIFLE,
+                of(90, getCurrency("CAD")), getQuantity(1000, ONE))).block();
+        cartridgeCase = caseRepository.save(new Case(null, userId, "Lapua", "6.5 Creedmoor", LARGE_RIFLE,
+                of(100, getCurrency("USD")), getQuantity(100, ONE))).block();
+    }
+
+    @Test
+    void priceLoads() {
+        replaceExchangeRates(List.of(new ExchangeRate(null, null, "USD", "CAD", new BigDecimal("1.40"))))
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+
+        client("components:view")
+                .post()
+                .uri("/v1/components/cost")
+                .header("Authorization", "Bearer " + userId)
+                .contentType(APPLICATION_JSON)
+                .bodyValue(new RoundCostRequest("CAD", List.of(
+                        new LoadRecipe("load-1", projectile.id(), propellant.id(), getQuantity(42, GRAIN),
+                                primer.id(), cartridgeCase.id(), 5))))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].reference").isEqualTo("load-1")
+                .jsonPath("$[0].cartridgeCase.amount").isEqualTo(0.28)
+                .jsonPath("$[0].perRound.amount").isEqualTo(1.3199)
+                .jsonPath("$[0].per100.amount").isEqualTo(131.99)
+                .jsonPath("$[0].per100.currency").isEqualTo("CAD");
+    }
+
+    @Test
+    void priceLoadsWithoutExchangeRate() {
+        client("components:view")
+                .post()
+                .uri("/v1/components/cost")
+                .header("Authorization", "Bearer " + userId)
+                .contentType(APPLICATION_JSON)
+                .bodyValue(new RoundCostRequest("CAD", List.of(
+                        new LoadRecipe(null, projectile.id(), propellant.id(), getQuantity(42, GRAIN),
+                                primer.id(), cartridgeCase.id(), null))))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void priceLoadsUnknownComponent() {
+        client("components:view")
+                .post()
+                .uri("/v1/components/cost")
+                .header("Authorization", "Bearer " + userId)
+                .contentType(APPLICATION_JSON)
+                .bodyValue(new RoundCostRequest("CAD", List.of(
+                        new LoadRecipe(null, projectile.id(), propellant.id(), getQuantity(42, GRAIN),
+                                999_999L, null, null))))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void priceLoadsWithoutLoads() {
+        client("components:view")
+                .post()
+                .uri("/v1/components/cost")
+                .header("Authorization", "Bearer " + userId)
+                .contentType(APPLICATION_JSON)
+                .bodyValue(new RoundCostRequest("CAD", List.of()))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void replaceExchangeRatesReplacesPreviousRates() {
+        replaceExchangeRates(List.of(new ExchangeRate(null, null, "USD", "CAD", new BigDecimal("1.40"))))
+                .expectStatus().isOk();
+        replaceExchangeRates(List.of(
+                new ExchangeRate(null, null, "USD", "CAD", new BigDecimal("1.37")),
+                new ExchangeRate(null, null, "EUR", "CAD", new BigDecimal("1.52"))))
+                .expectStatus().isOk();
+
+        client("components:view")
+                .get()
+                .uri("/v1/components/exchange-rates")
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].baseCurrency").isEqualTo("EUR")
+                .jsonPath("$[1].baseCurrency").isEqualTo("USD")
+                .jsonPath("$[1].rate").isEqualTo(1.37);
+    }
+
+    private WebTestClient.ResponseSpec replaceExchangeRates(List<ExchangeRate> rates) {
+        return client("components:edit")
+                .put()
+                .uri("/v1/components/exchange-rates")
+                .header("Authorization", "Bearer " + userId)
+                .contentType(APPLICATION_JSON)
+                .bodyValue(rates)
+                .exchange();
+    }
+
+    private WebTestClient client(String authority) {
+        return webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority(authority)));
+    }
+}
@@ -1,7 +1,11 @@
 package ca.zhoozhoo.loaddev.loads.dao;
 
+import java.util.Collection;
+
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
 
 import ca.zhoozhoo.loaddev.loads.model.Load;
 import reactor.core.publisher.Flux;
@@ -11,7 +15,8 @@ import reactor.core.publisher.Mono;
 ///
 /// Provides CRUD operations and custom query methods for ammunition load data,
 /// supporting reactive, non-blocking database access with owner-based filtering
-/// for multi-tenant data isolation.
+/// for multi-tenant data isolation, and PostgreSQL full-text search. Search queries accept
+/// web search syntax (`"quoted phrases"`, `or`, `-excluded`).
 ///
 /// @author Zhubin Salehi
 public interface LoadRepository extends R2dbcRepository<Load, Long> {
@@ -21,4 +26,12 @@ public interface LoadRepository extends R2dbcRepository<Load, Long> {
     Flux<Load> findByNameAndOwnerId(String name, String ownerId);
 
     Mono<Load> findByIdAndOwnerId(Long id, String ownerId);
+
+    Flux<Load> findAllByIdInAndOwnerIdOrderById(Collection<Long> ids, String ownerId);
+
+    @Query("SELECT * FROM loads WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery('english', :q) "
+            + "ORDER BY ts_rank(search_vector, websearch_to_tsquery('english', :q)) DESC, id "
+            + "LIMIT :limit OFFSET :offset")
+    Flux<Load> searchByOwnerIdAndQuery(@Param("ownerId") String ownerId, @Param("q") String query,
+            @Param("limit") int limit, @Param("offset") long offset);
 }
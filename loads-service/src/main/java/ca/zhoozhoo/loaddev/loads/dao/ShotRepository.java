@@ -1,6 +1,7 @@
 package ca.zhoozhoo.loaddev.loads.dao;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 
 import ca.zhoozhoo.loaddev.loads.model.Shot;
@@ -21,4 +22,8 @@ public interface ShotRepository extends R2dbcRepository<Shot, Long> {
     Flux<Shot> findByGroupIdAndOwnerId(Long groupId, String ownerId);
 
     Mono<Shot> findByIdAndOwnerId(Long id, String ownerId);
+
+    @Query("SELECT s.* FROM shots s JOIN groups g ON g.id = s.group_id "
+            + "WHERE g.load_id = :loadId AND s.owner_id = :ownerId ORDER BY s.group_id, s.id")
+    Flux<Shot> findAllByLoadIdAndOwnerId(Long loadId, String ownerId);
 }
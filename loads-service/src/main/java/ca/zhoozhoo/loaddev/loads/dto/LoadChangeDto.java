@@ -0,0 +1,25 @@
+package ca.zhoozhoo.loaddev.loads.dto;
+
+/// Data Transfer Object describing a change to a load.
+///
+/// Streamed by `GET /loads/changes` so that clients such as the MCP server can push
+/// updates to their own subscribers instead of polling. Only the ID is sent; clients
+/// fetch the load again if they need its new state.
+///
+/// @param id   the ID of the changed load
+/// @param type what happened to the load
+///
+/// @author Zhubin Salehi
+public record LoadChangeDto(
+
+        Long id,
+
+        Type type) {
+
+    /// Kind of change.
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,24 @@
+package ca.zhoozhoo.loaddev.loads.dto;
+
+import java.util.List;
+
+import ca.zhoozhoo.loaddev.loads.model.Load;
+
+/// Data Transfer Object combining a load with the statistics of all its groups.
+///
+/// Served by `GET /loads/{id}/details` so that clients such as the MCP server get
+/// everything loads-service knows about a load in one request. The rifle is owned by
+/// rifles-service; clients fetch it with [Load#rifleId()].
+///
+/// @author Zhubin Salehi
+public record LoadDetailsDto(
+
+        Load load,
+
+        List<GroupStatisticsDto> groups) {
+
+    /// Compact constructor that creates defensive copies of mutable collections.
+    public LoadDetailsDto {
+        groups = groups != null ? List.copyOf(groups) : List.of();
+    }
+}
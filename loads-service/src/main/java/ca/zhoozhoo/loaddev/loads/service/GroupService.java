@@ -107,14 +107,18 @@ public class GroupService {
 
     /// Retrieves statistics for all groups associated with a specific load and user.
     ///
+    /// Runs two queries regardless of the number of groups: all shots of the load, then
+    /// its groups, one after the other so that they can share a connection.
+    ///
     /// @param loadId the ID of the load
     /// @param userId the ID of the user (owner)
     /// @return a Flux emitting GroupStatisticsDto for each group
     public Flux<GroupStatisticsDto> getGroupStatisticsForLoad(Long loadId, String userId) {
-        return groupRepository.findAllByLoadIdAndOwnerId(loadId, userId)
-                .flatMap(group -> shotRepository.findByGroupIdAndOwnerId(group.id(), userId)
-                        .collectList()
-                        .map(shots -> buildGroupStatistics(group, shots)))
+        return shotRepository.findAllByLoadIdAndOwnerId(loadId, userId)
+                .collectMultimap(Shot::groupId)
+                .flatMapMany(shotsByGroup -> groupRepository.findAllByLoadIdAndOwnerId(loadId, userId)
+                        .map(group -> buildGroupStatistics(group,
+                                List.copyOf(shotsByGroup.getOrDefault(group.id(), List.of())))))
                 .map(groupStatisticsMapper::toDto);
     }
 
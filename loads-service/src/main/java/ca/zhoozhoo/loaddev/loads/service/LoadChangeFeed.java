@@ -0,0 +1,122 @@
+package ca.zhoozhoo.loaddev.loads.service;
+
+import java.time.Duration;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/// Feed of load changes shared by all loads-service instances.
+///
+/// Changes are published with Postgres `pg_notify` on the [#CHANNEL] channel, so they are
+/// delivered when the surrounding transaction commits and reach every instance, not only
+/// the one that handled the write. Each instance holds one `LISTEN` connection while it has
+/// at least one subscriber and fans the notifications out to them.
+///
+/// Notification payloads have the form `{type}:{load id}:{owner id}`.
+///
+/// @author Zhubin Salehi
+@Component
+@Log4j2
+public class LoadChangeFeed {
+
+    /// Postgres notification channel of load changes.
+    static final String CHANNEL = "load_changes";
+
+    private final DatabaseClient databaseClient;
+
+    private final Flux<LoadChange> changes;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public LoadChangeFeed(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.changes = Flux.usingWhen(Mono.<Connection>from(connectionFactory.create()), LoadChangeFeed::listen, Connection::close)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Load change feed failed, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .publish()
+                .refCount();
+    }
+
+    /// Publishes a change of a load.
+    ///
+    /// @param id      the ID of the load
+    /// @param ownerId the ID of the load's owner
+    /// @param type    what happened to the load
+    /// @return a Mono that completes once the notification is queued
+    public Mono<Void> publish(Long id, String ownerId, LoadChangeDto.Type type) {
+        return databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                .bind("channel", CHANNEL)
+                .bind("payload", "%s:%d:%s".formatted(type, id, ownerId))
+                .then();
+    }
+
+    /// Returns the changes of a user's loads as they happen.
+    ///
+    /// @param ownerId the ID of the user
+    /// @return an infinite Flux of the user's load changes
+    public Flux<LoadChangeDto> changes(String ownerId) {
+        return changes.filter(change -> change.ownerId().equals(ownerId))
+                .map(LoadChange::dto);
+    }
+
+    private static Flux<LoadChange> listen(Connection connection) {
+        var postgresqlConnection = unwrap(connection);
+        return postgresqlConnection.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(Result::getRowsUpdated)
+                .thenMany(postgresqlConnection.getNotifications())
+                .doOnSubscribe(_ -> log.info("Listening to {} notifications", CHANNEL))
+                .mapNotNull(LoadChangeFeed::parse);
+    }
+
+    private static PostgresqlConnection unwrap(Connection connection) {
+        Object candidate = connection;
+        while (!(candidate instanceof PostgresqlConnection) && candidate instanceof Wrapped<?> wrapped) {
+            candidate = wrapped.unwrap();
+        }
+        if (candidate instanceof PostgresqlConnection postgresqlConnection) {
+            return postgresqlConnection;
+        }
+        throw new IllegalStateException("Load change feed requires a Postgres connection, got " + connection.getClass());
+    }
+
+    static LoadChange parse(Notification notification) {
+        var parts = notification.getParameter() != null ? notification.getParameter().split(":", 3) : new String[0];
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed load change notification: {}", notification.getParameter());
+            return null;
+        }
+        try {
+            return new LoadChange(Long.valueOf(parts[1]), parts[2], LoadChangeDto.Type.valueOf(parts[0]));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed load change notification: {}", notification.getParameter());
+            return null;
+        }
+    }
+
+    /// Change of a load, including its owner.
+    ///
+    /// @param id      the ID of the load
+    /// @param ownerId the ID of the load's owner
+    /// @param type    what happened to the load
+    record LoadChange(Long id, String ownerId, LoadChangeDto.Type type) {
+
+        LoadChangeDto dto() {
+            return new LoadChangeDto(id, type);
+        }
+    }
+}
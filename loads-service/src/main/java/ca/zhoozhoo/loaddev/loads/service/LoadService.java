@@ -1,10 +1,20 @@
 package ca.zhoozhoo.loaddev.loads.service;
 
+import static ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto.Type.CREATED;
+import static ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto.Type.DELETED;
+import static ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto.Type.UPDATED;
+
+import java.util.Collection;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import ca.zhoozhoo.loaddev.loads.dao.LoadRepository;
+import ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto;
+import ca.zhoozhoo.loaddev.loads.dto.LoadDetailsDto;
 import ca.zhoozhoo.loaddev.loads.model.Load;
+import lombok.extern.log4j.Log4j2;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -12,18 +22,26 @@ import reactor.core.publisher.Mono;
 ///
 /// This service provides reactive operations for Loads.
 /// It handles CRUD operations ensuring data isolation by user ID.
+/// Creations, updates and deletions are published to the [LoadChangeFeed].
 ///
 /// @author Zhubin Salehi
 @Service
+@Log4j2
 public class LoadService {
 
     private final LoadRepository loadRepository;
+    private final GroupService groupService;
+    private final LoadChangeFeed loadChangeFeed;
 
-    /// Constructs a new LoadService with required repository.
+    /// Constructs a new LoadService with required repository and services.
     ///
     /// @param loadRepository the repository for Load entities
-    public LoadService(LoadRepository loadRepository) {
+    /// @param groupService   the service computing group statistics
+    /// @param loadChangeFeed the feed receiving load changes
+    public LoadService(LoadRepository loadRepository, GroupService groupService, LoadChangeFeed loadChangeFeed) {
         this.loadRepository = loadRepository;
+        this.groupService = groupService;
+        this.loadChangeFeed = loadChangeFeed;
     }
 
     /// Retrieves all loads for a specific user with pagination.
@@ -35,6 +53,16 @@ public class LoadService {
         return loadRepository.findAllByOwnerId(userId, pageable);
     }
 
+    /// Searches the name, components and description of a user's loads, best matches first.
+    ///
+    /// @param userId   the ID of the user
+    /// @param query    the search query
+    /// @param pageable pagination parameters
+    /// @return a Flux of matching Load entities
+    public Flux<Load> searchLoads(String userId, String query, Pageable pageable) {
+        return loadRepository.searchByOwnerIdAndQuery(userId, query, pageable.getPageSize(), pageable.getOffset());
+    }
+
     /// Retrieves a specific load by ID and user ID.
     ///
     /// @param id     the ID of the load
@@ -44,12 +72,40 @@ public class LoadService {
         return loadRepository.findByIdAndOwnerId(id, userId);
     }
 
+    /// Retrieves a load together with the statistics of all its groups.
+    ///
+    /// Runs in a read-only transaction, so the load, group and shot queries use a single
+    /// database connection.
+    ///
+    /// @param id     the ID of the load
+    /// @param userId the ID of the user
+    /// @return a Mono containing the load details if the load is found, or empty
+    @Transactional(readOnly = true)
+    public Mono<LoadDetailsDto> getLoadDetails(Long id, String userId) {
+        return loadRepository.findByIdAndOwnerId(id, userId)
+                .flatMap(load -> groupService.getGroupStatisticsForLoad(id, userId)
+                        .collectList()
+                        .map(groups -> new LoadDetailsDto(load, groups)));
+    }
+
+    /// Retrieves the loads with the given IDs that belong to a user, in one query.
+    ///
+    /// IDs that do not exist or belong to another user are skipped.
+    ///
+    /// @param ids    the IDs of the loads
+    /// @param userId the ID of the user
+    /// @return a Flux of the found Load entities, ordered by ID
+    public Flux<Load> getLoadsByIds(Collection<Long> ids, String userId) {
+        return loadRepository.findAllByIdInAndOwnerIdOrderById(ids, userId);
+    }
+
     /// Creates a new load.
     ///
     /// @param load the Load entity to create
     /// @return a Mono containing the created Load
     public Mono<Load> createLoad(Load load) {
-        return loadRepository.save(load);
+        return loadRepository.save(load)
+                .flatMap(saved -> publish(saved, CREATED).thenReturn(saved));
     }
 
     /// Updates an existing load.
@@ -57,7 +113,8 @@ public class LoadService {
     /// @param load the Load entity to update
     /// @return a Mono containing the updated Load
     public Mono<Load> updateLoad(Load load) {
-        return loadRepository.save(load);
+        return loadRepository.save(load)
+                .flatMap(saved -> publish(saved, UPDATED).thenReturn(saved));
     }
 
     /// Deletes a load.
@@ -65,6 +122,24 @@ public class LoadService {
     /// @param load the Load entity to delete
     /// @return a Mono<Void> that completes when deletion is finished
     public Mono<Void> deleteLoad(Load load) {
-        return loadRepository.delete(load);
+        return loadRepository.delete(load)
+                .then(publish(load, DELETED));
+    }
+
+    /// Streams the changes of a user's loads as they happen.
+    ///
+    /// @param userId the ID of the user
+    /// @return an infinite Flux of the user's load changes
+    public Flux<LoadChangeDto> getLoadChanges(String userId) {
+        return loadChangeFeed.changes(userId);
+    }
+
+    /// Publishes a load change; a failure is logged rather than failing the completed write.
+    private Mono<Void> publish(Load load, LoadChangeDto.Type type) {
+        return loadChangeFeed.publish(load.id(), load.ownerId(), type)
+                .onErrorResume(e -> {
+                    log.warn("Failed to publish {} of load {}: {}", type, load.id(), e.getMessage());
+                    return Mono.empty();
+                });
     }
 }
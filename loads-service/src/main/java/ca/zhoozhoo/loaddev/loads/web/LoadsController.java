@@ -1,14 +1,23 @@
 package ca.zhoozhoo.loaddev.loads.web;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.http.ResponseEntity.notFound;
 import static org.springframework.http.ResponseEntity.ok;
 import static org.springframework.http.ResponseEntity.status;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,8 +29,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import ca.zhoozhoo.loaddev.loads.dto.GroupStatisticsDto;
+import ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto;
+import ca.zhoozhoo.loaddev.loads.dto.LoadDetailsDto;
 import ca.zhoozhoo.loaddev.loads.model.Load;
 import ca.zhoozhoo.loaddev.loads.service.GroupService;
 import ca.zhoozhoo.loaddev.loads.service.LoadService;
@@ -75,14 +87,20 @@ import reactor.core.publisher.Mono;
 @Log4j2
 @PreAuthorize("hasRole('RELOADER')")
 public class LoadsController {
+
+    /// Maximum number of IDs accepted by the bulk lookup.
+    static final int MAX_IDS = 100;
     
     private final LoadService loadService;
     private final GroupService groupService;
+    private final Duration changesHeartbeatInterval;
 
     @SuppressFBWarnings("EI_EXPOSE_REP2")
-    public LoadsController(LoadService loadService, GroupService groupService) {
+    public LoadsController(LoadService loadService, GroupService groupService,
+            @Value("${loaddev.loads.changes.heartbeat-interval:5s}") Duration changesHeartbeatInterval) {
         this.loadService = loadService;
         this.groupService = groupService;
+        this.changesHeartbeatInterval = changesHeartbeatInterval;
     }
 
     @Operation(summary = "Get all loads", security = {
@@ -98,6 +116,57 @@ public class LoadsController {
         return loadService.getAllLoads(userId, PageRequest.of(page, size));
     }
 
+    @Operation(summary = "Full-text search loads", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "loads:view") })
+    @ApiResponse(responseCode = "200", description = "Search results, best matches first", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Load.class))) })
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('loads:view')")
+    public Flux<Load> searchLoads(
+            @Parameter(hidden = true) @CurrentUser String userId,
+            @Parameter(description = "Full text search query") @RequestParam("query") String query,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return loadService.searchLoads(userId, query, PageRequest.of(page, size));
+    }
+
+    @Operation(summary = "Get several loads by their ids in one call", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "loads:view") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found loads, unknown ids are skipped", content = {
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Load.class))) }),
+            @ApiResponse(responseCode = "400", description = "More than 100 ids", content = @Content) })
+    @GetMapping(params = "ids")
+    @PreAuthorize("hasAuthority('loads:view')")
+    public Flux<Load> getLoadsByIds(
+            @Parameter(hidden = true) @CurrentUser String userId,
+            @Parameter(description = "Comma-separated ids of loads (at most 100)") @RequestParam List<Long> ids) {
+        var distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > MAX_IDS) {
+            return Flux.error(new ResponseStatusException(BAD_REQUEST,
+                    "At most %d ids can be requested at once".formatted(MAX_IDS)));
+        }
+        if (distinctIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return loadService.getLoadsByIds(distinctIds, userId);
+    }
+
+    @Operation(summary = "Stream changes of the user's loads as server-sent events", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "loads:view") })
+    @ApiResponse(responseCode = "200", description = "Stream of load changes, with heartbeat comments while idle", content = {
+            @Content(mediaType = TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = LoadChangeDto.class)) })
+    @GetMapping(path = "/changes", produces = TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('loads:view')")
+    public Flux<ServerSentEvent<LoadChangeDto>> getLoadChanges(@Parameter(hidden = true) @CurrentUser String userId) {
+        var heartbeats = Flux.interval(changesHeartbeatInterval)
+                .map(_ -> ServerSentEvent.<LoadChangeDto>builder().comment("heartbeat").build());
+        return Flux.merge(loadService.getLoadChanges(userId)
+                .map(change -> ServerSentEvent.builder(change)
+                        .event(change.type().name().toLowerCase(Locale.ROOT))
+                        .build()), heartbeats);
+    }
+
     @Operation(summary = "Get a load by its id", security = {
             @SecurityRequirement(name = "Oauth2Security", scopes = "loads:view") })
     @ApiResponses(value = {
@@ -131,6 +200,22 @@ public class LoadsController {
         return groupService.getGroupStatisticsForLoad(id, userId);
     }
 
+    @Operation(summary = "Get a load with the statistics of all its groups", security = {
+            @SecurityRequirement(name = "Oauth2Security", scopes = "loads:view") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Details retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LoadDetailsDto.class))),
+            @ApiResponse(responseCode = "404", description = "Load not found", content = @Content)
+    })
+    @GetMapping("/{id}/details")
+    @PreAuthorize("hasAuthority('loads:view')")
+    public Mono<ResponseEntity<LoadDetailsDto>> getLoadDetails(
+            @Parameter(hidden = true) @CurrentUser String userId,
+            @Parameter(description = "Id of load") @PathVariable Long id) {
+        return loadService.getLoadDetails(id, userId)
+                .map(details -> ok(details))
+                .defaultIfEmpty(notFound().build());
+    }
+
     @Operation(summary = "Create a new load", security = { @SecurityRequirement(name = "Oauth2Security", scopes = "loads:edit") })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Load created", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Load.class)))
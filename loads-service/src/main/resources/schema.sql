@@ -17,11 +17,44 @@ CREATE TABLE IF NOT EXISTS loads (
     case_overall_length JSONB,
     neck_tension JSONB,
     rifle_id BIGINT,
+    search_vector tsvector,
     CONSTRAINT chk_measurement CHECK (
         distance_from_lands IS NOT NULL OR case_overall_length IS NOT NULL
     )
 );
 
+-- Full-text search over load names, components and descriptions
+CREATE OR REPLACE FUNCTION loads_update_search_vector() RETURNS trigger AS '
+BEGIN
+  NEW.search_vector :=
+  setweight(to_tsvector(''english'', coalesce(NEW.name,'''')), ''A'') ||
+  setweight(to_tsvector(''english'', coalesce(NEW.powder_manufacturer,'''') || '' '' || coalesce(NEW.powder_type,'''') || '' '' ||
+    coalesce(NEW.bullet_manufacturer,'''') || '' '' || coalesce(NEW.bullet_type,'''') || '' '' ||
+    coalesce(NEW.primer_manufacturer,'''') || '' '' || coalesce(NEW.primer_type,'''')), ''B'') ||
+  setweight(to_tsvector(''english'', coalesce(NEW.description,'''')), ''C'');
+  RETURN NEW;
+END
+' LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS loads_search_vector_update ON loads;
+CREATE TRIGGER loads_search_vector_update
+BEFORE INSERT OR UPDATE ON loads
+FOR EACH ROW EXECUTE FUNCTION loads_update_search_vector();
+
+-- Adds the search vector to tables created before it existed and indexes their loads, once:
+-- the trigger fills it for every row rewritten by the UPDATE
+DO '
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                  WHERE table_schema = current_schema() AND table_name = ''loads'' AND column_name = ''search_vector'') THEN
+    ALTER TABLE loads ADD COLUMN search_vector tsvector;
+    UPDATE loads SET search_vector = NULL;
+  END IF;
+END
+';
+
+CREATE INDEX IF NOT EXISTS idx_loads_search_vector ON loads USING GIN (search_vector);
+
 -- This table stores measurement data with unit information in JSONB columns
 -- Stores Quantity<Mass> for powder_charge, Quantity<Length> for target_range and group_size
 -- Supported via javax.measure.Quantity types and custom R2DBC converters
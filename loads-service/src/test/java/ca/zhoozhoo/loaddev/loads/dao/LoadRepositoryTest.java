@@ -7,6 +7,8 @@ import static systems.uom.ucum.UCUM.GRAIN;
 import static systems.uom.ucum.UCUM.INCH_INTERNATIONAL;
 import static tech.units.indriya.quantity.Quantities.getQuantity;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -236,4 +238,39 @@ class LoadRepositoryTest {
         create(loadRepository.deleteById(savedLoad.id())).verifyComplete();
         create(loadRepository.findById(savedLoad.id())).expectNextCount(0).verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllByIdInAndOwnerIdOrderById() {
+        var ownerId = randomUUID().toString();
+        var first = loadRepository.save(createTestLoad(ownerId)).block();
+        var second = loadRepository.save(createTestLoad(ownerId)).block();
+        var otherUsers = loadRepository.save(createTestLoad(randomUUID().toString())).block();
+
+        create(loadRepository.findAllByIdInAndOwnerIdOrderById(
+                List.of(second.id(), first.id(), otherUsers.id()), ownerId))
+                .expectNextMatches(l -> l.id().equals(first.id()))
+                .expectNextMatches(l -> l.id().equals(second.id()))
+                .verifyComplete();
+    }
+
+    @Test
+    void searchByOwnerIdAndQuery() {
+        var ownerId = randomUUID().toString();
+        var saved = loadRepository.save(createTestLoad(ownerId)).block();
+        loadRepository.save(createTestLoad(randomUUID().toString())).block();
+
+        create(loadRepository.searchByOwnerIdAndQuery(ownerId, "Hornady H4350", 20, 0L))
+                .expectNextMatches(l -> l.id().equals(saved.id()))
+                .verifyComplete();
+    }
+
+    @Test
+    void searchByOwnerIdAndQueryNegative() {
+        var ownerId = randomUUID().toString();
+        loadRepository.save(createTestLoad(ownerId)).block();
+
+        create(loadRepository.searchByOwnerIdAndQuery(ownerId, "Varget", 20, 0L))
+                .expectNextCount(0)
+                .verifyComplete();
+    }
+}
@@ -49,6 +49,8 @@ class ShotRepositoryTest {
     @Autowired
     private LoadRepository loadRepository;
     
+    private Long testLoadId;
+
     private Long testGroupId;
 
     @BeforeEach
@@ -61,6 +63,7 @@ class ShotRepositoryTest {
         var ownerId = randomUUID().toString();
         var testLoad = createTestLoad(ownerId);
         var savedLoad = loadRepository.save(testLoad).block();
+        testLoadId = savedLoad.id();
         
         var testGroup = createTestGroup(ownerId, savedLoad.id());
         var savedGroup = groupRepository.save(testGroup).block();
@@ -152,6 +155,26 @@ class ShotRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    void findAllByLoadIdAndOwnerId() {
+        var ownerId = randomUUID().toString();
+        var secondGroupId = groupRepository.save(createTestGroup(ownerId, testLoadId)).block().id();
+        var otherLoadId = loadRepository.save(createTestLoad(ownerId)).block().id();
+        var otherLoadGroupId = groupRepository.save(createTestGroup(ownerId, otherLoadId)).block().id();
+
+        shotRepository.save(new Shot(null, ownerId, secondGroupId, getQuantity(2870, FEET_PER_SECOND))).block();
+        shotRepository.save(createTestShot(ownerId)).block();
+        shotRepository.save(new Shot(null, ownerId, otherLoadGroupId, getQuantity(2900, FEET_PER_SECOND))).block();
+        shotRepository.save(new Shot(null, randomUUID().toString(), testGroupId, getQuantity(2800, FEET_PER_SECOND))).block();
+
+        create(shotRepository.findAllByLoadIdAndOwnerId(testLoadId, ownerId))
+                .expectNextMatches(s -> s.groupId().equals(testGroupId)
+                        && s.velocity().to(FEET_PER_SECOND).getValue().doubleValue() == 2850.0)
+                .expectNextMatches(s -> s.groupId().equals(secondGroupId)
+                        && s.velocity().to(FEET_PER_SECOND).getValue().doubleValue() == 2870.0)
+                .verifyComplete();
+    }
+
     @Test
     void save() {
         var ownerId = randomUUID().toString();
@@ -118,7 +118,7 @@ class GroupServiceTest {
         GroupStatisticsDto dto = new GroupStatisticsDto(LocalDate.now(), Quantities.getQuantity(40.0, GRAIN), Quantities.getQuantity(100.0, YARD_INTERNATIONAL), Quantities.getQuantity(1.0, INCH_INTERNATIONAL), Quantities.getQuantity(1000.0, METRE_PER_SECOND), Quantities.getQuantity(0.0, METRE_PER_SECOND), Quantities.getQuantity(0.0, METRE_PER_SECOND), Collections.emptyList());
 
         when(groupRepository.findAllByLoadIdAndOwnerId(1L, "user1")).thenReturn(Flux.just(group));
-        when(shotRepository.findByGroupIdAndOwnerId(1L, "user1")).thenReturn(Flux.just(shot));
+        when(shotRepository.findAllByLoadIdAndOwnerId(1L, "user1")).thenReturn(Flux.just(shot));
         when(groupStatisticsMapper.toDto(any(GroupStatistics.class))).thenReturn(dto);
 
         StepVerifier.create(groupService.getGroupStatisticsForLoad(1L, "user1"))
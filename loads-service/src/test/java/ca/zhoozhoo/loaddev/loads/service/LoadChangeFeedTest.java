@@ -0,0 +1,70 @@
+package ca.zhoozhoo.loaddev.loads.service;
+
+import static ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto.Type.UPDATED;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import ca.zhoozhoo.loaddev.loads.config.TestSecurityConfig;
+import ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto;
+import io.r2dbc.postgresql.api.Notification;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/// Integration tests for [LoadChangeFeed].
+///
+/// Tests delivery of load changes through Postgres `LISTEN`/`NOTIFY` and filtering by owner.
+///
+/// @author Zhubin Salehi
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class LoadChangeFeedTest {
+
+    @Autowired
+    private LoadChangeFeed loadChangeFeed;
+
+    @Test
+    void deliversChangesOfOwnLoads() {
+        var owner = randomUUID().toString();
+        var other = randomUUID().toString();
+
+        // Publishes repeatedly, because LISTEN is only issued once the feed is subscribed
+        var publisher = Flux.interval(Duration.ofMillis(100))
+                .concatMap(_ -> loadChangeFeed.publish(1L, other, UPDATED)
+                        .then(loadChangeFeed.publish(2L, owner, UPDATED)))
+                .subscribe();
+        try {
+            StepVerifier.create(loadChangeFeed.changes(owner).take(1))
+                    .expectNext(new LoadChangeDto(2L, UPDATED))
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+        } finally {
+            publisher.dispose();
+        }
+    }
+
+    @Test
+    void parsesNotificationPayloads() {
+        assertThat(LoadChangeFeed.parse(notification("DELETED:7:user:with:colons")))
+                .isEqualTo(new LoadChangeFeed.LoadChange(7L, "user:with:colons", LoadChangeDto.Type.DELETED));
+        assertThat(LoadChangeFeed.parse(notification("DELETED:abc:user"))).isNull();
+        assertThat(LoadChangeFeed.parse(notification("RENAMED:7:user"))).isNull();
+        assertThat(LoadChangeFeed.parse(notification("garbage"))).isNull();
+    }
+
+    private static Notification notification(String payload) {
+        var notification = mock(Notification.class);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+}
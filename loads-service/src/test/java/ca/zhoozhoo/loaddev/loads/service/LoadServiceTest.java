@@ -1,11 +1,17 @@
 package ca.zhoozhoo.loaddev.loads.service;
 
 import static org.mockito.ArgumentMatchers.any;
+import static ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto.Type.CREATED;
+import static ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto.Type.DELETED;
+import static ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto.Type.UPDATED;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static systems.uom.ucum.UCUM.GRAIN;
 import static systems.uom.ucum.UCUM.INCH_INTERNATIONAL;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -15,6 +21,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import ca.zhoozhoo.loaddev.loads.dao.LoadRepository;
+import ca.zhoozhoo.loaddev.loads.dto.GroupStatisticsDto;
+import ca.zhoozhoo.loaddev.loads.dto.LoadDetailsDto;
 import ca.zhoozhoo.loaddev.loads.model.Load;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -27,6 +35,12 @@ class LoadServiceTest {
     @Mock
     private LoadRepository loadRepository;
 
+    @Mock
+    private GroupService groupService;
+
+    @Mock
+    private LoadChangeFeed loadChangeFeed;
+
     @InjectMocks
     private LoadService loadService;
 
@@ -50,33 +64,83 @@ class LoadServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getLoadsByIds_ShouldReturnFluxOfLoads() {
+        Load load = new Load(1L, "user1", "Load 1", "Desc", "Powder", "Type", "Bullet", "Type", Quantities.getQuantity(100.0, GRAIN), "Primer", "Type", Quantities.getQuantity(0.020, INCH_INTERNATIONAL), Quantities.getQuantity(2.800, INCH_INTERNATIONAL), Quantities.getQuantity(0.002, INCH_INTERNATIONAL), 1L);
+        when(loadRepository.findAllByIdInAndOwnerIdOrderById(List.of(1L, 2L), "user1")).thenReturn(Flux.just(load));
+
+        StepVerifier.create(loadService.getLoadsByIds(List.of(1L, 2L), "user1"))
+                .expectNext(load)
+                .verifyComplete();
+    }
+
+    @Test
+    void getLoadDetails_ShouldCombineLoadAndGroupStatistics() {
+        Load load = new Load(1L, "user1", "Load 1", "Desc", "Powder", "Type", "Bullet", "Type", Quantities.getQuantity(100.0, GRAIN), "Primer", "Type", Quantities.getQuantity(0.020, INCH_INTERNATIONAL), Quantities.getQuantity(2.800, INCH_INTERNATIONAL), Quantities.getQuantity(0.002, INCH_INTERNATIONAL), 1L);
+        GroupStatisticsDto statistics = new GroupStatisticsDto(null, null, null, null, null, null, null, List.of());
+        when(loadRepository.findByIdAndOwnerId(1L, "user1")).thenReturn(Mono.just(load));
+        when(groupService.getGroupStatisticsForLoad(1L, "user1")).thenReturn(Flux.just(statistics));
+
+        StepVerifier.create(loadService.getLoadDetails(1L, "user1"))
+                .expectNext(new LoadDetailsDto(load, List.of(statistics)))
+                .verifyComplete();
+    }
+
+    @Test
+    void getLoadDetails_ShouldReturnEmpty_WhenLoadNotFound() {
+        when(loadRepository.findByIdAndOwnerId(1L, "user1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(loadService.getLoadDetails(1L, "user1"))
+                .verifyComplete();
+    }
+
     @Test
     void createLoad_ShouldReturnCreatedLoad() {
         Load load = new Load(null, "user1", "Load 1", "Desc", "Powder", "Type", "Bullet", "Type", Quantities.getQuantity(100.0, GRAIN), "Primer", "Type", Quantities.getQuantity(0.020, INCH_INTERNATIONAL), Quantities.getQuantity(2.800, INCH_INTERNATIONAL), Quantities.getQuantity(0.002, INCH_INTERNATIONAL), 1L);
         Load savedLoad = new Load(1L, "user1", "Load 1", "Desc", "Powder", "Type", "Bullet", "Type", Quantities.getQuantity(100.0, GRAIN), "Primer", "Type", Quantities.getQuantity(0.020, INCH_INTERNATIONAL), Quantities.getQuantity(2.800, INCH_INTERNATIONAL), Quantities.getQuantity(0.002, INCH_INTERNATIONAL), 1L);
         when(loadRepository.save(any(Load.class))).thenReturn(Mono.just(savedLoad));
+        when(loadChangeFeed.publish(1L, "user1", CREATED)).thenReturn(Mono.empty());
 
         StepVerifier.create(loadService.createLoad(load))
                 .expectNext(savedLoad)
                 .verifyComplete();
+
+        verify(loadChangeFeed).publish(1L, "user1", CREATED);
+    }
+
+    @Test
+    void createLoad_ShouldSucceed_WhenChangeCannotBePublished() {
+        Load savedLoad = new Load(1L, "user1", "Load 1", "Desc", "Powder", "Type", "Bullet", "Type", Quantities.getQuantity(100.0, GRAIN), "Primer", "Type", Quantities.getQuantity(0.020, INCH_INTERNATIONAL), Quantities.getQuantity(2.800, INCH_INTERNATIONAL), Quantities.getQuantity(0.002, INCH_INTERNATIONAL), 1L);
+        when(loadRepository.save(any(Load.class))).thenReturn(Mono.just(savedLoad));
+        when(loadChangeFeed.publish(1L, "user1", CREATED)).thenReturn(Mono.error(new IllegalStateException("closed")));
+
+        StepVerifier.create(loadService.createLoad(savedLoad))
+                .expectNext(savedLoad)
+                .verifyComplete();
     }
 
     @Test
     void updateLoad_ShouldReturnUpdatedLoad() {
         Load load = new Load(1L, "user1", "Load 1", "Desc", "Powder", "Type", "Bullet", "Type", Quantities.getQuantity(100.0, GRAIN), "Primer", "Type", Quantities.getQuantity(0.020, INCH_INTERNATIONAL), Quantities.getQuantity(2.800, INCH_INTERNATIONAL), Quantities.getQuantity(0.002, INCH_INTERNATIONAL), 1L);
         when(loadRepository.save(any(Load.class))).thenReturn(Mono.just(load));
+        when(loadChangeFeed.publish(1L, "user1", UPDATED)).thenReturn(Mono.empty());
 
         StepVerifier.create(loadService.updateLoad(load))
                 .expectNext(load)
                 .verifyComplete();
+
+        verify(loadChangeFeed).publish(1L, "user1", UPDATED);
     }
 
     @Test
     void deleteLoad_ShouldComplete() {
         Load load = new Load(1L, "user1", "Load 1", "Desc", "Powder", "Type", "Bullet", "Type", Quantities.getQuantity(100.0, GRAIN), "Primer", "Type", Quantities.getQuantity(0.020, INCH_INTERNATIONAL), Quantities.getQuantity(2.800, INCH_INTERNATIONAL), Quantities.getQuantity(0.002, INCH_INTERNATIONAL), 1L);
         when(loadRepository.delete(load)).thenReturn(Mono.empty());
+        when(loadChangeFeed.publish(1L, "user1", DELETED)).thenReturn(Mono.empty());
 
         StepVerifier.create(loadService.deleteLoad(load))
                 .verifyComplete();
+
+        verify(loadChangeFeed).publish(1L, "user1", DELETED);
     }
 }
@@ -1,14 +1,23 @@
 package ca.zhoozhoo.loaddev.loads.web;
 
+import static ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto.Type.UPDATED;
 import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.joining;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
 import static reactor.core.publisher.Mono.just;
 import static systems.uom.ucum.UCUM.GRAIN;
 import static systems.uom.ucum.UCUM.INCH_INTERNATIONAL;
+import static systems.uom.ucum.UCUM.YARD_INTERNATIONAL;
 import static tech.units.indriya.quantity.Quantities.getQuantity;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +25,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -24,8 +35,12 @@ import ca.zhoozhoo.loaddev.loads.config.TestSecurityConfig;
 import ca.zhoozhoo.loaddev.loads.dao.GroupRepository;
 import ca.zhoozhoo.loaddev.loads.dao.LoadRepository;
 import ca.zhoozhoo.loaddev.loads.dao.ShotRepository;
+import ca.zhoozhoo.loaddev.loads.dto.LoadChangeDto;
+import ca.zhoozhoo.loaddev.loads.model.Group;
 import ca.zhoozhoo.loaddev.loads.model.Load;
+import ca.zhoozhoo.loaddev.loads.service.LoadChangeFeed;
 import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
 /// Integration tests for LoadsController.
 ///
@@ -53,6 +68,9 @@ class LoadsControllerTest {
     @Autowired
     private GroupRepository groupRepository;
 
+    @Autowired
+    private LoadChangeFeed loadChangeFeed;
+
     @BeforeEach
     void setUp() {
         shotRepository.deleteAll().block();
@@ -282,4 +300,134 @@ class LoadsControllerTest {
                 .exchange()
                 .expectStatus().is4xxClientError();
     }
+
+    @Test
+    @DisplayName("[Positive] Should get several loads by IDs in one call")
+    void getLoadsByIds() {
+        var userId = randomUUID().toString();
+        var first = loadRepository.save(createLoad(userId, "Load1")).block().id();
+        var second = loadRepository.save(createLoad(userId, "Load2")).block().id();
+        var otherUsers = loadRepository.save(createLoad(randomUUID().toString(), "Load3")).block().id();
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority("loads:view")))
+                .get()
+                .uri("/v1/loads?ids={ids}", "%d,%d,%d,%d".formatted(second, first, second, otherUsers))
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("Load1")
+                .jsonPath("$[1].name").isEqualTo("Load2");
+    }
+
+    @Test
+    @DisplayName("[Positive] Should search loads by name and components")
+    void searchLoads() {
+        var userId = randomUUID().toString();
+        var load = createLoad(userId, "Creedmoor Match");
+        loadRepository.saveAll(Flux.just(load, createLoad(userId, "Plinking"),
+                createLoad(randomUUID().toString(), "Creedmoor Match"))).blockLast();
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority("loads:view")))
+                .get()
+                .uri("/v1/loads/search?query={query}", "creedmoor hornady")
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("Creedmoor Match");
+    }
+
+    @Test
+    @DisplayName("[Negative] Should reject more than 100 IDs")
+    void getLoadsByIdsTooMany() {
+        var userId = randomUUID().toString();
+        var ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(joining(","));
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority("loads:view")))
+                .get()
+                .uri("/v1/loads?ids={ids}", ids)
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("[Positive] Should get a load with its group statistics")
+    void getLoadDetails() {
+        var userId = randomUUID().toString();
+        var loadId = loadRepository.save(createLoad(userId, "Load1")).block().id();
+        groupRepository.save(new Group(null, userId, loadId, LocalDate.now(),
+                getQuantity(41.5, GRAIN), getQuantity(100, YARD_INTERNATIONAL), getQuantity(0.75, INCH_INTERNATIONAL))).block();
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority("loads:view")))
+                .get()
+                .uri("/v1/loads/{id}/details", loadId)
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.load.name").isEqualTo("Load1")
+                .jsonPath("$.groups.length()").isEqualTo(1)
+                .jsonPath("$.groups[0].shots").isEmpty();
+    }
+
+    @Test
+    @DisplayName("[Negative] Should return 404 for details of another user's load")
+    void getLoadDetailsNotFound() {
+        var userId = randomUUID().toString();
+        var loadId = loadRepository.save(createLoad(randomUUID().toString(), "Load1")).block().id();
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority("loads:view")))
+                .get()
+                .uri("/v1/loads/{id}/details", loadId)
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("[Positive] Should stream changes of the user's loads")
+    void getLoadChanges() {
+        var userId = randomUUID().toString();
+
+        // Publishes repeatedly, because the stream only listens once it is subscribed
+        var publisher = Flux.interval(Duration.ofMillis(100))
+                .concatMap(_ -> loadChangeFeed.publish(1L, userId, UPDATED))
+                .subscribe();
+        try {
+            var events = webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                    .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority("loads:view")))
+                    .get()
+                    .uri("/v1/loads/changes")
+                    .header("Authorization", "Bearer " + userId)
+                    .accept(TEXT_EVENT_STREAM)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(new ParameterizedTypeReference<ServerSentEvent<LoadChangeDto>>() {})
+                    .getResponseBody();
+
+            StepVerifier.create(events.filter(event -> event.data() != null).take(1))
+                    .assertNext(event -> {
+                        assertEquals("updated", event.event());
+                        assertEquals(new LoadChangeDto(1L, UPDATED), event.data());
+                    })
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+        } finally {
+            publisher.dispose();
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package ca.zhoozhoo.loaddev.mcp.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/// Caches the pre-serialized JSON result of an MCP tool method per user and arguments.
+///
+/// The annotated method must return `Mono<String>`. Results are keyed by the JWT `sub` of the
+/// caller, the tool name and the method arguments, and kept for [#ttl()]. Only successful
+/// results are cached; calls without an authenticated user are never cached.
+///
+/// ```java
+/// @CachedToolResult(ttl = "30s")
+/// @McpTool(name = "getLoad", description = "...")
+/// public Mono<String> getLoadById(Long id) { ... }
+/// ```
+///
+/// @author Zhubin Salehi
+/// @see ToolResultCacheAspect
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CachedToolResult {
+
+    /// How long a result is served from the cache, e.g. `30s` or `PT1M`.
+    ///
+    /// @return the time-to-live of cached results
+    String ttl() default "30s";
+}
@@ -0,0 +1,189 @@
+package ca.zhoozhoo.loaddev.mcp.cache;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import ca.zhoozhoo.loaddev.mcp.observation.ToolObservationAspect;
+import ca.zhoozhoo.loaddev.mcp.provider.ToolReactiveContext;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+
+/// Aspect serving [CachedToolResult] tool methods from a per-user, in-memory cache.
+///
+/// LLM agents tend to call the same tool with the same arguments several times within a
+/// conversation. Each call would otherwise fetch from the backend services and serialize the
+/// DTOs again; a hit returns the previously serialized JSON string directly.
+///
+/// Entries are keyed by JWT `sub`, tool name and arguments, so users never see each other's
+/// results, and expire after the tool's TTL. Failed calls are not cached.
+///
+/// **Metrics:**
+///
+/// - `mcp.tool.cache.requests{tool, result=hit|miss}` - lookups per tool, for hit rates
+/// - `cache.*{cache=mcpToolResults}` - size, evictions and totals of the shared cache
+///
+/// @author Zhubin Salehi
+/// @see CachedToolResult
+@Aspect
+@Log4j2
+public class ToolResultCacheAspect {
+
+    static final String CACHE_NAME = "mcpToolResults";
+
+    private final Cache<Key, Entry> cache;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<Method, Tool> tools = new ConcurrentHashMap<>();
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ToolResultCacheAspect(long maximumSize, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Key, Entry>() {
+
+                    @Override
+                    public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+                        return entry.timeToLiveNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.timeToLiveNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /// Serves the tool result from the cache or invokes the tool and caches its result.
+    ///
+    /// @param joinPoint        the tool method invocation
+    /// @param cachedToolResult the method's cache settings
+    /// @return the cached or freshly computed tool result
+    /// @throws Throwable if the tool method throws
+    @Around("@annotation(cachedToolResult)")
+    public Object cache(ProceedingJoinPoint joinPoint, CachedToolResult cachedToolResult) throws Throwable {
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (!Mono.class.isAssignableFrom(method.getReturnType())) {
+            log.warn("@CachedToolResult ignored on {}: return type is not Mono", method);
+            return joinPoint.proceed();
+        }
+
+        var tool = tools.computeIfAbsent(method, m -> Tool.of(m, cachedToolResult, meterRegistry));
+        var arguments = Collections.unmodifiableList(Arrays.asList(joinPoint.getArgs().clone()));
+
+        // Assembled now, while the tool call's reactive context is bound to this thread;
+        // only subscribed on a cache miss
+        @SuppressWarnings("unchecked")
+        var invocation = (Mono<String>) joinPoint.proceed();
+
+        return ToolReactiveContext.applyTo(ReactiveSecurityContextHolder.getContext())
+                .mapNotNull(context -> subject(context.getAuthentication()))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(subject -> subject
+                        .map(sub -> cached(new Key(sub, tool.name(), arguments), tool, invocation))
+                        .orElse(invocation));
+    }
+
+    private Mono<String> cached(Key key, Tool tool, Mono<String> invocation) {
+        var entry = cache.getIfPresent(key);
+        if (entry != null) {
+            tool.hits().increment();
+            log.debug("Tool result cache hit for {}", tool.name());
+            return Mono.just(entry.json());
+        }
+
+        tool.misses().increment();
+        return invocation.doOnNext(json -> cache.put(key, new Entry(json, tool.timeToLive().toNanos())));
+    }
+
+    /// Returns the JWT subject of the caller, or null if the call is not authenticated.
+    static String subject(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        if (authentication.getCredentials() instanceof Jwt jwt && jwt.getSubject() != null) {
+            return jwt.getSubject();
+        }
+        return authentication.getName();
+    }
+
+    /// Returns the number of cached results.
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    /// Cache key of a tool result.
+    ///
+    /// @param subject   the caller's JWT subject
+    /// @param tool      the tool name
+    /// @param arguments the tool arguments
+    record Key(String subject, String tool, List<Object> arguments) {
+    }
+
+    /// Cached tool result.
+    ///
+    /// @param json            the serialized tool result
+    /// @param timeToLiveNanos how long the result is cached
+    record Entry(String json, long timeToLiveNanos) {
+    }
+
+    /// Cache settings and meters of a tool method.
+    ///
+    /// @param name       the tool name
+    /// @param timeToLive how long results are cached
+    /// @param hits       cache hit counter
+    /// @param misses     cache miss counter
+    record Tool(String name, Duration timeToLive, Counter hits, Counter misses) {
+
+        static Tool of(Method method, CachedToolResult settings, MeterRegistry meterRegistry) {
+            var name = ToolObservationAspect.toolName(method);
+
+            return new Tool(name,
+                    DurationStyle.detectAndParse(settings.ttl()),
+                    counter(meterRegistry, name, "hit"),
+                    counter(meterRegistry, name, "miss"));
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String tool, String result) {
+            return Counter.builder("mcp.tool.cache.requests")
+                    .description("MCP tool result cache lookups")
+                    .tag("tool", tool)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
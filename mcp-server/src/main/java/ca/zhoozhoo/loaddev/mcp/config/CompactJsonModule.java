@@ -0,0 +1,108 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static systems.uom.ucum.format.UCUMFormat.Variant.CASE_SENSITIVE;
+import static systems.uom.ucum.format.UCUMFormat.Variant.PRINT;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import ca.zhoozhoo.loaddev.mcp.dto.GroupDto;
+import systems.uom.ucum.format.UCUMFormat;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+/// Jackson module for the compact MCP tool result format.
+///
+/// Compared to the regular [ca.zhoozhoo.loaddev.common.jackson.QuantityModule] output:
+///
+/// - quantities are short strings with the unit's print symbol, e.g. `"2.810 in"` instead of
+/// `{"value":2.810,"unit":"[in_i]","scale":"ABSOLUTE"}`
+/// - the per-shot velocities of groups are left out; their average, standard deviation
+/// and extreme spread are kept
+///
+/// Use [#compactMapper(JsonMapper)], which also leaves out null properties.
+///
+/// @author Zhubin Salehi
+public final class CompactJsonModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public CompactJsonModule() {
+        super("CompactToolResultModule");
+        addSerializer((Class) Quantity.class, new CompactQuantitySerializer());
+        setMixInAnnotation(GroupDto.class, CompactGroup.class);
+    }
+
+    /// Returns a copy of the mapper writing the compact format.
+    ///
+    /// @param jsonMapper the Spring-managed JsonMapper with all modules
+    /// @return the compact JsonMapper
+    public static JsonMapper compactMapper(JsonMapper jsonMapper) {
+        return jsonMapper.rebuild()
+                .addModule(new CompactJsonModule())
+                .changeDefaultPropertyInclusion(inclusion -> inclusion.withValueInclusion(NON_NULL))
+                .build();
+    }
+
+    /// Formats a quantity as its value and unit print symbol, e.g. `2.810 in`.
+    ///
+    /// @param quantity the quantity
+    /// @return the formatted quantity
+    static String format(Quantity<?> quantity) {
+        var value = quantity.getValue() == null ? "?" : plain(quantity.getValue());
+        return quantity.getUnit() == null ? value : value + " " + symbol(quantity.getUnit());
+    }
+
+    private static String plain(Number value) {
+        try {
+            return new BigDecimal(value.toString()).toPlainString();
+        } catch (NumberFormatException _) {
+            // NaN and infinities have no decimal form
+            return Double.toString(value.doubleValue());
+        }
+    }
+
+    private static String symbol(Unit<?> unit) {
+        try {
+            return UCUMFormat.getInstance(PRINT).format(unit, new StringBuilder()).toString();
+        } catch (IOException | RuntimeException _) {
+            // Units without a print symbol fall back to their UCUM code
+            try {
+                return UCUMFormat.getInstance(CASE_SENSITIVE).format(unit, new StringBuilder()).toString();
+            } catch (IOException e) {
+                return unit.toString();
+            }
+        }
+    }
+
+    /// Mix-in leaving the per-shot velocities out of [GroupDto].
+    @JsonIgnoreProperties("shots")
+    private abstract static class CompactGroup {
+    }
+
+    /// Writes quantities as short strings.
+    private static final class CompactQuantitySerializer extends StdSerializer<Quantity<?>> {
+
+        @SuppressWarnings("unchecked")
+        CompactQuantitySerializer() {
+            super((Class<Quantity<?>>) (Class<?>) Quantity.class);
+        }
+
+        @Override
+        public void serialize(Quantity<?> value, JsonGenerator generator, SerializationContext context)
+                throws JacksonException {
+            generator.writeString(format(value));
+        }
+    }
+}
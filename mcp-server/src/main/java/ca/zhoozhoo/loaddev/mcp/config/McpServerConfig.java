@@ -1,10 +1,17 @@
 package ca.zhoozhoo.loaddev.mcp.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.codec.json.JacksonJsonDecoder;
+import org.springframework.http.codec.json.JacksonJsonEncoder;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import ca.zhoozhoo.loaddev.mcp.observation.ToolClientRequestObservationConvention;
+import ca.zhoozhoo.loaddev.mcp.observation.ToolObservationAspect;
 import io.micrometer.observation.ObservationRegistry;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import tools.jackson.databind.json.JsonMapper;
@@ -15,8 +22,55 @@ import tools.jackson.databind.json.JsonMapper;
 ///
 /// @author Zhubin Salehi
 @Configuration
+@LoadBalancerClients(defaultConfiguration = ServiceLoadBalancerConfig.class)
+@EnableConfigurationProperties(ServiceHttpClientProperties.class)
 public class McpServerConfig {
 
+    /// Load-balanced WebClient builder for calls to backend services.
+    ///
+    /// Requests to `http://{service-name}/...` are resolved by Spring Cloud LoadBalancer
+    /// (see [ServiceLoadBalancerConfig]) and spread over all instances of the service.
+    /// The builder uses the application's [JsonMapper] so that custom modules apply to
+    /// request and response bodies. Consumers must [WebClient.Builder#clone()] it before
+    /// customizing, and apply the per-service connector with [ServiceHttpClients].
+    ///
+    /// Client observations carry a `tool` tag naming the MCP tool that made the request
+    /// (see [ToolClientRequestObservationConvention]).
+    ///
+    /// @param observationRegistry registry for metrics and traces
+    /// @param jsonMapper          the Spring Boot auto-configured JsonMapper
+    /// @return load-balanced WebClient builder
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder(ObservationRegistry observationRegistry,
+            JsonMapper jsonMapper) {
+        return WebClient.builder()
+                .observationRegistry(observationRegistry)
+                .observationConvention(new ToolClientRequestObservationConvention())
+                .filter(ToolClientRequestObservationConvention.toolAttributeFilter())
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jacksonJsonEncoder(new JacksonJsonEncoder(jsonMapper));
+                    configurer.defaultCodecs().jacksonJsonDecoder(new JacksonJsonDecoder(jsonMapper));
+                });
+    }
+
+    /// Per-service connection pools, timeouts and response size limits.
+    ///
+    /// @param properties the `loaddev.mcp.http-client` properties
+    /// @return the service HTTP clients
+    @Bean
+    public ServiceHttpClients serviceHttpClients(ServiceHttpClientProperties properties) {
+        return new ServiceHttpClients(properties);
+    }
+
+    /// Aspect recording the executing MCP tool for client request metrics.
+    ///
+    /// @return the tool observation aspect
+    @Bean
+    public ToolObservationAspect toolObservationAspect() {
+        return new ToolObservationAspect();
+    }
+
     /// WebClient for Keycloak authentication with observation support.
     ///
     /// @param observationRegistry registry for metrics and traces
@@ -0,0 +1,104 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import reactor.core.publisher.Mono;
+
+/// MCP transport provider keeping track of the server sessions it creates.
+///
+/// Decorates the transport provider of the MCP server, so that requests the server does not
+/// route to application code, such as `resources/subscribe`, can be answered on the session
+/// they were sent on and notifications can be sent to one session instead of all of them.
+///
+/// Sessions are held weakly: they are forgotten once the transport provider drops them. The
+/// transport provider does not tell when that happens, so the end of a session's SSE stream is
+/// reported with [#sessionClosed(String)] by [McpSessionStreamWebFilter], which forgets the
+/// session and tells the listeners registered with [#onSessionClosed(Consumer)].
+///
+/// @author Zhubin Salehi
+/// @see ResourceSubscriptionWebFilter
+public class McpSessionRegistry implements McpServerTransportProvider {
+
+    private final McpServerTransportProvider delegate;
+
+    private final Cache<String, McpServerSession> sessions = Caffeine.newBuilder().weakValues().build();
+
+    private final Cache<String, McpServerTransport> transports = Caffeine.newBuilder().weakValues().build();
+
+    private final List<Consumer<String>> closeListeners = new CopyOnWriteArrayList<>();
+
+    /// Creates the registry.
+    ///
+    /// @param delegate the transport provider creating the sessions
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public McpSessionRegistry(McpServerTransportProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+        delegate.setSessionFactory(transport -> {
+            var session = sessionFactory.create(transport);
+            transports.put(session.getId(), transport);
+            sessions.put(session.getId(), session);
+            return session;
+        });
+    }
+
+    /// Returns an open session.
+    ///
+    /// @param sessionId the ID of the session
+    /// @return the session, or empty if there is no open session with this ID
+    public Optional<McpServerSession> session(String sessionId) {
+        return Optional.ofNullable(sessions.getIfPresent(sessionId));
+    }
+
+    /// Returns the transport of an open session, on which responses to its requests are sent.
+    ///
+    /// @param sessionId the ID of the session
+    /// @return the transport, or empty if there is no open session with this ID
+    public Optional<McpServerTransport> transport(String sessionId) {
+        return Optional.ofNullable(transports.getIfPresent(sessionId));
+    }
+
+    /// Registers a listener called with the ID of each session once it is closed.
+    ///
+    /// @param listener the listener
+    public void onSessionClosed(Consumer<String> listener) {
+        closeListeners.add(listener);
+    }
+
+    /// Forgets a session whose SSE stream ended and tells the listeners.
+    ///
+    /// @param sessionId the ID of the session
+    public void sessionClosed(String sessionId) {
+        sessions.invalidate(sessionId);
+        transports.invalidate(sessionId);
+        closeListeners.forEach(listener -> listener.accept(sessionId));
+    }
+
+    @Override
+    public Mono<Void> notifyClients(String method, Object params) {
+        return delegate.notifyClients(method, params);
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+        return delegate.closeGracefully();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
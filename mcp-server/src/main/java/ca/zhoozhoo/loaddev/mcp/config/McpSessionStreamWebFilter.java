@@ -0,0 +1,101 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.HttpMethod.GET;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import org.jspecify.annotations.NonNull;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Web filter reporting the end of MCP sessions to [McpSessionRegistry].
+///
+/// A session lives as long as its SSE stream, but the transport provider forgets it without
+/// closing it when the client disconnects. This filter reads the session ID from the stream's
+/// `endpoint` event (`/mcp/message?sessionId=...`) and calls
+/// [McpSessionRegistry#sessionClosed(String)] once the stream completes, fails or is cancelled
+/// by the client, so that resources held for the session, such as its load change stream, are
+/// released right away.
+///
+/// @author Zhubin Salehi
+@Log4j2
+public class McpSessionStreamWebFilter implements WebFilter {
+
+    private static final Pattern SESSION_ID = Pattern.compile("sessionId=([\\w-]+)");
+
+    private final String sseEndpoint;
+
+    private final McpSessionRegistry sessions;
+
+    /// Creates the filter.
+    ///
+    /// @param sseEndpoint the path of the MCP SSE endpoint
+    /// @param sessions    the open MCP sessions
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public McpSessionStreamWebFilter(String sseEndpoint, McpSessionRegistry sessions) {
+        this.sseEndpoint = sseEndpoint;
+        this.sessions = sessions;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var request = exchange.getRequest();
+        if (!GET.equals(request.getMethod()) || !sseEndpoint.equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+
+        var response = new SessionStreamResponse(exchange.getResponse());
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    var sessionId = response.sessionId.get();
+                    if (sessionId != null) {
+                        log.debug("SSE stream of session {} ended ({})", sessionId, signal);
+                        sessions.sessionClosed(sessionId);
+                    }
+                });
+    }
+
+    /// Response recording the session ID announced by the `endpoint` event.
+    private static final class SessionStreamResponse extends ServerHttpResponseDecorator {
+
+        private final AtomicReference<String> sessionId = new AtomicReference<>();
+
+        SessionStreamResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(this::readSessionId));
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeAndFlushWith(@NonNull Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(events -> Flux.from(events).doOnNext(this::readSessionId)));
+        }
+
+        private void readSessionId(DataBuffer buffer) {
+            if (sessionId.get() != null) {
+                return;
+            }
+            var matcher = SESSION_ID.matcher(buffer.toString(buffer.readPosition(), buffer.readableByteCount(), UTF_8));
+            if (matcher.find()) {
+                sessionId.set(matcher.group(1));
+            }
+        }
+    }
+}
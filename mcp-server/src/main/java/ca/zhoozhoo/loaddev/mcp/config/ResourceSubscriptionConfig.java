@@ -0,0 +1,98 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import org.springframework.ai.mcp.customizer.McpAsyncServerCustomizer;
+import org.springframework.ai.mcp.server.webflux.transport.WebFluxSseServerTransportProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import ca.zhoozhoo.loaddev.mcp.provider.LoadResourceSubscriptions;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpSchema.ServerCapabilities;
+
+/// Configuration of `resources/subscribe` support for `load://{id}` resources.
+///
+/// Declares the `subscribe` resource capability, keeps track of the MCP sessions with
+/// [McpSessionRegistry] and answers subscription requests per session with
+/// [ResourceSubscriptionWebFilter], so that each session is only notified of its own
+/// subscriptions (see [LoadResourceSubscriptions]). The subscriptions of a session are dropped
+/// once its SSE stream ends, see [McpSessionStreamWebFilter].
+///
+/// @author Zhubin Salehi
+@Configuration(proxyBeanMethods = false)
+public class ResourceSubscriptionConfig {
+
+    /// Transport provider of the MCP server, recording the sessions of the SSE transport.
+    ///
+    /// @param transportProvider the auto-configured SSE transport provider
+    /// @param subscriptions     the load resource subscriptions, dropped when their session closes
+    /// @return the session registry
+    @Bean
+    @Primary
+    public McpSessionRegistry mcpSessionRegistry(WebFluxSseServerTransportProvider transportProvider,
+            LoadResourceSubscriptions subscriptions) {
+        var registry = new McpSessionRegistry(transportProvider);
+        registry.onSessionClosed(subscriptions::close);
+        return registry;
+    }
+
+    /// Filter reporting the end of the sessions' SSE streams to the session registry.
+    ///
+    /// @param sseEndpoint the path of the MCP SSE endpoint
+    /// @param sessions    the open MCP sessions
+    /// @return the session stream filter
+    @Bean
+    public McpSessionStreamWebFilter mcpSessionStreamWebFilter(
+            @Value("${spring.ai.mcp.server.sse-endpoint:/sse}") String sseEndpoint, McpSessionRegistry sessions) {
+        return new McpSessionStreamWebFilter(sseEndpoint, sessions);
+    }
+
+    /// Filter answering `resources/subscribe` and `resources/unsubscribe` requests.
+    ///
+    /// @param messageEndpoint the path of the MCP message endpoint
+    /// @param sessions        the open MCP sessions
+    /// @param subscriptions   the load resource subscriptions
+    /// @param jsonMapper      the MCP JSON mapper
+    /// @return the resource subscription filter
+    @Bean
+    public ResourceSubscriptionWebFilter resourceSubscriptionWebFilter(
+            @Value("${spring.ai.mcp.server.sse-message-endpoint:/mcp/message}") String messageEndpoint,
+            McpSessionRegistry sessions, LoadResourceSubscriptions subscriptions, McpJsonMapper jsonMapper) {
+        return new ResourceSubscriptionWebFilter(messageEndpoint, sessions, subscriptions, jsonMapper);
+    }
+
+    /// Declares the server capabilities with resource subscriptions, which the auto-configuration
+    /// always declares as unsupported, and logging, which carries the notice of ended
+    /// subscriptions.
+    ///
+    /// @param tool                       whether tools are enabled
+    /// @param toolChangeNotification     whether tool list changes are notified
+    /// @param resourceChangeNotification whether resource list changes are notified
+    /// @param prompt                     whether prompts are enabled
+    /// @param promptChangeNotification   whether prompt list changes are notified
+    /// @param completion                 whether completions are enabled
+    /// @return the server customizer
+    @Bean
+    public McpAsyncServerCustomizer resourceSubscriptionCapabilities(
+            @Value("${spring.ai.mcp.server.capabilities.tool:true}") boolean tool,
+            @Value("${spring.ai.mcp.server.tool-change-notification:true}") boolean toolChangeNotification,
+            @Value("${spring.ai.mcp.server.resource-change-notification:true}") boolean resourceChangeNotification,
+            @Value("${spring.ai.mcp.server.capabilities.prompt:true}") boolean prompt,
+            @Value("${spring.ai.mcp.server.prompt-change-notification:true}") boolean promptChangeNotification,
+            @Value("${spring.ai.mcp.server.capabilities.completion:true}") boolean completion) {
+        var capabilities = ServerCapabilities.builder()
+                .resources(true, resourceChangeNotification)
+                .logging();
+        if (tool) {
+            capabilities.tools(toolChangeNotification);
+        }
+        if (prompt) {
+            capabilities.prompts(promptChangeNotification);
+        }
+        if (completion) {
+            capabilities.completions();
+        }
+        return serverBuilder -> serverBuilder.capabilities(capabilities.build());
+    }
+}
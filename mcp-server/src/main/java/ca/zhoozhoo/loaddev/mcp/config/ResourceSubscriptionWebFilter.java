@@ -0,0 +1,157 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INTERNAL_ERROR;
+import static io.modelcontextprotocol.spec.McpSchema.JSONRPC_VERSION;
+import static io.modelcontextprotocol.spec.McpSchema.METHOD_RESOURCES_SUBSCRIBE;
+import static io.modelcontextprotocol.spec.McpSchema.METHOD_RESOURCES_UNSUBSCRIBE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.HttpMethod.POST;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import ca.zhoozhoo.loaddev.mcp.provider.LoadResourceSubscriptions;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCRequest;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
+import io.modelcontextprotocol.spec.McpSchema.SubscribeRequest;
+import io.modelcontextprotocol.spec.McpSchema.UnsubscribeRequest;
+import io.modelcontextprotocol.spec.McpServerSession;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Web filter answering the `resources/subscribe` and `resources/unsubscribe` requests of MCP
+/// clients.
+///
+/// The MCP server SDK does not route these requests to application code, so they are taken
+/// off the message endpoint before it and handled by [LoadResourceSubscriptions] for the
+/// session they were sent on. The JSON-RPC response is sent on that session's SSE stream, like
+/// the SDK's own responses. All other messages, and messages for unknown sessions, are passed
+/// on unchanged.
+///
+/// Runs after the security filter chain, so the subscribing request's authentication is in
+/// the reactive context and authorizes the subscription's change stream.
+///
+/// @author Zhubin Salehi
+/// @see McpSessionRegistry
+@Log4j2
+public class ResourceSubscriptionWebFilter implements WebFilter {
+
+    private final String messageEndpoint;
+
+    private final McpSessionRegistry sessions;
+
+    private final LoadResourceSubscriptions subscriptions;
+
+    private final McpJsonMapper jsonMapper;
+
+    /// Creates the filter.
+    ///
+    /// @param messageEndpoint the path of the MCP message endpoint
+    /// @param sessions        the open MCP sessions
+    /// @param subscriptions   the load resource subscriptions
+    /// @param jsonMapper      the MCP JSON mapper
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ResourceSubscriptionWebFilter(String messageEndpoint, McpSessionRegistry sessions,
+            LoadResourceSubscriptions subscriptions, McpJsonMapper jsonMapper) {
+        this.messageEndpoint = messageEndpoint;
+        this.sessions = sessions;
+        this.subscriptions = subscriptions;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var request = exchange.getRequest();
+        var sessionId = request.getQueryParams().getFirst("sessionId");
+        if (!POST.equals(request.getMethod())
+                || !messageEndpoint.equals(request.getPath().pathWithinApplication().value())
+                || sessionId == null || sessions.session(sessionId).isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        return DataBufferUtils.join(request.getBody())
+                .map(buffer -> {
+                    var bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> subscriptionRequest(body)
+                        .map(subscription -> handle(sessionId, subscription)
+                                .then(Mono.defer(() -> exchange.getResponse().setComplete())))
+                        .orElseGet(() -> chain.filter(exchange.mutate()
+                                .request(new ServerHttpRequestDecorator(request) {
+                                    @Override
+                                    public Flux<DataBuffer> getBody() {
+                                        return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+                                    }
+                                })
+                                .build())));
+    }
+
+    /// Returns the message if it is a subscription request, leaving anything else, including
+    /// messages that cannot be read, to the SDK.
+    private Optional<JSONRPCRequest> subscriptionRequest(byte[] body) {
+        try {
+            if (McpSchema.deserializeJsonRpcMessage(jsonMapper, new String(body, UTF_8)) instanceof JSONRPCRequest request
+                    && (METHOD_RESOURCES_SUBSCRIBE.equals(request.method())
+                            || METHOD_RESOURCES_UNSUBSCRIBE.equals(request.method()))) {
+                return Optional.of(request);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.trace("Passing on unreadable MCP message: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private Mono<Void> handle(String sessionId, JSONRPCRequest request) {
+        var session = sessions.session(sessionId).orElse(null);
+        var transport = sessions.transport(sessionId).orElse(null);
+        if (session == null || transport == null) {
+            return Mono.empty();
+        }
+
+        var subscriber = new SessionSubscriber(session);
+        return Mono.defer(() -> METHOD_RESOURCES_SUBSCRIBE.equals(request.method())
+                        ? subscriptions.subscribe(subscriber,
+                                transport.unmarshalFrom(request.params(), new TypeRef<SubscribeRequest>() {}).uri())
+                        : subscriptions.unsubscribe(subscriber,
+                                transport.unmarshalFrom(request.params(), new TypeRef<UnsubscribeRequest>() {}).uri()))
+                .then(Mono.fromSupplier(() -> new JSONRPCResponse(JSONRPC_VERSION, request.id(), Map.of(), null)))
+                .onErrorResume(e -> Mono.just(new JSONRPCResponse(JSONRPC_VERSION, request.id(), null,
+                        e instanceof McpError mcpError && mcpError.getJsonRpcError() != null
+                                ? mcpError.getJsonRpcError()
+                                : new JSONRPCError(INTERNAL_ERROR, e.getMessage(), null))))
+                .flatMap(transport::sendMessage);
+    }
+
+    /// Sends the notifications of a session's subscriptions to that session only.
+    private record SessionSubscriber(McpServerSession session) implements LoadResourceSubscriptions.Session {
+
+        @Override
+        public String id() {
+            return session.getId();
+        }
+
+        @Override
+        public Mono<Void> sendNotification(String method, Object params) {
+            return session.sendNotification(method, params);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/// HTTP client settings for calls from mcp-server to the backend services.
+///
+/// Every backend service gets its own Reactor Netty connection pool, so a slow service
+/// cannot exhaust the connections used for the others. Services that are not listed
+/// under `services` use `defaults`.
+///
+/// **Example:**
+/// ```yaml
+/// loaddev:
+///   mcp:
+///     http-client:
+///       defaults:
+///         connect-timeout: 2s
+///         response-timeout: 5s
+///       services:
+///         loads-service:
+///           max-connections: 100
+///           response-timeout: 10s
+///           max-in-memory-size: 4MB
+/// ```
+///
+/// @param defaults settings of services without an entry in `services`
+/// @param services settings keyed by service id
+///
+/// @author Zhubin Salehi
+/// @see ServiceHttpClients
+@ConfigurationProperties(prefix = "loaddev.mcp.http-client")
+public record ServiceHttpClientProperties(Client defaults, Map<String, Client> services) {
+
+    public ServiceHttpClientProperties {
+        defaults = defaults != null ? defaults : new Client(null, null, null, null, null, null, null, null);
+        services = services != null ? Map.copyOf(services) : Map.of();
+    }
+
+    /// Returns the settings of a service.
+    ///
+    /// @param serviceId the service id
+    /// @return the service's settings, or the defaults
+    public Client forService(String serviceId) {
+        return services.getOrDefault(serviceId, defaults);
+    }
+
+    /// Connection pool, timeout and codec settings of one backend service.
+    ///
+    /// @param maxConnections         maximum open connections to the service
+    /// @param pendingAcquireMaxCount maximum requests waiting for a connection
+    /// @param pendingAcquireTimeout  how long a request may wait for a connection
+    /// @param maxIdleTime            idle connections are closed after this time
+    /// @param connectTimeout         TCP connect timeout
+    /// @param responseTimeout        maximum time without receiving data while reading a response
+    /// @param maxInMemorySize        maximum size of a buffered response body
+    /// @param compression            whether gzip responses are requested
+    public record Client(
+            Integer maxConnections,
+            Integer pendingAcquireMaxCount,
+            Duration pendingAcquireTimeout,
+            Duration maxIdleTime,
+            Duration connectTimeout,
+            Duration responseTimeout,
+            DataSize maxInMemorySize,
+            Boolean compression) {
+
+        public Client {
+            maxConnections = maxConnections != null ? maxConnections : 50;
+            pendingAcquireMaxCount = pendingAcquireMaxCount != null ? pendingAcquireMaxCount : 2 * maxConnections;
+            pendingAcquireTimeout = pendingAcquireTimeout != null ? pendingAcquireTimeout : Duration.ofSeconds(2);
+            maxIdleTime = maxIdleTime != null ? maxIdleTime : Duration.ofSeconds(30);
+            connectTimeout = connectTimeout != null ? connectTimeout : Duration.ofSeconds(2);
+            responseTimeout = responseTimeout != null ? responseTimeout : Duration.ofSeconds(10);
+            maxInMemorySize = maxInMemorySize != null ? maxInMemorySize : DataSize.ofMegabytes(2);
+            compression = compression != null ? compression : Boolean.TRUE;
+        }
+    }
+}
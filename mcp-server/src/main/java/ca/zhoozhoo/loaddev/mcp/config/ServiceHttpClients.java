@@ -0,0 +1,105 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import java.net.http.HttpClient.Redirect;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.channel.ChannelOption;
+import lombok.extern.log4j.Log4j2;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/// Creates the HTTP client of each backend service from [ServiceHttpClientProperties].
+///
+/// Each service gets a named [ConnectionProvider] (`mcp-{service-id}`) with pool metrics
+/// enabled, so `reactor.netty.connection.provider.*` gauges report active, idle and pending
+/// connections per service. The connectors also apply the connect and response timeouts,
+/// request gzip responses, and cap the size of buffered response bodies. The response timeout
+/// is installed for each request and removed once its response is read, so connections
+/// returned to the pool carry no timeout of a previous request.
+///
+/// Blocking [RestClient]s, used when tools run on virtual threads, get a JDK `HttpClient`
+/// per service with the same connect and response timeouts.
+///
+/// Pools are disposed when the application context closes.
+///
+/// @author Zhubin Salehi
+/// @see ServiceHttpClientProperties
+@Log4j2
+public class ServiceHttpClients implements DisposableBean {
+
+    private final ServiceHttpClientProperties properties;
+
+    private final ConcurrentMap<String, ConnectionProvider> connectionProviders = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, java.net.http.HttpClient> jdkHttpClients = new ConcurrentHashMap<>();
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ServiceHttpClients(ServiceHttpClientProperties properties) {
+        this.properties = properties;
+    }
+
+    /// Applies the connector and codec limits of a service to a WebClient builder.
+    ///
+    /// @param builder   a builder owned by the caller, e.g. a [WebClient.Builder#clone()]
+    /// @param serviceId the service id
+    /// @return the same builder
+    public WebClient.Builder configure(WebClient.Builder builder, String serviceId) {
+        var client = properties.forService(serviceId);
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient(serviceId, client)))
+                .codecs(configurer -> configurer.defaultCodecs()
+                        .maxInMemorySize((int) client.maxInMemorySize().toBytes()));
+    }
+
+    /// Applies the request factory and timeouts of a service to a RestClient builder.
+    ///
+    /// @param builder   a builder owned by the caller, e.g. a [RestClient.Builder#clone()]
+    /// @param serviceId the service id
+    /// @return the same builder
+    public RestClient.Builder configure(RestClient.Builder builder, String serviceId) {
+        var client = properties.forService(serviceId);
+        var jdkHttpClient = jdkHttpClients.computeIfAbsent(serviceId, _ -> java.net.http.HttpClient.newBuilder()
+                .connectTimeout(client.connectTimeout())
+                .followRedirects(Redirect.NEVER)
+                .build());
+
+        var requestFactory = new JdkClientHttpRequestFactory(jdkHttpClient);
+        requestFactory.setReadTimeout(client.responseTimeout());
+        return builder.requestFactory(requestFactory);
+    }
+
+    HttpClient httpClient(String serviceId, ServiceHttpClientProperties.Client client) {
+        var connectionProvider = connectionProviders.computeIfAbsent(serviceId, id -> {
+            log.info("Creating connection pool for {}: maxConnections={}, responseTimeout={}",
+                    id, client.maxConnections(), client.responseTimeout());
+            return ConnectionProvider.builder("mcp-%s".formatted(id))
+                    .maxConnections(client.maxConnections())
+                    .pendingAcquireMaxCount(client.pendingAcquireMaxCount())
+                    .pendingAcquireTimeout(client.pendingAcquireTimeout())
+                    .maxIdleTime(client.maxIdleTime())
+                    .metrics(true)
+                    .build();
+        });
+
+        return HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.connectTimeout().toMillis())
+                .responseTimeout(client.responseTimeout())
+                .compress(client.compression());
+    }
+
+    @Override
+    public void destroy() {
+        connectionProviders.values().forEach(ConnectionProvider::dispose);
+        connectionProviders.clear();
+        jdkHttpClients.values().forEach(java.net.http.HttpClient::close);
+        jdkHttpClients.clear();
+    }
+}
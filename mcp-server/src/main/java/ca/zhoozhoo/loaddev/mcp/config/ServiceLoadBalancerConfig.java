@@ -0,0 +1,41 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+/// Spring Cloud LoadBalancer configuration shared by all backend services.
+///
+/// Applied to every load-balanced client through
+/// `@LoadBalancerClients(defaultConfiguration = ServiceLoadBalancerConfig.class)` on
+/// [McpServerConfig]. It is deliberately not annotated with `@Configuration` so that
+/// component scanning does not register it in the application context; LoadBalancer
+/// instantiates it in a child context per service.
+///
+/// Instances are resolved as follows:
+///
+/// - **Discovery:** instances come from the [org.springframework.cloud.client.discovery.DiscoveryClient]
+/// (Eureka or Kubernetes), which only lists instances that are up and ready
+/// - **Zone preference:** instances in `spring.cloud.loadbalancer.zone` are preferred,
+/// falling back to all instances when the zone has none
+/// - **Caching:** the resulting list is cached (see `spring.cloud.loadbalancer.cache.ttl`),
+/// so tool calls do not query the registry
+///
+/// Requests are spread over the instances with the default round-robin load balancer.
+///
+/// @author Zhubin Salehi
+public class ServiceLoadBalancerConfig {
+
+    /// Creates the discovery-backed, zone-aware and cached instance list supplier.
+    ///
+    /// @param context the LoadBalancer child context of the service
+    /// @return the service instance list supplier
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                .withBlockingDiscoveryClient()
+                .withZonePreference()
+                .withCaching()
+                .build(context);
+    }
+}
@@ -0,0 +1,40 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import ca.zhoozhoo.loaddev.mcp.cache.CachedToolResult;
+import ca.zhoozhoo.loaddev.mcp.cache.ToolResultCacheAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/// Configuration of the per-user MCP tool result cache.
+///
+/// Registers [ToolResultCacheAspect], which serves [CachedToolResult] tool methods.
+///
+/// **Properties:**
+///
+/// - `loaddev.mcp.tool-cache.enabled` - whether tool results are cached (default true)
+/// - `loaddev.mcp.tool-cache.maximum-size` - maximum number of cached results (default 10000)
+///
+/// @author Zhubin Salehi
+/// @see ToolResultCacheAspect
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "loaddev.mcp.tool-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ToolResultCacheConfig {
+
+    /// Creates the aspect caching tool results.
+    ///
+    /// @param maximumSize   maximum number of cached results
+    /// @param meterRegistry registry for the cache metrics
+    /// @return the tool result cache aspect
+    @Bean
+    public ToolResultCacheAspect toolResultCacheAspect(
+            @Value("${loaddev.mcp.tool-cache.maximum-size:10000}") long maximumSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ToolResultCacheAspect(maximumSize, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
@@ -0,0 +1,102 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.web.client.RestClient;
+
+import ca.zhoozhoo.loaddev.mcp.execution.VirtualThreadToolExecutor;
+import ca.zhoozhoo.loaddev.mcp.provider.VirtualThreadLoadDetailsSource;
+import ca.zhoozhoo.loaddev.mcp.service.BlockingLoadsService;
+import ca.zhoozhoo.loaddev.mcp.service.BlockingRiflesService;
+import io.micrometer.observation.ObservationRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+/// Configuration of the virtual-thread tool execution mode.
+///
+/// Load details tools run as blocking [RestClient] calls on virtual threads instead of
+/// reactive WebClient pipelines, see [VirtualThreadLoadDetailsSource]. Both modes use the
+/// same per-service timeouts ([ServiceHttpClients]) and load balancing, so they can be
+/// compared under the same load.
+///
+/// **Properties:**
+///
+/// - `loaddev.mcp.tool-execution.mode` - `reactive` (default) or `virtual-threads`
+///
+/// @author Zhubin Salehi
+/// @see VirtualThreadToolExecutor
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "loaddev.mcp.tool-execution.mode", havingValue = "virtual-threads")
+public class VirtualThreadToolExecutionConfig {
+
+    /// Load-balanced RestClient builder for blocking calls to backend services.
+    ///
+    /// Like the WebClient builder in [McpServerConfig], it uses the application's
+    /// [JsonMapper] and is observed. Consumers must [RestClient.Builder#clone()] it before
+    /// customizing.
+    ///
+    /// @param observationRegistry registry for metrics and traces
+    /// @param jsonMapper          the Spring Boot auto-configured JsonMapper
+    /// @return load-balanced RestClient builder
+    @Bean
+    @LoadBalanced
+    public RestClient.Builder loadBalancedRestClientBuilder(ObservationRegistry observationRegistry,
+            JsonMapper jsonMapper) {
+        return RestClient.builder()
+                .observationRegistry(observationRegistry)
+                .messageConverters(converters -> {
+                    converters.removeIf(JacksonJsonHttpMessageConverter.class::isInstance);
+                    converters.addFirst(new JacksonJsonHttpMessageConverter(jsonMapper));
+                });
+    }
+
+    /// Executor running tool handlers on virtual threads.
+    ///
+    /// @return the tool executor
+    @Bean
+    public VirtualThreadToolExecutor virtualThreadToolExecutor() {
+        return new VirtualThreadToolExecutor();
+    }
+
+    /// Blocking client of the loads-service.
+    ///
+    /// @param restClientBuilder  the load-balanced RestClient builder
+    /// @param serviceHttpClients the per-service timeouts
+    /// @param loadsServiceName   the service id of the loads-service in discovery
+    /// @return the blocking loads service
+    @Bean
+    public BlockingLoadsService blockingLoadsService(@LoadBalanced RestClient.Builder restClientBuilder,
+            ServiceHttpClients serviceHttpClients,
+            @Value("${service.loads.name:loads-service}") String loadsServiceName) {
+        return new BlockingLoadsService(restClientBuilder, serviceHttpClients, loadsServiceName);
+    }
+
+    /// Blocking client of the rifles-service.
+    ///
+    /// @param restClientBuilder  the load-balanced RestClient builder
+    /// @param serviceHttpClients the per-service timeouts
+    /// @param riflesServiceName  the service id of the rifles-service in discovery
+    /// @return the blocking rifles service
+    @Bean
+    public BlockingRiflesService blockingRiflesService(@LoadBalanced RestClient.Builder restClientBuilder,
+            ServiceHttpClients serviceHttpClients,
+            @Value("${service.rifles.name:rifles-service}") String riflesServiceName) {
+        return new BlockingRiflesService(restClientBuilder, serviceHttpClients, riflesServiceName);
+    }
+
+    /// Load details assembled with blocking calls on virtual threads, batches fanned out to
+    /// one virtual thread per request.
+    ///
+    /// @param loadsService  the blocking loads service
+    /// @param riflesService the blocking rifles service
+    /// @param executor      the tool executor
+    /// @return the load details source
+    @Bean
+    public VirtualThreadLoadDetailsSource virtualThreadLoadDetailsSource(BlockingLoadsService loadsService,
+            BlockingRiflesService riflesService, VirtualThreadToolExecutor executor) {
+        return new VirtualThreadLoadDetailsSource(loadsService, riflesService, executor);
+    }
+}
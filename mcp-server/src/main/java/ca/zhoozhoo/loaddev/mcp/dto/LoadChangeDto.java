@@ -0,0 +1,21 @@
+package ca.zhoozhoo.loaddev.mcp.dto;
+
+/// Change to a load, as streamed by loads-service.
+///
+/// @param id   the ID of the changed load
+/// @param type what happened to the load
+///
+/// @author Zhubin Salehi
+public record LoadChangeDto(
+
+        Long id,
+
+        Type type) {
+
+    /// Kind of change.
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
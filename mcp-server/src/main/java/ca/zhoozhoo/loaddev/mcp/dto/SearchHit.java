@@ -0,0 +1,20 @@
+package ca.zhoozhoo.loaddev.mcp.dto;
+
+/// One result of the aggregated `search` MCP tool.
+///
+/// The score is normalized across result types, so hits from different services can be
+/// ranked together: the best match of every type scores 1.0.
+///
+/// @param type  the result type, e.g. `loads`, `rifles` or `projectiles`
+/// @param score the normalized relevance score in (0, 1]
+/// @param item  the matching load, rifle or component
+///
+/// @author Zhubin Salehi
+public record SearchHit(
+
+        String type,
+
+        double score,
+
+        Object item) {
+}
@@ -0,0 +1,77 @@
+package ca.zhoozhoo.loaddev.mcp.execution;
+
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_REQUEST;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import io.micrometer.context.ContextSnapshot;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
+
+/// MCP tool call executing on a virtual thread.
+///
+/// Bound to [#CURRENT] for the duration of the handler by [VirtualThreadToolExecutor].
+/// Subtasks a handler runs on other threads are wrapped with [#bind(Callable)], which binds
+/// the call on their thread too, so blocking service calls anywhere in the call tree find
+/// the caller's token without a Reactor context being threaded through.
+///
+/// Tracing and logging context live in thread locals, which other threads do not
+/// inherit; [#call(Callable)] restores them from the captured snapshot.
+///
+/// @param authentication the caller's authentication, or null if the call is not authenticated
+/// @param snapshot       the observation, tracing and MDC context of the call
+///
+/// @author Zhubin Salehi
+/// @see VirtualThreadToolExecutor
+public record ToolCall(Authentication authentication, ContextSnapshot snapshot) {
+
+    /// The tool call being executed by the current thread.
+    public static final ScopedValue<ToolCall> CURRENT = ScopedValue.newInstance();
+
+    /// Returns the tool call being executed by the current thread.
+    ///
+    /// @return the current tool call
+    /// @throws IllegalStateException if the thread is not executing a tool call
+    public static ToolCall current() {
+        if (!CURRENT.isBound()) {
+            throw new IllegalStateException("No MCP tool call is bound to " + Thread.currentThread());
+        }
+        return CURRENT.get();
+    }
+
+    /// Returns the caller's JWT for calls to backend services.
+    ///
+    /// @return the bearer token
+    /// @throws McpError with INVALID_REQUEST if the call is not authenticated with a JWT
+    public String bearerToken() {
+        if (authentication != null && authentication.getCredentials() instanceof Jwt jwt) {
+            return jwt.getTokenValue();
+        }
+        throw new McpError(new JSONRPCError(INVALID_REQUEST, "Authentication failed", null));
+    }
+
+    /// Runs a task with the call's thread-local context restored.
+    ///
+    /// @param <T>  the result type
+    /// @param task the task
+    /// @return the task's result
+    /// @throws Exception if the task fails
+    public <T> T call(Callable<T> task) throws Exception {
+        try (var _ = snapshot.setThreadLocals()) {
+            return task.call();
+        }
+    }
+
+    /// Wraps a subtask so that it runs as part of this call on any thread, with the call
+    /// bound to [#CURRENT] and its thread-local context restored.
+    ///
+    /// @param <T>  the result type
+    /// @param task the subtask
+    /// @return the wrapped subtask
+    public <T> Callable<T> bind(Callable<T> task) {
+        return () -> ScopedValue.where(CURRENT, this).call(() -> call(task));
+    }
+}
@@ -0,0 +1,62 @@
+package ca.zhoozhoo.loaddev.mcp.execution;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+
+import ca.zhoozhoo.loaddev.mcp.provider.ToolReactiveContext;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/// Runs blocking MCP tool handlers on virtual threads.
+///
+/// The handler runs on a new virtual thread with the caller's [ToolCall] bound to
+/// [ToolCall#CURRENT] and the call's tracing context restored, and is free to block on
+/// [org.springframework.web.client.RestClient] calls or to fan out to subtasks wrapped with
+/// [ToolCall#bind(Callable)]. Its result is returned as a [Mono], so tools
+/// keep the signatures the MCP framework expects. Cancelling the Mono interrupts the thread.
+///
+/// @author Zhubin Salehi
+/// @see ToolCall
+@Log4j2
+public class VirtualThreadToolExecutor implements DisposableBean {
+
+    private final ExecutorService executorService =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mcp-tool-", 0).factory());
+
+    private final Scheduler scheduler = Schedulers.fromExecutorService(executorService, "mcp-tool");
+
+    private final ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+
+    /// Executes a blocking tool handler on a virtual thread.
+    ///
+    /// @param <T>     the handler's result type
+    /// @param handler the handler
+    /// @return Mono emitting the handler's result, or its exception as error
+    public <T> Mono<T> execute(Callable<T> handler) {
+        return ToolReactiveContext.applyTo(Mono.deferContextual(context -> ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> {
+                    var call = new ToolCall(authentication.orElse(null), snapshotFactory.captureFrom(context));
+                    return Mono.fromCallable(() -> ScopedValue.where(ToolCall.CURRENT, call)
+                                    .call(() -> call.call(handler)))
+                            .subscribeOn(scheduler);
+                })));
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+        executorService.close();
+    }
+}
@@ -0,0 +1,49 @@
+package ca.zhoozhoo.loaddev.mcp.observation;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+import org.springframework.web.reactive.function.client.DefaultClientRequestObservationConvention;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import reactor.core.publisher.Mono;
+
+/// Observation convention adding the calling MCP tool to `http.client.requests`.
+///
+/// The tool name recorded by [ToolObservationAspect] lives in the Reactor context, which
+/// the convention cannot see; [#toolAttributeFilter()] copies it into a request attribute
+/// first. Requests made outside a tool, such as token exchanges, are tagged `tool=none`.
+///
+/// @author Zhubin Salehi
+/// @see ToolObservationAspect
+public class ToolClientRequestObservationConvention extends DefaultClientRequestObservationConvention {
+
+    /// Request attribute holding the tool name.
+    public static final String TOOL_ATTRIBUTE = ToolClientRequestObservationConvention.class.getName() + ".TOOL";
+
+    static final String TOOL_KEY = "tool";
+
+    static final String NO_TOOL = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(tool(context));
+    }
+
+    private static KeyValue tool(ClientRequestObservationContext context) {
+        var request = context.getRequest();
+        var tool = request != null ? request.attribute(TOOL_ATTRIBUTE).map(Object::toString).orElse(NO_TOOL) : NO_TOOL;
+        return KeyValue.of(TOOL_KEY, tool);
+    }
+
+    /// Returns a filter copying the tool name from the Reactor context into [#TOOL_ATTRIBUTE].
+    ///
+    /// @return the filter
+    public static ExchangeFilterFunction toolAttributeFilter() {
+        return (request, next) -> Mono.deferContextual(context -> next.exchange(
+                context.<String>getOrEmpty(ToolObservationAspect.TOOL_NAME_KEY)
+                        .map(tool -> ClientRequest.from(request).attribute(TOOL_ATTRIBUTE, tool).build())
+                        .orElse(request)));
+    }
+}
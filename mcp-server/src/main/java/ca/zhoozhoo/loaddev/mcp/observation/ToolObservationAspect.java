@@ -0,0 +1,53 @@
+package ca.zhoozhoo.loaddev.mcp.observation;
+
+import java.lang.reflect.Method;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.ai.mcp.annotation.McpTool;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Aspect recording the name of the MCP tool being executed in the Reactor context.
+///
+/// [ToolClientRequestObservationConvention] reads the name back when the tool calls a
+/// backend service, so `http.client.requests` can be broken down by tool.
+///
+/// @author Zhubin Salehi
+/// @see ToolClientRequestObservationConvention
+@Aspect
+public class ToolObservationAspect {
+
+    /// Reactor context key holding the tool name.
+    public static final String TOOL_NAME_KEY = ToolObservationAspect.class.getName() + ".TOOL_NAME";
+
+    /// Adds the tool name to the context of the tool's result.
+    ///
+    /// @param joinPoint the tool method invocation
+    /// @param mcpTool   the tool annotation
+    /// @return the tool result, with the tool name in its context
+    /// @throws Throwable if the tool method throws
+    @Around("@annotation(mcpTool)")
+    public Object recordToolName(ProceedingJoinPoint joinPoint, McpTool mcpTool) throws Throwable {
+        var result = joinPoint.proceed();
+        var name = toolName(((MethodSignature) joinPoint.getSignature()).getMethod());
+
+        return switch (result) {
+            case Mono<?> mono -> mono.contextWrite(context -> context.put(TOOL_NAME_KEY, name));
+            case Flux<?> flux -> flux.contextWrite(context -> context.put(TOOL_NAME_KEY, name));
+            case null, default -> result;
+        };
+    }
+
+    /// Returns the name of a tool method: the `@McpTool` name, or the method name.
+    ///
+    /// @param method the tool method
+    /// @return the tool name
+    public static String toolName(Method method) {
+        var mcpTool = method.getAnnotation(McpTool.class);
+        return mcpTool != null && !mcpTool.name().isBlank() ? mcpTool.name() : method.getName();
+    }
+}
@@ -0,0 +1,77 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import tools.jackson.databind.JsonNode;
+
+/// CSV table of tool result items, for [ToolResultFormat#CSV].
+///
+/// Nested objects are flattened into columns named by their path (e.g. `rifling.twistRate`),
+/// arrays are written as JSON into a single cell. Columns are in order of first appearance;
+/// missing values are empty. Cells are quoted as in RFC 4180.
+///
+/// @author Zhubin Salehi
+final class CsvTable {
+
+    private final Set<String> columns = new LinkedHashSet<>();
+
+    private final List<Map<String, String>> rows = new ArrayList<>();
+
+    /// Adds a row.
+    ///
+    /// @param item the item as written by the compact mapper
+    void add(JsonNode item) {
+        var row = new LinkedHashMap<String, String>();
+        flatten(item.isObject() ? "" : "value", item, row);
+        columns.addAll(row.keySet());
+        rows.add(row);
+    }
+
+    /// Returns the number of rows.
+    int size() {
+        return rows.size();
+    }
+
+    @Override
+    public String toString() {
+        var csv = new StringBuilder();
+        appendLine(csv, columns);
+        for (var row : rows) {
+            appendLine(csv, columns.stream().map(column -> row.getOrDefault(column, "")).toList());
+        }
+        return csv.toString();
+    }
+
+    private static void flatten(String path, JsonNode node, Map<String, String> row) {
+        if (node.isObject()) {
+            for (var property : node.properties()) {
+                flatten(path.isEmpty() ? property.getKey() : path + "." + property.getKey(), property.getValue(), row);
+            }
+        } else if (node.isArray()) {
+            row.put(path, node.toString());
+        } else if (!node.isNull()) {
+            row.put(path, node.asString());
+        }
+    }
+
+    private static void appendLine(StringBuilder csv, Iterable<String> cells) {
+        var first = true;
+        for (var cell : cells) {
+            if (!first) {
+                csv.append(',');
+            }
+            first = false;
+            if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0 || cell.indexOf('\n') >= 0 || cell.indexOf('\r') >= 0) {
+                csv.append('"').append(cell.replace("\"", "\"\"")).append('"');
+            } else {
+                csv.append(cell);
+            }
+        }
+        csv.append('\n');
+    }
+}
@@ -0,0 +1,178 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import ca.zhoozhoo.loaddev.mcp.config.CompactJsonModule;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.core.util.BufferRecycler;
+import tools.jackson.core.util.ByteArrayBuilder;
+import tools.jackson.core.util.JsonRecyclerPools;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+/// Serializes the items of a [Flux] into the JSON array returned by list tools.
+///
+/// Each item is written to a Jackson [SequenceWriter] as soon as it arrives, into a
+/// [ByteArrayBuilder] whose first segment is borrowed from Jackson's buffer recycler pool.
+/// Unlike serializing every item to a `String`, collecting the strings and joining them,
+/// only the encoded bytes are held until the array is complete.
+///
+/// At most `loaddev.mcp.tool-results.max-items` items (default 500) are written. Larger
+/// results are summarized as an object holding the total and the first items, so a
+/// single tool call cannot exhaust the server's heap:
+///
+/// ```json
+/// {"total":1250,"returned":500,"truncated":true,"items":[...]}
+/// ```
+///
+/// The [ToolResultFormat#COMPACT] format writes the items with the compact mapper (see
+/// [CompactJsonModule]). The [ToolResultFormat#CSV] format writes a table with one row per
+/// item instead of an array, preceded by a `# total=..,returned=..,truncated=true` line
+/// when truncated.
+///
+/// @author Zhubin Salehi
+@Component
+@Log4j2
+public class JsonArrayWriter {
+
+    private final JsonMapper jsonMapper;
+
+    private final JsonMapper compactJsonMapper;
+
+    private final int maxItems;
+
+    /// Creates the writer.
+    ///
+    /// @param jsonMapper the Spring-managed JsonMapper with all modules
+    /// @param maxItems   maximum number of items written before the result is summarized
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public JsonArrayWriter(JsonMapper jsonMapper, @Value("${loaddev.mcp.tool-results.max-items:500}") int maxItems) {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("loaddev.mcp.tool-results.max-items must be positive");
+        }
+        this.jsonMapper = jsonMapper;
+        this.compactJsonMapper = CompactJsonModule.compactMapper(jsonMapper);
+        this.maxItems = maxItems;
+    }
+
+    /// Writes the items as a JSON array, or as a summary if there are more than the maximum.
+    ///
+    /// @param items the items to serialize
+    /// @param label human-readable label of the items for logs (e.g., "loads")
+    /// @return Mono emitting the JSON array or summary
+    public Mono<String> write(Flux<?> items, String label) {
+        return write(items, label, ToolResultFormat.JSON);
+    }
+
+    /// Writes the items in the given format, summarized if there are more than the maximum.
+    ///
+    /// @param items  the items to serialize
+    /// @param label  human-readable label of the items for logs (e.g., "loads")
+    /// @param format the result format
+    /// @return Mono emitting the JSON array, CSV table or summary
+    public Mono<String> write(Flux<?> items, String label, ToolResultFormat format) {
+        if (format == ToolResultFormat.CSV) {
+            return Mono.defer(() -> {
+                var table = new Table(compactJsonMapper, maxItems);
+                return items.doOnNext(table::add).then(Mono.fromCallable(() -> table.finish(label)));
+            });
+        }
+        var mapper = format == ToolResultFormat.COMPACT ? compactJsonMapper : jsonMapper;
+        return Mono.usingWhen(
+                Mono.fromSupplier(() -> new Array(mapper, maxItems)),
+                array -> items.doOnNext(array::add).then(Mono.fromCallable(() -> array.finish(label))),
+                array -> Mono.fromRunnable(array::release));
+    }
+
+    /// Returns the maximum number of items written before the result is summarized.
+    public int maxItems() {
+        return maxItems;
+    }
+
+    /// JSON array being written for one tool call.
+    private static final class Array {
+
+        private final BufferRecycler recycler;
+
+        private final ByteArrayBuilder buffer;
+
+        private final SequenceWriter writer;
+
+        private final int maxItems;
+
+        private long total;
+
+        private boolean released;
+
+        Array(JsonMapper jsonMapper, int maxItems) {
+            this.recycler = JsonRecyclerPools.defaultPool().acquireAndLinkPooled();
+            this.buffer = new ByteArrayBuilder(recycler);
+            this.writer = jsonMapper.writer().writeValuesAsArray(buffer);
+            this.maxItems = maxItems;
+        }
+
+        void add(Object item) {
+            if (++total <= maxItems) {
+                writer.write(item);
+            }
+        }
+
+        String finish(String label) {
+            writer.close();
+            var array = new String(buffer.toByteArray(), UTF_8);
+            if (total <= maxItems) {
+                log.debug("Wrote JSON array of {} {} ({} chars)", total, label, array.length());
+                return array;
+            }
+            log.warn("Truncated {} from {} to {} items", label, total, maxItems);
+            return "{\"total\":%d,\"returned\":%d,\"truncated\":true,\"items\":%s}".formatted(total, maxItems, array);
+        }
+
+        synchronized void release() {
+            if (!released) {
+                released = true;
+                writer.close();
+                buffer.release();
+                recycler.releaseToPool();
+            }
+        }
+    }
+
+    /// CSV table being written for one tool call.
+    private static final class Table {
+
+        private final JsonMapper jsonMapper;
+
+        private final CsvTable table = new CsvTable();
+
+        private final int maxItems;
+
+        private long total;
+
+        Table(JsonMapper jsonMapper, int maxItems) {
+            this.jsonMapper = jsonMapper;
+            this.maxItems = maxItems;
+        }
+
+        void add(Object item) {
+            if (++total <= maxItems) {
+                table.add(jsonMapper.valueToTree(item));
+            }
+        }
+
+        String finish(String label) {
+            if (total <= maxItems) {
+                log.debug("Wrote CSV table of {} {}", total, label);
+                return table.toString();
+            }
+            log.warn("Truncated {} from {} to {} rows", label, total, maxItems);
+            return "# total=%d,returned=%d,truncated=true\n".formatted(total, maxItems) + table;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import java.util.List;
+
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDetails;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Assembles [LoadDetails] from loads-service and rifles-service for the load tools.
+///
+/// The implementation is selected with `loaddev.mcp.tool-execution.mode`:
+///
+/// - `reactive` (default) - [ReactiveLoadDetailsSource], non-blocking WebClient pipelines
+/// - `virtual-threads` - [VirtualThreadLoadDetailsSource], blocking RestClient calls on
+/// virtual threads, fanned out to one virtual thread per request for batches
+///
+/// @author Zhubin Salehi
+/// @see LoadsToolProvider
+public interface LoadDetailsSource {
+
+    /// Assembles the details of one load: the load, its group statistics and its rifle.
+    ///
+    /// @param id the unique identifier of the load
+    /// @return Mono emitting the load details
+    Mono<LoadDetails> getLoadDetails(Long id);
+
+    /// Assembles the details of several loads. IDs that do not exist or are not accessible
+    /// to the user are skipped.
+    ///
+    /// @param ids the distinct unique identifiers of the loads (at most 100)
+    /// @return Flux emitting the load details ordered by load ID
+    Flux<LoadDetails> getLoadDetails(List<Long> ids);
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 
 import ca.zhoozhoo.loaddev.mcp.dto.LoadDto;
 import ca.zhoozhoo.loaddev.mcp.service.LoadsService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema.ReadResourceRequest;
 import io.modelcontextprotocol.spec.McpSchema.ReadResourceResult;
@@ -23,6 +24,10 @@ import reactor.core.publisher.Mono;
 /// the `@McpResource` annotation. Authentication is handled transparently using
 /// JWT tokens from the security context.
 ///
+/// Clients subscribe to a load resource with `resources/subscribe` and then receive
+/// `notifications/resources/updated` whenever the load changes (see
+/// [LoadResourceSubscriptions]), instead of re-reading it to detect changes.
+///
 /// @author Zhubin Salehi
 /// @see org.springframework.ai.mcp.annotation.McpResource
 @Service
@@ -30,6 +35,7 @@ public class LoadResourceProvider {
 
     private final LoadsService loadsService;
 
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
     public LoadResourceProvider(LoadsService loadsService) {
         this.loadsService = loadsService;
     }
@@ -0,0 +1,291 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_PARAMS;
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_REQUEST;
+import static io.modelcontextprotocol.spec.McpSchema.METHOD_NOTIFICATION_MESSAGE;
+import static io.modelcontextprotocol.spec.McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED;
+import static java.util.stream.Collectors.joining;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import ca.zhoozhoo.loaddev.mcp.dto.LoadChangeDto;
+import ca.zhoozhoo.loaddev.mcp.service.LoadsService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
+import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
+import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
+import io.modelcontextprotocol.spec.McpSchema.ResourcesUpdatedNotification;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
+
+/// Subscriptions of MCP sessions to `load://{id}` resources.
+///
+/// Clients subscribe with `resources/subscribe` and unsubscribe with `resources/unsubscribe`
+/// (see [ca.zhoozhoo.loaddev.mcp.config.ResourceSubscriptionWebFilter]). While a session has at
+/// least one subscription, one stream of its user's load changes is open to loads-service
+/// (`GET /v1/loads/changes`). Changes of subscribed loads are sent as
+/// `notifications/resources/updated` with the load's URI to that session only; changes of
+/// other loads are dropped, so agents re-read a resource only when it actually changed.
+///
+/// The stream is authorized with the token of the session's latest `resources/subscribe`
+/// request: subscribing again with a renewed token reopens it with that token. It ends when
+/// the token expires, after `loaddev.mcp.resource-subscriptions.time-to-live` (default 1h),
+/// when it fails (for instance with 401) or when the session's last subscription is removed.
+/// Except in the last case, the session's subscriptions are dropped and the session is sent
+/// a `notifications/message` warning that they ended, so the client can subscribe again. It
+/// also ends, silently, when the session closes (see [#close(String)]).
+///
+/// @author Zhubin Salehi
+/// @see LoadResourceProvider
+@Component
+@Log4j2
+public class LoadResourceSubscriptions implements DisposableBean {
+
+    private static final Pattern LOAD_URI = Pattern.compile("load://(\\d{1,18})");
+
+    /// The MCP session of a client, through which its notifications are sent.
+    public interface Session {
+
+        /// Returns the ID of the session.
+        ///
+        /// @return the session ID
+        String id();
+
+        /// Sends a notification to this session only.
+        ///
+        /// @param method the notification method
+        /// @param params the notification parameters
+        /// @return Mono completing once the notification is sent
+        Mono<Void> sendNotification(String method, Object params);
+    }
+
+    private final LoadsService loadsService;
+
+    private final Duration timeToLive;
+
+    private final ConcurrentMap<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    /// Creates the subscriptions.
+    ///
+    /// @param loadsService the service streaming load changes
+    /// @param timeToLive   how long subscriptions are kept at most
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public LoadResourceSubscriptions(LoadsService loadsService,
+            @Value("${loaddev.mcp.resource-subscriptions.time-to-live:1h}") Duration timeToLive) {
+        this.loadsService = loadsService;
+        this.timeToLive = timeToLive;
+    }
+
+    /// Subscribes a session to changes of a load resource.
+    ///
+    /// @param session the subscribing session
+    /// @param uri     the URI of the load resource, `load://{id}`
+    /// @return Mono completing once the subscription is recorded
+    /// @throws McpError with INVALID_PARAMS if the URI is not a load resource
+    /// @throws McpError with INVALID_REQUEST if the request is not authenticated with a JWT
+    public Mono<Void> subscribe(Session session, String uri) {
+        return Mono.deferContextual(context -> token().map(token -> {
+            var loadId = loadId(uri);
+            var subscriber = subscribers.compute(session.id(), (_, existing) -> {
+                var s = existing != null ? existing : new Subscriber(session);
+                s.loadIds.add(loadId);
+                return s;
+            });
+            subscriber.start(context, token.getExpiresAt());
+            log.debug("Session {} subscribed to {}", session.id(), uri);
+            return subscriber;
+        })).then();
+    }
+
+    /// Unsubscribes a session from changes of a load resource.
+    ///
+    /// @param session the subscribed session
+    /// @param uri     the URI of the load resource, `load://{id}`
+    /// @return Mono completing once the subscription is removed
+    /// @throws McpError with INVALID_PARAMS if the URI is not a load resource
+    public Mono<Void> unsubscribe(Session session, String uri) {
+        return Mono.fromRunnable(() -> {
+            var loadId = loadId(uri);
+            var removed = new AtomicReference<Subscriber>();
+            subscribers.computeIfPresent(session.id(), (_, s) -> {
+                s.loadIds.remove(loadId);
+                if (s.loadIds.isEmpty()) {
+                    removed.set(s);
+                    return null;
+                }
+                return s;
+            });
+            if (removed.get() != null) {
+                removed.get().stop();
+            }
+            log.debug("Session {} unsubscribed from {}", session.id(), uri);
+        });
+    }
+
+    /// Drops the subscriptions of a closed session and closes its change stream.
+    ///
+    /// @param sessionId the ID of the closed session
+    public void close(String sessionId) {
+        var subscriber = subscribers.remove(sessionId);
+        if (subscriber != null) {
+            subscriber.stop();
+            log.info("Session {} closed, closing its load change stream", sessionId);
+        }
+    }
+
+    /// Returns the IDs of the loads a session is subscribed to.
+    ///
+    /// @param sessionId the ID of the session
+    /// @return the load IDs in ascending order
+    public List<Long> loadIds(String sessionId) {
+        var subscriber = subscribers.get(sessionId);
+        return subscriber != null ? subscriber.loadIds() : List.of();
+    }
+
+    /// Returns the URI of a load resource.
+    static String uri(Long loadId) {
+        return "load://%d".formatted(loadId);
+    }
+
+    /// Returns the ID of the load of a resource URI.
+    static long loadId(String uri) {
+        var matcher = uri != null ? LOAD_URI.matcher(uri) : null;
+        if (matcher == null || !matcher.matches() || Long.parseLong(matcher.group(1)) <= 0) {
+            throw new McpError(new JSONRPCError(INVALID_PARAMS,
+                    "Only load://{id} resources can be subscribed to, not %s".formatted(uri), null));
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /// Returns the number of sessions with subscriptions.
+    int size() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(Subscriber::stop);
+        subscribers.clear();
+    }
+
+    private static Mono<Jwt> token() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .mapNotNull(Authentication::getCredentials)
+                .ofType(Jwt.class)
+                .switchIfEmpty(Mono.error(new McpError(new JSONRPCError(
+                        INVALID_REQUEST,
+                        "Authentication required to subscribe to resources",
+                        null))));
+    }
+
+    /// Subscriptions of one session and the change stream of its user.
+    private final class Subscriber {
+
+        private final Session session;
+
+        private final Set<Long> loadIds = ConcurrentHashMap.newKeySet();
+
+        private Disposable feed;
+
+        private Instant expiresAt = Instant.MIN;
+
+        Subscriber(Session session) {
+            this.session = session;
+        }
+
+        List<Long> loadIds() {
+            return List.copyOf(new TreeSet<>(loadIds));
+        }
+
+        /// Opens the change stream, or reopens it if the token expires later than the one
+        /// authorizing it.
+        ///
+        /// @param context        the subscribing request's context, which authorizes the stream
+        /// @param tokenExpiresAt when the subscribing request's token expires, or null if never
+        synchronized void start(ContextView context, Instant tokenExpiresAt) {
+            var now = Instant.now();
+            var tokenExpiresFirst = tokenExpiresAt != null && tokenExpiresAt.isBefore(now.plus(timeToLive));
+            var end = tokenExpiresFirst ? tokenExpiresAt : now.plus(timeToLive);
+            if (feed != null && !feed.isDisposed()) {
+                if (!end.isAfter(expiresAt)) {
+                    return;
+                }
+                log.info("Reopening load change stream of session {} with a renewed token", session.id());
+                feed.dispose();
+            } else {
+                log.info("Opening load change stream of session {}", session.id());
+            }
+            expiresAt = end;
+            var current = new AtomicReference<Disposable>();
+            feed = loadsService.getLoadChanges()
+                    .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)).filter(e -> !(e instanceof McpError)))
+                    .take(Duration.between(now, end))
+                    .filter(change -> loadIds.contains(change.id()))
+                    .concatMap(this::notify)
+                    .contextWrite(context)
+                    .subscribe(null,
+                            e -> end(current.get(), "the load change stream failed: " + e.getMessage()),
+                            () -> end(current.get(), Instant.now().isBefore(end) ? "the load change stream closed"
+                                    : tokenExpiresFirst ? "the token authorizing them expired"
+                                    : "their time to live elapsed"));
+            current.set(feed);
+        }
+
+        synchronized void stop() {
+            if (feed != null) {
+                feed.dispose();
+            }
+        }
+
+        private Mono<Void> notify(LoadChangeDto change) {
+            if (change.type() == LoadChangeDto.Type.DELETED) {
+                loadIds.remove(change.id());
+            }
+            log.debug("Load {} {}, notifying session {}", change.id(), change.type(), session.id());
+            return session.sendNotification(METHOD_NOTIFICATION_RESOURCES_UPDATED,
+                    new ResourcesUpdatedNotification(uri(change.id())));
+        }
+
+        /// Drops the session's subscriptions once their stream ends, unless it was replaced by a
+        /// stream with a renewed token, and tells the client to subscribe again.
+        private void end(Disposable ended, String reason) {
+            synchronized (this) {
+                if (ended != null && ended != feed) {
+                    return;
+                }
+            }
+            if (!subscribers.remove(session.id(), this)) {
+                return;
+            }
+            log.info("Load change stream of session {} closed: {}", session.id(), reason);
+            var message = "Subscriptions to %s ended because %s; subscribe again to keep receiving updates"
+                    .formatted(loadIds().stream().map(LoadResourceSubscriptions::uri).collect(joining(", ")), reason);
+            session.sendNotification(METHOD_NOTIFICATION_MESSAGE,
+                    new LoggingMessageNotification(LoggingLevel.WARNING, "load-subscriptions", message))
+                    .subscribe(null, e -> log.warn("Failed to notify session {} of ended subscriptions: {}",
+                            session.id(), e.getMessage()));
+        }
+    }
+}
@@ -1,18 +1,17 @@
 package ca.zhoozhoo.loaddev.mcp.provider;
 
-import static ca.zhoozhoo.loaddev.mcp.provider.PreSerializationUtils.serialize;
 import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_PARAMS;
 
+import java.util.List;
+
 import org.springframework.ai.mcp.annotation.McpTool;
 import org.springframework.ai.mcp.annotation.McpToolParam;
 import org.springframework.ai.model.tool.internal.ToolCallReactiveContextHolder;
 import org.springframework.stereotype.Component;
 
-import ca.zhoozhoo.loaddev.mcp.dto.LoadDetails;
+import ca.zhoozhoo.loaddev.mcp.cache.CachedToolResult;
 import ca.zhoozhoo.loaddev.mcp.service.LoadsService;
-import ca.zhoozhoo.loaddev.mcp.service.RiflesService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
 import lombok.extern.log4j.Log4j2;
@@ -22,46 +21,61 @@ import reactor.core.publisher.Mono;
 ///
 /// Provides tools for retrieving and searching loads in the system.
 /// All operations use reactive programming for efficient execution.
+/// List results are streamed into one JSON array by [JsonArrayWriter], which summarizes
+/// results that exceed its item cap.
+/// Every tool takes an optional `format` parameter selecting the [ToolResultFormat].
+/// Results are cached per user for a short time, see [CachedToolResult].
+///
+/// The batch tools `getLoadsByIds` and `getLoadDetailsBatch` let agents analyze several
+/// loads in one tool call instead of one call per load.
+///
+/// Load details are assembled by a [LoadDetailsSource], reactively by default or on
+/// virtual threads (see `loaddev.mcp.tool-execution.mode`).
 @Component
 @Log4j2
 public class LoadsToolProvider {
 
+    /// Maximum number of distinct load IDs accepted by the batch tools.
+    static final int MAX_BATCH_SIZE = 100;
+
+    /// Maximum number of statistics requests in flight for one batch.
+    static final int BATCH_CONCURRENCY = 4;
+
     private final LoadsService loadsService;
-    private final RiflesService riflesService;
-    private final McpJsonMapper mcpJsonMapper;
+    private final LoadDetailsSource loadDetailsSource;
+    private final ToolResultFormatter toolResultFormatter;
+    private final JsonArrayWriter jsonArrayWriter;
 
     @SuppressFBWarnings("EI_EXPOSE_REP2")
-    public LoadsToolProvider(LoadsService loadsService, RiflesService riflesService, McpJsonMapper mcpJsonMapper) {
+    public LoadsToolProvider(LoadsService loadsService, LoadDetailsSource loadDetailsSource,
+            ToolResultFormatter toolResultFormatter, JsonArrayWriter jsonArrayWriter) {
         this.loadsService = loadsService;
-        this.riflesService = riflesService;
-        this.mcpJsonMapper = mcpJsonMapper;
+        this.loadDetailsSource = loadDetailsSource;
+        this.toolResultFormatter = toolResultFormatter;
+        this.jsonArrayWriter = jsonArrayWriter;
     }
 
     /// Retrieves all loads accessible to the current user.
     ///
-    /// Streams loads as they become available for better performance with reactive execution.
+    /// Streams loads as they become available into a single JSON array, see [JsonArrayWriter].
     /// Authentication is automatically propagated from the security context.
     ///
-    /// @return Flux stream of LoadDto objects
+    /// @param format the result format, see [ToolResultFormat] (optional, default json)
+    /// @return Mono emitting a JSON array of LoadDto, or a summary if there are too many loads
     /// @throws McpError with INTERNAL_ERROR if service discovery fails
     /// @throws McpError with INVALID_REQUEST if authentication fails
+    @CachedToolResult
     @McpTool(description = "Retrieve all available loads in the system", name = "getLoads")
-    public Mono<String> getLoads() {
+    public Mono<String> getLoads(
+            @McpToolParam(description = ToolResultFormat.DESCRIPTION, required = false) String format) {
         log.debug("=== LoadsToolProvider.getLoads() called ===");
         log.debug("ToolCallReactiveContextHolder.getContext(): {}", ToolCallReactiveContextHolder.getContext());
 
-        // Serialize each LoadDto to JSON then aggregate to a JSON array string to minimize framework-side serialization
-        return ToolReactiveContext.applyTo(
-            loadsService.getLoads()
-                .map(load -> serialize(mcpJsonMapper, load, "load", load.id()))
-                .collectList()
-                .map(list -> {
-                    var arrayJson = "[" + String.join(",", list) + "]";
-                    log.debug("Returning JSON array for loads: {}", arrayJson);
-                    return arrayJson;
-                })
+        // Pre-serialize to a JSON array string to minimize framework-side serialization
+        return ToolResultFormatter.withFormat(format, resultFormat -> ToolReactiveContext.applyTo(
+            jsonArrayWriter.write(loadsService.getLoads(), "loads", resultFormat)
                 .doOnError(e -> log.error("Error retrieving loads: {}", e.getMessage(), e))
-        );
+        ));
     }
 
      /// Retrieves a specific load by its unique identifier.
@@ -69,14 +83,17 @@ public class LoadsToolProvider {
      /// Returns detailed information about a single load including all its properties.
      /// Authentication is automatically propagated from the security context.
      ///
-     /// @param id the unique identifier of the load to retrieve (must be positive)
+     /// @param id     the unique identifier of the load to retrieve (must be positive)
+     /// @param format the result format, see [ToolResultFormat] (optional, default json)
      /// @return Mono emitting the requested LoadDto
      /// @throws McpError with INTERNAL_ERROR if service discovery fails
      /// @throws McpError with INVALID_REQUEST if authentication fails
      /// @throws McpError with INVALID_PARAMS if id is null, non-positive, or load not found
+    @CachedToolResult
     @McpTool(description = "Find a specific load by its unique identifier", name = "getLoad", annotations = @McpTool.McpAnnotations(title = "Get Load by ID", readOnlyHint = true, destructiveHint = false, idempotentHint = true))
     public Mono<String> getLoadById(
-            @McpToolParam(description = "Numeric ID of the load to retrieve", required = true) Long id) {
+            @McpToolParam(description = "Numeric ID of the load to retrieve", required = true) Long id,
+            @McpToolParam(description = ToolResultFormat.DESCRIPTION, required = false) String format) {
         log.debug("=== LoadsToolProvider.getLoadById({}) called ===", id);
         log.debug("ToolCallReactiveContextHolder.getContext(): {}", ToolCallReactiveContextHolder.getContext());
 
@@ -88,33 +105,36 @@ public class LoadsToolProvider {
                     null)));
         }
 
-        return ToolReactiveContext.applyTo(
+        return ToolResultFormatter.withFormat(format, resultFormat -> ToolReactiveContext.applyTo(
             loadsService.getLoadById(id)
                 .map(load -> {
                     log.debug("Successfully retrieved load: {}", load);
-                    return serialize(mcpJsonMapper, load, "load", id);
+                    return toolResultFormatter.format(load, resultFormat, "load", id);
                 })
                 .doOnError(e -> log.error("Error retrieving load {}: {}", id, e.getMessage(), e))
-        );
+        ));
     }
 
     /// Retrieves comprehensive details for a specific load.
     ///
-    /// Uses optimized parallel fetching with Mono.zip() to retrieve load, rifle, and statistics
-    /// concurrently. This is inspired by Structured Concurrency (JEP 480) principles,
-    /// ensuring all subtasks complete successfully or fail together with proper error handling.
+    /// Makes two downstream calls: the load and its group statistics are assembled by
+    /// loads-service in one request to `/v1/loads/{id}/details`, then the load's rifle is
+    /// fetched from rifles-service. Either failure fails the whole operation.
     ///
     /// Authentication is automatically propagated from the security context to all
     /// downstream service calls.
     ///
-    /// @param id the unique identifier of the load (must be positive)
+    /// @param id     the unique identifier of the load (must be positive)
+    /// @param format the result format, see [ToolResultFormat] (optional, default json)
     /// @return Mono emitting LoadDetails containing load, rifle, and statistics data
     /// @throws McpError with INTERNAL_ERROR if service discovery fails
     /// @throws McpError with INVALID_REQUEST if authentication fails
     /// @throws McpError with INVALID_PARAMS if id is null, non-positive, or load/rifle not found
+    @CachedToolResult
     @McpTool(description = "Get detailed information for a specific load", name = "getLoadDetails")
     public Mono<String> getLoadDetailsById(
-        @McpToolParam(description = "Numeric ID of the load", required = true) Long id) {
+        @McpToolParam(description = "Numeric ID of the load", required = true) Long id,
+        @McpToolParam(description = ToolResultFormat.DESCRIPTION, required = false) String format) {
             log.debug("Retrieving detailed information for load ID: {}", id);
 
             if (id == null || id <= 0) {
@@ -124,34 +144,94 @@ public class LoadsToolProvider {
                         null)));
             }
 
-            // First fetch the load to get the rifle ID
-            return ToolReactiveContext.applyTo(
-                loadsService.getLoadById(id)
-                    .doOnSuccess(l -> log.debug("Retrieved load: {}", l))
-                    .doOnError(e -> log.error("Error retrieving load {}: {}", id, e.getMessage()))
-            ).flatMap(load -> {
-                // Now fetch rifle and statistics in parallel (Structured Concurrency pattern)
-                // Both operations must complete successfully, or the whole operation fails
-                var rifleMono = ToolReactiveContext.applyTo(
-                    riflesService.getRifleById(load.rifleId())
-                        .doOnSuccess(r -> log.debug("Retrieved rifle: {}", r))
-                        .doOnError(e -> log.error("Error retrieving rifle for load {}: {}", id, e.getMessage()))
-                );
-                
-                var groupsMono = ToolReactiveContext.applyTo(
-                    loadsService.getGroupsByLoadId(id)
-                        .collectList()
-                        .doOnSuccess(stats -> log.debug("Retrieved {} statistics for load {}", stats.size(), id))
-                        .doOnError(e -> log.error("Error retrieving statistics for load {}: {}", id, e.getMessage()))
-                );
-                
-                // Parallel execution with structured error handling
-                return Mono.zip(rifleMono, groupsMono)
-                    .map(tuple -> new LoadDetails(load, tuple.getT1(), tuple.getT2()))
+            // Load and statistics in one call, then the rifle the load references
+            return ToolResultFormatter.withFormat(format, resultFormat -> ToolReactiveContext.applyTo(
+                loadDetailsSource.getLoadDetails(id)
                     .map(details -> {
                         log.debug("Successfully assembled LoadDetails for load {}", id);
-                        return serialize(mcpJsonMapper, details, "loadDetails", id);
-                    });
-            });
+                        return toolResultFormatter.format(details, resultFormat, "loadDetails", id);
+                    })
+            ));
+    }
+
+    /// Retrieves several loads by their unique identifiers in one call.
+    ///
+    /// Duplicate IDs are ignored and all loads are fetched with a single request to the
+    /// loads-service bulk endpoint. IDs that do not exist or are not accessible to the user
+    /// are skipped.
+    ///
+    /// @param ids    the unique identifiers of the loads (positive, at most 100 distinct)
+    /// @param format the result format, see [ToolResultFormat] (optional, default json)
+    /// @return Mono emitting a JSON array of LoadDto ordered by ID, see [JsonArrayWriter]
+    /// @throws McpError with INTERNAL_ERROR if no loads-service instance is available
+    /// @throws McpError with INVALID_REQUEST if authentication fails
+    /// @throws McpError with INVALID_PARAMS if ids is empty, too long, or contains non-positive values
+    @CachedToolResult
+    @McpTool(description = "Find several loads by their unique identifiers in one call; unknown IDs are skipped", name = "getLoadsByIds", annotations = @McpTool.McpAnnotations(title = "Get Loads by IDs", readOnlyHint = true, destructiveHint = false, idempotentHint = true))
+    public Mono<String> getLoadsByIds(
+            @McpToolParam(description = "Numeric IDs of the loads to retrieve (at most 100)", required = true) List<Long> ids,
+            @McpToolParam(description = ToolResultFormat.DESCRIPTION, required = false) String format) {
+        log.debug("=== LoadsToolProvider.getLoadsByIds({}) called ===", ids);
+
+        var invalid = validateBatch(ids);
+        if (invalid != null) {
+            return Mono.error(invalid);
+        }
+
+        return ToolResultFormatter.withFormat(format, resultFormat -> ToolReactiveContext.applyTo(
+            jsonArrayWriter.write(loadsService.getLoadsByIds(ids.stream().distinct().toList()), "loads", resultFormat)
+                .doOnError(e -> log.error("Error retrieving loads {}: {}", ids, e.getMessage(), e))
+        ));
+    }
+
+    /// Retrieves comprehensive details for several loads in one call.
+    ///
+    /// Fetches all loads with one bulk request, then fetches their distinct rifles with one
+    /// bulk request to rifles-service while the group statistics of each load are fetched
+    /// with at most [#BATCH_CONCURRENCY] requests in flight. A rifle shared by several loads
+    /// is therefore fetched only once. IDs that do not exist or are not accessible to the
+    /// user are skipped.
+    ///
+    /// @param ids    the unique identifiers of the loads (positive, at most 100 distinct)
+    /// @param format the result format, see [ToolResultFormat] (optional, default json)
+    /// @return Mono emitting a JSON array of LoadDetails ordered by load ID, see [JsonArrayWriter]
+    /// @throws McpError with INTERNAL_ERROR if no loads-service or rifles-service instance is available
+    /// @throws McpError with INVALID_REQUEST if authentication fails
+    /// @throws McpError with INVALID_PARAMS if ids is empty, too long, or contains non-positive values
+    @CachedToolResult
+    @McpTool(description = "Get detailed information (load, rifle and group statistics) for several loads in one call; unknown IDs are skipped", name = "getLoadDetailsBatch", annotations = @McpTool.McpAnnotations(title = "Get Load Details for several loads", readOnlyHint = true, destructiveHint = false, idempotentHint = true))
+    public Mono<String> getLoadDetailsBatch(
+            @McpToolParam(description = "Numeric IDs of the loads (at most 100)", required = true) List<Long> ids,
+            @McpToolParam(description = ToolResultFormat.DESCRIPTION, required = false) String format) {
+        log.debug("Retrieving detailed information for load IDs: {}", ids);
+
+        var invalid = validateBatch(ids);
+        if (invalid != null) {
+            return Mono.error(invalid);
+        }
+
+        return ToolResultFormatter.withFormat(format, resultFormat -> ToolReactiveContext.applyTo(
+            jsonArrayWriter.write(loadDetailsSource.getLoadDetails(ids.stream().distinct().toList()), "loadDetails",
+                    resultFormat)
+                .doOnError(e -> log.error("Error retrieving load details {}: {}", ids, e.getMessage(), e))
+        ));
+    }
+
+    /// Returns the error for an invalid batch of load IDs, or null if the batch is valid.
+    private static McpError validateBatch(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(id -> id == null || id <= 0)) {
+            log.error("Invalid load IDs: {}", ids);
+            return new McpError(new JSONRPCError(
+                    INVALID_PARAMS,
+                    "Load IDs must be a non-empty list of positive numbers",
+                    null));
+        }
+        if (ids.stream().distinct().count() > MAX_BATCH_SIZE) {
+            return new McpError(new JSONRPCError(
+                    INVALID_PARAMS,
+                    "At most %d load IDs can be requested at once".formatted(MAX_BATCH_SIZE),
+                    null));
+        }
+        return null;
     }
 }
@@ -0,0 +1,94 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static ca.zhoozhoo.loaddev.mcp.provider.LoadsToolProvider.BATCH_CONCURRENCY;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import ca.zhoozhoo.loaddev.mcp.dto.GroupDto;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDetails;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDto;
+import ca.zhoozhoo.loaddev.mcp.dto.RifleDto;
+import ca.zhoozhoo.loaddev.mcp.service.LoadsService;
+import ca.zhoozhoo.loaddev.mcp.service.RiflesService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Assembles load details with non-blocking WebClient pipelines.
+///
+/// Callers apply the tool's reactive context, see [ToolReactiveContext].
+///
+/// @author Zhubin Salehi
+/// @see VirtualThreadLoadDetailsSource
+@Component
+@ConditionalOnProperty(name = "loaddev.mcp.tool-execution.mode", havingValue = "reactive", matchIfMissing = true)
+@Log4j2
+public class ReactiveLoadDetailsSource implements LoadDetailsSource {
+
+    private final LoadsService loadsService;
+    private final RiflesService riflesService;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ReactiveLoadDetailsSource(LoadsService loadsService, RiflesService riflesService) {
+        this.loadsService = loadsService;
+        this.riflesService = riflesService;
+    }
+
+    /// Fetches the load and its statistics in one call to loads-service, then the rifle the
+    /// load references.
+    @Override
+    public Mono<LoadDetails> getLoadDetails(Long id) {
+        return loadsService.getLoadDetails(id)
+                .doOnSuccess(d -> log.debug("Retrieved load with {} statistics", d != null ? d.groups().size() : 0))
+                .doOnError(e -> log.error("Error retrieving load details {}: {}", id, e.getMessage()))
+                .flatMap(details -> {
+                    if (details.load().rifleId() == null) {
+                        return Mono.just(details);
+                    }
+                    return riflesService.getRifleById(details.load().rifleId())
+                            .doOnSuccess(r -> log.debug("Retrieved rifle: {}", r))
+                            .doOnError(e -> log.error("Error retrieving rifle for load {}: {}", id, e.getMessage()))
+                            .map(rifle -> new LoadDetails(details.load(), rifle, details.groups()));
+                });
+    }
+
+    /// Fetches all loads with one bulk request, then their distinct rifles with one bulk
+    /// request while the group statistics of each load are fetched with at most
+    /// [LoadsToolProvider#BATCH_CONCURRENCY] requests in flight.
+    @Override
+    public Flux<LoadDetails> getLoadDetails(List<Long> ids) {
+        return loadsService.getLoadsByIds(ids)
+                .collectList()
+                .flatMapMany(loads -> {
+                    var rifleIds = loads.stream().map(LoadDto::rifleId).filter(Objects::nonNull).distinct().toList();
+
+                    var riflesMono = riflesService.getRiflesByIds(rifleIds)
+                            .collectMap(RifleDto::id)
+                            .doOnSuccess(rifles -> log.debug("Retrieved {} rifles for {} loads", rifles.size(), loads.size()));
+
+                    var groupsMono = Flux.fromIterable(loads)
+                            .flatMapSequential(load -> loadsService.getGroupsByLoadId(load.id()).collectList(), BATCH_CONCURRENCY)
+                            .collectList();
+
+                    return Mono.zip(riflesMono, groupsMono)
+                            .flatMapMany(tuple -> Flux.fromIterable(details(loads, tuple.getT1(), tuple.getT2())));
+                });
+    }
+
+    /// Combines loads with their rifles and groups; `groups` is in the order of `loads`.
+    static List<LoadDetails> details(List<LoadDto> loads, Map<Long, RifleDto> rifles, List<List<GroupDto>> groups) {
+        return IntStream.range(0, loads.size())
+                .mapToObj(i -> {
+                    var load = loads.get(i);
+                    return new LoadDetails(load, load.rifleId() != null ? rifles.get(load.rifleId()) : null, groups.get(i));
+                })
+                .toList();
+    }
+}
@@ -1,15 +1,14 @@
 package ca.zhoozhoo.loaddev.mcp.provider;
 
-import static ca.zhoozhoo.loaddev.mcp.provider.PreSerializationUtils.serialize;
 import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_PARAMS;
 
 import org.springframework.ai.mcp.annotation.McpTool;
 import org.springframework.ai.mcp.annotation.McpToolParam;
 import org.springframework.stereotype.Component;
 
+import ca.zhoozhoo.loaddev.mcp.cache.CachedToolResult;
 import ca.zhoozhoo.loaddev.mcp.service.RiflesService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
 import lombok.extern.log4j.Log4j2;
@@ -19,40 +18,42 @@ import reactor.core.publisher.Mono;
 ///
 /// Provides tools for searching and retrieving rifle information.
 /// All operations use reactive programming for efficient execution.
+/// Every tool takes an optional `format` parameter selecting the [ToolResultFormat].
+/// Results are cached per user for a short time, see [CachedToolResult].
 @Component
 @Log4j2
 public class RiflesToolProvider {
 
     private final RiflesService riflesService;
-    private final McpJsonMapper mcpJsonMapper;
+    private final ToolResultFormatter toolResultFormatter;
+    private final JsonArrayWriter jsonArrayWriter;
 
     @SuppressFBWarnings("EI_EXPOSE_REP2")
-    public RiflesToolProvider(RiflesService riflesService, McpJsonMapper mcpJsonMapper) {
+    public RiflesToolProvider(RiflesService riflesService, ToolResultFormatter toolResultFormatter,
+            JsonArrayWriter jsonArrayWriter) {
         this.riflesService = riflesService;
-        this.mcpJsonMapper = mcpJsonMapper;
+        this.toolResultFormatter = toolResultFormatter;
+        this.jsonArrayWriter = jsonArrayWriter;
     }
 
     /// Retrieve all rifles accessible to the current user.
     ///
     /// Returns a JSON array string containing serialized RifleDto objects with
-    /// properly formatted JSR-385 Quantity fields. Uses PreSerializationUtils
-    /// to ensure consistent serialization with QuantityModule.
+    /// properly formatted JSR-385 Quantity fields. Rifles are streamed into the
+    /// array by [JsonArrayWriter], which summarizes results that exceed its item cap.
     ///
-    /// @return Mono emitting JSON array string of rifles
+    /// @param format the result format, see [ToolResultFormat] (optional, default json)
+    /// @return Mono emitting JSON array string of rifles, or a summary if there are too many rifles
+    @CachedToolResult
     @McpTool(description = "Retrieve all available rifles in the system", name = "getRifles")
-    public Mono<String> getRifles() {
+    public Mono<String> getRifles(
+        @McpToolParam(description = ToolResultFormat.DESCRIPTION, required = false) String format) {
         log.debug("RiflesToolProvider.getRifles() invoked");
 
-        return ToolReactiveContext.applyTo(
-            riflesService.getRifles()
-                .map(rifle -> serialize(mcpJsonMapper, rifle, "rifle", rifle.id()))
-                .collectList()
-                .map(list -> {
-                    log.debug("Returning JSON array for rifles: {}", list);
-                    return "[" + String.join(",", list) + "]";
-                })
+        return ToolResultFormatter.withFormat(format, resultFormat -> ToolReactiveContext.applyTo(
+            jsonArrayWriter.write(riflesService.getRifles(), "rifles", resultFormat)
                 .doOnError(e -> log.error("Error retrieving rifles: {}", e.getMessage(), e))
-        );
+        ));
     }
 
     /// Retrieve a specific rifle by ID.
@@ -61,11 +62,14 @@ public class RiflesToolProvider {
     /// formatted JSR-385 Quantity fields. Uses PreSerializationUtils to ensure
     /// consistent serialization with QuantityModule.
     ///
-    /// @param id numeric rifle identifier (must be positive)
+    /// @param id     numeric rifle identifier (must be positive)
+    /// @param format the result format, see [ToolResultFormat] (optional, default json)
     /// @return Mono emitting JSON string of rifle
+    @CachedToolResult
     @McpTool(description = "Find a specific rifle by its unique identifier", name = "getRifleById")
     public Mono<String> getRifleById(
-        @McpToolParam(description = "Numeric ID of the rifle to retrieve", required = true) Long id) {
+        @McpToolParam(description = "Numeric ID of the rifle to retrieve", required = true) Long id,
+        @McpToolParam(description = ToolResultFormat.DESCRIPTION, required = false) String format) {
         log.debug("RiflesToolProvider.getRifleById({}) invoked", id);
 
         if (id == null || id <= 0) {
@@ -76,13 +80,13 @@ public class RiflesToolProvider {
                 null)));
         }
 
-        return ToolReactiveContext.applyTo(
+        return ToolResultFormatter.withFormat(format, resultFormat -> ToolReactiveContext.applyTo(
             riflesService.getRifleById(id)
                 .map(rifle -> {
                     log.debug("Successfully retrieved rifle: {}", rifle);
-                    return serialize(mcpJsonMapper, rifle, "rifle", id);
+                    return toolResultFormatter.format(rifle, resultFormat, "rifle", id);
                 })
                 .doOnError(e -> log.error("Error retrieving rifle {}: {}", id, e.getMessage(), e))
-        );
+        ));
     }
 }
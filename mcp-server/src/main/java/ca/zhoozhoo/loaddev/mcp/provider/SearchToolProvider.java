@@ -0,0 +1,152 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_PARAMS;
+import static java.util.Comparator.comparingDouble;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import org.springframework.ai.mcp.annotation.McpTool;
+import org.springframework.ai.mcp.annotation.McpToolParam;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import ca.zhoozhoo.loaddev.mcp.cache.CachedToolResult;
+import ca.zhoozhoo.loaddev.mcp.dto.SearchHit;
+import ca.zhoozhoo.loaddev.mcp.service.ComponentsService;
+import ca.zhoozhoo.loaddev.mcp.service.LoadsService;
+import ca.zhoozhoo.loaddev.mcp.service.RiflesService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// MCP tool provider searching loads, rifles and components in one call.
+///
+/// The query is sent in parallel to the full-text search endpoints of loads-service,
+/// rifles-service and every component collection of components-service. Each of these legs
+/// returns its matches in rank order, but the `ts_rank` values behind that order depend on
+/// the table and its text weights and are not returned, so hits are scored by position
+/// instead: the n-th hit of a leg scores `1 / n`. The merged hits are sorted by score, ties
+/// keeping the order of [#TYPES], and the best `limit` are returned.
+///
+/// Each leg must complete within `loaddev.mcp.search.leg-timeout` (default 2s). A leg that
+/// fails or times out is logged and left out, so one slow or unavailable service returns
+/// partial results instead of failing the search.
+///
+/// @author Zhubin Salehi
+@Component
+@Log4j2
+public class SearchToolProvider {
+
+    /// Searchable result types, in tie-break order.
+    static final List<String> TYPES = List.of("loads", "rifles", "projectiles", "propellants", "primers", "cases");
+
+    static final int DEFAULT_LIMIT = 10;
+
+    static final int MAX_LIMIT = 50;
+
+    private final LoadsService loadsService;
+    private final RiflesService riflesService;
+    private final ComponentsService componentsService;
+    private final JsonArrayWriter jsonArrayWriter;
+    private final Duration legTimeout;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public SearchToolProvider(LoadsService loadsService, RiflesService riflesService,
+            ComponentsService componentsService, JsonArrayWriter jsonArrayWriter,
+            @Value("${loaddev.mcp.search.leg-timeout:2s}") Duration legTimeout) {
+        this.loadsService = loadsService;
+        this.riflesService = riflesService;
+        this.componentsService = componentsService;
+        this.jsonArrayWriter = jsonArrayWriter;
+        this.legTimeout = legTimeout;
+    }
+
+    /// Search loads, rifles and components by keywords.
+    ///
+    /// Returns a JSON array of [SearchHit] objects, best matches first.
+    ///
+    /// @param query  the keywords to search for
+    /// @param types  the result types to search (optional, default all of [#TYPES])
+    /// @param limit  the maximum number of hits (optional, default 10, at most 50)
+    /// @param format the result format, see [ToolResultFormat] (optional, default json)
+    /// @return Mono emitting JSON array string of search hits
+    @CachedToolResult
+    @McpTool(description = "Search loads, rifles and components (projectiles, propellants, primers, cases) by keywords",
+            name = "search")
+    public Mono<String> search(
+            @McpToolParam(description = "Keywords to search for, e.g. 'hornady 140 eld'", required = true) String query,
+            @McpToolParam(description = "Result types to search: loads, rifles, projectiles, propellants, primers, cases (default all)",
+                    required = false) List<String> types,
+            @McpToolParam(description = "Maximum number of results (default 10, at most 50)", required = false) Integer limit,
+            @McpToolParam(description = ToolResultFormat.DESCRIPTION, required = false) String format) {
+        log.debug("SearchToolProvider.search({}, {}, {}) invoked", query, types, limit);
+
+        if (query == null || query.isBlank()) {
+            return Mono.error(new McpError(new JSONRPCError(
+                    INVALID_PARAMS,
+                    "Search query must not be blank",
+                    null)));
+        }
+        if (limit != null && (limit <= 0 || limit > MAX_LIMIT)) {
+            return Mono.error(new McpError(new JSONRPCError(
+                    INVALID_PARAMS,
+                    "Limit must be between 1 and %d".formatted(MAX_LIMIT),
+                    null)));
+        }
+        var selected = types == null || types.isEmpty() ? TYPES : types;
+        var unknown = selected.stream().filter(type -> !TYPES.contains(type)).toList();
+        if (!unknown.isEmpty()) {
+            return Mono.error(new McpError(new JSONRPCError(
+                    INVALID_PARAMS,
+                    "Unknown result types %s, expected %s".formatted(unknown, String.join(", ", TYPES)),
+                    null)));
+        }
+
+        var maxHits = limit != null ? limit : DEFAULT_LIMIT;
+        return ToolResultFormatter.withFormat(format, resultFormat -> {
+            // Legs are subscribed eagerly; sorting is stable, so ties keep the order of TYPES
+            var legs = TYPES.stream().filter(selected::contains).map(type -> leg(type, query.strip(), maxHits)).toList();
+            var hits = Flux.mergeSequential(legs)
+                    .sort(comparingDouble(SearchHit::score).reversed())
+                    .take(maxHits);
+
+            return ToolReactiveContext.applyTo(
+                jsonArrayWriter.write(hits, "searchResults", resultFormat)
+                    .doOnError(e -> log.error("Error searching for '{}': {}", query, e.getMessage(), e))
+            );
+        });
+    }
+
+    /// Runs the search against one result type, scoring hits by their position.
+    private Flux<SearchHit> leg(String type, String query, int limit) {
+        Flux<?> results = switch (type) {
+            case "loads" -> loadsService.searchLoads(query, limit);
+            case "rifles" -> riflesService.searchRifles(query, limit);
+            default -> componentsService.searchComponents(type, query, limit);
+        };
+
+        return results
+                .take(limit)
+                .collectList()
+                .timeout(legTimeout)
+                .flatMapIterable(items -> score(type, items))
+                .onErrorResume(e -> {
+                    log.warn("Search of {} for '{}' skipped: {}", type, query,
+                            e instanceof TimeoutException ? "timed out after " + legTimeout : e.getMessage());
+                    return Flux.empty();
+                });
+    }
+
+    /// Scores the rank-ordered results of one type, the n-th result scoring `1 / n`.
+    static List<SearchHit> score(String type, List<?> items) {
+        return IntStream.range(0, items.size())
+                .mapToObj(i -> new SearchHit(type, 1.0 / (i + 1), items.get(i)))
+                .toList();
+    }
+}
@@ -0,0 +1,59 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_PARAMS;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
+
+/// Rendering of MCP tool results, selected per call with the tools' `format` parameter.
+///
+/// The compact and CSV formats are typically 3-5x smaller than JSON, which saves tokens
+/// and latency when the result is read by an LLM.
+///
+/// @author Zhubin Salehi
+/// @see ToolResultFormatter
+/// @see JsonArrayWriter
+public enum ToolResultFormat {
+
+    /// Full JSON with structured quantities (default).
+    JSON,
+
+    /// JSON with quantities as short strings, without nulls or per-shot velocities,
+    /// see [ca.zhoozhoo.loaddev.mcp.config.CompactJsonModule].
+    COMPACT,
+
+    /// CSV table with one row per item, columns from the compact format.
+    CSV;
+
+    /// Description of the tools' `format` parameter.
+    public static final String DESCRIPTION = "Output format: json (default), compact (quantities as short strings, no nulls or per-shot velocities) or csv (table)";
+
+    /// Returns the format with the given name, case-insensitive. Null or blank selects JSON.
+    ///
+    /// @param name the format name
+    /// @return the format, or empty if the name is not a format
+    public static Optional<ToolResultFormat> of(String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.of(JSON);
+        }
+        try {
+            return Optional.of(valueOf(name.strip().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException _) {
+            return Optional.empty();
+        }
+    }
+
+    /// Returns the error for an unsupported format name.
+    ///
+    /// @param name the format name
+    /// @return McpError with INVALID_PARAMS
+    public static McpError unsupported(String name) {
+        return new McpError(new JSONRPCError(
+                INVALID_PARAMS,
+                "Unsupported format '%s', expected json, compact or csv".formatted(name),
+                null));
+    }
+}
@@ -0,0 +1,74 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static ca.zhoozhoo.loaddev.mcp.provider.PreSerializationUtils.serialize;
+
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import ca.zhoozhoo.loaddev.mcp.config.CompactJsonModule;
+import ca.zhoozhoo.loaddev.mcp.config.SpringObjectMapperMcpJsonMapper;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+/// Serializes single-item tool results in the [ToolResultFormat] chosen by the caller.
+///
+/// List results are written by [JsonArrayWriter].
+///
+/// @author Zhubin Salehi
+@Component
+public class ToolResultFormatter {
+
+    private final McpJsonMapper mcpJsonMapper;
+
+    private final JsonMapper compactJsonMapper;
+
+    private final McpJsonMapper compactMcpJsonMapper;
+
+    /// Creates the formatter.
+    ///
+    /// @param mcpJsonMapper the MCP JSON mapper for the JSON format
+    /// @param jsonMapper    the Spring-managed JsonMapper with all modules
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ToolResultFormatter(McpJsonMapper mcpJsonMapper, JsonMapper jsonMapper) {
+        this.mcpJsonMapper = mcpJsonMapper;
+        this.compactJsonMapper = CompactJsonModule.compactMapper(jsonMapper);
+        this.compactMcpJsonMapper = new SpringObjectMapperMcpJsonMapper(compactJsonMapper);
+    }
+
+    /// Resolves the format named by a tool's `format` parameter and produces the tool result in it.
+    ///
+    /// The result is produced on the calling thread, so it can still capture the tool call's
+    /// reactive context with [ToolReactiveContext].
+    ///
+    /// @param <T>    the type of the result
+    /// @param name   the format name, see [ToolResultFormat#of(String)]
+    /// @param result produces the result in the resolved format
+    /// @return the result, or McpError with INVALID_PARAMS if the name is not a format
+    public static <T> Mono<T> withFormat(String name, Function<ToolResultFormat, Mono<T>> result) {
+        return ToolResultFormat.of(name)
+                .map(result)
+                .orElseGet(() -> Mono.error(ToolResultFormat.unsupported(name)));
+    }
+
+    /// Serializes a tool result.
+    ///
+    /// @param value       the result
+    /// @param format      the format
+    /// @param entityLabel human-readable entity label for logs (e.g., "load", "rifle")
+    /// @param id          optional identifier (may be null)
+    /// @return the serialized result
+    public String format(Object value, ToolResultFormat format, String entityLabel, Object id) {
+        return switch (format) {
+            case JSON -> serialize(mcpJsonMapper, value, entityLabel, id);
+            case COMPACT -> serialize(compactMcpJsonMapper, value, entityLabel, id);
+            case CSV -> {
+                var table = new CsvTable();
+                table.add(compactJsonMapper.valueToTree(value));
+                yield table.toString();
+            }
+        };
+    }
+}
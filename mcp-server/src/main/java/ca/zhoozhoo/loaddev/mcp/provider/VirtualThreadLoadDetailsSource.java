@@ -0,0 +1,126 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static ca.zhoozhoo.loaddev.mcp.provider.LoadsToolProvider.BATCH_CONCURRENCY;
+import static java.util.stream.Collectors.toMap;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import ca.zhoozhoo.loaddev.mcp.dto.GroupDto;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDetails;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDto;
+import ca.zhoozhoo.loaddev.mcp.dto.RifleDto;
+import ca.zhoozhoo.loaddev.mcp.execution.ToolCall;
+import ca.zhoozhoo.loaddev.mcp.execution.VirtualThreadToolExecutor;
+import ca.zhoozhoo.loaddev.mcp.service.BlockingLoadsService;
+import ca.zhoozhoo.loaddev.mcp.service.BlockingRiflesService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/// Assembles load details with blocking RestClient calls on virtual threads.
+///
+/// Each call runs on a virtual thread of the [VirtualThreadToolExecutor]. The batch
+/// variant runs the rifle lookup and the per-load statistics requests as subtasks on
+/// virtual threads of their own and waits for all of them; the first failure interrupts
+/// the others, which cancels their HTTP exchanges, and fails the call. At most [LoadsToolProvider#BATCH_CONCURRENCY] statistics
+/// requests are in flight. Subtasks are bound to the caller's [ToolCall] with
+/// [ToolCall#bind(Callable)].
+///
+/// Registered when `loaddev.mcp.tool-execution.mode=virtual-threads`.
+///
+/// @author Zhubin Salehi
+/// @see ReactiveLoadDetailsSource
+@Log4j2
+public class VirtualThreadLoadDetailsSource implements LoadDetailsSource {
+
+    private final BlockingLoadsService loadsService;
+    private final BlockingRiflesService riflesService;
+    private final VirtualThreadToolExecutor executor;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public VirtualThreadLoadDetailsSource(BlockingLoadsService loadsService, BlockingRiflesService riflesService,
+            VirtualThreadToolExecutor executor) {
+        this.loadsService = loadsService;
+        this.riflesService = riflesService;
+        this.executor = executor;
+    }
+
+    @Override
+    public Mono<LoadDetails> getLoadDetails(Long id) {
+        return executor.execute(() -> {
+            var details = loadsService.getLoadDetails(id);
+            log.debug("Retrieved load with {} statistics", details.groups().size());
+            if (details.load().rifleId() == null) {
+                return details;
+            }
+            return new LoadDetails(details.load(), riflesService.getRifleById(details.load().rifleId()), details.groups());
+        });
+    }
+
+    @Override
+    public Flux<LoadDetails> getLoadDetails(List<Long> ids) {
+        return executor.execute(() -> {
+            var loads = loadsService.getLoadsByIds(ids);
+            var rifleIds = loads.stream().map(LoadDto::rifleId).filter(Objects::nonNull).distinct().toList();
+            var permits = new Semaphore(BATCH_CONCURRENCY);
+
+            var call = ToolCall.current();
+            var failure = new CompletableFuture<Void>();
+
+            try (var subtasks = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("mcp-tool-subtask-", 0).factory())) {
+                try {
+                    var rifles = fork(subtasks, failure, call.bind(() -> riflesService.getRiflesByIds(rifleIds)));
+                    List<CompletableFuture<List<GroupDto>>> groups = loads.stream()
+                            .map(load -> fork(subtasks, failure, call.bind(() -> {
+                                permits.acquire();
+                                try {
+                                    return loadsService.getGroupsByLoadId(load.id());
+                                } finally {
+                                    permits.release();
+                                }
+                            })))
+                            .toList();
+
+                    var all = Stream.concat(Stream.of(rifles), groups.stream()).toArray(CompletableFuture[]::new);
+                    CompletableFuture.anyOf(failure, CompletableFuture.allOf(all)).get();
+
+                    var riflesById = rifles.join().stream()
+                            .collect(toMap(RifleDto::id, Function.identity(), (a, _) -> a));
+                    log.debug("Retrieved {} rifles for {} loads", riflesById.size(), loads.size());
+                    return ReactiveLoadDetailsSource.details(loads, riflesById,
+                            groups.stream().map(CompletableFuture::join).toList());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                } finally {
+                    subtasks.shutdownNow();
+                }
+            }
+        }).flatMapMany(Flux::fromIterable);
+    }
+
+    /// Runs a subtask, completing `failure` with its exception if it fails so that the
+    /// caller stops waiting for the other subtasks.
+    private static <T> CompletableFuture<T> fork(Executor executor, CompletableFuture<?> failure, Callable<T> task) {
+        var future = new CompletableFuture<T>();
+        executor.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+                failure.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,125 @@
+package ca.zhoozhoo.loaddev.mcp.service;
+
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INTERNAL_ERROR;
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_PARAMS;
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_REQUEST;
+import static java.util.stream.Collectors.joining;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import ca.zhoozhoo.loaddev.mcp.config.ServiceHttpClients;
+import ca.zhoozhoo.loaddev.mcp.dto.GroupDto;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDetails;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDto;
+import ca.zhoozhoo.loaddev.mcp.execution.ToolCall;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
+import lombok.extern.log4j.Log4j2;
+
+/// Blocking client of the loads microservice, for tools running on virtual threads.
+///
+/// Mirrors the calls of [LoadsService] with a [RestClient]; the caller's JWT is taken
+/// from the [ToolCall] bound to the current thread. Errors are mapped to the same
+/// [McpError]s as in [LoadsService].
+///
+/// @author Zhubin Salehi
+/// @see ca.zhoozhoo.loaddev.mcp.execution.VirtualThreadToolExecutor
+@Log4j2
+public class BlockingLoadsService {
+
+    private final RestClient restClient;
+    private final String loadsServiceName;
+
+    /// Creates the service with a client bound to `http://{service-name}`.
+    ///
+    /// @param restClientBuilder  the load-balanced RestClient builder
+    /// @param serviceHttpClients the per-service timeouts
+    /// @param loadsServiceName   the service id of the loads-service in discovery
+    public BlockingLoadsService(RestClient.Builder restClientBuilder, ServiceHttpClients serviceHttpClients,
+            String loadsServiceName) {
+        this.restClient = serviceHttpClients.configure(restClientBuilder.clone(), loadsServiceName)
+                .baseUrl("http://%s".formatted(loadsServiceName))
+                .build();
+        this.loadsServiceName = loadsServiceName;
+    }
+
+    /// Retrieves a load and the statistics of all its groups from `GET /v1/loads/{id}/details`.
+    ///
+    /// @param id the unique identifier of the load
+    /// @return the LoadDetails without rifle
+    /// @throws McpError with INVALID_PARAMS if the load is not found (404 response)
+    public LoadDetails getLoadDetails(Long id) {
+        log.debug("BlockingLoadsService.getLoadDetails({}) called", id);
+        try {
+            return restClient.get()
+                    .uri("/v1/loads/{id}/details", id)
+                    .headers(h -> h.setBearerAuth(ToolCall.current().bearerToken()))
+                    .retrieve()
+                    .body(LoadDetails.class);
+        } catch (RestClientResponseException e) {
+            throw error(e, "Load not found with ID: %d".formatted(id));
+        }
+    }
+
+    /// Retrieves several loads from the bulk endpoint `GET /v1/loads?ids=`.
+    ///
+    /// @param ids the unique identifiers of the loads (at most 100)
+    /// @return the found loads, ordered by ID
+    public List<LoadDto> getLoadsByIds(Collection<Long> ids) {
+        log.debug("BlockingLoadsService.getLoadsByIds({}) called", ids);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        var joinedIds = ids.stream().map(String::valueOf).collect(joining(","));
+        try {
+            return restClient.get()
+                    .uri(builder -> builder.path("/v1/loads").queryParam("ids", joinedIds).build())
+                    .headers(h -> h.setBearerAuth(ToolCall.current().bearerToken()))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<LoadDto>>() {});
+        } catch (RestClientResponseException e) {
+            throw error(e, null);
+        }
+    }
+
+    /// Retrieves the group statistics of a load from `GET /v1/loads/{id}/statistics`.
+    ///
+    /// @param id the unique identifier of the load
+    /// @return the load's groups
+    /// @throws McpError with INVALID_PARAMS if the load is not found (404 response)
+    public List<GroupDto> getGroupsByLoadId(Long id) {
+        log.debug("BlockingLoadsService.getGroupsByLoadId({}) called", id);
+        try {
+            return restClient.get()
+                    .uri("/v1/loads/{id}/statistics", id)
+                    .headers(h -> h.setBearerAuth(ToolCall.current().bearerToken()))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<GroupDto>>() {});
+        } catch (RestClientResponseException e) {
+            throw error(e, "Load not found with ID: %d".formatted(id));
+        }
+    }
+
+    private RuntimeException error(RestClientResponseException e, String notFoundMessage) {
+        if (UNAUTHORIZED.equals(e.getStatusCode())) {
+            return new McpError(new JSONRPCError(INVALID_REQUEST, "Authentication failed", null));
+        }
+        if (SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+            return new McpError(new JSONRPCError(
+                    INTERNAL_ERROR, "Service %s unavailable".formatted(loadsServiceName), null));
+        }
+        if (NOT_FOUND.equals(e.getStatusCode()) && notFoundMessage != null) {
+            return new McpError(new JSONRPCError(INVALID_PARAMS, notFoundMessage, null));
+        }
+        return e;
+    }
+}
@@ -0,0 +1,98 @@
+package ca.zhoozhoo.loaddev.mcp.service;
+
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INTERNAL_ERROR;
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_REQUEST;
+import static java.util.stream.Collectors.joining;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import ca.zhoozhoo.loaddev.mcp.config.ServiceHttpClients;
+import ca.zhoozhoo.loaddev.mcp.dto.RifleDto;
+import ca.zhoozhoo.loaddev.mcp.execution.ToolCall;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
+import lombok.extern.log4j.Log4j2;
+
+/// Blocking client of the rifles microservice, for tools running on virtual threads.
+///
+/// Mirrors the calls of [RiflesService] with a [RestClient]; the caller's JWT is taken
+/// from the [ToolCall] bound to the current thread.
+///
+/// @author Zhubin Salehi
+/// @see ca.zhoozhoo.loaddev.mcp.execution.VirtualThreadToolExecutor
+@Log4j2
+public class BlockingRiflesService {
+
+    private final RestClient restClient;
+    private final String riflesServiceName;
+
+    /// Creates the service with a client bound to `http://{service-name}`.
+    ///
+    /// @param restClientBuilder  the load-balanced RestClient builder
+    /// @param serviceHttpClients the per-service timeouts
+    /// @param riflesServiceName  the service id of the rifles-service in discovery
+    public BlockingRiflesService(RestClient.Builder restClientBuilder, ServiceHttpClients serviceHttpClients,
+            String riflesServiceName) {
+        this.restClient = serviceHttpClients.configure(restClientBuilder.clone(), riflesServiceName)
+                .baseUrl("http://%s".formatted(riflesServiceName))
+                .build();
+        this.riflesServiceName = riflesServiceName;
+    }
+
+    /// Retrieves a rifle from `GET /v1/rifles/{id}`.
+    ///
+    /// @param id the unique identifier of the rifle
+    /// @return the rifle
+    public RifleDto getRifleById(Long id) {
+        log.debug("BlockingRiflesService.getRifleById({}) called", id);
+        try {
+            return restClient.get()
+                    .uri("/v1/rifles/{id}", id)
+                    .headers(h -> h.setBearerAuth(ToolCall.current().bearerToken()))
+                    .retrieve()
+                    .body(RifleDto.class);
+        } catch (RestClientResponseException e) {
+            throw error(e);
+        }
+    }
+
+    /// Retrieves several rifles from the bulk endpoint `GET /v1/rifles?ids=`.
+    ///
+    /// @param ids the unique identifiers of the rifles (at most 100)
+    /// @return the found rifles, ordered by ID
+    public List<RifleDto> getRiflesByIds(Collection<Long> ids) {
+        log.debug("BlockingRiflesService.getRiflesByIds({}) called", ids);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        var joinedIds = ids.stream().map(String::valueOf).collect(joining(","));
+        try {
+            return restClient.get()
+                    .uri(builder -> builder.path("/v1/rifles").queryParam("ids", joinedIds).build())
+                    .headers(h -> h.setBearerAuth(ToolCall.current().bearerToken()))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<RifleDto>>() {});
+        } catch (RestClientResponseException e) {
+            throw error(e);
+        }
+    }
+
+    private RuntimeException error(RestClientResponseException e) {
+        if (UNAUTHORIZED.equals(e.getStatusCode())) {
+            return new McpError(new JSONRPCError(INVALID_REQUEST, "Authentication failed", null));
+        }
+        if (SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+            return new McpError(new JSONRPCError(
+                    INTERNAL_ERROR, "Service %s unavailable".formatted(riflesServiceName), null));
+        }
+        return e;
+    }
+}
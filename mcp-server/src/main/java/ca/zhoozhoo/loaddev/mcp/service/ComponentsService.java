@@ -0,0 +1,100 @@
+package ca.zhoozhoo.loaddev.mcp.service;
+
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INTERNAL_ERROR;
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_REQUEST;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import ca.zhoozhoo.loaddev.mcp.config.ServiceHttpClients;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.node.ObjectNode;
+
+/// Service for searching reloading components through the components microservice.
+///
+/// Components are returned as JSON objects as received from components-service, so their
+/// quantities and prices keep the service's representation.
+///
+/// Calls go to `http://{service-name}` through the load-balanced WebClient, so they are
+/// spread across all components-service instances registered in discovery.
+///
+/// @author Zhubin Salehi
+/// @see ReactiveSecurityContextHolder
+/// @see WebClient
+@Service
+@Log4j2
+public class ComponentsService {
+
+    private final WebClient webClient;
+    private final String componentsServiceName;
+
+    /// Creates the service with a client bound to `http://{service-name}`.
+    ///
+    /// @param webClientBuilder the load-balanced WebClient builder
+    /// @param serviceHttpClients the per-service connection pools and timeouts
+    /// @param componentsServiceName the service id of the components-service in discovery
+    public ComponentsService(@LoadBalanced WebClient.Builder webClientBuilder, ServiceHttpClients serviceHttpClients,
+            @Value("${service.components.name:components-service}") String componentsServiceName) {
+        this.webClient = serviceHttpClients.configure(webClientBuilder.clone(), componentsServiceName)
+                .baseUrl("http://%s".formatted(componentsServiceName))
+                .build();
+        this.componentsServiceName = componentsServiceName;
+    }
+
+    /// Searches the user's components of one type with the full-text endpoint
+    /// `GET /v1/{type}/search`.
+    ///
+    /// Requests are load balanced across all components-service instances.
+    ///
+    /// @param type  the component collection, e.g. `projectiles` or `propellants`
+    /// @param query the search query
+    /// @param limit the maximum number of components
+    /// @return a Flux emitting the matching components, best matches first
+    /// @throws McpError with INTERNAL_ERROR if no components-service instance is available
+    /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
+    public Flux<ObjectNode> searchComponents(String type, String query, int limit) {
+        log.debug("ComponentsService.searchComponents({}, {}, {}) called", type, query, limit);
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMapMany(auth -> {
+                    String token = ((Jwt) auth.getCredentials()).getTokenValue();
+
+                    return webClient
+                            .get()
+                            .uri(builder -> builder.path("/v1/{type}/search")
+                                    .queryParam("query", "{query}")
+                                    .queryParam("size", limit)
+                                    .build(type, query))
+                            .headers(h -> h.setBearerAuth(token))
+                            .retrieve()
+                            .bodyToFlux(ObjectNode.class)
+                            .onErrorMap(WebClientResponseException.class, e -> {
+                                if (UNAUTHORIZED.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INVALID_REQUEST,
+                                            "Authentication failed",
+                                            null));
+                                }
+                                if (SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(componentsServiceName),
+                                            null));
+                                }
+                                return e;
+                            });
+                });
+    }
+}
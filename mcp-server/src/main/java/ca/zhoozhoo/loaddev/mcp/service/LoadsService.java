@@ -3,12 +3,18 @@ package ca.zhoozhoo.loaddev.mcp.service;
 import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INTERNAL_ERROR;
 import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_PARAMS;
 import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_REQUEST;
+import static java.util.stream.Collectors.joining;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+
+import java.util.Collection;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -16,7 +22,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import ca.zhoozhoo.loaddev.mcp.config.ServiceHttpClients;
 import ca.zhoozhoo.loaddev.mcp.dto.GroupDto;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadChangeDto;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDetails;
 import ca.zhoozhoo.loaddev.mcp.dto.LoadDto;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
@@ -30,8 +39,8 @@ import reactor.core.publisher.Mono;
 /// collections of loads, and associated group statistics. All methods automatically
 /// extract and propagate JWT authentication tokens from the reactive security context.
 ///
-/// This service uses service discovery to locate the loads-service backend and
-/// communicates via WebClient with proper authentication headers.
+/// Calls go to `http://{service-name}` through the load-balanced WebClient, so they are
+/// spread across all loads-service instances registered in discovery.
 ///
 /// @author Zhubin Salehi
 /// @see ReactiveSecurityContextHolder
@@ -41,13 +50,18 @@ import reactor.core.publisher.Mono;
 public class LoadsService {
 
     private final WebClient webClient;
-    private final DiscoveryClient discoveryClient;
     private final String loadsServiceName;
 
-    @SuppressFBWarnings("EI_EXPOSE_REP2")
-    public LoadsService(WebClient webClient, DiscoveryClient discoveryClient, @Value("${service.loads.name:loads-service}") String loadsServiceName) {
-        this.webClient = webClient;
-        this.discoveryClient = discoveryClient;
+    /// Creates the service with a client bound to `http://{service-name}`.
+    ///
+    /// @param webClientBuilder the load-balanced WebClient builder
+    /// @param serviceHttpClients the per-service connection pools and timeouts
+    /// @param loadsServiceName the service id of the loads-service in discovery
+    public LoadsService(@LoadBalanced WebClient.Builder webClientBuilder, ServiceHttpClients serviceHttpClients,
+            @Value("${service.loads.name:loads-service}") String loadsServiceName) {
+        this.webClient = serviceHttpClients.configure(webClientBuilder.clone(), loadsServiceName)
+                .baseUrl("http://%s".formatted(loadsServiceName))
+                .build();
         this.loadsServiceName = loadsServiceName;
     }
 
@@ -56,24 +70,15 @@ public class LoadsService {
     /// Automatically extracts the JWT token from the reactive security context and
     /// includes it in the Authorization header when calling the backend loads-service.
     ///
-    /// Uses service discovery to locate the loads-service instance dynamically.
+    /// Requests are load balanced across all loads-service instances.
     ///
     /// @return a Flux emitting LoadDto objects for all accessible loads
-    /// @throws McpError with INTERNAL_ERROR if service discovery fails
+    /// @throws McpError with INTERNAL_ERROR if no loads-service instance is available
     /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
     public Flux<LoadDto> getLoads() {
         log.debug("LoadsService.getLoads() called");
         
-        var instances = discoveryClient.getInstances(loadsServiceName);
-        if (instances == null || instances.isEmpty()) {
-            log.error("Service {} not found in discovery", loadsServiceName);
-            return Flux.error(new McpError(new JSONRPCError(
-                    INTERNAL_ERROR, "Service %s not found in discovery".formatted(loadsServiceName),
-                    null)));
-        }
-
-        String uri = "%s/v1/loads".formatted(instances.getFirst().getUri());
-        log.debug("Target URI: {}", uri);
+        String uri = "/v1/loads";
 
         return ReactiveSecurityContextHolder.getContext()
                 .doOnNext(ctx -> {
@@ -104,6 +109,12 @@ public class LoadsService {
                                             "Authentication failed",
                                             null));
                                 }
+                                if (SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(loadsServiceName),
+                                            null));
+                                }
                                 return e;
                             });
                 });
@@ -114,26 +125,17 @@ public class LoadsService {
     /// Automatically extracts the JWT token from the reactive security context and
     /// includes it in the Authorization header when calling the backend loads-service.
     ///
-    /// Uses service discovery to locate the loads-service instance dynamically.
+    /// Requests are load balanced across all loads-service instances.
     ///
     /// @param id the unique identifier of the load to retrieve
     /// @return a Mono emitting the LoadDto if found
-    /// @throws McpError with INTERNAL_ERROR if service discovery fails
+    /// @throws McpError with INTERNAL_ERROR if no loads-service instance is available
     /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
     /// @throws McpError with INVALID_PARAMS if the load is not found (404 response)
     public Mono<LoadDto> getLoadById(Long id) {
         log.debug("LoadsService.getLoadById({}) called", id);
         
-        var instances = discoveryClient.getInstances(loadsServiceName);
-        if (instances == null || instances.isEmpty()) {
-            log.error("Service {} not found in discovery", loadsServiceName);
-            return Mono.error(new McpError(new JSONRPCError(
-                    INTERNAL_ERROR, "Service %s not found in discovery".formatted(loadsServiceName),
-                    null)));
-        }
-
-        String uri = "%s/v1/loads/%d".formatted(instances.getFirst().getUri(), id);
-        log.debug("Target URI: {}", uri);
+        String uri = "/v1/loads/{id}";
 
         return ReactiveSecurityContextHolder.getContext()
                 .doOnNext(ctx -> {
@@ -148,7 +150,7 @@ public class LoadsService {
 
                     return webClient
                             .get()
-                            .uri(uri)
+                            .uri(uri, id)
                             .headers(h -> h.setBearerAuth(token))
                             .retrieve()
                             .bodyToMono(LoadDto.class)
@@ -159,6 +161,65 @@ public class LoadsService {
                                             "Authentication failed",
                                             null));
                                 }
+                                if (SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(loadsServiceName),
+                                            null));
+                                }
+                                if (NOT_FOUND.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INVALID_PARAMS,
+                                            "Load not found with ID: %d".formatted(id),
+                                            null));
+                                }
+                                return e;
+                            });
+                });
+    }
+
+    /// Retrieves a load and the statistics of all its groups in a single request.
+    ///
+    /// Calls the aggregate endpoint `GET /v1/loads/{id}/details`, which assembles the load
+    /// and its group statistics inside loads-service. The returned [LoadDetails] has no
+    /// rifle; callers fetch it from rifles-service with [LoadDto#rifleId()].
+    ///
+    /// Requests are load balanced across all loads-service instances.
+    ///
+    /// @param id the unique identifier of the load
+    /// @return a Mono emitting the LoadDetails without rifle
+    /// @throws McpError with INTERNAL_ERROR if no loads-service instance is available
+    /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
+    /// @throws McpError with INVALID_PARAMS if the load is not found (404 response)
+    public Mono<LoadDetails> getLoadDetails(Long id) {
+        log.debug("LoadsService.getLoadDetails({}) called", id);
+
+        String uri = "/v1/loads/{id}/details";
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMap(auth -> {
+                    String token = ((Jwt) auth.getCredentials()).getTokenValue();
+
+                    return webClient
+                            .get()
+                            .uri(uri, id)
+                            .headers(h -> h.setBearerAuth(token))
+                            .retrieve()
+                            .bodyToMono(LoadDetails.class)
+                            .onErrorMap(WebClientResponseException.class, e -> {
+                                if (UNAUTHORIZED.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INVALID_REQUEST,
+                                            "Authentication failed",
+                                            null));
+                                }
+                                if (SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(loadsServiceName),
+                                            null));
+                                }
                                 if (NOT_FOUND.equals(e.getStatusCode())) {
                                     return new McpError(new JSONRPCError(
                                             INVALID_PARAMS,
@@ -170,32 +231,116 @@ public class LoadsService {
                 });
     }
 
+    /// Retrieves several loads in a single request to the bulk endpoint `GET /v1/loads?ids=`.
+    ///
+    /// IDs that do not exist or are not accessible to the user are skipped, so the result
+    /// may contain fewer loads than requested.
+    ///
+    /// Requests are load balanced across all loads-service instances.
+    ///
+    /// @param ids the unique identifiers of the loads to retrieve (at most 100)
+    /// @return a Flux emitting the found LoadDto objects, ordered by ID
+    /// @throws McpError with INTERNAL_ERROR if no loads-service instance is available
+    /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
+    public Flux<LoadDto> getLoadsByIds(Collection<Long> ids) {
+        log.debug("LoadsService.getLoadsByIds({}) called", ids);
+
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+
+        var joinedIds = ids.stream().map(String::valueOf).collect(joining(","));
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMapMany(auth -> {
+                    String token = ((Jwt) auth.getCredentials()).getTokenValue();
+
+                    return webClient
+                            .get()
+                            .uri(builder -> builder.path("/v1/loads").queryParam("ids", joinedIds).build())
+                            .headers(h -> h.setBearerAuth(token))
+                            .retrieve()
+                            .bodyToFlux(LoadDto.class)
+                            .onErrorMap(WebClientResponseException.class, e -> {
+                                if (UNAUTHORIZED.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INVALID_REQUEST,
+                                            "Authentication failed",
+                                            null));
+                                }
+                                if (SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(loadsServiceName),
+                                            null));
+                                }
+                                return e;
+                            });
+                });
+    }
+
+    /// Searches the user's loads with the full-text endpoint `GET /v1/loads/search`.
+    ///
+    /// Requests are load balanced across all loads-service instances.
+    ///
+    /// @param query the search query
+    /// @param limit the maximum number of loads
+    /// @return a Flux emitting the matching LoadDto objects, best matches first
+    /// @throws McpError with INTERNAL_ERROR if no loads-service instance is available
+    /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
+    public Flux<LoadDto> searchLoads(String query, int limit) {
+        log.debug("LoadsService.searchLoads({}, {}) called", query, limit);
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMapMany(auth -> {
+                    String token = ((Jwt) auth.getCredentials()).getTokenValue();
+
+                    return webClient
+                            .get()
+                            .uri(builder -> builder.path("/v1/loads/search")
+                                    .queryParam("query", "{query}")
+                                    .queryParam("size", limit)
+                                    .build(query))
+                            .headers(h -> h.setBearerAuth(token))
+                            .retrieve()
+                            .bodyToFlux(LoadDto.class)
+                            .onErrorMap(WebClientResponseException.class, e -> {
+                                if (UNAUTHORIZED.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INVALID_REQUEST,
+                                            "Authentication failed",
+                                            null));
+                                }
+                                if (SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(loadsServiceName),
+                                            null));
+                                }
+                                return e;
+                            });
+                });
+    }
+
     /// Retrieves group statistics for a specific load.
     ///
     /// Fetches shooting group data and statistics associated with the specified load ID.
     /// Automatically extracts the JWT token from the reactive security context and
     /// includes it in the Authorization header when calling the backend loads-service.
     ///
-    /// Uses service discovery to locate the loads-service instance dynamically.
+    /// Requests are load balanced across all loads-service instances.
     ///
     /// @param id the unique identifier of the load to retrieve statistics for
     /// @return a Flux emitting GroupDto objects containing group statistics
-    /// @throws McpError with INTERNAL_ERROR if service discovery fails
+    /// @throws McpError with INTERNAL_ERROR if no loads-service instance is available
     /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
     /// @throws McpError with INVALID_PARAMS if the load is not found (404 response)
     public Flux<GroupDto> getGroupsByLoadId(Long id) {
         log.debug("LoadsService.getGroupsByLoadId({}) called", id);
         
-        var instances = discoveryClient.getInstances(loadsServiceName);
-        if (instances == null || instances.isEmpty()) {
-            log.error("Service {} not found in discovery", loadsServiceName);
-            return Flux.error(new McpError(new JSONRPCError(
-                    INTERNAL_ERROR, "Service %s not found in discovery".formatted(loadsServiceName),
-                    null)));
-        }
-
-        String uri = "%s/v1/loads/%d/statistics".formatted(instances.getFirst().getUri(), id);
-        log.debug("Target URI: {}", uri);
+        String uri = "/v1/loads/{id}/statistics";
 
         return ReactiveSecurityContextHolder.getContext()
                 .doOnNext(ctx -> {
@@ -210,7 +355,7 @@ public class LoadsService {
 
                     return webClient
                             .get()
-                            .uri(uri)
+                            .uri(uri, id)
                             .headers(h -> h.setBearerAuth(token))
                             .retrieve()
                             .bodyToFlux(GroupDto.class)
@@ -221,6 +366,12 @@ public class LoadsService {
                                             "Authentication failed",
                                             null));
                                 }
+                                if (SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(loadsServiceName),
+                                            null));
+                                }
                                 if (NOT_FOUND.equals(e.getStatusCode())) {
                                     return new McpError(new JSONRPCError(
                                             INVALID_PARAMS,
@@ -231,4 +382,49 @@ public class LoadsService {
                             });
                 });
     }
+
+    /// Streams the changes of the authenticated user's loads.
+    ///
+    /// Subscribes to the server-sent events of `GET /v1/loads/changes`; heartbeat comments
+    /// sent while idle are skipped. The stream stays open until it is cancelled or the
+    /// connection fails.
+    ///
+    /// @return an infinite Flux emitting the user's load changes
+    /// @throws McpError with INTERNAL_ERROR if no loads-service instance is available
+    /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
+    public Flux<LoadChangeDto> getLoadChanges() {
+        log.debug("LoadsService.getLoadChanges() called");
+
+        String uri = "/v1/loads/changes";
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMapMany(auth -> {
+                    String token = ((Jwt) auth.getCredentials()).getTokenValue();
+
+                    return webClient
+                            .get()
+                            .uri(uri)
+                            .accept(TEXT_EVENT_STREAM)
+                            .headers(h -> h.setBearerAuth(token))
+                            .retrieve()
+                            .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<LoadChangeDto>>() {})
+                            .mapNotNull(ServerSentEvent::data)
+                            .onErrorMap(WebClientResponseException.class, e -> {
+                                if (UNAUTHORIZED.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INVALID_REQUEST,
+                                            "Authentication failed",
+                                            null));
+                                }
+                                if (SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(loadsServiceName),
+                                            null));
+                                }
+                                return e;
+                            });
+                });
+    }
 }
@@ -2,10 +2,12 @@ package ca.zhoozhoo.loaddev.mcp.service;
 
 import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INTERNAL_ERROR;
 import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_REQUEST;
+import static java.util.stream.Collectors.joining;
+
+import java.util.Collection;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import ca.zhoozhoo.loaddev.mcp.config.ServiceHttpClients;
 import ca.zhoozhoo.loaddev.mcp.dto.RifleDto;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
@@ -27,8 +30,8 @@ import reactor.core.publisher.Mono;
 /// and collections of rifles. All methods automatically extract and propagate JWT
 /// authentication tokens from the reactive security context.
 ///
-/// This service uses service discovery to locate the rifles-service backend and
-/// communicates via WebClient with proper authentication headers.
+/// Calls go to `http://{service-name}` through the load-balanced WebClient, so they are
+/// spread across all rifles-service instances registered in discovery.
 ///
 /// @author Zhubin Salehi
 /// @see ReactiveSecurityContextHolder
@@ -38,13 +41,18 @@ import reactor.core.publisher.Mono;
 public class RiflesService {
 
     private final WebClient webClient;
-    private final DiscoveryClient discoveryClient;
     private final String riflesServiceName;
 
-    @SuppressFBWarnings("EI_EXPOSE_REP2")
-    public RiflesService(WebClient webClient, DiscoveryClient discoveryClient, @Value("${service.rifles.name:rifles-service}") String riflesServiceName) {
-        this.webClient = webClient;
-        this.discoveryClient = discoveryClient;
+    /// Creates the service with a client bound to `http://{service-name}`.
+    ///
+    /// @param webClientBuilder the load-balanced WebClient builder
+    /// @param serviceHttpClients the per-service connection pools and timeouts
+    /// @param riflesServiceName the service id of the rifles-service in discovery
+    public RiflesService(@LoadBalanced WebClient.Builder webClientBuilder, ServiceHttpClients serviceHttpClients,
+            @Value("${service.rifles.name:rifles-service}") String riflesServiceName) {
+        this.webClient = serviceHttpClients.configure(webClientBuilder.clone(), riflesServiceName)
+                .baseUrl("http://%s".formatted(riflesServiceName))
+                .build();
         this.riflesServiceName = riflesServiceName;
     }
 
@@ -53,24 +61,15 @@ public class RiflesService {
     /// Automatically extracts the JWT token from the reactive security context and
     /// includes it in the Authorization header when calling the backend rifles-service.
     ///
-    /// Uses service discovery to locate the rifles-service instance dynamically.
+    /// Requests are load balanced across all rifles-service instances.
     ///
     /// @return a Flux emitting RifleDto objects for all accessible rifles
-    /// @throws McpError with INTERNAL_ERROR if service discovery fails
+    /// @throws McpError with INTERNAL_ERROR if no rifles-service instance is available
     /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
     public Flux<RifleDto> getRifles() {
         log.debug("RiflesService.getRifles() called");
         
-        var instances = discoveryClient.getInstances(riflesServiceName);
-        if (instances == null || instances.isEmpty()) {
-            log.error("Service {} not found in discovery", riflesServiceName);
-            return Flux.error(new McpError(new JSONRPCError(
-                    INTERNAL_ERROR, "Service %s not found in discovery".formatted(riflesServiceName),
-                    null)));
-        }
-
-        String uri = "%s/v1/rifles".formatted(instances.getFirst().getUri());
-        log.debug("Target URI: {}", uri);
+        String uri = "/v1/rifles";
 
         return ReactiveSecurityContextHolder.getContext()
                 .doOnNext(ctx -> {
@@ -96,6 +95,105 @@ public class RiflesService {
                                             "Authentication failed",
                                             null));
                                 }
+                                if (HttpStatus.SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(riflesServiceName),
+                                            null));
+                                }
+                                return e;
+                            });
+                });
+    }
+
+    /// Retrieves several rifles in a single request to the bulk endpoint `GET /v1/rifles?ids=`.
+    ///
+    /// IDs that do not exist or are not accessible to the user are skipped, so the result
+    /// may contain fewer rifles than requested.
+    ///
+    /// Requests are load balanced across all rifles-service instances.
+    ///
+    /// @param ids the unique identifiers of the rifles to retrieve (at most 100)
+    /// @return a Flux emitting the found RifleDto objects, ordered by ID
+    /// @throws McpError with INTERNAL_ERROR if no rifles-service instance is available
+    /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
+    public Flux<RifleDto> getRiflesByIds(Collection<Long> ids) {
+        log.debug("RiflesService.getRiflesByIds({}) called", ids);
+
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+
+        var joinedIds = ids.stream().map(String::valueOf).collect(joining(","));
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMapMany(auth -> {
+                    String token = ((Jwt) auth.getCredentials()).getTokenValue();
+
+                    return webClient
+                            .get()
+                            .uri(builder -> builder.path("/v1/rifles").queryParam("ids", joinedIds).build())
+                            .headers(h -> h.setBearerAuth(token))
+                            .retrieve()
+                            .bodyToFlux(RifleDto.class)
+                            .onErrorMap(WebClientResponseException.class, e -> {
+                                if (HttpStatus.UNAUTHORIZED.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INVALID_REQUEST,
+                                            "Authentication failed",
+                                            null));
+                                }
+                                if (HttpStatus.SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(riflesServiceName),
+                                            null));
+                                }
+                                return e;
+                            });
+                });
+    }
+
+    /// Searches the user's rifles with the full-text endpoint `GET /v1/rifles/search`.
+    ///
+    /// Requests are load balanced across all rifles-service instances.
+    ///
+    /// @param query the search query
+    /// @param limit the maximum number of rifles
+    /// @return a Flux emitting the matching RifleDto objects, best matches first
+    /// @throws McpError with INTERNAL_ERROR if no rifles-service instance is available
+    /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
+    public Flux<RifleDto> searchRifles(String query, int limit) {
+        log.debug("RiflesService.searchRifles({}, {}) called", query, limit);
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMapMany(auth -> {
+                    String token = ((Jwt) auth.getCredentials()).getTokenValue();
+
+                    return webClient
+                            .get()
+                            .uri(builder -> builder.path("/v1/rifles/search")
+                                    .queryParam("query", "{query}")
+                                    .queryParam("size", limit)
+                                    .build(query))
+                            .headers(h -> h.setBearerAuth(token))
+                            .retrieve()
+                            .bodyToFlux(RifleDto.class)
+                            .onErrorMap(WebClientResponseException.class, e -> {
+                                if (HttpStatus.UNAUTHORIZED.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INVALID_REQUEST,
+                                            "Authentication failed",
+                                            null));
+                                }
+                                if (HttpStatus.SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(riflesServiceName),
+                                            null));
+                                }
                                 return e;
                             });
                 });
@@ -106,25 +204,16 @@ public class RiflesService {
     /// Automatically extracts the JWT token from the reactive security context and
     /// includes it in the Authorization header when calling the backend rifles-service.
     ///
-    /// Uses service discovery to locate the rifles-service instance dynamically.
+    /// Requests are load balanced across all rifles-service instances.
     ///
     /// @param id the unique identifier of the rifle to retrieve
     /// @return a Mono emitting the RifleDto if found
-    /// @throws McpError with INTERNAL_ERROR if service discovery fails
+    /// @throws McpError with INTERNAL_ERROR if no rifles-service instance is available
     /// @throws McpError with INVALID_REQUEST if authentication fails (401 response)
     public Mono<RifleDto> getRifleById(Long id) {
         log.debug("RiflesService.getRifleById({}) called", id);
         
-        var instances = discoveryClient.getInstances(riflesServiceName);
-        if (instances == null || instances.isEmpty()) {
-            log.error("Service {} not found in discovery", riflesServiceName);
-            return Mono.error(new McpError(new JSONRPCError(
-                    INTERNAL_ERROR, "Service %s not found in discovery".formatted(riflesServiceName),
-                    null)));
-        }
-
-        String uri = "%s/v1/rifles/%d".formatted(instances.getFirst().getUri(), id);
-        log.debug("Target URI: {}", uri);
+        String uri = "/v1/rifles/{id}";
 
         return ReactiveSecurityContextHolder.getContext()
                 .doOnNext(ctx -> {
@@ -139,7 +228,7 @@ public class RiflesService {
 
                     return webClient
                             .get()
-                            .uri(uri)
+                            .uri(uri, id)
                             .headers(h -> h.setBearerAuth(token))
                             .retrieve()
                             .bodyToMono(RifleDto.class)
@@ -150,6 +239,12 @@ public class RiflesService {
                                             "Authentication failed",
                                             null));
                                 }
+                                if (HttpStatus.SERVICE_UNAVAILABLE.equals(e.getStatusCode())) {
+                                    return new McpError(new JSONRPCError(
+                                            INTERNAL_ERROR,
+                                            "Service %s unavailable".formatted(riflesServiceName),
+                                            null));
+                                }
                                 return e;
                             });
                 });
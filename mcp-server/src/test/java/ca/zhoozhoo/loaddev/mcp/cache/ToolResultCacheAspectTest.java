@@ -0,0 +1,123 @@
+package ca.zhoozhoo.loaddev.mcp.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.annotation.McpTool;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/// Unit tests for [ToolResultCacheAspect].
+/// Tests per-user keying, error handling and hit/miss metrics.
+///
+/// @author Zhubin Salehi
+class ToolResultCacheAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ToolResultCacheAspect aspect;
+
+    private Tools tools;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new ToolResultCacheAspect(100, meterRegistry);
+
+        var factory = new AspectJProxyFactory(new Tools());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        tools = factory.getProxy();
+    }
+
+    @Test
+    void servesRepeatedCallsFromCache() {
+        StepVerifier.create(asUser("alice", tools.getLoad(1L))).expectNext("load-1-call-1").verifyComplete();
+        StepVerifier.create(asUser("alice", tools.getLoad(1L))).expectNext("load-1-call-1").verifyComplete();
+
+        assertThat(Tools.CALLS.get()).isEqualTo(1);
+        assertThat(count("getLoad", "hit")).isEqualTo(1.0);
+        assertThat(count("getLoad", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void keysByArgumentsAndUser() {
+        StepVerifier.create(asUser("alice", tools.getLoad(1L))).expectNext("load-1-call-1").verifyComplete();
+        StepVerifier.create(asUser("alice", tools.getLoad(2L))).expectNext("load-2-call-2").verifyComplete();
+        StepVerifier.create(asUser("bob", tools.getLoad(1L))).expectNext("load-1-call-3").verifyComplete();
+
+        assertThat(aspect.size()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotCacheFailures() {
+        StepVerifier.create(asUser("alice", tools.getLoad(-1L))).expectError(IllegalArgumentException.class).verify();
+        StepVerifier.create(asUser("alice", tools.getLoad(-1L))).expectError(IllegalArgumentException.class).verify();
+
+        assertThat(aspect.size()).isZero();
+        assertThat(count("getLoad", "miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    void bypassesCacheWithoutAuthentication() {
+        StepVerifier.create(tools.getLoad(1L)).expectNext("load-1-call-1").verifyComplete();
+        StepVerifier.create(tools.getLoad(1L)).expectNext("load-1-call-2").verifyComplete();
+
+        assertThat(aspect.size()).isZero();
+    }
+
+    @Test
+    void expiresEntriesAfterTimeToLive() {
+        StepVerifier.create(asUser("alice", tools.getRifles())).expectNext("rifles-call-1").verifyComplete();
+
+        assertThat(aspect.size()).isZero();
+    }
+
+    private double count(String tool, String result) {
+        return meterRegistry.get("mcp.tool.cache.requests").tag("tool", tool).tag("result", result).counter().count();
+    }
+
+    private static Mono<String> asUser(String subject, Mono<String> mono) {
+        var jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(subject)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+        return mono.contextWrite(ReactiveSecurityContextHolder.withAuthentication(new JwtAuthenticationToken(jwt)));
+    }
+
+    static class Tools {
+
+        static final AtomicInteger CALLS = new AtomicInteger();
+
+        Tools() {
+            CALLS.set(0);
+        }
+
+        @CachedToolResult
+        @McpTool(name = "getLoad", description = "Test tool")
+        public Mono<String> getLoad(Long id) {
+            if (id < 0) {
+                return Mono.error(new IllegalArgumentException("Invalid id"));
+            }
+            return Mono.fromSupplier(() -> "load-%d-call-%d".formatted(id, CALLS.incrementAndGet()));
+        }
+
+        @CachedToolResult(ttl = "0s")
+        @McpTool(name = "getRifles", description = "Test tool")
+        public Mono<String> getRifles() {
+            return Mono.fromSupplier(() -> "rifles-call-%d".formatted(CALLS.incrementAndGet()));
+        }
+    }
+}
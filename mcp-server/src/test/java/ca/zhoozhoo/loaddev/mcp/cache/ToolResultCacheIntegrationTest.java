@@ -0,0 +1,110 @@
+package ca.zhoozhoo.loaddev.mcp.cache;
+
+import static ca.zhoozhoo.loaddev.mcp.config.TestSecurityConfig.TEST_USER_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.client.webflux.transport.WebFluxSseClientTransport;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import ca.zhoozhoo.loaddev.mcp.provider.BaseMcpToolProviderTest;
+import ca.zhoozhoo.loaddev.mcp.provider.RiflesToolProvider;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import okhttp3.mockwebserver.MockWebServer;
+
+/// Integration test for the tool result cache with the cache enabled.
+///
+/// The other tool tests disable the cache because they reconfigure the mock backends between
+/// calls with the same arguments. This test runs the server with [ToolResultCacheAspect]
+/// registered and checks, over MCP, that the tools of the proxied providers are still
+/// discovered and callable and that results are cached per user.
+///
+/// @author Zhubin Salehi
+/// @see ToolResultCacheAspect
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "loaddev.mcp.tool-cache.enabled=true")
+@Import(BaseMcpToolProviderTest.TestWebClientConfig.class)
+class ToolResultCacheIntegrationTest extends BaseMcpToolProviderTest {
+
+    private MockWebServer mockRiflesServer;
+
+    @Autowired
+    private RiflesToolProvider riflesToolProvider;
+
+    @Override
+    protected void setupMockServers() throws IOException {
+        mockRiflesServer = new MockWebServer();
+        mockRiflesServer.setDispatcher(createRiflesDispatcher());
+        mockRiflesServer.start();
+    }
+
+    @Override
+    protected void shutdownMockServers() throws IOException {
+        if (mockRiflesServer != null) {
+            mockRiflesServer.shutdown();
+        }
+    }
+
+    @Override
+    protected void mockServiceDiscovery() {
+        mockService("rifles-service", createServiceInstance(
+                "rifles-service-1", "rifles-service", mockRiflesServer));
+    }
+
+    @Test
+    void listsToolsOfProxiedProviders() {
+        assertThat(AopUtils.isAopProxy(riflesToolProvider)).isTrue();
+
+        var tools = client.listTools().block();
+
+        assertThat(tools).isNotNull();
+        assertThat(tools.tools()).extracting(Tool::name)
+                .contains("getRifles", "getRifleById", "getLoads", "getLoad", "search");
+    }
+
+    @Test
+    void cachesResultsPerUser() {
+        var first = callGetRifleById(client);
+        var second = callGetRifleById(client);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(mockRiflesServer.getRequestCount()).isOne();
+
+        var otherUser = McpClient.async(new WebFluxSseClientTransport(
+                        WebClient.builder()
+                                .baseUrl("http://localhost:" + port)
+                                .defaultHeader(TEST_USER_HEADER, "other-user"),
+                        mcpJsonMapper))
+                .build();
+        try {
+            otherUser.initialize().block();
+
+            assertThat(callGetRifleById(otherUser)).isEqualTo(first);
+            assertThat(mockRiflesServer.getRequestCount()).isEqualTo(2);
+        } finally {
+            otherUser.close();
+        }
+
+        callGetRifleById(client);
+        assertThat(mockRiflesServer.getRequestCount()).isEqualTo(2);
+    }
+
+    private static String callGetRifleById(McpAsyncClient client) {
+        var result = client.callTool(new CallToolRequest("getRifleById", Map.of("id", 1L))).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isFalse();
+        return ((TextContent) result.content().getFirst()).text();
+    }
+}
@@ -0,0 +1,91 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.units.indriya.quantity.Quantities.getQuantity;
+import static tech.units.indriya.unit.Units.GRAM;
+import static tech.units.indriya.unit.Units.METRE;
+import static tech.units.indriya.unit.Units.SECOND;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import javax.measure.quantity.Speed;
+
+import org.junit.jupiter.api.Test;
+
+import ca.zhoozhoo.loaddev.common.jackson.QuantityModule;
+import ca.zhoozhoo.loaddev.mcp.dto.GroupDto;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDetails;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDto;
+import ca.zhoozhoo.loaddev.mcp.dto.ShotDto;
+import tools.jackson.databind.json.JsonMapper;
+
+/// Unit tests for [CompactJsonModule].
+/// Tests quantity strings, omitted nulls and per-shot velocities, and the size reduction.
+///
+/// @author Zhubin Salehi
+class CompactJsonModuleTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().addModule(new QuantityModule()).build();
+
+    private final JsonMapper compactMapper = CompactJsonModule.compactMapper(jsonMapper);
+
+    @Test
+    void writesQuantitiesAsStrings() {
+        var json = compactMapper.writeValueAsString(load(null));
+
+        assertThat(json).contains("\"bulletWeight\":\"140 g\"").doesNotContain("\"unit\"");
+    }
+
+    @Test
+    void writesNonFiniteValuesAsIs() {
+        assertThat(compactMapper.writeValueAsString(getQuantity(Double.NaN, GRAM))).isEqualTo("\"NaN g\"");
+        assertThat(CompactJsonModule.format(getQuantity(Double.NaN, GRAM))).isEqualTo("NaN g");
+        assertThat(CompactJsonModule.format(getQuantity(Double.POSITIVE_INFINITY, GRAM))).isEqualTo("Infinity g");
+    }
+
+    @Test
+    void omitsNulls() {
+        var json = compactMapper.writeValueAsString(load(null));
+
+        assertThat(json).doesNotContain("description").doesNotContain("null");
+    }
+
+    @Test
+    void omitsShots() {
+        var json = compactMapper.writeValueAsString(details());
+
+        assertThat(json).doesNotContain("shots").contains("\"averageVelocity\":\"820 m/s\"");
+    }
+
+    @Test
+    void keepsRegularMapperUnchanged() {
+        assertThat(jsonMapper.writeValueAsString(details())).contains("\"shots\"").contains("\"unit\"");
+    }
+
+    @Test
+    void isLessThanHalfTheSizeOfJson() {
+        var json = jsonMapper.writeValueAsString(details());
+        var compact = compactMapper.writeValueAsString(details());
+
+        assertThat(compact.length() * 2).isLessThan(json.length());
+    }
+
+    private static LoadDto load(String description) {
+        return new LoadDto(1L, "Test Load 1", description, "Hodgdon", "H4350", "Hornady", "ELD-M",
+                getQuantity(new BigDecimal("140"), GRAM), "CCI", "BR2",
+                getQuantity(new BigDecimal("0.02"), METRE), getQuantity(new BigDecimal("0.071"), METRE),
+                null, 1L);
+    }
+
+    private static LoadDetails details() {
+        var velocity = getQuantity(new BigDecimal("820"), METRE.divide(SECOND).asType(Speed.class));
+        var shots = Collections.nCopies(10, new ShotDto(velocity));
+        return new LoadDetails(load("Test description"), null, List.of(
+                new GroupDto(LocalDate.of(2025, 10, 10), getQuantity(new BigDecimal("2.6"), GRAM),
+                        getQuantity(new BigDecimal("100"), METRE), getQuantity(new BigDecimal("0.0127"), METRE),
+                        velocity, velocity, velocity, shots)));
+    }
+}
@@ -0,0 +1,76 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/// Unit tests for [McpSessionStreamWebFilter].
+/// Tests that the end of a session's SSE stream closes the session in [McpSessionRegistry].
+///
+/// @author Zhubin Salehi
+class McpSessionStreamWebFilterTest {
+
+    private final List<String> closed = new CopyOnWriteArrayList<>();
+
+    private McpSessionStreamWebFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        var registry = new McpSessionRegistry(mock(McpServerTransportProvider.class));
+        registry.onSessionClosed(closed::add);
+        filter = new McpSessionStreamWebFilter("/sse", registry);
+    }
+
+    @Test
+    void closesSessionWhenStreamCompletes() {
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/sse")),
+                        stream(Flux.empty())))
+                .verifyComplete();
+
+        assertThat(closed).containsExactly("session-1");
+    }
+
+    @Test
+    void closesSessionWhenClientDisconnects() {
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/sse")),
+                        stream(Flux.never())))
+                .thenAwait()
+                .thenCancel()
+                .verify();
+
+        assertThat(closed).containsExactly("session-1");
+    }
+
+    @Test
+    void ignoresOtherRequests() {
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/mcp/message")),
+                        stream(Flux.empty())))
+                .verifyComplete();
+
+        assertThat(closed).isEmpty();
+    }
+
+    /// Simulates the SSE endpoint, announcing the session's message endpoint before the given events.
+    private static WebFilterChain stream(Flux<String> events) {
+        return exchange -> {
+            var response = exchange.getResponse();
+            return response.writeAndFlushWith(Flux.concat(
+                            Mono.just("event:endpoint\ndata:/mcp/message?sessionId=session-1\n\n"), events)
+                    .map(event -> Mono.just(response.bufferFactory().wrap(event.getBytes(UTF_8)))));
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package ca.zhoozhoo.loaddev.mcp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import reactor.test.StepVerifier;
+
+/// Unit tests for [ServiceHttpClients] and [ServiceHttpClientProperties].
+/// Tests property defaults, per-service overrides, response size limits and timeouts.
+///
+/// @author Zhubin Salehi
+class ServiceHttpClientsTest {
+
+    private MockWebServer mockWebServer;
+
+    private ServiceHttpClients serviceHttpClients;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        var limited = new ServiceHttpClientProperties.Client(null, null, null, null, null,
+                Duration.ofMillis(200), DataSize.ofBytes(16), null);
+        serviceHttpClients = new ServiceHttpClients(
+                new ServiceHttpClientProperties(null, Map.of("limited-service", limited)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+        serviceHttpClients.destroy();
+    }
+
+    @Test
+    void appliesDefaults() {
+        var defaults = new ServiceHttpClientProperties(null, null).forService("loads-service");
+
+        assertThat(defaults.maxConnections()).isEqualTo(50);
+        assertThat(defaults.pendingAcquireMaxCount()).isEqualTo(100);
+        assertThat(defaults.connectTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(defaults.responseTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(defaults.maxInMemorySize()).isEqualTo(DataSize.ofMegabytes(2));
+        assertThat(defaults.compression()).isTrue();
+    }
+
+    @Test
+    void resolvesPerServiceSettings() {
+        var properties = new ServiceHttpClientProperties(null, Map.of("rifles-service",
+                new ServiceHttpClientProperties.Client(10, null, null, null, null, null, null, false)));
+
+        assertThat(properties.forService("rifles-service").maxConnections()).isEqualTo(10);
+        assertThat(properties.forService("rifles-service").pendingAcquireMaxCount()).isEqualTo(20);
+        assertThat(properties.forService("rifles-service").compression()).isFalse();
+        assertThat(properties.forService("loads-service").maxConnections()).isEqualTo(50);
+    }
+
+    @Test
+    void requestsGzipResponses() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        StepVerifier.create(client("loads-service").get().retrieve().bodyToMono(String.class))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertThat(mockWebServer.takeRequest().getHeader("Accept-Encoding")).contains("gzip");
+    }
+
+    @Test
+    void rejectsResponsesAboveMaxInMemorySize() {
+        mockWebServer.enqueue(new MockResponse().setBody("x".repeat(64)));
+
+        StepVerifier.create(client("limited-service").get().retrieve().bodyToMono(String.class))
+                .expectError(DataBufferLimitException.class)
+                .verify();
+    }
+
+    @Test
+    void failsSlowResponsesAfterResponseTimeout() {
+        mockWebServer.enqueue(new MockResponse().setBody("late").setHeadersDelay(2, TimeUnit.SECONDS));
+
+        StepVerifier.create(client("limited-service").get().retrieve().bodyToMono(String.class))
+                .expectError()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void keepsIdlePooledConnectionsOpenBeyondResponseTimeout() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setBody("first"));
+        mockWebServer.enqueue(new MockResponse().setBody("second"));
+        var client = client("limited-service");
+
+        StepVerifier.create(client.get().retrieve().bodyToMono(String.class))
+                .expectNext("first")
+                .verifyComplete();
+        Thread.sleep(400);
+        StepVerifier.create(client.get().retrieve().bodyToMono(String.class))
+                .expectNext("second")
+                .verifyComplete();
+
+        assertThat(mockWebServer.takeRequest().getSequenceNumber()).isZero();
+        assertThat(mockWebServer.takeRequest().getSequenceNumber()).isOne();
+    }
+
+    private WebClient client(String serviceId) {
+        return serviceHttpClients.configure(WebClient.builder(), serviceId)
+                .baseUrl(mockWebServer.url("/").toString())
+                .build();
+    }
+}
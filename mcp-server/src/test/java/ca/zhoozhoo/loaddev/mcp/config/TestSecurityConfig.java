@@ -43,6 +43,9 @@ import reactor.core.publisher.Mono;
 @EnableWebFluxSecurity
 public class TestSecurityConfig {
 
+    /// Request header overriding the subject of the mock JWT, for tests with several users.
+    public static final String TEST_USER_HEADER = "X-Test-User";
+
     /// Creates a security filter chain that permits all requests and adds a filter
     /// to populate the reactive security context with a mock JWT authentication.
     ///
@@ -73,7 +76,7 @@ public class TestSecurityConfig {
     ///
     /// - Token value: "mock-token-value"
     /// - Algorithm header: "none"
-    /// - Subject claim: "test-user"
+    /// - Subject claim: the [#TEST_USER_HEADER] request header, or "test-user"
     /// - Scope claim: "read write"
     /// - Valid timestamps (iat and exp)
     ///
@@ -87,11 +90,13 @@ public class TestSecurityConfig {
         return new WebFilter() {
             @Override
             public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+                var subject = exchange.getRequest().getHeaders().getFirst(TEST_USER_HEADER);
+
                 // Create a mock JWT with required claims and wrap in authentication token
                 var authentication = new JwtAuthenticationToken(
                     Jwt.withTokenValue("mock-token-value")
                         .header("alg", "none")
-                        .claim("sub", "test-user")
+                        .claim("sub", subject != null ? subject : "test-user")
                         .claim("scope", "read write")
                         .issuedAt(Instant.now())
                         .expiresAt(Instant.now().plusSeconds(3600))
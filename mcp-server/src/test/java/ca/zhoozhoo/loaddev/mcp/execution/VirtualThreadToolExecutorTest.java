@@ -0,0 +1,89 @@
+package ca.zhoozhoo.loaddev.mcp.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import io.modelcontextprotocol.spec.McpError;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/// Unit tests for [VirtualThreadToolExecutor].
+/// Tests virtual thread execution, scoped value propagation to subtasks and error propagation.
+///
+/// @author Zhubin Salehi
+class VirtualThreadToolExecutorTest {
+
+    private final VirtualThreadToolExecutor executor = new VirtualThreadToolExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void runsHandlerOnVirtualThread() {
+        StepVerifier.create(asUser("alice", executor.execute(() -> Thread.currentThread().isVirtual())))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void bindsCallersToken() {
+        StepVerifier.create(asUser("alice", executor.execute(() -> ToolCall.current().bearerToken())))
+                .expectNext("token-alice")
+                .verifyComplete();
+    }
+
+    @Test
+    void propagatesToolCallToSubtasks() {
+        StepVerifier.create(asUser("alice", executor.execute(() -> {
+            try (var subtasks = Executors.newVirtualThreadPerTaskExecutor()) {
+                return subtasks.submit(ToolCall.current().bind(() -> ToolCall.current().bearerToken())).get();
+            }
+        })))
+                .expectNext("token-alice")
+                .verifyComplete();
+    }
+
+    @Test
+    void failsWithoutAuthentication() {
+        StepVerifier.create(executor.execute(() -> ToolCall.current().bearerToken()))
+                .expectError(McpError.class)
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void propagatesHandlerErrors() {
+        StepVerifier.create(asUser("alice", executor.execute(() -> {
+            throw new IllegalStateException("boom");
+        })))
+                .expectErrorMessage("boom")
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void rejectsAccessOutsideToolCall() {
+        assertThat(ToolCall.CURRENT.isBound()).isFalse();
+        assertThatThrownBy(ToolCall::current).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static <T> Mono<T> asUser(String subject, Mono<T> mono) {
+        var jwt = Jwt.withTokenValue("token-" + subject)
+                .header("alg", "none")
+                .subject(subject)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+        return mono.contextWrite(ReactiveSecurityContextHolder.withAuthentication(new JwtAuthenticationToken(jwt)));
+    }
+}
@@ -0,0 +1,92 @@
+package ca.zhoozhoo.loaddev.mcp.observation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.annotation.McpTool;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/// Unit tests for [ToolObservationAspect] and [ToolClientRequestObservationConvention].
+/// Tests that client request metrics are tagged with the calling tool.
+///
+/// @author Zhubin Salehi
+class ToolClientRequestObservationConventionTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Tools tools;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+
+        var webClient = WebClient.builder()
+                .observationRegistry(observationRegistry)
+                .observationConvention(new ToolClientRequestObservationConvention())
+                .filter(ToolClientRequestObservationConvention.toolAttributeFilter())
+                .exchangeFunction(_ -> Mono.just(ClientResponse.create(HttpStatus.OK).body("ok").build()))
+                .build();
+
+        var factory = new AspectJProxyFactory(new Tools(webClient));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ToolObservationAspect());
+        tools = factory.getProxy();
+    }
+
+    @Test
+    void tagsClientRequestsWithToolName() {
+        StepVerifier.create(tools.getLoads()).expectNext("ok").verifyComplete();
+
+        assertThat(meterRegistry.get("http.client.requests").tag("tool", "getLoads").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tagsRequestsOutsideToolsWithNone() {
+        StepVerifier.create(tools.call()).expectNext("ok").verifyComplete();
+
+        assertThat(meterRegistry.get("http.client.requests").tag("tool", "none").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void fallsBackToMethodName() throws NoSuchMethodException {
+        assertThat(ToolObservationAspect.toolName(Tools.class.getMethod("unnamed"))).isEqualTo("unnamed");
+        assertThat(ToolObservationAspect.toolName(Tools.class.getMethod("getLoads"))).isEqualTo("getLoads");
+    }
+
+    static class Tools {
+
+        private final WebClient webClient;
+
+        Tools(WebClient webClient) {
+            this.webClient = webClient;
+        }
+
+        @McpTool(name = "getLoads", description = "Test tool")
+        public Mono<String> getLoads() {
+            return call();
+        }
+
+        @McpTool(description = "Test tool")
+        public Mono<String> unnamed() {
+            return call();
+        }
+
+        public Mono<String> call() {
+            return webClient.get().uri(URI.create("http://loads-service/v1/loads")).retrieve().bodyToMono(String.class);
+        }
+    }
+}
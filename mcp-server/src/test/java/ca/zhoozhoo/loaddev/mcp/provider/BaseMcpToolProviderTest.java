@@ -1,8 +1,10 @@
 package ca.zhoozhoo.loaddev.mcp.provider;
 
+import static java.util.stream.Collectors.joining;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
@@ -15,13 +17,18 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.cloud.client.DefaultServiceInstance;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.codec.json.JacksonJsonDecoder;
 import org.springframework.http.codec.json.JacksonJsonEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -34,6 +41,7 @@ import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import reactor.core.publisher.Mono;
 import tools.jackson.databind.json.JsonMapper;
 
 /// Abstract base class for MCP tool provider integration tests.
@@ -44,7 +52,7 @@ import tools.jackson.databind.json.JsonMapper;
 /// - Spring Boot test context configuration with random port
 /// - MockWebServer setup and teardown
 /// - MCP async client initialization and cleanup
-/// - DiscoveryClient mocking for service discovery
+/// - DiscoveryClient mocking for service name resolution
 /// - Mock JWT authentication via [TestSecurityConfig]
 /// - Common utility methods for creating mock responses
 ///
@@ -77,17 +85,19 @@ public abstract class BaseMcpToolProviderTest {
     @Autowired
     protected McpJsonMapper mcpJsonMapper;
 
-    /// Test configuration that provides a custom WebClient bean for testing.
+    /// Test configuration that provides a custom load-balanced WebClient builder for testing.
     ///
-    /// This WebClient will be used by service classes instead of the production one.
-    /// The WebClient makes HTTP requests to the MockWebServer instances configured
-    /// in the test setup.
+    /// This builder is used by service classes instead of the production one. Instead of
+    /// Spring Cloud LoadBalancer, it resolves the service name in the request URL through the
+    /// mocked [DiscoveryClient], so requests reach the MockWebServer instances configured in
+    /// the test setup. Like the load balancer, it answers 503 when no instance is registered.
     @TestConfiguration
     public static class TestWebClientConfig {
         
         @Bean
         @Primary
-        public WebClient webClient(JsonMapper jsonMapper) {
+        @LoadBalanced
+        public WebClient.Builder testWebClientBuilder(JsonMapper jsonMapper, DiscoveryClient discoveryClient) {
             // Ensure WebClient uses the application's ObjectMapper with custom modules (e.g., QuantityModule)
             return WebClient.builder()
                 .exchangeStrategies(ExchangeStrategies.builder()
@@ -98,7 +108,15 @@ public abstract class BaseMcpToolProviderTest {
                         .jacksonJsonDecoder(new JacksonJsonDecoder(jsonMapper));
                     })
                     .build())
-                .build();
+                .filter((request, next) -> {
+                    var instances = discoveryClient.getInstances(request.url().getHost());
+                    if (instances == null || instances.isEmpty()) {
+                        return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+                    }
+                    return next.exchange(ClientRequest.from(request)
+                            .url(LoadBalancerUriTools.reconstructURI(instances.getFirst(), request.url()))
+                            .build());
+                });
         }
     }
 
@@ -217,6 +235,22 @@ public abstract class BaseMcpToolProviderTest {
         return path.replaceFirst(prefix, "").split("/")[0];
     }
 
+    /// Builds the response of a bulk `?ids=` endpoint from a single-resource template.
+    ///
+    /// Emits one copy of the template per requested ID with its `id` replaced, skipping
+    /// ID 999 like the single-resource endpoints do.
+    ///
+    /// @param request  the recorded bulk request
+    /// @param template the JSON template of one resource with `"id": 1`
+    /// @return a JSON array of resources
+    protected String jsonArrayByIds(RecordedRequest request, String template) {
+        var ids = request.getRequestUrl().queryParameter("ids");
+        return Arrays.stream(ids.split(","))
+                .filter(id -> !"999".equals(id))
+                .map(id -> template.replaceFirst("\"id\": 1,", "\"id\": " + id + ","))
+                .collect(joining(",", "[", "]"));
+    }
+
     /// Creates a JSON response with 200 status code.
     ///
     /// @param body the JSON body to return
@@ -315,6 +349,7 @@ public abstract class BaseMcpToolProviderTest {
     /// Handles:
     ///
     /// - GET /v1/rifles - Returns array of rifles
+    /// - GET /v1/rifles?ids={ids} - Returns one rifle per requested ID, skipping ID 999
     /// - GET /v1/rifles/{id} - Returns single rifle or 404 for ID 999
     ///
     /// This dispatcher is reusable across test classes that need to mock
@@ -335,6 +370,10 @@ public abstract class BaseMcpToolProviderTest {
                     return jsonResponse("[" + RIFLE_JSON + "]");
                 }
                 
+                if (path.startsWith("/v1/rifles?ids=")) {
+                    return jsonResponse(jsonArrayByIds(request, RIFLE_JSON));
+                }
+                
                 if (path.startsWith("/v1/rifles/")) {
                     String idPart = extractIdFromPath(path, "/v1/rifles/");
                     
@@ -355,8 +394,10 @@ public abstract class BaseMcpToolProviderTest {
     /// Handles:
     ///
     /// - GET /v1/loads - Returns array of loads
+    /// - GET /v1/loads?ids={ids} - Returns one load per requested ID, skipping ID 999
     /// - GET /v1/loads/{id} - Returns single load or 404 for ID 999
     /// - GET /v1/loads/{id}/statistics - Returns load statistics
+    /// - GET /v1/loads/{id}/details - Returns the load with its statistics
     ///
     /// This dispatcher is reusable across test classes that need to mock
     /// the loads-service API.
@@ -376,6 +417,10 @@ public abstract class BaseMcpToolProviderTest {
                     return jsonResponse("[" + LOAD_JSON + "]");
                 }
                 
+                if (path.startsWith("/v1/loads?ids=")) {
+                    return jsonResponse(jsonArrayByIds(request, LOAD_JSON));
+                }
+                
                 if (path.startsWith("/v1/loads/")) {
                     String idPart = extractIdFromPath(path, "/v1/loads/");
                     
@@ -387,6 +432,10 @@ public abstract class BaseMcpToolProviderTest {
                         return jsonResponse(LOAD_STATISTICS_JSON);
                     }
                     
+                    if (path.endsWith("/details")) {
+                        return jsonResponse("{\"load\": " + LOAD_JSON + ", \"groups\": " + LOAD_STATISTICS_JSON + "}");
+                    }
+                    
                     return jsonResponse(LOAD_JSON);
                 }
                 
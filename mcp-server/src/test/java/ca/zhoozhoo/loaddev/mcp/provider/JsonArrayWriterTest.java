@@ -0,0 +1,102 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+/// Unit tests for [JsonArrayWriter].
+/// Tests array output, summarization above the item cap and error propagation.
+///
+/// @author Zhubin Salehi
+class JsonArrayWriterTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void writesItemsAsJsonArray() {
+        var writer = new JsonArrayWriter(jsonMapper, 10);
+
+        StepVerifier.create(writer.write(Flux.just(new Item(1, "one"), new Item(2, "two")), "items"))
+                .expectNext("[{\"id\":1,\"name\":\"one\"},{\"id\":2,\"name\":\"two\"}]")
+                .verifyComplete();
+    }
+
+    @Test
+    void writesEmptyArray() {
+        var writer = new JsonArrayWriter(jsonMapper, 10);
+
+        StepVerifier.create(writer.write(Flux.empty(), "items"))
+                .expectNext("[]")
+                .verifyComplete();
+    }
+
+    @Test
+    void summarizesResultsAboveMaxItems() {
+        var writer = new JsonArrayWriter(jsonMapper, 2);
+
+        StepVerifier.create(writer.write(Flux.range(1, 5).map(i -> new Item(i, "item" + i)), "items"))
+                .assertNext(json -> {
+                    var summary = jsonMapper.readTree(json);
+                    assertThat(summary.get("total").asInt()).isEqualTo(5);
+                    assertThat(summary.get("returned").asInt()).isEqualTo(2);
+                    assertThat(summary.get("truncated").asBoolean()).isTrue();
+                    assertThat(summary.get("items")).hasSize(2);
+                    assertThat(summary.get("items").get(1).get("id").asInt()).isEqualTo(2);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void writesCompactItemsWithoutNulls() {
+        var writer = new JsonArrayWriter(jsonMapper, 10);
+
+        StepVerifier.create(writer.write(Flux.just(new Item(1, "one"), new Item(2, null)), "items",
+                ToolResultFormat.COMPACT))
+                .expectNext("[{\"id\":1,\"name\":\"one\"},{\"id\":2}]")
+                .verifyComplete();
+    }
+
+    @Test
+    void writesCsvTable() {
+        var writer = new JsonArrayWriter(jsonMapper, 10);
+
+        StepVerifier.create(writer.write(Flux.just(new Item(1, "one"), new Item(2, "two, \"2\"")), "items",
+                ToolResultFormat.CSV))
+                .expectNext("id,name\n1,one\n2,\"two, \"\"2\"\"\"\n")
+                .verifyComplete();
+    }
+
+    @Test
+    void summarizesCsvAboveMaxItems() {
+        var writer = new JsonArrayWriter(jsonMapper, 2);
+
+        StepVerifier.create(writer.write(Flux.range(1, 5).map(i -> new Item(i, "item" + i)), "items",
+                ToolResultFormat.CSV))
+                .expectNext("# total=5,returned=2,truncated=true\nid,name\n1,item1\n2,item2\n")
+                .verifyComplete();
+    }
+
+    @Test
+    void propagatesSourceErrors() {
+        var writer = new JsonArrayWriter(jsonMapper, 10);
+
+        StepVerifier.create(writer.write(Flux.concat(Flux.just(new Item(1, "one")),
+                Flux.error(new IllegalStateException("boom"))), "items"))
+                .expectErrorMessage("boom")
+                .verify();
+    }
+
+    @Test
+    void rejectsNonPositiveMaxItems() {
+        assertThatThrownBy(() -> new JsonArrayWriter(jsonMapper, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    record Item(int id, String name) {
+    }
+}
@@ -4,14 +4,28 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.client.webflux.transport.WebFluxSseClientTransport;
 import org.springframework.context.annotation.Import;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import ca.zhoozhoo.loaddev.mcp.config.TestSecurityConfig;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
 import io.modelcontextprotocol.spec.McpSchema.ReadResourceRequest;
+import io.modelcontextprotocol.spec.McpSchema.ResourceContents;
+import io.modelcontextprotocol.spec.McpSchema.SubscribeRequest;
 import io.modelcontextprotocol.spec.McpSchema.TextResourceContents;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 /// Integration test for the LoadResourceProvider MCP resources.
 ///
@@ -22,6 +36,7 @@ import okhttp3.mockwebserver.MockWebServer;
 ///
 /// - Resource discovery and listing
 /// - getLoadById - Read load resource by ID using load://{id} URI pattern
+/// - resources/subscribe - Updates of load://{id} sent to the subscribing session only
 ///
 /// Each test method runs independently with proper setup and teardown
 /// to ensure test isolation and consistent results.
@@ -306,4 +321,76 @@ public class LoadResourceProviderTest extends BaseMcpToolProviderTest {
         // Restore original mock for other tests
         mockServiceDiscovery();
     }
+
+    /// Tests that load updates reach only the session that subscribed to the load.
+    ///
+    /// Two MCP sessions are connected; only the first subscribes to load://1 with
+    /// `resources/subscribe`. The mock loads-service streams an update of load 2 and one of
+    /// load 1, then closes the stream. The subscribing client re-reads load://1 once on its
+    /// `notifications/resources/updated` and is then told with `notifications/message` that
+    /// its subscriptions ended. The other session receives neither.
+    @Test
+    void subscribeLoad_NotifiesOnlySubscribingSession() {
+        var loadsDispatcher = createLoadsDispatcher();
+        mockLoadsServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if ("/v1/loads/changes".equals(request.getPath())) {
+                    return new MockResponse()
+                            .setHeader("Content-Type", "text/event-stream")
+                            .setBody("data:{\"id\":2,\"type\":\"UPDATED\"}\n\ndata:{\"id\":1,\"type\":\"UPDATED\"}\n\n");
+                }
+                return loadsDispatcher.dispatch(request);
+            }
+        });
+
+        var subscriberUpdates = new CopyOnWriteArrayList<String>();
+        var subscriberMessages = new CopyOnWriteArrayList<String>();
+        var otherUpdates = new CopyOnWriteArrayList<String>();
+        var otherMessages = new CopyOnWriteArrayList<String>();
+        var subscriber = observingClient(subscriberUpdates, subscriberMessages);
+        var other = observingClient(otherUpdates, otherMessages);
+        try {
+            other.initialize().block();
+            subscriber.initialize().block();
+            assertThat(subscriber.getServerCapabilities().resources().subscribe()).isTrue();
+
+            subscriber.subscribeResource(new SubscribeRequest("load://1")).block();
+
+            StepVerifier.create(Mono.fromCallable(subscriberMessages::size)
+                            .filter(size -> size > 0)
+                            .repeatWhenEmpty(repeats -> repeats.delayElements(Duration.ofMillis(50))))
+                    .expectNextCount(1)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+
+            assertThat(subscriberUpdates).containsExactly("load://1");
+            assertThat(subscriberMessages).singleElement().asString().contains("load://1", "subscribe again");
+            assertThat(otherUpdates).isEmpty();
+            assertThat(otherMessages).isEmpty();
+        } finally {
+            subscriber.close();
+            other.close();
+            mockLoadsServer.setDispatcher(loadsDispatcher);
+        }
+    }
+
+    /// Tests that subscribing to a resource other than a load is rejected.
+    @Test
+    void subscribeLoad_RejectsOtherResources() {
+        assertThatThrownBy(() -> client.subscribeResource(new SubscribeRequest("rifle://1")).block())
+                .isInstanceOf(io.modelcontextprotocol.spec.McpError.class)
+                .hasMessageContaining("load://{id}");
+    }
+
+    /// Creates an MCP client on its own session, recording the URIs of the resources it is
+    /// notified of and the log messages it receives.
+    private McpAsyncClient observingClient(List<String> updatedUris, List<String> messages) {
+        return McpClient.async(new WebFluxSseClientTransport(
+                        WebClient.builder().baseUrl("http://localhost:" + port), mcpJsonMapper))
+                .resourcesUpdateConsumer(contents -> Mono.fromRunnable(
+                        () -> contents.stream().map(ResourceContents::uri).forEach(updatedUris::add)))
+                .loggingConsumer(notification -> Mono.fromRunnable(() -> messages.add(notification.data())))
+                .build();
+    }
 }
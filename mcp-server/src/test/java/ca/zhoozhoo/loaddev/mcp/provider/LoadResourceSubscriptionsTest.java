@@ -0,0 +1,243 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_REQUEST;
+import static io.modelcontextprotocol.spec.McpSchema.METHOD_NOTIFICATION_MESSAGE;
+import static io.modelcontextprotocol.spec.McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import ca.zhoozhoo.loaddev.mcp.dto.LoadChangeDto;
+import ca.zhoozhoo.loaddev.mcp.service.LoadsService;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
+import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
+import io.modelcontextprotocol.spec.McpSchema.ResourcesUpdatedNotification;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+/// Unit tests for [LoadResourceSubscriptions].
+/// Tests change filtering, per-session streams, unsubscription, session close, token renewal and expiry.
+///
+/// @author Zhubin Salehi
+class LoadResourceSubscriptionsTest {
+
+    private LoadsService loadsService;
+
+    private Sinks.Many<LoadChangeDto> changes;
+
+    private LoadResourceSubscriptions subscriptions;
+
+    private final RecordingSession alice = new RecordingSession("session-1");
+
+    @BeforeEach
+    void setUp() {
+        loadsService = mock(LoadsService.class);
+        changes = Sinks.many().multicast().directBestEffort();
+        when(loadsService.getLoadChanges()).thenReturn(changes.asFlux());
+
+        subscriptions = new LoadResourceSubscriptions(loadsService, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriptions.destroy();
+    }
+
+    @Test
+    void notifiesOnlySubscribedLoads() {
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://1"))).verifyComplete();
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://3"))).verifyComplete();
+        assertThat(subscriptions.loadIds(alice.id())).containsExactly(1L, 3L);
+
+        changes.tryEmitNext(new LoadChangeDto(2L, LoadChangeDto.Type.UPDATED));
+        changes.tryEmitNext(new LoadChangeDto(3L, LoadChangeDto.Type.UPDATED));
+
+        assertThat(alice.updatedUris()).containsExactly("load://3");
+        verify(loadsService, times(1)).getLoadChanges();
+    }
+
+    @Test
+    void notifiesOnlyTheSubscribingSession() {
+        var otherSession = new RecordingSession("session-2");
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://1"))).verifyComplete();
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(otherSession, "load://2"))).verifyComplete();
+
+        changes.tryEmitNext(new LoadChangeDto(1L, LoadChangeDto.Type.UPDATED));
+
+        assertThat(alice.updatedUris()).containsExactly("load://1");
+        assertThat(otherSession.notifications).isEmpty();
+    }
+
+    @Test
+    void dropsDeletedLoads() {
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://1"))).verifyComplete();
+
+        changes.tryEmitNext(new LoadChangeDto(1L, LoadChangeDto.Type.DELETED));
+        changes.tryEmitNext(new LoadChangeDto(1L, LoadChangeDto.Type.CREATED));
+
+        assertThat(alice.updatedUris()).containsExactly("load://1");
+    }
+
+    @Test
+    void closesStreamAfterLastUnsubscription() {
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://1"))).verifyComplete();
+        StepVerifier.create(subscriptions.unsubscribe(alice, "load://1")).verifyComplete();
+
+        changes.tryEmitNext(new LoadChangeDto(1L, LoadChangeDto.Type.UPDATED));
+
+        assertThat(alice.notifications).isEmpty();
+        assertThat(subscriptions.size()).isZero();
+        assertThat(changes.currentSubscriberCount()).isZero();
+    }
+
+    @Test
+    void closesStreamWhenSessionCloses() {
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://1"))).verifyComplete();
+        assertThat(changes.currentSubscriberCount()).isOne();
+
+        subscriptions.close(alice.id());
+        changes.tryEmitNext(new LoadChangeDto(1L, LoadChangeDto.Type.UPDATED));
+
+        assertThat(changes.currentSubscriberCount()).isZero();
+        assertThat(subscriptions.size()).isZero();
+        assertThat(alice.notifications).isEmpty();
+    }
+
+    @Test
+    void reopensStreamWithRenewedToken() {
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://1"), Duration.ofMinutes(5)))
+                .verifyComplete();
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://2"), Duration.ofMinutes(1)))
+                .verifyComplete();
+        verify(loadsService, times(1)).getLoadChanges();
+
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://2"), Duration.ofMinutes(10)))
+                .verifyComplete();
+        verify(loadsService, times(2)).getLoadChanges();
+
+        changes.tryEmitNext(new LoadChangeDto(2L, LoadChangeDto.Type.UPDATED));
+
+        assertThat(alice.updatedUris()).containsExactly("load://2");
+        assertThat(changes.currentSubscriberCount()).isOne();
+    }
+
+    @Test
+    void endsSubscriptionsVisiblyWhenTokenExpires() {
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://1"), Duration.ofMillis(100)))
+                .verifyComplete();
+
+        awaitEndOfSubscriptions();
+        assertThat(alice.notifications).singleElement().satisfies(notification -> {
+            assertThat(notification.method()).isEqualTo(METHOD_NOTIFICATION_MESSAGE);
+            assertThat(((LoggingMessageNotification) notification.params()).data())
+                    .contains("load://1", "token", "subscribe again");
+        });
+    }
+
+    @Test
+    void endsSubscriptionsVisiblyWhenStreamFails() {
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://1"))).verifyComplete();
+
+        changes.tryEmitError(new McpError(new JSONRPCError(INVALID_REQUEST, "Authentication failed", null)));
+
+        assertThat(subscriptions.size()).isZero();
+        assertThat(alice.notifications).singleElement().satisfies(notification -> assertThat(
+                ((LoggingMessageNotification) notification.params()).data()).contains("Authentication failed"));
+    }
+
+    @Test
+    void expiresSubscriptionsAfterTimeToLive() {
+        subscriptions = new LoadResourceSubscriptions(loadsService, Duration.ofMillis(50));
+
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "load://1"))).verifyComplete();
+
+        awaitEndOfSubscriptions();
+        assertThat(((LoggingMessageNotification) alice.notifications.getFirst().params()).data())
+                .contains("time to live");
+    }
+
+    @Test
+    void requiresAuthentication() {
+        StepVerifier.create(subscriptions.subscribe(alice, "load://1"))
+                .expectError(McpError.class)
+                .verify();
+    }
+
+    @Test
+    void rejectsOtherResources() {
+        StepVerifier.create(asUser("alice", subscriptions.subscribe(alice, "rifle://1")))
+                .expectError(McpError.class)
+                .verify();
+        assertThatThrownBy(() -> LoadResourceSubscriptions.loadId("load://0")).isInstanceOf(McpError.class);
+        assertThat(LoadResourceSubscriptions.loadId("load://42")).isEqualTo(42L);
+    }
+
+    @Test
+    void notificationCarriesLoadUri() {
+        assertThat(new ResourcesUpdatedNotification(LoadResourceSubscriptions.uri(42L)).uri()).isEqualTo("load://42");
+    }
+
+    private void awaitEndOfSubscriptions() {
+        StepVerifier.create(Mono.fromCallable(subscriptions::size)
+                        .filter(size -> size == 0 && !alice.notifications().isEmpty())
+                        .repeatWhenEmpty(repeats -> repeats.delayElements(Duration.ofMillis(20))))
+                .expectNext(0)
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+    }
+
+    private static <T> Mono<T> asUser(String subject, Mono<T> mono) {
+        return asUser(subject, mono, Duration.ofMinutes(5));
+    }
+
+    private static <T> Mono<T> asUser(String subject, Mono<T> mono, Duration expiresIn) {
+        var jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(subject)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plus(expiresIn))
+                .build();
+        return mono.contextWrite(ReactiveSecurityContextHolder.withAuthentication(new JwtAuthenticationToken(jwt)));
+    }
+
+    /// Session recording the notifications sent to it.
+    private record RecordingSession(String id, List<Notification> notifications)
+            implements LoadResourceSubscriptions.Session {
+
+        RecordingSession(String id) {
+            this(id, new CopyOnWriteArrayList<>());
+        }
+
+        @Override
+        public Mono<Void> sendNotification(String method, Object params) {
+            return Mono.fromRunnable(() -> notifications.add(new Notification(method, params)));
+        }
+
+        List<String> updatedUris() {
+            return notifications.stream()
+                    .filter(notification -> METHOD_NOTIFICATION_RESOURCES_UPDATED.equals(notification.method()))
+                    .map(notification -> ((ResourcesUpdatedNotification) notification.params()).uri())
+                    .toList();
+        }
+    }
+
+    private record Notification(String method, Object params) {
+    }
+}
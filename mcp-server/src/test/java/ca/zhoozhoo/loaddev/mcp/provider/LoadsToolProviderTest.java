@@ -3,6 +3,7 @@ package ca.zhoozhoo.loaddev.mcp.provider;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -28,6 +29,7 @@ import reactor.core.publisher.Mono;
 /// - getLoads - Retrieve all loads
 /// - getLoad - Retrieve a specific load by ID
 /// - getLoadDetails - Retrieve detailed information including rifle and statistics
+/// - getLoadsByIds / getLoadDetailsBatch - Retrieve several loads in one call
 ///
 /// Each test method runs independently with proper setup and teardown
 /// to ensure test isolation and consistent results.
@@ -158,19 +160,66 @@ public class LoadsToolProviderTest extends BaseMcpToolProviderTest {
     /// by invoking the MCP tool with an ID parameter. This tool makes multiple backend
     /// service calls:
     ///
-    /// - Calls LoadsService.getLoadById() to get basic load information
+    /// - Calls LoadsService.getLoadDetails() to get the load and its statistics/groups
     /// - Calls RiflesService.getRifleById() to get the associated rifle
-    /// - Calls LoadsService.getGroupsByLoadId() to get statistics/groups
     ///
     /// All service calls use authenticated WebClient requests with JWT tokens from
     /// the security context, hitting the configured MockWebServer instances.
     ///
-    /// Validates that the result is not null.
+    /// Validates that the result contains the rifle and statistics, and that the load and
+    /// statistics were fetched with a single request to the aggregate endpoint.
     @Test
-    void getLoadDetails() {
+    void getLoadDetails() throws InterruptedException {
         var loadDetailsResult = client.callTool(new CallToolRequest("getLoadDetails", Map.of("id", 1L))).block();
 
         assertThat(loadDetailsResult).isNotNull();
+        assertThat(loadDetailsResult.isError()).isFalse();
+        assertThat(((TextContent) loadDetailsResult.content().get(0)).text()).contains("Test Rifle").contains("groups");
+        assertThat(mockLoadsServer.getRequestCount()).isEqualTo(1);
+        assertThat(mockLoadsServer.takeRequest().getPath()).isEqualTo("/v1/loads/1/details");
+        assertThat(mockRiflesServer.getRequestCount()).isEqualTo(1);
+    }
+
+    /// Tests the getLoadDetails tool with the compact format.
+    ///
+    /// Verifies that quantities are rendered as short strings and per-shot velocities are
+    /// left out.
+    @Test
+    void getLoadDetails_Compact() {
+        var result = client.callTool(new CallToolRequest("getLoadDetails", Map.of("id", 1L, "format", "compact")))
+                .block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isFalse();
+        assertThat(((TextContent) result.content().get(0)).text())
+                .contains("\"averageVelocity\":\"820 m/s\"")
+                .doesNotContain("\"shots\"")
+                .doesNotContain("\"unit\"");
+    }
+
+    /// Tests the getLoads tool with the CSV format.
+    ///
+    /// Verifies that the loads are rendered as a table with a header row.
+    @Test
+    void getLoads_Csv() {
+        var result = client.callTool(new CallToolRequest("getLoads", Map.of("format", "csv"))).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isFalse();
+        assertThat(((TextContent) result.content().get(0)).text()).startsWith("id,name,");
+    }
+
+    /// Tests the getLoad tool with an unsupported format.
+    ///
+    /// Expected: isError = true, error message lists the supported formats
+    @Test
+    void getLoadById_UnsupportedFormat() {
+        var result = client.callTool(new CallToolRequest("getLoad", Map.of("id", 1L, "format", "xml"))).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isTrue();
+        assertThat(((TextContent) result.content().get(0)).text()).contains("Unsupported format 'xml'");
+        assertThat(mockLoadsServer.getRequestCount()).isZero();
     }
 
     /// Tests getLoad with a null ID parameter.
@@ -559,5 +608,66 @@ public class LoadsToolProviderTest extends BaseMcpToolProviderTest {
         // Restore original mock for other tests
         mockServiceDiscovery();
     }
-}
 
+    /// Tests the getLoadsByIds tool.
+    ///
+    /// Verifies that duplicate IDs are collapsed into a single bulk request and that IDs
+    /// unknown to the loads-service (999) are skipped from the returned JSON array.
+    @Test
+    void getLoadsByIds() throws InterruptedException {
+        var result = client.callTool(new CallToolRequest("getLoadsByIds", Map.of("ids", List.of(2L, 1L, 2L, 999L)))).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isFalse();
+        var text = ((TextContent) result.content().get(0)).text();
+        assertThat(text).startsWith("[").endsWith("]")
+                .containsPattern("\"id\"\\s*:\\s*1\\b")
+                .containsPattern("\"id\"\\s*:\\s*2\\b")
+                .doesNotContainPattern("\"id\"\\s*:\\s*999");
+
+        assertThat(mockLoadsServer.getRequestCount()).isEqualTo(1);
+        assertThat(mockLoadsServer.takeRequest().getRequestUrl().queryParameter("ids")).isEqualTo("2,1,999");
+    }
+
+    /// Tests the getLoadDetailsBatch tool.
+    ///
+    /// Both mock loads reference rifle 1, so the rifle must be fetched once with a single
+    /// bulk request, while statistics are fetched per load.
+    @Test
+    void getLoadDetailsBatch() throws InterruptedException {
+        var result = client.callTool(new CallToolRequest("getLoadDetailsBatch", Map.of("ids", List.of(1L, 2L)))).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isFalse();
+        var text = ((TextContent) result.content().get(0)).text();
+        assertThat(text).startsWith("[").endsWith("]").contains("Test Rifle").contains("groups");
+
+        assertThat(mockLoadsServer.getRequestCount()).isEqualTo(3);
+        assertThat(mockRiflesServer.getRequestCount()).isEqualTo(1);
+        assertThat(mockRiflesServer.takeRequest().getRequestUrl().queryParameter("ids")).isEqualTo("1");
+    }
+
+    /// Tests the batch tools with invalid ID lists.
+    ///
+    /// Empty lists, non-positive IDs and more than 100 distinct IDs are rejected before
+    /// any backend call is made.
+    @Test
+    void batchTools_InvalidIds() {
+        var tooMany = java.util.stream.LongStream.rangeClosed(1, 101).boxed().toList();
+
+        for (var arguments : List.<Map<String, Object>>of(Map.of("ids", List.of()), Map.of("ids", List.of(1L, 0L)))) {
+            var result = client.callTool(new CallToolRequest("getLoadDetailsBatch", arguments)).block();
+
+            assertThat(result).isNotNull();
+            assertThat(result.isError()).isTrue();
+            assertThat(((TextContent) result.content().get(0)).text()).contains("Load IDs must be a non-empty list of positive numbers");
+        }
+
+        var result = client.callTool(new CallToolRequest("getLoadsByIds", Map.of("ids", tooMany))).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isTrue();
+        assertThat(((TextContent) result.content().get(0)).text()).contains("At most 100 load IDs");
+        assertThat(mockLoadsServer.getRequestCount()).isZero();
+    }
+}
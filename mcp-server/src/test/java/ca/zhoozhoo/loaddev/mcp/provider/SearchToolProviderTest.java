@@ -0,0 +1,199 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/// Integration test for the SearchToolProvider `search` MCP tool.
+///
+/// Simulates the search endpoints of loads-service (port 8082), rifles-service (port 8083)
+/// and components-service (port 8084) with [MockWebServer] instances and verifies score
+/// merging, type selection and partial results when a service fails or is slow.
+///
+/// @author Zhubin Salehi
+/// @see SearchToolProvider
+@Import(BaseMcpToolProviderTest.TestWebClientConfig.class)
+public class SearchToolProviderTest extends BaseMcpToolProviderTest {
+
+    private static MockWebServer mockLoadsServer;
+    private static MockWebServer mockRiflesServer;
+    private static MockWebServer mockComponentsServer;
+
+    private static final String PROJECTILES_JSON = """
+            [
+                {"id": 11, "manufacturer": "Hornady", "type": "ELD Match"},
+                {"id": 12, "manufacturer": "Hornady", "type": "A-Tip"}
+            ]
+            """;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Override
+    protected void setupMockServers() throws IOException {
+        mockLoadsServer = new MockWebServer();
+        mockRiflesServer = new MockWebServer();
+        mockComponentsServer = new MockWebServer();
+
+        mockLoadsServer.setDispatcher(searchDispatcher("/v1/loads/search", "[" + LOAD_JSON + "]"));
+        mockRiflesServer.setDispatcher(searchDispatcher("/v1/rifles/search", "[]"));
+        mockComponentsServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                var path = request.getRequestUrl().encodedPath();
+                return path.equals("/v1/projectiles/search") ? jsonResponse(PROJECTILES_JSON) : jsonResponse("[]");
+            }
+        });
+
+        mockLoadsServer.start(8082);
+        mockRiflesServer.start(8083);
+        mockComponentsServer.start(8084);
+    }
+
+    @Override
+    protected void shutdownMockServers() throws IOException {
+        for (var server : new MockWebServer[] { mockLoadsServer, mockRiflesServer, mockComponentsServer }) {
+            if (server != null) {
+                server.shutdown();
+            }
+        }
+    }
+
+    @Override
+    protected void mockServiceDiscovery() {
+        mockService("loads-service", createServiceInstance(
+                "loads-service-1", "loads-service", mockLoadsServer));
+        mockService("rifles-service", createServiceInstance(
+                "rifles-service-1", "rifles-service", mockRiflesServer));
+        mockService("components-service", createServiceInstance(
+                "components-service-1", "components-service", mockComponentsServer));
+    }
+
+    /// Tests that hits of all services are merged by normalized score.
+    ///
+    /// The best load and the best projectile both score 1.0 and keep the tie-break order of
+    /// [SearchToolProvider#TYPES]; the second projectile scores 0.5.
+    @Test
+    void search() throws InterruptedException {
+        var result = client.callTool(new CallToolRequest("search", Map.of("query", "hornady"))).block();
+
+        var hits = hits(result);
+        assertThat(hits).hasSize(3);
+        assertThat(hits.get(0).get("type").asString()).isEqualTo("loads");
+        assertThat(hits.get(0).get("score").asDouble()).isEqualTo(1.0);
+        assertThat(hits.get(0).get("item").get("name").asString()).isEqualTo("Test Load 1");
+        assertThat(hits.get(1).get("type").asString()).isEqualTo("projectiles");
+        assertThat(hits.get(1).get("item").get("id").asInt()).isEqualTo(11);
+        assertThat(hits.get(2).get("score").asDouble()).isEqualTo(0.5);
+
+        var request = mockLoadsServer.takeRequest(1, SECONDS);
+        assertThat(request.getRequestUrl().queryParameter("query")).isEqualTo("hornady");
+        assertThat(request.getRequestUrl().queryParameter("size")).isEqualTo("10");
+    }
+
+    /// Tests that only the requested types are searched and the limit is applied.
+    @Test
+    void search_TypesAndLimit() {
+        var result = client.callTool(new CallToolRequest("search",
+                Map.of("query", "hornady", "types", List.of("projectiles"), "limit", 1))).block();
+
+        var hits = hits(result);
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).get("item").get("id").asInt()).isEqualTo(11);
+        assertThat(mockLoadsServer.getRequestCount()).isZero();
+        assertThat(mockRiflesServer.getRequestCount()).isZero();
+    }
+
+    /// Tests that a failing service is left out of the results.
+    @Test
+    void search_ServiceUnavailable() {
+        mockComponentsServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(503);
+            }
+        });
+
+        var hits = hits(client.callTool(new CallToolRequest("search", Map.of("query", "hornady"))).block());
+
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).get("type").asString()).isEqualTo("loads");
+    }
+
+    /// Tests that a service answering after the leg timeout is left out of the results.
+    @Test
+    void search_ServiceTimeout() {
+        mockLoadsServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return jsonResponse("[" + LOAD_JSON + "]").setBodyDelay(2, SECONDS);
+            }
+        });
+
+        var hits = hits(client.callTool(new CallToolRequest("search", Map.of("query", "hornady"))).block());
+
+        assertThat(hits).hasSize(2).allSatisfy(hit -> assertThat(hit.get("type").asString()).isEqualTo("projectiles"));
+    }
+
+    /// Tests that unknown result types are rejected.
+    @Test
+    void search_UnknownType() {
+        var result = client.callTool(new CallToolRequest("search",
+                Map.of("query", "hornady", "types", List.of("scopes")))).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isTrue();
+        assertThat(mockComponentsServer.getRequestCount()).isZero();
+    }
+
+    /// Tests that a limit above the maximum is rejected.
+    @Test
+    void search_LimitTooLarge() {
+        var result = client.callTool(new CallToolRequest("search",
+                Map.of("query", "hornady", "limit", 500))).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isTrue();
+    }
+
+    /// Tests rank-based scoring of one type's results.
+    @Test
+    void score() {
+        assertThat(SearchToolProvider.score("rifles", List.of("a", "b", "c, d")))
+                .extracting(hit -> hit.score())
+                .containsExactly(1.0, 0.5, 1.0 / 3);
+    }
+
+    private List<JsonNode> hits(CallToolResult result) {
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isFalse();
+        var text = ((TextContent) result.content().get(0)).text();
+        return jsonMapper.readTree(text).valueStream().toList();
+    }
+
+    private Dispatcher searchDispatcher(String path, String body) {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return path.equals(request.getRequestUrl().encodedPath()) ? jsonResponse(body) : notFound();
+            }
+        };
+    }
+}
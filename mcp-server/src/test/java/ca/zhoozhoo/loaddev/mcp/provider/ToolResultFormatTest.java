@@ -0,0 +1,47 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.modelcontextprotocol.spec.McpError;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/// Unit tests for [ToolResultFormat] and [ToolResultFormatter#withFormat].
+///
+/// @author Zhubin Salehi
+class ToolResultFormatTest {
+
+    @Test
+    void defaultsToJson() {
+        assertThat(ToolResultFormat.of(null)).contains(ToolResultFormat.JSON);
+        assertThat(ToolResultFormat.of(" ")).contains(ToolResultFormat.JSON);
+    }
+
+    @Test
+    void parsesNamesCaseInsensitively() {
+        assertThat(ToolResultFormat.of("Compact")).contains(ToolResultFormat.COMPACT);
+        assertThat(ToolResultFormat.of(" csv ")).contains(ToolResultFormat.CSV);
+    }
+
+    @Test
+    void rejectsUnknownNames() {
+        assertThat(ToolResultFormat.of("xml")).isEmpty();
+        assertThat(ToolResultFormat.unsupported("xml").getMessage()).contains("xml");
+    }
+
+    @Test
+    void producesResultInResolvedFormat() {
+        StepVerifier.create(ToolResultFormatter.withFormat("csv", format -> Mono.just(format.name())))
+                .expectNext("CSV")
+                .verifyComplete();
+    }
+
+    @Test
+    void failsWithoutProducingResultForUnknownNames() {
+        StepVerifier.create(ToolResultFormatter.withFormat("xml", _ -> Mono.<String>error(new AssertionError())))
+                .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(McpError.class).hasMessageContaining("xml"))
+                .verify();
+    }
+}
@@ -0,0 +1,183 @@
+package ca.zhoozhoo.loaddev.mcp.provider;
+
+import static io.modelcontextprotocol.spec.McpSchema.ErrorCodes.INVALID_PARAMS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.units.indriya.quantity.Quantities.getQuantity;
+import static tech.units.indriya.unit.Units.GRAM;
+import static tech.units.indriya.unit.Units.METRE;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import ca.zhoozhoo.loaddev.mcp.dto.GroupDto;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDetails;
+import ca.zhoozhoo.loaddev.mcp.dto.LoadDto;
+import ca.zhoozhoo.loaddev.mcp.dto.RifleDto;
+import ca.zhoozhoo.loaddev.mcp.execution.ToolCall;
+import ca.zhoozhoo.loaddev.mcp.execution.VirtualThreadToolExecutor;
+import ca.zhoozhoo.loaddev.mcp.service.BlockingLoadsService;
+import ca.zhoozhoo.loaddev.mcp.service.BlockingRiflesService;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/// Unit tests for [VirtualThreadLoadDetailsSource].
+/// Tests load details assembly, token propagation to subtasks and failure of the batch.
+///
+/// @author Zhubin Salehi
+class VirtualThreadLoadDetailsSourceTest {
+
+    private final BlockingLoadsService loadsService = mock(BlockingLoadsService.class);
+
+    private final BlockingRiflesService riflesService = mock(BlockingRiflesService.class);
+
+    private VirtualThreadToolExecutor executor;
+
+    private VirtualThreadLoadDetailsSource source;
+
+    @BeforeEach
+    void setUp() {
+        executor = new VirtualThreadToolExecutor();
+        source = new VirtualThreadLoadDetailsSource(loadsService, riflesService, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void getLoadDetails_ShouldAddRifle() {
+        when(loadsService.getLoadDetails(1L)).thenReturn(new LoadDetails(load(1L, 7L), null, List.of(group())));
+        when(riflesService.getRifleById(7L)).thenReturn(rifle(7L));
+
+        StepVerifier.create(asUser(source.getLoadDetails(1L)))
+                .assertNext(details -> {
+                    assertThat(details.load().id()).isEqualTo(1L);
+                    assertThat(details.rifle().id()).isEqualTo(7L);
+                    assertThat(details.groups()).hasSize(1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getLoadDetailsBatch_ShouldFetchSharedRifleOnceAndKeepOrder() {
+        var tokens = ConcurrentHashMap.<String>newKeySet();
+        when(loadsService.getLoadsByIds(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(load(1L, 7L), load(2L, 7L), load(3L, null)));
+        when(riflesService.getRiflesByIds(List.of(7L))).thenAnswer(_ -> {
+            tokens.add(ToolCall.current().bearerToken());
+            return List.of(rifle(7L));
+        });
+        when(loadsService.getGroupsByLoadId(any())).thenAnswer(_ -> {
+            tokens.add(ToolCall.current().bearerToken());
+            return List.of(group());
+        });
+
+        StepVerifier.create(asUser(source.getLoadDetails(List.of(1L, 2L, 3L))))
+                .assertNext(details -> assertThat(details.rifle().id()).isEqualTo(7L))
+                .assertNext(details -> assertThat(details.load().id()).isEqualTo(2L))
+                .assertNext(details -> {
+                    assertThat(details.load().id()).isEqualTo(3L);
+                    assertThat(details.rifle()).isNull();
+                    assertThat(details.groups()).hasSize(1);
+                })
+                .verifyComplete();
+
+        assertThat(tokens).isEqualTo(Set.of("token"));
+        verify(riflesService).getRiflesByIds(List.of(7L));
+    }
+
+    @Test
+    void getLoadDetailsBatch_ShouldFailWithSubtaskError() {
+        when(loadsService.getLoadsByIds(List.of(1L))).thenReturn(List.of(load(1L, 7L)));
+        when(riflesService.getRiflesByIds(List.of(7L))).thenReturn(List.of(rifle(7L)));
+        when(loadsService.getGroupsByLoadId(1L))
+                .thenThrow(new McpError(new JSONRPCError(INVALID_PARAMS, "Load not found with ID: 1", null)));
+
+        StepVerifier.create(asUser(source.getLoadDetails(List.of(1L))))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(McpError.class)
+                        .hasMessageContaining("Load not found with ID: 1"))
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void getLoadDetailsBatch_ShouldInterruptOtherSubtasksOnFailure() {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+        when(loadsService.getLoadsByIds(List.of(1L, 2L))).thenReturn(List.of(load(1L, null), load(2L, null)));
+        when(riflesService.getRiflesByIds(List.of())).thenReturn(List.of());
+        when(loadsService.getGroupsByLoadId(1L)).thenAnswer(_ -> {
+            started.await();
+            throw new McpError(new JSONRPCError(INVALID_PARAMS, "Load not found with ID: 1", null));
+        });
+        when(loadsService.getGroupsByLoadId(2L)).thenAnswer(_ -> {
+            started.countDown();
+            try {
+                Thread.sleep(Duration.ofSeconds(30));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return List.of(group());
+        });
+
+        StepVerifier.create(asUser(source.getLoadDetails(List.of(1L, 2L))))
+                .expectError(McpError.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(interrupted.getCount()).isZero();
+    }
+
+    private static LoadDto load(Long id, Long rifleId) {
+        return new LoadDto(id, "308 Win Load " + id, "Test load",
+                "Hodgdon", "Varget", "Hornady", "BTHP", getQuantity(168.0, GRAM),
+                "CCI", "BR-2", getQuantity(0.020, METRE), getQuantity(2.800, METRE), getQuantity(0.002, METRE), rifleId);
+    }
+
+    private static RifleDto rifle(Long id) {
+        return new RifleDto(id, "Remington 700", "Precision rifle",
+                "308 Winchester", getQuantity(24.0, METRE), "Heavy", null, null);
+    }
+
+    private static GroupDto group() {
+        return new GroupDto(LocalDate.now(), getQuantity(42.5, GRAM), getQuantity(100.0, METRE),
+                getQuantity(0.75, METRE), null, null, null, List.of());
+    }
+
+    private static <T> Mono<T> asUser(Mono<T> mono) {
+        return mono.contextWrite(ReactiveSecurityContextHolder.withAuthentication(new JwtAuthenticationToken(jwt())));
+    }
+
+    private static <T> Flux<T> asUser(Flux<T> flux) {
+        return flux.contextWrite(ReactiveSecurityContextHolder.withAuthentication(new JwtAuthenticationToken(jwt())));
+    }
+
+    private static Jwt jwt() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject("alice")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+    }
+}
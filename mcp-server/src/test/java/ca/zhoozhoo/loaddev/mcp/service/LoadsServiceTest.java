@@ -1,27 +1,29 @@
 package ca.zhoozhoo.loaddev.mcp.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import ca.zhoozhoo.loaddev.mcp.config.ServiceHttpClientProperties;
+import ca.zhoozhoo.loaddev.mcp.config.ServiceHttpClients;
 import io.modelcontextprotocol.spec.McpError;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -34,29 +36,38 @@ class LoadsServiceTest {
     private MockWebServer mockWebServer;
     private LoadsService loadsService;
 
-    @Mock
-    private DiscoveryClient discoveryClient;
+    private final List<String> requestedHosts = new CopyOnWriteArrayList<>();
+
+    private final ServiceHttpClients serviceHttpClients =
+            new ServiceHttpClients(new ServiceHttpClientProperties(null, null));
 
     @BeforeEach
     void setUp() throws IOException {
         mockWebServer = new MockWebServer();
         mockWebServer.start();
 
-        WebClient webClient = WebClient.builder().build();
-        loadsService = new LoadsService(webClient, discoveryClient, "loads-service");
+        // Stands in for the load balancer: records the service name and routes to the mock server
+        var webClientBuilder = WebClient.builder()
+                .filter((request, next) -> {
+                    requestedHosts.add(request.url().getHost());
+                    var url = UriComponentsBuilder.fromUri(request.url())
+                            .host(mockWebServer.getHostName())
+                            .port(mockWebServer.getPort())
+                            .build(true)
+                            .toUri();
+                    return next.exchange(ClientRequest.from(request).url(url).build());
+                });
+        loadsService = new LoadsService(webClientBuilder, serviceHttpClients, "loads-service");
     }
 
     @AfterEach
     void tearDown() throws IOException {
         mockWebServer.shutdown();
+        serviceHttpClients.destroy();
     }
 
     @Test
     void getLoads_ShouldReturnLoads() {
-        ServiceInstance serviceInstance = mock(ServiceInstance.class);
-        when(serviceInstance.getUri()).thenReturn(mockWebServer.url("/").uri());
-        when(discoveryClient.getInstances("loads-service")).thenReturn(List.of(serviceInstance));
-
         mockWebServer.enqueue(new MockResponse()
                 .setBody("[{\"id\":1,\"name\":\"Load 1\"}]")
                 .addHeader("Content-Type", "application/json"));
@@ -74,20 +85,26 @@ class LoadsServiceTest {
     }
 
     @Test
-    void getLoads_ShouldReturnError_WhenServiceNotFound() {
-        when(discoveryClient.getInstances("loads-service")).thenReturn(Collections.emptyList());
+    void getLoads_ShouldReturnError_WhenNoInstanceAvailable() {
+        // The load balancer answers 503 when no instance of the service is registered
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
 
-        StepVerifier.create(loadsService.getLoads())
-                .expectError(McpError.class)
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getTokenValue()).thenReturn("token");
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getCredentials()).thenReturn(jwt);
+        SecurityContext securityContext = new SecurityContextImpl(authentication);
+
+        StepVerifier.create(loadsService.getLoads()
+                .contextWrite(ReactiveSecurityContextHolder.withSecurityContext(Mono.just(securityContext))))
+                .expectErrorMatches(e -> e instanceof McpError mcpError
+                        && mcpError.getMessage().contains("loads-service unavailable"))
                 .verify();
+        assertThat(requestedHosts).containsExactly("loads-service");
     }
 
     @Test
     void getLoadById_ShouldReturnLoad() {
-        ServiceInstance serviceInstance = mock(ServiceInstance.class);
-        when(serviceInstance.getUri()).thenReturn(mockWebServer.url("/").uri());
-        when(discoveryClient.getInstances("loads-service")).thenReturn(List.of(serviceInstance));
-
         mockWebServer.enqueue(new MockResponse()
                 .setBody("{\"id\":1,\"name\":\"Load 1\"}")
                 .addHeader("Content-Type", "application/json"));
@@ -106,10 +123,6 @@ class LoadsServiceTest {
     
     @Test
     void getLoadById_ShouldReturnError_WhenNotFound() {
-        ServiceInstance serviceInstance = mock(ServiceInstance.class);
-        when(serviceInstance.getUri()).thenReturn(mockWebServer.url("/").uri());
-        when(discoveryClient.getInstances("loads-service")).thenReturn(List.of(serviceInstance));
-
         mockWebServer.enqueue(new MockResponse().setResponseCode(404));
 
         Jwt jwt = mock(Jwt.class);
@@ -123,4 +136,52 @@ class LoadsServiceTest {
                 .expectError(McpError.class)
                 .verify();
     }
+
+    @Test
+    void getLoadsByIds_ShouldRequestAllIdsAtOnce() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("[{\"id\":1,\"name\":\"Load 1\"},{\"id\":3,\"name\":\"Load 3\"}]")
+                .addHeader("Content-Type", "application/json"));
+
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getTokenValue()).thenReturn("token");
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getCredentials()).thenReturn(jwt);
+        SecurityContext securityContext = new SecurityContextImpl(authentication);
+
+        StepVerifier.create(loadsService.getLoadsByIds(List.of(1L, 3L))
+                .contextWrite(ReactiveSecurityContextHolder.withSecurityContext(Mono.just(securityContext))))
+                .expectNextMatches(load -> load.id() == 1L)
+                .expectNextMatches(load -> load.id() == 3L)
+                .verifyComplete();
+        assertThat(mockWebServer.takeRequest().getRequestUrl().queryParameter("ids")).isEqualTo("1,3");
+    }
+
+    @Test
+    void getLoadsByIds_ShouldNotCallService_WhenIdsEmpty() {
+        StepVerifier.create(loadsService.getLoadsByIds(List.of()))
+                .verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isZero();
+    }
+
+    @Test
+    void getLoadDetails_ShouldReturnLoadAndGroupsWithoutRifle() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"load\":{\"id\":1,\"name\":\"Load 1\",\"rifleId\":7},\"groups\":[]}")
+                .addHeader("Content-Type", "application/json"));
+
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getTokenValue()).thenReturn("token");
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getCredentials()).thenReturn(jwt);
+        SecurityContext securityContext = new SecurityContextImpl(authentication);
+
+        StepVerifier.create(loadsService.getLoadDetails(1L)
+                .contextWrite(ReactiveSecurityContextHolder.withSecurityContext(Mono.just(securityContext))))
+                .expectNextMatches(details -> details.load().rifleId() == 7L
+                        && details.rifle() == null
+                        && details.groups().isEmpty())
+                .verifyComplete();
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/v1/loads/1/details");
+    }
 }
@@ -1,27 +1,29 @@
 package ca.zhoozhoo.loaddev.mcp.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import ca.zhoozhoo.loaddev.mcp.config.ServiceHttpClientProperties;
+import ca.zhoozhoo.loaddev.mcp.config.ServiceHttpClients;
 import io.modelcontextprotocol.spec.McpError;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -34,29 +36,38 @@ class RiflesServiceTest {
     private MockWebServer mockWebServer;
     private RiflesService riflesService;
 
-    @Mock
-    private DiscoveryClient discoveryClient;
+    private final List<String> requestedHosts = new CopyOnWriteArrayList<>();
+
+    private final ServiceHttpClients serviceHttpClients =
+            new ServiceHttpClients(new ServiceHttpClientProperties(null, null));
 
     @BeforeEach
     void setUp() throws IOException {
         mockWebServer = new MockWebServer();
         mockWebServer.start();
 
-        WebClient webClient = WebClient.builder().build();
-        riflesService = new RiflesService(webClient, discoveryClient, "rifles-service");
+        // Stands in for the load balancer: records the service name and routes to the mock server
+        var webClientBuilder = WebClient.builder()
+                .filter((request, next) -> {
+                    requestedHosts.add(request.url().getHost());
+                    var url = UriComponentsBuilder.fromUri(request.url())
+                            .host(mockWebServer.getHostName())
+                            .port(mockWebServer.getPort())
+                            .build(true)
+                            .toUri();
+                    return next.exchange(ClientRequest.from(request).url(url).build());
+                });
+        riflesService = new RiflesService(webClientBuilder, serviceHttpClients, "rifles-service");
     }
 
     @AfterEach
     void tearDown() throws IOException {
         mockWebServer.shutdown();
+        serviceHttpClients.destroy();
     }
 
     @Test
     void getRifles_ShouldReturnRifles() {
-        ServiceInstance serviceInstance = mock(ServiceInstance.class);
-        when(serviceInstance.getUri()).thenReturn(mockWebServer.url("/").uri());
-        when(discoveryClient.getInstances("rifles-service")).thenReturn(List.of(serviceInstance));
-
         mockWebServer.enqueue(new MockResponse()
                 .setBody("[{\"id\":1,\"name\":\"Rifle 1\"}]")
                 .addHeader("Content-Type", "application/json"));
@@ -74,20 +85,26 @@ class RiflesServiceTest {
     }
 
     @Test
-    void getRifles_ShouldReturnError_WhenServiceNotFound() {
-        when(discoveryClient.getInstances("rifles-service")).thenReturn(Collections.emptyList());
+    void getRifles_ShouldReturnError_WhenNoInstanceAvailable() {
+        // The load balancer answers 503 when no instance of the service is registered
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
 
-        StepVerifier.create(riflesService.getRifles())
-                .expectError(McpError.class)
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getTokenValue()).thenReturn("token");
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getCredentials()).thenReturn(jwt);
+        SecurityContext securityContext = new SecurityContextImpl(authentication);
+
+        StepVerifier.create(riflesService.getRifles()
+                .contextWrite(ReactiveSecurityContextHolder.withSecurityContext(Mono.just(securityContext))))
+                .expectErrorMatches(e -> e instanceof McpError mcpError
+                        && mcpError.getMessage().contains("rifles-service unavailable"))
                 .verify();
+        assertThat(requestedHosts).containsExactly("rifles-service");
     }
 
     @Test
     void getRifleById_ShouldReturnRifle() {
-        ServiceInstance serviceInstance = mock(ServiceInstance.class);
-        when(serviceInstance.getUri()).thenReturn(mockWebServer.url("/").uri());
-        when(discoveryClient.getInstances("rifles-service")).thenReturn(List.of(serviceInstance));
-
         mockWebServer.enqueue(new MockResponse()
                 .setBody("{\"id\":1,\"name\":\"Rifle 1\"}")
                 .addHeader("Content-Type", "application/json"));
@@ -1,7 +1,11 @@
 package ca.zhoozhoo.loaddev.rifles.dao;
 
+import java.util.Collection;
+
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
 
 import ca.zhoozhoo.loaddev.rifles.model.Rifle;
 import reactor.core.publisher.Flux;
@@ -9,7 +13,9 @@ import reactor.core.publisher.Mono;
 
 /// Reactive repository for [Rifle] entity operations.
 ///
-/// Provides CRUD operations with owner-based filtering for multi-tenant data isolation.
+/// Provides CRUD operations with owner-based filtering for multi-tenant data isolation,
+/// and PostgreSQL full-text search. Search queries accept web search syntax
+/// (`"quoted phrases"`, `or`, `-excluded`).
 ///
 /// @author Zhubin Salehi
 public interface RifleRepository extends R2dbcRepository<Rifle, Long> {
@@ -17,4 +23,12 @@ public interface RifleRepository extends R2dbcRepository<Rifle, Long> {
     Flux<Rifle> findAllByOwnerId(String ownerId, Pageable pageable);
 
     Mono<Rifle> findByIdAndOwnerId(Long id, String ownerId);
+
+    Flux<Rifle> findAllByIdInAndOwnerIdOrderById(Collection<Long> ids, String ownerId);
+
+    @Query("SELECT * FROM rifles WHERE owner_id = :ownerId AND search_vector @@ websearch_to_tsquery('english', :q) "
+            + "ORDER BY ts_rank(search_vector, websearch_to_tsquery('english', :q)) DESC, id "
+            + "LIMIT :limit OFFSET :offset")
+    Flux<Rifle> searchByOwnerIdAndQuery(@Param("ownerId") String ownerId, @Param("q") String query,
+            @Param("limit") int limit, @Param("offset") long offset);
 }
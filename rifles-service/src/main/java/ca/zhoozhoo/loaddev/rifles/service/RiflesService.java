@@ -1,5 +1,7 @@
 package ca.zhoozhoo.loaddev.rifles.service;
 
+import java.util.Collection;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ca.zhoozhoo.loaddev.rifles.dao.RifleRepository;
@@ -24,6 +26,14 @@ public class RiflesService {
         return rifleRepository.findByIdAndOwnerId(id, userId);
     }
 
+    public Flux<Rifle> getRiflesByIds(Collection<Long> ids, String userId) {
+        return rifleRepository.findAllByIdInAndOwnerIdOrderById(ids, userId);
+    }
+
+    public Flux<Rifle> searchRifles(String userId, String query, Pageable pageable) {
+        return rifleRepository.searchByOwnerIdAndQuery(userId, query, pageable.getPageSize(), pageable.getOffset());
+    }
+
     public Mono<Rifle> createRifle(Rifle rifle) {
         return rifleRepository.save(rifle);
     }
@@ -1,10 +1,13 @@
 package ca.zhoozhoo.loaddev.rifles.web;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.ResponseEntity.notFound;
 import static org.springframework.http.ResponseEntity.ok;
 import static org.springframework.http.ResponseEntity.status;
 
+import java.util.List;
+import java.util.Objects;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import ca.zhoozhoo.loaddev.rifles.model.Rifle;
 import ca.zhoozhoo.loaddev.rifles.service.RiflesService;
@@ -73,6 +77,9 @@ import reactor.core.publisher.Mono;
 @PreAuthorize("hasRole('RELOADER')")
 public class RifleController {
 
+    /// Maximum number of IDs accepted by the bulk lookup.
+    static final int MAX_IDS = 100;
+
     private final RiflesService riflesService;
 
     @SuppressFBWarnings("EI_EXPOSE_REP2")
@@ -92,6 +99,41 @@ public class RifleController {
         return riflesService.getAllRifles(userId, PageRequest.of(page, size));
     }
 
+    @Operation(summary = "Full-text search rifles", description = "Searches the name, caliber, contour and description of the authenticated user's rifles, best matches first")
+    @SecurityRequirement(name = "Oauth2Security", scopes = "view")
+    @ApiResponse(responseCode = "200", description = "Search results", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Rifle.class))))
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('rifles:view')")
+    public Flux<Rifle> searchRifles(
+            @Parameter(hidden = true) @CurrentUser String userId,
+            @Parameter(description = "Full text search query") @RequestParam("query") String query,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return riflesService.searchRifles(userId, query, PageRequest.of(page, size));
+    }
+
+    @Operation(summary = "Get rifles by IDs", description = "Retrieves several rifles of the authenticated user in one call; unknown IDs are skipped")
+    @SecurityRequirement(name = "Oauth2Security", scopes = "view")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved rifles", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Rifle.class)))),
+            @ApiResponse(responseCode = "400", description = "More than 100 IDs", content = @Content)
+    })
+    @GetMapping(params = "ids")
+    @PreAuthorize("hasAuthority('rifles:view')")
+    public Flux<Rifle> getRiflesByIds(
+            @Parameter(hidden = true) @CurrentUser String userId,
+            @Parameter(description = "Comma-separated rifle IDs (at most 100)") @RequestParam List<Long> ids) {
+        var distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > MAX_IDS) {
+            return Flux.error(new ResponseStatusException(BAD_REQUEST,
+                    "At most %d IDs can be requested at once".formatted(MAX_IDS)));
+        }
+        if (distinctIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return riflesService.getRiflesByIds(distinctIds, userId);
+    }
+
     @Operation(summary = "Get rifle by ID", description = "Retrieves a specific rifle by its ID for the authenticated user")
     @SecurityRequirement(name = "Oauth2Security", scopes = "view")
     @ApiResponses(value = {
@@ -7,9 +7,40 @@ CREATE TABLE IF NOT EXISTS rifles (
     barrel_length JSONB,
     barrel_contour VARCHAR(32),
     rifling JSONB,
-    zeroing JSONB
+    zeroing JSONB,
+    search_vector tsvector
 );
 
 COMMENT ON COLUMN rifles.barrel_length IS 'JSR-385 Quantity<Length> stored as JSONB with value and unit properties';
 COMMENT ON COLUMN rifles.rifling IS 'Rifling specifications stored as JSONB with twistRate (Quantity<Length>) and twistDirection properties';
 COMMENT ON COLUMN rifles.zeroing IS 'Zeroing configuration stored as JSONB with sightHeight and zeroDistance (Quantity<Length>) properties';
+
+-- Full-text search over rifle names, calibers, contours and descriptions
+CREATE OR REPLACE FUNCTION rifles_update_search_vector() RETURNS trigger AS '
+BEGIN
+  NEW.search_vector :=
+  setweight(to_tsvector(''english'', coalesce(NEW.name,'''')), ''A'') ||
+  setweight(to_tsvector(''english'', coalesce(NEW.caliber,'''') || '' '' || coalesce(NEW.barrel_contour,'''')), ''B'') ||
+  setweight(to_tsvector(''english'', coalesce(NEW.description,'''')), ''C'');
+  RETURN NEW;
+END
+' LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS rifles_search_vector_update ON rifles;
+CREATE TRIGGER rifles_search_vector_update
+BEFORE INSERT OR UPDATE ON rifles
+FOR EACH ROW EXECUTE FUNCTION rifles_update_search_vector();
+
+-- Adds the search vector to tables created before it existed and indexes their rifles, once:
+-- the trigger fills it for every row rewritten by the UPDATE
+DO '
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                  WHERE table_schema = current_schema() AND table_name = ''rifles'' AND column_name = ''search_vector'') THEN
+    ALTER TABLE rifles ADD COLUMN search_vector tsvector;
+    UPDATE rifles SET search_vector = NULL;
+  END IF;
+END
+';
+
+CREATE INDEX IF NOT EXISTS idx_rifles_search_vector ON rifles USING GIN (search_vector);
@@ -135,4 +135,22 @@ class RifleRepositoryTest {
         create(rifleRepository.deleteById(savedRifleId)).verifyComplete();
         create(rifleRepository.findById(savedRifleId)).expectNextCount(0).verifyComplete();
     }
+
+    @Test
+    void searchByOwnerIdAndQuery() {
+        var userId = randomUUID().toString();
+        var savedRifleId = rifleRepository.save(new Rifle(null, userId,
+                "Ruger Precision Rifle",
+                "Gen 3 RPR with custom barrel",
+                ".300 PRC",
+                getQuantity(26.0, INCH_INTERNATIONAL),
+                "M24",
+                rifling("1:8.5"), null)).block().id();
+
+        create(rifleRepository.searchByOwnerIdAndQuery(userId, "ruger", 20, 0L))
+                .assertNext(r -> assertThat(r.id()).isEqualTo(savedRifleId))
+                .verifyComplete();
+        create(rifleRepository.searchByOwnerIdAndQuery(randomUUID().toString(), "ruger", 20, 0L))
+                .verifyComplete();
+    }
 }
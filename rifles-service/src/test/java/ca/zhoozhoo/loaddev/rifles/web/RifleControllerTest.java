@@ -1,6 +1,7 @@
 package ca.zhoozhoo.loaddev.rifles.web;
 
 import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.joining;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
@@ -8,6 +9,8 @@ import static org.springframework.web.reactive.function.BodyInserters.fromValue;
 import static systems.uom.ucum.UCUM.INCH_INTERNATIONAL;
 import static tech.units.indriya.quantity.Quantities.getQuantity;
 
+import java.util.stream.LongStream;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -253,4 +256,74 @@ public class RifleControllerTest {
                 .exchange()
                 .expectStatus().isNotFound();
     }
+
+    @Test
+    void getRiflesByIds() {
+        var userId = randomUUID().toString();
+        var first = rifleRepository.save(new Rifle(null, userId,
+                "Tikka T3x", "Factory rifle", "6.5 Creedmoor",
+                getQuantity(24.0, INCH_INTERNATIONAL), "Sporter",
+                rifling("1:8"), null)).block().id();
+        var second = rifleRepository.save(new Rifle(null, userId,
+                "Bergara B-14", "Hunting rifle", ".308 Winchester",
+                getQuantity(22.0, INCH_INTERNATIONAL), "Sporter",
+                rifling("1:10"), null)).block().id();
+        var otherUsers = rifleRepository.save(new Rifle(null, randomUUID().toString(),
+                "Other User Rifle", "Rifle of another user", ".308 Winchester",
+                getQuantity(26.0, INCH_INTERNATIONAL), "Heavy Palma",
+                rifling("1:10"), null)).block().id();
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority("rifles:view")))
+                .get()
+                .uri("/v1/rifles?ids={ids}", "%d,%d,%d,%d".formatted(second, first, second, otherUsers))
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(first)
+                .jsonPath("$[1].id").isEqualTo(second);
+    }
+
+    @Test
+    void searchRifles() {
+        var userId = randomUUID().toString();
+        var tikka = rifleRepository.save(new Rifle(null, userId,
+                "Tikka T3x", "Factory rifle", "6.5 Creedmoor",
+                getQuantity(24.0, INCH_INTERNATIONAL), "Sporter",
+                rifling("1:8"), null)).block().id();
+        rifleRepository.save(new Rifle(null, userId,
+                "Bergara B-14", "Hunting rifle", ".308 Winchester",
+                getQuantity(22.0, INCH_INTERNATIONAL), "Sporter",
+                rifling("1:10"), null)).block();
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority("rifles:view")))
+                .get()
+                .uri("/v1/rifles/search?query={query}", "creedmoor")
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(tikka);
+    }
+
+    @Test
+    void getRiflesByIdsTooMany() {
+        var userId = randomUUID().toString();
+        var ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(joining(","));
+
+        webTestClient.mutateWith(mockJwt().jwt(token -> token.claim("sub", userId))
+                .authorities(new SimpleGrantedAuthority("ROLE_RELOADER"), new SimpleGrantedAuthority("rifles:view")))
+                .get()
+                .uri("/v1/rifles?ids={ids}", ids)
+                .header("Authorization", "Bearer " + userId)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
 }
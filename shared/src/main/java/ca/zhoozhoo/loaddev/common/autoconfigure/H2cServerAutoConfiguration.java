@@ -0,0 +1,34 @@
+package ca.zhoozhoo.loaddev.common.autoconfigure;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.reactor.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+/// Auto-configuration that lets reactive services accept cleartext HTTP/2 (h2c).
+///
+/// The API Gateway can be configured to talk to services with HTTP/2 prior knowledge
+/// (see `loaddev.gateway.http-client.routes.*.protocols`), multiplexing requests over a few
+/// long-lived connections instead of paying connection setup and head-of-line blocking per
+/// request. This customizer makes the Netty server accept both HTTP/1.1 and h2c, so browsers,
+/// probes and other HTTP/1.1 clients keep working unchanged.
+///
+/// Disable with `loaddev.server.h2c.enabled=false`.
+///
+/// @author Zhubin Salehi
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass({HttpServer.class, NettyServerCustomizer.class})
+@ConditionalOnProperty(name = "loaddev.server.h2c.enabled", havingValue = "true", matchIfMissing = true)
+public class H2cServerAutoConfiguration {
+
+    @Bean
+    public NettyServerCustomizer h2cNettyServerCustomizer() {
+        return httpServer -> httpServer.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
+    }
+}
@@ -0,0 +1,28 @@
+package ca.zhoozhoo.loaddev.common.autoconfigure;
+
+import java.util.List;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import ca.zhoozhoo.loaddev.common.jackson.MonetaryAmountCodec;
+
+/// Auto-configuration warming up JSR-354 at startup.
+///
+/// Once all singletons are created, and so before the server accepts requests, loads the
+/// JSR-354 providers and caches the currencies of `loaddev.money.warm-up-currencies`
+/// (default CAD, USD and EUR) in [MonetaryAmountCodec]. Otherwise the first request decoding
+/// a MonetaryAmount pays for the service loader lookups.
+///
+/// @author Zhubin Salehi
+@AutoConfiguration
+public class MonetaryAmountAutoConfiguration {
+
+    @Bean
+    public SmartInitializingSingleton monetaryAmountWarmUp(
+            @Value("${loaddev.money.warm-up-currencies:CAD,USD,EUR}") String[] currencyCodes) {
+        return () -> MonetaryAmountCodec.warmUp(List.of(currencyCodes));
+    }
+}
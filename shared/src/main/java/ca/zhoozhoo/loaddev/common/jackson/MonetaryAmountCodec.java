@@ -0,0 +1,136 @@
+package ca.zhoozhoo.loaddev.common.jackson;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.Money;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.json.JsonFactory;
+
+/// Reads and writes JSR-354 [MonetaryAmount]s as `{"amount": 45.99, "currency": "USD"}`.
+///
+/// [Monetary#getCurrency(String)] queries every registered currency provider through the
+/// `Bootstrap` service loader on each call, which costs more than decoding the amount itself
+/// when every row of a component list has a cost. Resolved [CurrencyUnit]s are therefore
+/// cached by currency code; currency units are immutable, and unknown codes are not cached.
+/// Amounts are created with [Money#of(Number, CurrencyUnit)] rather than a
+/// `MonetaryAmountFactory` looked up through `Monetary`.
+///
+/// [#read(JsonParser)] streams the object's tokens instead of building a `JsonNode` tree.
+/// [#warmUp(Collection)] loads the JSR-354 providers and resolves the usual currencies, so
+/// the first request does not pay for it.
+///
+/// @author Zhubin Salehi
+/// @see MonetaryAmountSerializer
+/// @see MonetaryAmountDeserializer
+public final class MonetaryAmountCodec {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Map<String, CurrencyUnit> CURRENCIES = new ConcurrentHashMap<>();
+
+    private MonetaryAmountCodec() {
+    }
+
+    /// Returns the currency unit of an ISO 4217 currency code.
+    ///
+    /// @param currencyCode the currency code, e.g. "CAD"
+    /// @return the cached currency unit
+    /// @throws javax.money.UnknownCurrencyException if the code is not a known currency
+    public static CurrencyUnit currency(String currencyCode) {
+        var currency = CURRENCIES.get(currencyCode);
+        return currency != null ? currency : CURRENCIES.computeIfAbsent(currencyCode, Monetary::getCurrency);
+    }
+
+    /// Returns a monetary amount in a currency.
+    ///
+    /// @param amount       the amount
+    /// @param currencyCode the currency code
+    /// @return the monetary amount
+    public static MonetaryAmount of(BigDecimal amount, String currencyCode) {
+        return Money.of(amount, currency(currencyCode));
+    }
+
+    /// Reads a monetary amount object, starting at its `START_OBJECT` token.
+    ///
+    /// Fields other than `amount` and `currency` are skipped. A value that is not an object is
+    /// skipped and reported as missing its amount.
+    ///
+    /// @param parser the parser, positioned at the value
+    /// @return the monetary amount
+    /// @throws IllegalArgumentException if the amount or currency is missing or null
+    /// @throws JacksonException         if the JSON cannot be read
+    public static MonetaryAmount read(JsonParser parser) throws JacksonException {
+        BigDecimal amount = null;
+        String currencyCode = null;
+
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            for (var name = parser.nextName(); name != null; name = parser.nextName()) {
+                var token = parser.nextToken();
+                switch (name) {
+                    case "amount" -> amount = switch (token) {
+                        case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+                        case VALUE_STRING -> new BigDecimal(parser.getString());
+                        default -> null;
+                    };
+                    case "currency" -> currencyCode = token == JsonToken.VALUE_STRING ? parser.getString() : null;
+                    default -> parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+
+        if (amount == null) {
+            throw missing("amount");
+        }
+        if (currencyCode == null) {
+            throw missing("currency");
+        }
+        return of(amount, currencyCode);
+    }
+
+    /// Reads a monetary amount from a JSON string.
+    ///
+    /// @param json the JSON object
+    /// @return the monetary amount
+    /// @throws IllegalArgumentException if the amount or currency is missing or null
+    /// @throws JacksonException         if the JSON cannot be read
+    public static MonetaryAmount read(String json) throws JacksonException {
+        try (var parser = JSON_FACTORY.createParser(ObjectReadContext.empty(), json)) {
+            parser.nextToken();
+            return read(parser);
+        }
+    }
+
+    /// Writes a monetary amount as a JSON object.
+    ///
+    /// @param amount the monetary amount
+    /// @return the JSON object
+    public static String write(MonetaryAmount amount) {
+        return "{\"amount\":" + amount.getNumber().numberValueExact(BigDecimal.class)
+                + ",\"currency\":\"" + amount.getCurrency().getCurrencyCode() + "\"}";
+    }
+
+    /// Loads the JSR-354 providers and caches the given currencies.
+    ///
+    /// @param currencyCodes the currency codes to resolve
+    public static void warmUp(Collection<String> currencyCodes) {
+        currencyCodes.forEach(currencyCode -> read(write(of(BigDecimal.ONE, currencyCode))));
+    }
+
+    private static IllegalArgumentException missing(String fieldName) {
+        return new IllegalArgumentException(
+                "Missing required field '%s' in MonetaryAmount JSON".formatted(fieldName));
+    }
+}
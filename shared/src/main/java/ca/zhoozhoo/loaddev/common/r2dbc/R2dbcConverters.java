@@ -20,6 +20,7 @@ import org.springframework.data.convert.WritingConverter;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
 
+import ca.zhoozhoo.loaddev.common.jackson.MonetaryAmountCodec;
 import ca.zhoozhoo.loaddev.common.jackson.QuantityModuleSupport;
 import io.r2dbc.postgresql.codec.Json;
 import systems.uom.ucum.format.UCUMFormat;
@@ -29,6 +30,9 @@ import systems.uom.ucum.format.UCUMFormat;
 /// Quantity format: `{"value": 26.0, "unit": "[in_i]", "scale": "ABSOLUTE"`}<br>
 /// MonetaryAmount format: `{"amount": 45.99, "currency": "USD"`}
 ///
+/// MonetaryAmounts are decoded for every row with a cost, so they are read and written with
+/// [MonetaryAmountCodec] rather than through the ObjectMapper.
+///
 /// @author Zhubin Salehi
 public class R2dbcConverters {
 
@@ -86,11 +90,7 @@ public class R2dbcConverters {
 
         @Override
         public Json convert(@NonNull MonetaryAmount source) {
-            try {
-                return Json.of(OBJECT_MAPPER.writeValueAsString(source));
-            } catch (JacksonException e) {
-                throw new IllegalArgumentException("Failed to write MonetaryAmount JSON", e);
-            }
+            return Json.of(MonetaryAmountCodec.write(source));
         }
     }
 
@@ -102,7 +102,7 @@ public class R2dbcConverters {
         @Override
         public MonetaryAmount convert(@NonNull Json source) {
             try {
-                return OBJECT_MAPPER.readValue(source.asString(), MonetaryAmount.class);
+                return MonetaryAmountCodec.read(source.asString());
             } catch (JacksonException e) {
                 throw new IllegalArgumentException("Failed to parse MonetaryAmount JSON: " + source.asString(), e);
             }
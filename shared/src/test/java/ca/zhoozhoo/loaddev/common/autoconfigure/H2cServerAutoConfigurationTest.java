@@ -0,0 +1,34 @@
+package ca.zhoozhoo.loaddev.common.autoconfigure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.reactor.netty.NettyServerCustomizer;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+class H2cServerAutoConfigurationTest {
+
+    private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(H2cServerAutoConfiguration.class));
+
+    @Test
+    void enablesHttp11AndH2cByDefault() {
+        contextRunner.run(ctx -> {
+            assertThat(ctx).hasSingleBean(NettyServerCustomizer.class);
+
+            var server = ctx.getBean(NettyServerCustomizer.class).apply(HttpServer.create());
+            assertThat(server.configuration().protocols())
+                    .containsExactlyInAnyOrder(HttpProtocol.HTTP11, HttpProtocol.H2C);
+        });
+    }
+
+    @Test
+    void canBeDisabled() {
+        contextRunner.withPropertyValues("loaddev.server.h2c.enabled=false")
+                .run(ctx -> assertThat(ctx).doesNotHaveBean(NettyServerCustomizer.class));
+    }
+}
@@ -0,0 +1,32 @@
+package ca.zhoozhoo.loaddev.common.autoconfigure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import ca.zhoozhoo.loaddev.common.jackson.MonetaryAmountCodec;
+
+class MonetaryAmountAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MonetaryAmountAutoConfiguration.class));
+
+    @Test
+    void warmsUpConfiguredCurrencies() {
+        contextRunner.withPropertyValues("loaddev.money.warm-up-currencies=CHF,GBP").run(ctx -> {
+            assertThat(ctx).hasBean("monetaryAmountWarmUp");
+            assertThat(ctx.getBean("monetaryAmountWarmUp")).isInstanceOf(SmartInitializingSingleton.class);
+            assertThat(MonetaryAmountCodec.currency("CHF")).isSameAs(MonetaryAmountCodec.currency("CHF"));
+        });
+    }
+
+    @Test
+    void failsStartupForUnknownCurrency() {
+        contextRunner.withPropertyValues("loaddev.money.warm-up-currencies=NOPE").run(ctx -> {
+            assertThat(ctx).hasFailed();
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package ca.zhoozhoo.loaddev.common.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import javax.money.MonetaryAmount;
+import javax.money.UnknownCurrencyException;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+import tools.jackson.databind.json.JsonMapper;
+
+/// Unit tests for [MonetaryAmountCodec].
+/// Verifies currency caching, streaming reads and writes.
+///
+/// @author Zhubin Salehi
+class MonetaryAmountCodecTest {
+
+    @Test
+    void currency_shouldReturnCachedUnit() {
+        assertSame(MonetaryAmountCodec.currency("CAD"), MonetaryAmountCodec.currency("CAD"));
+        assertEquals("CAD", MonetaryAmountCodec.currency("CAD").getCurrencyCode());
+    }
+
+    @Test
+    void currency_withUnknownCode_shouldThrowEveryTime() {
+        assertThrows(UnknownCurrencyException.class, () -> MonetaryAmountCodec.currency("XYZ1"));
+        assertThrows(UnknownCurrencyException.class, () -> MonetaryAmountCodec.currency("XYZ1"));
+    }
+
+    @Test
+    void read_shouldSkipUnknownFields() {
+        var amount = MonetaryAmountCodec.read(
+                "{\"note\":{\"a\":[1,2]},\"currency\":\"USD\",\"amount\":45.99,\"extra\":null}");
+        assertEquals(new BigDecimal("45.99"), amount.getNumber().numberValue(BigDecimal.class));
+        assertEquals("USD", amount.getCurrency().getCurrencyCode());
+    }
+
+    @Test
+    void read_withStringAmount_shouldParseDecimal() {
+        var amount = MonetaryAmountCodec.read("{\"amount\":\"12.50\",\"currency\":\"EUR\"}");
+        assertEquals(0, new BigDecimal("12.5").compareTo(amount.getNumber().numberValue(BigDecimal.class)));
+    }
+
+    @Test
+    void read_withNonObject_shouldThrowMissingAmount() {
+        var ex = assertThrows(IllegalArgumentException.class, () -> MonetaryAmountCodec.read("[1]"));
+        assertEquals("Missing required field 'amount' in MonetaryAmount JSON", ex.getMessage());
+    }
+
+    @Test
+    void read_inDocument_shouldLeaveParserAfterObject() {
+        var mapper = QuantityModuleSupport.newObjectMapperWithQuantityModule();
+        var item = mapper.readValue("{\"cost\":{\"amount\":5,\"currency\":\"CAD\"},\"name\":\"box\"}", Item.class);
+        assertEquals("box", item.name());
+        assertEquals("CAD", item.cost().getCurrency().getCurrencyCode());
+    }
+
+    @Test
+    void write_shouldRoundTrip() {
+        var money = Money.of(new BigDecimal("-25.50"), "GBP");
+        var json = MonetaryAmountCodec.write(money);
+        assertEquals("{\"amount\":-25.50,\"currency\":\"GBP\"}", json);
+        assertTrue(money.isEqualTo(MonetaryAmountCodec.read(json)));
+    }
+
+    @Test
+    void write_shouldMatchSerializer() {
+        var mapper = JsonMapper.builder().build();
+        var money = Money.of(new BigDecimal("45.99"), "USD");
+        var serialized = mapper.writeValueAsString(new MonetaryHolder(money));
+        assertEquals("{\"cost\":" + MonetaryAmountCodec.write(money) + "}", serialized);
+    }
+
+    @Test
+    void warmUp_shouldCacheCurrencies() {
+        MonetaryAmountCodec.warmUp(List.of("JPY"));
+        assertSame(MonetaryAmountCodec.currency("JPY"), MonetaryAmountCodec.currency("JPY"));
+    }
+
+    record Item(@JsonDeserialize(using = MonetaryAmountDeserializer.class) MonetaryAmount cost, String name) {
+    }
+
+    record MonetaryHolder(@JsonSerialize(using = MonetaryAmountSerializer.class) MonetaryAmount cost) {
+    }
+}
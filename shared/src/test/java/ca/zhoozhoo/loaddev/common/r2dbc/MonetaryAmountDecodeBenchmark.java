@@ -0,0 +1,77 @@
+package ca.zhoozhoo.loaddev.common.r2dbc;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.money.Monetary.getCurrency;
+import static org.javamoney.moneta.Money.of;
+
+import javax.money.MonetaryAmount;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import ca.zhoozhoo.loaddev.common.jackson.MonetaryAmountCodec;
+import ca.zhoozhoo.loaddev.common.jackson.QuantityModuleSupport;
+import io.r2dbc.postgresql.codec.Json;
+import tools.jackson.databind.ObjectMapper;
+
+/// Per-row cost of decoding the `cost` JSONB column of a component list.
+///
+/// `treeAndLookup` is the former path: a `JsonNode` tree and a [javax.money.Monetary]
+/// currency lookup per row. `converter` is the [R2dbcConverters.JsonToMonetaryAmountConverter]
+/// used by the repositories. Run [#main(String[])] from the test classpath; the name does not
+/// end in `Test`, so Surefire does not pick it up.
+///
+/// @author Zhubin Salehi
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonetaryAmountDecodeBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = QuantityModuleSupport.newObjectMapperWithQuantityModule();
+
+    private final R2dbcConverters.JsonToMonetaryAmountConverter converter =
+            new R2dbcConverters.JsonToMonetaryAmountConverter();
+
+    @Param({ "CAD", "USD" })
+    private String currency;
+
+    private Json row;
+
+    @Setup
+    public void setUp() {
+        row = Json.of(MonetaryAmountCodec.write(of(52.99, getCurrency(currency))));
+    }
+
+    @Benchmark
+    public MonetaryAmount treeAndLookup() {
+        var root = OBJECT_MAPPER.readTree(row.asString());
+        return of(root.get("amount").decimalValue(), getCurrency(root.get("currency").asString()));
+    }
+
+    @Benchmark
+    public MonetaryAmount converter() {
+        return converter.convert(row);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MonetaryAmountDecodeBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}